@@ -0,0 +1,171 @@
+package com.jnzader.apigen.core.benchmark;
+
+import com.jnzader.apigen.core.application.dto.pagination.CursorPageRequest;
+import com.jnzader.apigen.core.application.dto.pagination.CursorPageRequest.SortDirection;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for cursor (keyset) vs offset pagination.
+ *
+ * <p>Loads {@code ROWS} rows into an in-memory H2 table indexed on {@code (fecha_creacion, id)}
+ * and fetches a page of 20 sorted by {@code fechaCreacion} at page 1 and at page 10,000. The keyset
+ * queries are the ones {@code BaseServiceImpl.buildCursorSegments} builds for the rows with a sort
+ * value ({@code fecha_creacion >= ? AND (fecha_creacion > ? OR id > ?)}, no {@code NULLS} clause),
+ * so their cost stays flat with the page number while OFFSET grows linearly. The table has no null
+ * timestamps, so the page always fills before the null rows would be queried.
+ *
+ * <p>Also measures encoding/decoding of the binary cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class CursorPaginationBenchmark {
+
+    private static final int ROWS = 250_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String OFFSET_SQL =
+            "SELECT id, fecha_creacion FROM item ORDER BY fecha_creacion, id LIMIT ? OFFSET ?";
+    private static final String KEYSET_FIRST_SQL =
+            "SELECT id, fecha_creacion FROM item"
+                    + " WHERE fecha_creacion IS NOT NULL"
+                    + " ORDER BY fecha_creacion, id LIMIT ?";
+    private static final String KEYSET_SQL =
+            "SELECT id, fecha_creacion FROM item"
+                    + " WHERE fecha_creacion >= ? AND (fecha_creacion > ? OR id > ?)"
+                    + " ORDER BY fecha_creacion, id LIMIT ?";
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement keysetFirstQuery;
+    private PreparedStatement keysetQuery;
+    private long deepLastId;
+    private Timestamp deepLastValue;
+    private String deepCursor;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:cursor_bench;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS item");
+            ddl.execute("CREATE TABLE item (id BIGINT PRIMARY KEY, fecha_creacion TIMESTAMP)");
+            ddl.execute("CREATE INDEX idx_item_fecha_id ON item (fecha_creacion, id)");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert =
+                connection.prepareStatement("INSERT INTO item VALUES (?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setLong(1, i);
+                // Several rows share each timestamp so the id tie-breaker matters
+                insert.setTimestamp(2, Timestamp.valueOf(EPOCH.plusSeconds(i / 4)));
+                insert.addBatch();
+                if (i % 1_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        offsetQuery = connection.prepareStatement(OFFSET_SQL);
+        keysetFirstQuery = connection.prepareStatement(KEYSET_FIRST_SQL);
+        keysetQuery = connection.prepareStatement(KEYSET_SQL);
+
+        // Last row of page DEEP_PAGE - 1, i.e. the cursor a client holds to fetch page DEEP_PAGE
+        offsetQuery.setInt(1, 1);
+        offsetQuery.setInt(2, (DEEP_PAGE - 1) * PAGE_SIZE - 1);
+        try (ResultSet rs = offsetQuery.executeQuery()) {
+            rs.next();
+            deepLastId = rs.getLong(1);
+            deepLastValue = rs.getTimestamp(2);
+        }
+        deepCursor =
+                CursorPageRequest.encodeCursor(
+                        deepLastId,
+                        "fechaCreacion",
+                        deepLastValue.toLocalDateTime(),
+                        SortDirection.ASC);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE item");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetFirstPage(Blackhole bh) throws SQLException {
+        consume(offset(0), bh);
+    }
+
+    @Benchmark
+    public void offsetPage10000(Blackhole bh) throws SQLException {
+        consume(offset((DEEP_PAGE - 1) * PAGE_SIZE), bh);
+    }
+
+    @Benchmark
+    public void keysetFirstPage(Blackhole bh) throws SQLException {
+        keysetFirstQuery.setInt(1, PAGE_SIZE + 1);
+        consume(keysetFirstQuery.executeQuery(), bh);
+    }
+
+    @Benchmark
+    public void keysetPage10000(Blackhole bh) throws SQLException {
+        CursorPageRequest.DecodedCursor decoded =
+                CursorPageRequest.fromCursor(deepCursor, PAGE_SIZE).getDecodedCursor();
+        LocalDateTime value = (LocalDateTime) decoded.sortValueAs(LocalDateTime.class);
+        consume(keyset(Timestamp.valueOf(value), decoded.lastId()), bh);
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return CursorPageRequest.encodeCursor(
+                deepLastId, "fechaCreacion", deepLastValue.toLocalDateTime(), SortDirection.ASC);
+    }
+
+    @Benchmark
+    public CursorPageRequest.DecodedCursor decodeCursor() {
+        return CursorPageRequest.fromCursor(deepCursor, PAGE_SIZE).getDecodedCursor();
+    }
+
+    private ResultSet offset(int offset) throws SQLException {
+        offsetQuery.setInt(1, PAGE_SIZE + 1);
+        offsetQuery.setInt(2, offset);
+        return offsetQuery.executeQuery();
+    }
+
+    private ResultSet keyset(Timestamp lastValue, long lastId) throws SQLException {
+        keysetQuery.setTimestamp(1, lastValue);
+        keysetQuery.setTimestamp(2, lastValue);
+        keysetQuery.setLong(3, lastId);
+        keysetQuery.setInt(4, PAGE_SIZE + 1);
+        return keysetQuery.executeQuery();
+    }
+
+    private static void consume(ResultSet rs, Blackhole bh) throws SQLException {
+        try (rs) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.jnzader.apigen.core.benchmark;
+
+import com.jnzader.apigen.core.infrastructure.eventsourcing.DomainEvent;
+import com.jnzader.apigen.core.infrastructure.eventsourcing.EventSerializer;
+import com.jnzader.apigen.core.infrastructure.eventsourcing.SmileEventPayloadCodec;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for event payload formats: the JSON path against Smile, with and without deflate.
+ *
+ * <p>Serializes an order event with {@code lines} order lines and deserializes a stream of {@code
+ * STREAM_LENGTH} such payloads, which is the work {@code AggregateRepository.findById} does when
+ * replaying an aggregate. The encoded payload size of each format is reported as the {@code
+ * payloadChars} secondary result of {@link #serialize}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class EventSerializerBenchmark {
+
+    private static final int STREAM_LENGTH = 100;
+    private static final String EVENT_TYPE = "OrderPlaced";
+
+    @Param({"json", "smile", "smile-deflate"})
+    private String format;
+
+    @Param({"3", "50"})
+    private int lines;
+
+    private EventSerializer serializer;
+    private OrderPlaced event;
+    private String payload;
+    private List<String> stream;
+
+    @Setup
+    public void setup() {
+        serializer = new EventSerializer();
+        serializer.registerEventType(EVENT_TYPE, OrderPlaced.class);
+        switch (format) {
+            case "smile" -> serializer.writeWith(SmileEventPayloadCodec.NAME, -1);
+            case "smile-deflate" -> serializer.writeWith(SmileEventPayloadCodec.NAME, 256);
+            default -> serializer.writeWith("json", -1);
+        }
+
+        event = order("order-1", lines);
+        payload = serializer.serialize(event);
+        stream = new ArrayList<>(STREAM_LENGTH);
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            stream.add(serializer.serialize(order("order-" + i, lines)));
+        }
+    }
+
+    @Benchmark
+    public String serialize(PayloadSize size) {
+        return serializer.serialize(event);
+    }
+
+    @Benchmark
+    public DomainEvent deserialize() {
+        return serializer.deserialize(payload, EVENT_TYPE);
+    }
+
+    @Benchmark
+    public void replayStream(Blackhole bh) {
+        for (String stored : stream) {
+            bh.consume(serializer.deserialize(stored, EVENT_TYPE));
+        }
+    }
+
+    private static OrderPlaced order(String orderId, int lineCount) {
+        List<OrderLine> orderLines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            orderLines.add(new OrderLine("SKU-" + (1000 + i), i % 5 + 1, new BigDecimal("19.99")));
+        }
+        return new OrderPlaced(
+                orderId, "customer-42", Instant.parse("2024-01-15T10:30:00Z"), orderLines);
+    }
+
+    /** Encoded size of the benchmark's payload, reported next to the timings. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        /** Characters in one stored payload, header included. */
+        public long payloadChars;
+
+        @Setup(Level.Iteration)
+        public void record(EventSerializerBenchmark benchmark) {
+            // EVENTS counters are summed per iteration, so set the value rather than add to it
+            payloadChars = benchmark.payload.length();
+        }
+    }
+
+    /** Event with a nested collection, typical of order or cart streams. */
+    public static class OrderPlaced implements DomainEvent {
+        private String aggregateId;
+        private String customerId;
+        private Instant occurredAt;
+        private List<OrderLine> lines;
+
+        public OrderPlaced() {}
+
+        OrderPlaced(
+                String aggregateId, String customerId, Instant occurredAt, List<OrderLine> lines) {
+            this.aggregateId = aggregateId;
+            this.customerId = customerId;
+            this.occurredAt = occurredAt;
+            this.lines = lines;
+        }
+
+        @Override
+        public String getAggregateId() {
+            return aggregateId;
+        }
+
+        @Override
+        public String getEventType() {
+            return EVENT_TYPE;
+        }
+
+        @Override
+        public Instant getOccurredAt() {
+            return occurredAt;
+        }
+
+        public String getCustomerId() {
+            return customerId;
+        }
+
+        public List<OrderLine> getLines() {
+            return lines;
+        }
+    }
+
+    /** One line of an order. */
+    public record OrderLine(String sku, int quantity, BigDecimal unitPrice) {}
+}
@@ -1,16 +1,42 @@
 package com.jnzader.apigen.core.application.dto.pagination;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Base64;
+import java.util.UUID;
 
 /**
- * Request para paginación basada en cursor.
+ * Request para paginación basada en cursor (keyset).
  *
- * <p>El cursor es una representación codificada en Base64 del último ID visto, lo que permite una
- * paginación eficiente sin los problemas de offset: - Performance constante independiente de la
- * página - Sin duplicados/omisiones al insertar/eliminar datos
+ * <p>El cursor identifica la última fila vista por la tupla {@code (sortField, id)}, lo que
+ * permite una paginación eficiente sin los problemas de offset: - Performance constante
+ * independiente de la página - Sin duplicados/omisiones al insertar/eliminar datos
  *
- * <p>Formato del cursor: Base64(id:sortField:sortValue:direction)
+ * <p>Formato del cursor (binario, Base64 URL sin padding):
+ *
+ * <pre>
+ * [0x01 formato][flags: bit0 DESC, bit1 hacia atrás][id varint][sortField UTF][tipo][valor]
+ * </pre>
+ *
+ * <p>El valor de ordenamiento se guarda con su tipo (entero, texto, fecha, etc.), de modo que se
+ * puede comparar en la consulta sin parsear strings. Los textos se escriben en UTF-8 precedidos de
+ * su longitud (varint), sin el límite de 64 KB de {@code writeUTF}; los cursores que aún llevan el
+ * tipo de texto anterior se siguen leyendo, igual que los cursores de texto del formato anterior
+ * ({@code Base64(id:sortField:sortValue:direction)}).
  *
  * @param cursor Cursor codificado en Base64 (null para primera página)
  * @param size Tamaño de página (default 20, max 100)
@@ -23,6 +49,21 @@ public record CursorPageRequest(
     public static final int MAX_SIZE = 100;
     public static final String DEFAULT_SORT_FIELD = "id";
 
+    private static final String INVALID_CURSOR = "Cursor inválido: ";
+    private static final byte FORMAT_V1 = 0x01;
+    private static final int FLAG_DESC = 0x01;
+    private static final int FLAG_BACKWARD = 0x02;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_STRING = 2;
+    private static final byte TYPE_DOUBLE = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_LOCAL_DATE_TIME = 5;
+    private static final byte TYPE_INSTANT = 6;
+    private static final byte TYPE_LOCAL_DATE = 7;
+    private static final byte TYPE_TEXT = 8;
+
     public enum SortDirection {
         ASC,
         DESC
@@ -49,7 +90,10 @@ public record CursorPageRequest(
         return new CursorPageRequest(null, size, sortField, direction);
     }
 
-    /** Crea un request desde un cursor existente. */
+    /**
+     * Crea un request desde un cursor existente. El campo y la dirección de ordenamiento se toman
+     * del cursor.
+     */
     public static CursorPageRequest fromCursor(String cursor, int size) {
         if (cursor == null || cursor.isBlank()) {
             return firstPage(size, DEFAULT_SORT_FIELD, SortDirection.DESC);
@@ -64,7 +108,7 @@ public record CursorPageRequest(
         return cursor == null || cursor.isBlank();
     }
 
-    /** Decodifica el cursor para obtener el ID del último elemento. */
+    /** Decodifica el cursor para obtener la posición del último elemento visto. */
     public DecodedCursor getDecodedCursor() {
         if (isFirstPage()) {
             return null;
@@ -72,40 +116,274 @@ public record CursorPageRequest(
         return decodeCursor(cursor);
     }
 
-    /** Crea un cursor codificado a partir de los componentes. */
+    /** Crea un cursor hacia adelante a partir de los componentes. */
+    public static String encodeCursor(
+            Long id, String sortField, Object sortValue, SortDirection direction) {
+        return encodeCursor(id, sortField, sortValue, direction, false);
+    }
+
+    /**
+     * Crea un cursor codificado a partir de los componentes.
+     *
+     * @param id ID de la fila de referencia
+     * @param sortField Campo de ordenamiento
+     * @param sortValue Valor del campo de ordenamiento en la fila de referencia
+     * @param direction Dirección de ordenamiento
+     * @param backward true para un cursor de página anterior (filas antes de la referencia)
+     * @return El cursor en Base64 URL sin padding
+     */
     public static String encodeCursor(
-            Long id, String sortField, String sortValue, SortDirection direction) {
-        String raw =
-                String.format(
-                        "%d:%s:%s:%s",
-                        id, sortField, sortValue != null ? sortValue : "", direction.name());
-        return Base64.getUrlEncoder()
-                .withoutPadding()
-                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            Long id,
+            String sortField,
+            Object sortValue,
+            SortDirection direction,
+            boolean backward) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_V1);
+            int flags = direction == SortDirection.DESC ? FLAG_DESC : 0;
+            out.writeByte(backward ? flags | FLAG_BACKWARD : flags);
+            writeVarLong(out, id);
+            out.writeUTF(sortField);
+            writeValue(out, sortValue);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
     }
 
     /** Decodifica un cursor. */
     private static DecodedCursor decodeCursor(String cursor) {
+        byte[] raw;
         try {
-            String decoded =
-                    new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
-            String[] parts = decoded.split(":", 4);
+            raw = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR + e.getMessage(), e);
+        }
+        if (raw.length == 0) {
+            throw new IllegalArgumentException(INVALID_CURSOR + "vacío");
+        }
+        return raw[0] == FORMAT_V1 ? decodeBinary(raw) : decodeLegacy(raw);
+    }
 
-            if (parts.length < 4) {
-                throw new IllegalArgumentException("Cursor inválido: formato incorrecto");
+    private static DecodedCursor decodeBinary(byte[] raw) {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(raw, 1, raw.length - 1);
+        try (DataInputStream in = new DataInputStream(bytes)) {
+            int flags = in.readUnsignedByte();
+            long id = readVarLong(in);
+            String sortField = in.readUTF();
+            Object sortValue = readValue(in);
+            return new DecodedCursor(
+                    id,
+                    sortField,
+                    sortValue,
+                    (flags & FLAG_DESC) != 0 ? SortDirection.DESC : SortDirection.ASC,
+                    (flags & FLAG_BACKWARD) != 0);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR + "formato incorrecto", e);
+        }
+    }
+
+    /** Formato anterior: Base64(id:sortField:sortValue:direction). */
+    private static DecodedCursor decodeLegacy(byte[] raw) {
+        try {
+            String decoded = new String(raw, StandardCharsets.UTF_8);
+            // sortValue puede contener ':' (p.ej. fechas); la dirección es el último token
+            int idEnd = decoded.indexOf(':');
+            int fieldEnd = decoded.indexOf(':', idEnd + 1);
+            int valueEnd = decoded.lastIndexOf(':');
+
+            if (idEnd < 0 || fieldEnd < 0 || valueEnd <= fieldEnd) {
+                throw new IllegalArgumentException("formato incorrecto");
             }
 
+            String sortValue = decoded.substring(fieldEnd + 1, valueEnd);
             return new DecodedCursor(
-                    Long.parseLong(parts[0]),
-                    parts[1],
-                    parts[2].isEmpty() ? null : parts[2],
-                    SortDirection.valueOf(parts[3]));
+                    Long.parseLong(decoded.substring(0, idEnd)),
+                    decoded.substring(idEnd + 1, fieldEnd),
+                    sortValue.isEmpty() ? null : sortValue,
+                    SortDirection.valueOf(decoded.substring(valueEnd + 1)),
+                    false);
         } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Cursor inválido: " + e.getMessage(), e);
+            throw new IllegalArgumentException(INVALID_CURSOR + e.getMessage(), e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(TYPE_NULL);
+            case Long l -> writeTagged(out, TYPE_LONG, l);
+            case Integer i -> writeTagged(out, TYPE_LONG, i);
+            case Short s -> writeTagged(out, TYPE_LONG, s);
+            case Byte b -> writeTagged(out, TYPE_LONG, b);
+            case Double d -> {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(d);
+            }
+            case Float f -> {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(f);
+            }
+            case Boolean b -> {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(b);
+            }
+            case LocalDateTime ldt ->
+                    writeInstant(out, TYPE_LOCAL_DATE_TIME, ldt.toInstant(ZoneOffset.UTC));
+            case Instant instant -> writeInstant(out, TYPE_INSTANT, instant);
+            case OffsetDateTime odt -> writeInstant(out, TYPE_INSTANT, odt.toInstant());
+            case ZonedDateTime zdt -> writeInstant(out, TYPE_INSTANT, zdt.toInstant());
+            case LocalDate date -> writeTagged(out, TYPE_LOCAL_DATE, date.toEpochDay());
+            case Enum<?> e -> writeText(out, e.name());
+            case BigDecimal decimal -> writeText(out, decimal.toPlainString());
+            default -> writeText(out, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_LONG -> readVarLong(in);
+            case TYPE_STRING -> in.readUTF();
+            case TYPE_TEXT -> readText(in);
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_LOCAL_DATE_TIME -> LocalDateTime.ofInstant(readInstant(in), ZoneOffset.UTC);
+            case TYPE_INSTANT -> readInstant(in);
+            case TYPE_LOCAL_DATE -> LocalDate.ofEpochDay(readVarLong(in));
+            default -> throw new IOException("tipo de valor desconocido: " + type);
+        };
+    }
+
+    private static void writeTagged(DataOutputStream out, byte type, long value)
+            throws IOException {
+        out.writeByte(type);
+        writeVarLong(out, value);
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        writeTagged(out, TYPE_TEXT, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        // Nunca más de lo que queda en el cursor, aunque la longitud venga manipulada
+        if (length < 0 || length > in.available()) {
+            throw new IOException("longitud de texto inválida: " + length);
+        }
+        return new String(in.readNBytes((int) length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutputStream out, byte type, Instant instant)
+            throws IOException {
+        writeTagged(out, type, instant.getEpochSecond());
+        writeVarLong(out, instant.getNano());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long seconds = readVarLong(in);
+        return Instant.ofEpochSecond(seconds, readVarLong(in));
+    }
+
+    /** Varint ZigZag: los IDs y epochs habituales ocupan 2-5 bytes en lugar de 8. */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
         }
+        out.writeByte((int) zigzag);
     }
 
-    /** Representación decodificada del cursor. */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("varint demasiado largo");
+    }
+
+    /**
+     * Representación decodificada del cursor.
+     *
+     * @param lastId ID de la fila de referencia
+     * @param sortField Campo de ordenamiento
+     * @param sortValue Valor de ordenamiento de la fila de referencia (tipado según el cursor)
+     * @param sortDirection Dirección de ordenamiento
+     * @param backward true si el cursor pide las filas anteriores a la referencia
+     */
     public record DecodedCursor(
-            Long lastId, String sortField, String sortValue, SortDirection sortDirection) {}
+            Long lastId,
+            String sortField,
+            Object sortValue,
+            SortDirection sortDirection,
+            boolean backward) {
+
+        /**
+         * Convierte el valor de ordenamiento al tipo del campo de la entidad, para compararlo en
+         * la consulta.
+         *
+         * @param type Tipo declarado del campo (puede ser primitivo)
+         * @return El valor convertido, o null si el cursor no tiene valor
+         * @throws IllegalArgumentException si el valor no es convertible al tipo
+         */
+        public Object sortValueAs(Class<?> type) {
+            if (sortValue == null || type == null) {
+                return sortValue;
+            }
+            Class<?> target = MethodType.methodType(type).wrap().returnType();
+            if (target.isInstance(sortValue)) {
+                return sortValue;
+            }
+            try {
+                return convert(sortValue, target);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(
+                        INVALID_CURSOR
+                                + "valor de ordenamiento incompatible con "
+                                + target.getSimpleName(),
+                        e);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object convert(Object value, Class<?> target) {
+            if (value instanceof Number n) {
+                if (target == Long.class) return n.longValue();
+                if (target == Integer.class) return Math.toIntExact(n.longValue());
+                if (target == Short.class) return n.shortValue();
+                if (target == Byte.class) return n.byteValue();
+                if (target == Double.class) return n.doubleValue();
+                if (target == Float.class) return n.floatValue();
+            }
+            if (value instanceof Instant instant) {
+                if (target == OffsetDateTime.class) return instant.atOffset(ZoneOffset.UTC);
+                if (target == ZonedDateTime.class) return instant.atZone(ZoneOffset.UTC);
+                if (target == LocalDateTime.class) {
+                    return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+                }
+            }
+            String text = value.toString();
+            if (target.isEnum()) return Enum.valueOf((Class<Enum>) target, text);
+            if (target == String.class) return text;
+            if (target == BigDecimal.class) return new BigDecimal(text);
+            if (target == BigInteger.class) return new BigInteger(text);
+            if (target == UUID.class) return UUID.fromString(text);
+            if (target == Long.class) return Long.parseLong(text);
+            if (target == Integer.class) return Integer.parseInt(text);
+            if (target == Double.class) return Double.parseDouble(text);
+            if (target == Boolean.class) return Boolean.parseBoolean(text);
+            if (target == LocalDateTime.class) return LocalDateTime.parse(text);
+            if (target == LocalDate.class) return LocalDate.parse(text);
+            if (target == Instant.class) return Instant.parse(text);
+            throw new IllegalArgumentException("tipo no soportado");
+        }
+    }
 }
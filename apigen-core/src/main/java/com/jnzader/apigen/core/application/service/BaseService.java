@@ -6,6 +6,7 @@ import com.jnzader.apigen.core.application.util.Result;
 import com.jnzader.apigen.core.domain.entity.Base;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -63,6 +64,14 @@ public interface BaseService<E extends Base, I extends Serializable> {
      */
     Result<E, Exception> findById(I id);
 
+    /**
+     * Obtiene la versión actual de una entidad sin cargarla ni mapearla.
+     *
+     * @param id El identificador de la entidad.
+     * @return Result con la versión o error si no existe.
+     */
+    Result<Long, Exception> findVersionById(I id);
+
     /**
      * Verifica si existe una entidad con el ID dado.
      *
@@ -188,6 +197,15 @@ public interface BaseService<E extends Base, I extends Serializable> {
      */
     Result<List<E>, Exception> saveAll(List<E> entities);
 
+    /**
+     * Actualiza múltiples entidades en una sola transacción. Las versiones actuales se cargan con
+     * una sola consulta en lugar de una por entidad.
+     *
+     * @param entities Mapa de ID a entidad con los nuevos datos (el orden se conserva).
+     * @return Result con las entidades actualizadas, o error si alguna no existe.
+     */
+    Result<List<E>, Exception> updateAll(Map<I, E> entities);
+
     /**
      * Elimina lógicamente múltiples entidades.
      *
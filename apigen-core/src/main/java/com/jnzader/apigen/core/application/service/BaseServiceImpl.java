@@ -18,10 +18,18 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
@@ -54,6 +62,7 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
     private static final int MAX_RESULTS_WITHOUT_PAGINATION = 1000;
     private static final int WARN_THRESHOLD = 500;
     private static final int MAX_BATCH_OPERATION_SIZE = 10000;
+    private static final String DEFAULT_CURSOR_SORT_FIELD = CursorPageRequest.DEFAULT_SORT_FIELD;
 
     protected final BaseRepository<E, I> baseRepository;
     protected final CacheEvictionService cacheEvictionService;
@@ -276,6 +285,15 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                 () -> new ResourceNotFoundException(ERROR_NOT_FOUND + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Result<Long, Exception> findVersionById(I id) {
+        log.debug("Finding version of {} with ID: {}", getEntityName(), id);
+        return Result.fromOptional(
+                baseRepository.findVersionById(id),
+                () -> new ResourceNotFoundException(ERROR_NOT_FOUND + id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Result<Boolean, Exception> existsById(I id) {
@@ -641,7 +659,9 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                     }
 
                     // Selective eviction: only caches of this entity (doesn't affect others)
-                    cacheEvictionService.evictAll(getEntityName(), null);
+                    cacheEvictionService.evictAllByIds(
+                            getEntityName(),
+                            allSavedEntities.stream().map(Base::getId).toList());
 
                     log.info(
                             "Saved {} entities of type {} in batch",
@@ -651,6 +671,57 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                 });
     }
 
+    @Override
+    @Transactional(timeout = 300) // 5 minutes for batch operations
+    public Result<List<E>, Exception> updateAll(Map<I, E> entities) {
+        return Result.of(
+                () -> {
+                    validateBatchSize(entities.size(), "updateAll");
+
+                    log.debug(
+                            "Updating {} entities of type {} in batch",
+                            entities.size(),
+                            getEntityName());
+
+                    if (entities.isEmpty()) {
+                        return new ArrayList<>();
+                    }
+
+                    // One query for all current versions instead of one findById per entity
+                    Map<Object, E> existing = new HashMap<>();
+                    for (E entity : baseRepository.findAllById(entities.keySet())) {
+                        existing.put(entity.getId(), entity);
+                    }
+
+                    List<E> toSave = new ArrayList<>(entities.size());
+                    for (Map.Entry<I, E> entry : entities.entrySet()) {
+                        E current = existing.get(entry.getKey());
+                        if (current == null) {
+                            throw new ResourceNotFoundException(ERROR_NOT_FOUND + entry.getKey());
+                        }
+                        E entity = entry.getValue();
+                        setEntityId(entity, entry.getKey(), current);
+                        entity.setVersion(current.getVersion());
+                        toSave.add(entity);
+                    }
+
+                    List<E> saved = baseRepository.saveAll(toSave);
+                    for (E entity : saved) {
+                        entity.registerEvent(
+                                new EntityUpdatedEvent<>(entity, entity.getModificadoPor()));
+                    }
+
+                    // Selective eviction: only caches of this entity (doesn't affect others)
+                    cacheEvictionService.evictAllByIds(getEntityName(), entities.keySet());
+
+                    log.info(
+                            "Updated {} entities of type {} in batch",
+                            saved.size(),
+                            getEntityName());
+                    return saved;
+                });
+    }
+
     @Override
     @Transactional(timeout = 300) // 5 minutes for batch operations
     public Result<Integer, Exception> softDeleteAll(List<I> ids) {
@@ -682,7 +753,7 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                     int count = baseRepository.softDeleteAllByIds(ids, now, usuario);
 
                     // Selective eviction: only caches of this entity (doesn't affect others)
-                    cacheEvictionService.evictAll(getEntityName(), null);
+                    cacheEvictionService.evictAllByIds(getEntityName(), ids);
 
                     log.info(
                             "Soft deleted {} of {} entities of type {}",
@@ -711,7 +782,7 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                     int count = baseRepository.restoreAllByIds(ids);
 
                     // Selective eviction: only caches of this entity (doesn't affect others)
-                    cacheEvictionService.evictAll(getEntityName(), null);
+                    cacheEvictionService.evictAllByIds(getEntityName(), ids);
 
                     log.info(
                             "Restored {} of {} entities of type {}",
@@ -743,7 +814,7 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                     baseRepository.deleteAllByIdInBatch(ids);
 
                     // Selective eviction: only caches of this entity (doesn't affect others)
-                    cacheEvictionService.evictAll(getEntityName(), null);
+                    cacheEvictionService.evictAllByIds(getEntityName(), ids);
 
                     log.info(
                             "Permanently deleted {} entities of type {}",
@@ -807,38 +878,63 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                             request.sortField(),
                             request.sortDirection());
 
-                    // Build the specification with the cursor
-                    Specification<E> cursorSpec = buildCursorSpecification(spec, request);
-
-                    // Determine the order
-                    Sort sort = buildSort(request);
-
-                    // Get size + 1 to know if there are more elements
-                    Pageable pageable = PageRequest.of(0, request.size() + 1, sort);
-                    List<E> results = baseRepository.findAll(cursorSpec, pageable).getContent();
+                    CursorPageRequest.DecodedCursor decoded = request.getDecodedCursor();
+                    if (decoded != null && !decoded.sortField().equals(request.sortField())) {
+                        throw new IllegalArgumentException(
+                                "Cursor inválido: ordenado por '"
+                                        + decoded.sortField()
+                                        + "', no por '"
+                                        + request.sortField()
+                                        + "'");
+                    }
+                    boolean backward = decoded != null && decoded.backward();
+
+                    // Build the keyset segments: (sortField, id) after/before the cursor
+                    List<Specification<E>> segments = buildCursorSegments(spec, request, decoded);
+
+                    // Backward pages scan in reverse order and are flipped afterwards
+                    Sort sort = buildSort(request, backward);
+
+                    // Get size + 1 to know if there are more elements. No COUNT query, so the cost
+                    // of a page does not depend on its position. The next segment is only queried
+                    // when the previous one runs out before filling the page.
+                    int limit = request.size() + 1;
+                    List<E> results = new ArrayList<>();
+                    for (Specification<E> segment : segments) {
+                        int remaining = limit - results.size();
+                        if (remaining == 0) {
+                            break;
+                        }
+                        results.addAll(
+                                baseRepository.findBy(
+                                        segment,
+                                        query -> query.sortBy(sort).limit(remaining).all()));
+                    }
 
-                    // Check if there are more elements
-                    boolean hasNext = results.size() > request.size();
-                    if (hasNext) {
+                    boolean hasMore = results.size() > request.size();
+                    if (hasMore) {
                         results = results.subList(0, request.size());
                     }
+                    if (backward) {
+                        results = new ArrayList<>(results);
+                        Collections.reverse(results);
+                    }
 
-                    // Check if there are previous elements (only if not the first page)
-                    boolean hasPrevious = !request.isFirstPage();
+                    // Going back always leaves a next page; going forward, a previous one
+                    boolean hasNext = backward || hasMore;
+                    boolean hasPrevious = backward ? hasMore : decoded != null;
 
                     // Build cursors
                     String nextCursor = null;
                     String prevCursor = null;
 
                     if (!results.isEmpty()) {
-                        E lastEntity = results.get(results.size() - 1);
                         if (hasNext) {
-                            nextCursor = buildCursor(lastEntity, request);
+                            E lastEntity = results.get(results.size() - 1);
+                            nextCursor = buildCursor(lastEntity, request, false);
                         }
-
-                        E firstEntity = results.get(0);
                         if (hasPrevious) {
-                            prevCursor = buildCursor(firstEntity, request);
+                            prevCursor = buildCursor(results.get(0), request, true);
                         }
                     }
 
@@ -853,65 +949,124 @@ public abstract class BaseServiceImpl<E extends Base, I extends Serializable>
                 });
     }
 
-    /** Builds the JPA specification for the cursor. */
-    private Specification<E> buildCursorSpecification(
-            Specification<E> baseSpec, CursorPageRequest request) {
-        if (request.isFirstPage()) {
-            return baseSpec != null ? baseSpec : (root, query, cb) -> cb.conjunction();
+    /**
+     * Builds the keyset specifications for the cursor, in scan order.
+     *
+     * <p>Rows are ordered by {@code (sortField, id)} with nulls last. Rows with and without a sort
+     * value are fetched by separate specifications, so neither needs an {@code OR ... IS NULL}
+     * branch and each one is a range on a {@code (sortField, id)} index. Criteria has no row value
+     * comparison, so going forward the rows after {@code (v, lastId)} are {@code sortField >= v
+     * AND (sortField > v OR id > lastId)}: the leading bound is what the index seeks on, the rest
+     * only filters the ties. The null rows are {@code sortField IS NULL AND id > lastId}. Going
+     * backward the comparisons are inverted and the nulls come first. The cursor value is
+     * converted to the field type resolved through {@link FieldAccessorCache}.
+     */
+    private List<Specification<E>> buildCursorSegments(
+            Specification<E> baseSpec,
+            CursorPageRequest request,
+            CursorPageRequest.DecodedCursor decoded) {
+        String sortField = request.sortField();
+        boolean backward = decoded != null && decoded.backward();
+        // Effective scan direction: backward pages walk the same order in reverse
+        boolean ascending =
+                (request.sortDirection() == CursorPageRequest.SortDirection.ASC) != backward;
+
+        if (DEFAULT_CURSOR_SORT_FIELD.equals(sortField)) {
+            Specification<E> idSpec =
+                    decoded == null
+                            ? (root, query, cb) -> cb.conjunction()
+                            : (root, query, cb) ->
+                                    idAfter(root, cb, decoded.lastId(), ascending);
+            return List.of(withBaseSpec(baseSpec, idSpec));
         }
 
-        CursorPageRequest.DecodedCursor decoded = request.getDecodedCursor();
+        Specification<E> valued;
+        Specification<E> nulls;
         if (decoded == null) {
-            return baseSpec != null ? baseSpec : (root, query, cb) -> cb.conjunction();
+            valued = (root, query, cb) -> cb.isNotNull(root.get(sortField));
+            nulls = (root, query, cb) -> cb.isNull(root.get(sortField));
+        } else {
+            Long lastId = decoded.lastId();
+            Object lastValue =
+                    decoded.sortValueAs(
+                            FieldAccessorCache.getFieldType(getEntityClass(), sortField));
+            if (lastValue == null) {
+                // Cursor inside the nulls: the rest of them, then (backward) every valued row
+                nulls =
+                        (root, query, cb) ->
+                                cb.and(
+                                        cb.isNull(root.get(sortField)),
+                                        idAfter(root, cb, lastId, ascending));
+                valued = backward ? (root, query, cb) -> cb.isNotNull(root.get(sortField)) : null;
+            } else {
+                @SuppressWarnings("unchecked")
+                Comparable<Object> value = (Comparable<Object>) lastValue;
+                valued =
+                        (root, query, cb) -> {
+                            Path<Comparable<Object>> field = root.get(sortField);
+                            Predicate from =
+                                    ascending
+                                            ? cb.greaterThanOrEqualTo(field, value)
+                                            : cb.lessThanOrEqualTo(field, value);
+                            Predicate past =
+                                    ascending
+                                            ? cb.greaterThan(field, value)
+                                            : cb.lessThan(field, value);
+                            return cb.and(from, cb.or(past, idAfter(root, cb, lastId, ascending)));
+                        };
+                nulls = backward ? null : (root, query, cb) -> cb.isNull(root.get(sortField));
+            }
         }
 
-        // Specification for "after the cursor"
-        Specification<E> cursorSpec =
-                (root, query, cb) -> {
-                    // For DESC ordering: id < lastId
-                    // For ASC ordering: id > lastId
-                    if (request.sortDirection() == CursorPageRequest.SortDirection.DESC) {
-                        return cb.lessThan(root.get("id"), decoded.lastId());
-                    } else {
-                        return cb.greaterThan(root.get("id"), decoded.lastId());
-                    }
-                };
+        List<Specification<E>> segments = new ArrayList<>(2);
+        for (Specification<E> segment :
+                backward ? Arrays.asList(nulls, valued) : Arrays.asList(valued, nulls)) {
+            if (segment != null) {
+                segments.add(withBaseSpec(baseSpec, segment));
+            }
+        }
+        return segments;
+    }
+
+    private static <E> Predicate idAfter(
+            Root<E> root, CriteriaBuilder cb, Long lastId, boolean ascending) {
+        Path<Long> id = root.get("id");
+        return ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+    }
 
-        return baseSpec != null ? baseSpec.and(cursorSpec) : cursorSpec;
+    private Specification<E> withBaseSpec(Specification<E> baseSpec, Specification<E> spec) {
+        return baseSpec != null ? baseSpec.and(spec) : spec;
     }
 
-    /** Builds the Sort for the query. */
-    private Sort buildSort(CursorPageRequest request) {
-        Sort.Direction direction =
-                request.sortDirection() == CursorPageRequest.SortDirection.DESC
-                        ? Sort.Direction.DESC
-                        : Sort.Direction.ASC;
+    /** Builds the Sort for the query ({@code reversed} for backward pages). */
+    private Sort buildSort(CursorPageRequest request, boolean reversed) {
+        boolean ascending =
+                (request.sortDirection() == CursorPageRequest.SortDirection.ASC) != reversed;
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
 
         // Always sort by ID as secondary field to guarantee consistency
-        if ("id".equals(request.sortField())) {
+        if (DEFAULT_CURSOR_SORT_FIELD.equals(request.sortField())) {
             return Sort.by(direction, "id");
         }
 
-        return Sort.by(
-                Sort.Order.by(request.sortField()).with(direction),
-                Sort.Order.by("id").with(direction));
-    }
-
-    /** Builds the encoded cursor for an entity. */
-    private String buildCursor(E entity, CursorPageRequest request) {
-        String sortValue = getSortFieldValue(entity, request.sortField());
-        return CursorPageRequest.encodeCursor(
-                entity.getId(), request.sortField(), sortValue, request.sortDirection());
+        // Each keyset segment has either only values or only nulls, so no NULLS clause is needed
+        // and the ORDER BY matches the (sortField, id) index
+        return Sort.by(direction, request.sortField(), "id");
     }
 
     /**
-     * Gets the sort field value from an entity.
+     * Builds the encoded cursor for an entity.
      *
      * <p>Uses {@link FieldAccessorCache} for optimized access with cached MethodHandles, avoiding
-     * direct reflection overhead (~90% less overhead).
+     * direct reflection overhead (~90% less overhead). The value keeps its type in the cursor.
      */
-    private String getSortFieldValue(E entity, String sortField) {
-        Object value = FieldAccessorCache.getFieldValue(entity, sortField);
-        return value != null ? value.toString() : null;
+    private String buildCursor(E entity, CursorPageRequest request, boolean backward) {
+        String sortField = request.sortField();
+        Object sortValue =
+                DEFAULT_CURSOR_SORT_FIELD.equals(sortField)
+                        ? null
+                        : FieldAccessorCache.getFieldValue(entity, sortField);
+        return CursorPageRequest.encodeCursor(
+                entity.getId(), sortField, sortValue, request.sortDirection(), backward);
     }
 }
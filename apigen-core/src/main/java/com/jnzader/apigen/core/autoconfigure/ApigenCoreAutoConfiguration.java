@@ -11,6 +11,8 @@ import com.jnzader.apigen.core.infrastructure.config.JpaConfig;
 import com.jnzader.apigen.core.infrastructure.config.OpenApiConfig;
 import com.jnzader.apigen.core.infrastructure.config.RedisCacheConfig;
 import com.jnzader.apigen.core.infrastructure.config.ResilienceConfig;
+import com.jnzader.apigen.core.infrastructure.config.SseBackplaneConfig;
+import com.jnzader.apigen.core.infrastructure.config.TieredCacheConfig;
 import com.jnzader.apigen.core.infrastructure.config.TracingConfig;
 import com.jnzader.apigen.core.infrastructure.config.WebConfig;
 import com.jnzader.apigen.core.infrastructure.config.properties.AppProperties;
@@ -52,6 +54,8 @@ import org.springframework.context.annotation.Import;
 @Import({
     CacheConfig.class,
     RedisCacheConfig.class,
+    TieredCacheConfig.class,
+    SseBackplaneConfig.class,
     WebConfig.class,
     AsyncConfig.class,
     TracingConfig.class,
@@ -1,13 +1,18 @@
 package com.jnzader.apigen.core.domain.repository;
 
 import com.jnzader.apigen.core.domain.entity.Base;
+import jakarta.persistence.QueryHint;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
 
@@ -87,6 +92,26 @@ public interface BaseRepository<E extends Base, I extends Serializable>
                     + " e.id = :id")
     boolean existsByIdIncludingDeleted(@Param("id") I id);
 
+    /**
+     * Obtiene solo la versión de una entidad, sin cargarla. Usado para resolver ETags basados en
+     * versión (If-None-Match / If-Match) con una proyección de una columna.
+     */
+    @Query("SELECT e.version FROM #{#entityName} e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") I id);
+
+    /**
+     * Recorre todas las entidades activas con un cursor de solo avance, para exportaciones masivas.
+     * Las filas se traen de a {@code 1000} y se cargan en modo solo lectura (sin snapshot para
+     * dirty checking). Requiere una transacción abierta y el stream debe cerrarse al terminar.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT e FROM #{#entityName} e ORDER BY e.id")
+    Stream<E> streamAllForExport();
+
     /**
      * Elimina permanentemente una entidad por ID (hard delete). Esta operación
      * ignora @SQLRestriction al usar DELETE directo.
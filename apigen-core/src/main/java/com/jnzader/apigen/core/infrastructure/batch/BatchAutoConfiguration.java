@@ -1,14 +1,38 @@
 package com.jnzader.apigen.core.infrastructure.batch;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jnzader.apigen.core.infrastructure.controller.BaseControllerImpl;
+import jakarta.validation.Validator;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.DispatcherServlet;
 
 /**
@@ -30,7 +54,14 @@ import org.springframework.web.servlet.DispatcherServlet;
  * apigen.batch.path=/api/batch           # Endpoint path
  * apigen.batch.max-operations=100        # Maximum operations per batch
  * apigen.batch.parallel-threshold=10     # Suggest parallel for batches larger than this
+ * apigen.batch.native-writes=true        # Serve grouped writes with saveAll/updateAll/...
+ * apigen.batch.max-concurrency=10        # Parallel operations in flight, across all batches
  * </pre>
+ *
+ * <p>Native writes need a {@link PlatformTransactionManager}. Controllers with method security
+ * annotations or custom save/update/delete endpoints are never served natively; with Spring
+ * Security on the classpath, each routed operation must also pass the {@link
+ * WebInvocationPrivilegeEvaluator} for its method and path.
  */
 @AutoConfiguration(
         afterName = "org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration")
@@ -44,11 +75,144 @@ import org.springframework.web.servlet.DispatcherServlet;
         matchIfMissing = true)
 public class BatchAutoConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(BatchAutoConfiguration.class);
+
+    private static final String NATIVE_WRITES_PROPERTY = "apigen.batch.native-writes";
+    private static final String MAX_CONCURRENCY_PROPERTY = "apigen.batch.max-concurrency";
+
+    private static final List<String> METHOD_SECURITY_ANNOTATIONS =
+            List.of(
+                    "org.springframework.security.access.prepost.PreAuthorize",
+                    "org.springframework.security.access.prepost.PostAuthorize",
+                    "org.springframework.security.access.annotation.Secured",
+                    "jakarta.annotation.security.RolesAllowed");
+
     @Bean
     @ConditionalOnMissingBean(BatchService.class)
     public BatchService batchService(
-            DispatcherServlet dispatcherServlet, ObjectMapper objectMapper) {
-        return new BatchService(dispatcherServlet, objectMapper);
+            DispatcherServlet dispatcherServlet,
+            ObjectMapper objectMapper,
+            ObjectProvider<BatchWriteRouter> batchWriteRouter,
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            Environment environment) {
+        PlatformTransactionManager txManager = transactionManager.getIfUnique();
+        boolean nativeWrites =
+                environment.getProperty(NATIVE_WRITES_PROPERTY, Boolean.class, Boolean.TRUE);
+        int maxConcurrency =
+                environment.getProperty(
+                        MAX_CONCURRENCY_PROPERTY,
+                        Integer.class,
+                        BatchService.DEFAULT_MAX_CONCURRENCY);
+        if (!nativeWrites || txManager == null) {
+            return new BatchService(
+                    dispatcherServlet,
+                    objectMapper,
+                    BatchWriteRouter.disabled(),
+                    TransactionOperations.withoutTransaction(),
+                    maxConcurrency);
+        }
+        return new BatchService(
+                dispatcherServlet,
+                objectMapper,
+                batchWriteRouter.getIfAvailable(BatchWriteRouter::disabled),
+                new TransactionTemplate(txManager),
+                maxConcurrency);
+    }
+
+    /** Router without access checks, used when Spring Security is not on the classpath. */
+    @Bean
+    @ConditionalOnMissingBean(BatchWriteRouter.class)
+    public BatchWriteRouter batchWriteRouter(
+            ObjectProvider<BaseControllerImpl<?, ?, ?>> controllers,
+            ObjectMapper objectMapper,
+            ObjectProvider<Validator> validator,
+            Environment environment) {
+        return new BatchWriteRouter(
+                writeTargets(controllers, environment),
+                objectMapper,
+                validator.getIfUnique(),
+                (method, path) -> true);
+    }
+
+    /** Routes only operations the current user may call according to the web security rules. */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(WebInvocationPrivilegeEvaluator.class)
+    static class SecuredBatchWriteConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(BatchWriteRouter.class)
+        public BatchWriteRouter batchWriteRouter(
+                ObjectProvider<BaseControllerImpl<?, ?, ?>> controllers,
+                ObjectMapper objectMapper,
+                ObjectProvider<Validator> validator,
+                ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator,
+                Environment environment) {
+            BiPredicate<String, String> accessCheck =
+                    (method, path) -> {
+                        WebInvocationPrivilegeEvaluator evaluator =
+                                privilegeEvaluator.getIfUnique();
+                        // Without an evaluator the rules are unknown: dispatch instead
+                        return evaluator != null
+                                && evaluator.isAllowed(
+                                        null,
+                                        path,
+                                        method,
+                                        SecurityContextHolder.getContext().getAuthentication());
+                    };
+            return new BatchWriteRouter(
+                    writeTargets(controllers, environment),
+                    objectMapper,
+                    validator.getIfUnique(),
+                    accessCheck);
+        }
+    }
+
+    /**
+     * Write targets by base path, resolved lazily so that controllers are not created early.
+     * Controllers without a single, fixed {@code @RequestMapping} path are skipped.
+     */
+    static Supplier<Map<String, BatchWriteTarget<?, ?>>> writeTargets(
+            ObjectProvider<BaseControllerImpl<?, ?, ?>> controllers, Environment environment) {
+        return () -> {
+            Map<String, BatchWriteTarget<?, ?>> targets = new LinkedHashMap<>();
+            controllers
+                    .orderedStream()
+                    .forEach(
+                            controller -> {
+                                Class<?> type = ClassUtils.getUserClass(controller.getClass());
+                                RequestMapping mapping =
+                                        AnnotatedElementUtils.findMergedAnnotation(
+                                                type, RequestMapping.class);
+                                if (mapping == null
+                                        || mapping.path().length != 1
+                                        || hasMethodSecurity(type)) {
+                                    return;
+                                }
+                                String basePath =
+                                        BatchWriteRouter.stripTrailingSlash(
+                                                environment.resolvePlaceholders(mapping.path()[0]));
+                                controller
+                                        .batchWriteTarget()
+                                        .ifPresent(
+                                                target -> targets.putIfAbsent(basePath, target));
+                            });
+            log.debug("Native batch writes enabled for {}", targets.keySet());
+            return targets;
+        };
+    }
+
+    /** Method security is enforced by proxies the native path would bypass. */
+    private static boolean hasMethodSecurity(Class<?> type) {
+        return isSecured(type)
+                || Arrays.stream(type.getMethods())
+                        .anyMatch(BatchAutoConfiguration::isSecured);
+    }
+
+    private static boolean isSecured(AnnotatedElement element) {
+        return Arrays.stream(element.getAnnotations())
+                .map(Annotation::annotationType)
+                .map(Class::getName)
+                .anyMatch(METHOD_SECURITY_ANNOTATIONS::contains);
     }
 
     @Bean
@@ -72,7 +72,8 @@ public class BatchController {
      * Executes multiple API operations in a single request.
      *
      * @param request the batch request containing operations to execute
-     * @param parallel if true, operations are executed in parallel (default: false)
+     * @param parallel if true, operations are executed in parallel (default: false); ignored for
+     *     atomic batches
      * @param httpRequest the original HTTP request for context
      * @return the batch response with results for each operation
      */
@@ -84,9 +85,12 @@ public class BatchController {
             description =
                     "Executes multiple API operations in a single HTTP request. Operations are"
                             + " executed sequentially by default, or in parallel if the 'parallel'"
-                            + " parameter is set to true. When stopOnError is true, execution stops"
-                            + " after the first failed operation (only applies to sequential"
-                            + " execution).")
+                            + " parameter is set to true. Parallel batches run as a dependency graph:"
+                            + " operations declaring dependsOn or referencing ${opId.body.field} wait"
+                            + " for those operations and are skipped with status 424 if they fail."
+                            + " When stopOnError is true, no operation starts after the first failed"
+                            + " one. When atomic is true, the batch runs sequentially in one"
+                            + " transaction that is rolled back if any operation fails.")
     @ApiResponse(
             responseCode = "200",
             description = "Batch executed successfully",
@@ -108,13 +112,15 @@ public class BatchController {
             HttpServletRequest httpRequest) {
 
         log.info(
-                "Received batch request with {} operations (parallel={}, stopOnError={})",
+                "Received batch request with {} operations (parallel={}, stopOnError={},"
+                        + " atomic={})",
                 request.operations().size(),
                 parallel,
-                request.stopOnError());
+                request.stopOnError(),
+                request.atomic());
 
         BatchResponse response;
-        if (parallel) {
+        if (parallel && !request.atomic()) {
             response = batchService.processBatchParallel(request, httpRequest);
         } else {
             response = batchService.processBatch(request, httpRequest);
@@ -0,0 +1,185 @@
+package com.jnzader.apigen.core.infrastructure.batch;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.jnzader.apigen.core.infrastructure.batch.BatchRequest.BatchOperation;
+import com.jnzader.apigen.core.infrastructure.batch.BatchResponse.OperationResult;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Dependencies between batch operations and resolution of {@code ${opId.expression}} references
+ * to the results of earlier operations.
+ *
+ * <p>Supported expressions:
+ *
+ * <ul>
+ *   <li>{@code ${op1.status}}: HTTP status
+ *   <li>{@code ${op1.body}} or {@code ${op1.body.items.0.id}}: response body or a value in it
+ *   <li>{@code ${op1.headers.Location}}: response header (case insensitive)
+ * </ul>
+ *
+ * <p>A body string that is exactly one reference is replaced by the referenced JSON value, keeping
+ * its type; anywhere else the value is inserted as text (URL-encoded in paths).
+ */
+final class BatchReferences {
+
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{([^.}]+)\\.([^}]+)}");
+
+    private BatchReferences() {}
+
+    /** IDs the operation depends on: its {@code dependsOn} plus every referenced operation. */
+    static Set<String> dependencies(BatchOperation operation) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (operation.dependsOn() != null) {
+            ids.addAll(operation.dependsOn());
+        }
+        collect(operation.path(), ids);
+        if (operation.headers() != null) {
+            operation.headers().values().forEach(value -> collect(value, ids));
+        }
+        if (operation.body() != null) {
+            collect(operation.body(), ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the operation with its references replaced.
+     *
+     * @param operation the operation
+     * @param results results of its dependencies by operation ID
+     * @return the resolved operation
+     * @throws IllegalArgumentException if a reference cannot be resolved
+     */
+    static BatchOperation resolve(BatchOperation operation, Map<String, OperationResult> results) {
+        String path =
+                replace(
+                        operation.path(),
+                        results,
+                        value -> UriUtils.encodePathSegment(value, StandardCharsets.UTF_8));
+        Map<String, String> headers = null;
+        if (operation.headers() != null) {
+            headers = new LinkedHashMap<>();
+            for (Map.Entry<String, String> header : operation.headers().entrySet()) {
+                headers.put(
+                        header.getKey(),
+                        replace(header.getValue(), results, UnaryOperator.identity()));
+            }
+        }
+        JsonNode body = operation.body() != null ? resolve(operation.body(), results) : null;
+        return new BatchOperation(
+                operation.id(), operation.method(), path, headers, body, operation.dependsOn());
+    }
+
+    private static void collect(String text, Set<String> ids) {
+        if (text == null) {
+            return;
+        }
+        Matcher matcher = REFERENCE.matcher(text);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+    }
+
+    private static void collect(JsonNode node, Set<String> ids) {
+        if (node.isTextual()) {
+            collect(node.asText(), ids);
+        } else {
+            node.forEach(child -> collect(child, ids));
+        }
+    }
+
+    private static String replace(
+            String text, Map<String, OperationResult> results, UnaryOperator<String> encoder) {
+        if (text == null || text.indexOf('$') < 0) {
+            return text;
+        }
+        Matcher matcher = REFERENCE.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            JsonNode value = lookup(matcher.group(1), matcher.group(2), results);
+            String replacement = value.isValueNode() ? value.asText() : value.toString();
+            matcher.appendReplacement(
+                    resolved, Matcher.quoteReplacement(encoder.apply(replacement)));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private static JsonNode resolve(JsonNode node, Map<String, OperationResult> results) {
+        if (node.isTextual()) {
+            Matcher matcher = REFERENCE.matcher(node.asText());
+            if (matcher.matches()) {
+                return lookup(matcher.group(1), matcher.group(2), results).deepCopy();
+            }
+            return TextNode.valueOf(replace(node.asText(), results, UnaryOperator.identity()));
+        }
+        if (node instanceof ObjectNode object) {
+            ObjectNode copy = object.objectNode();
+            object.properties()
+                    .forEach(field -> copy.set(field.getKey(), resolve(field.getValue(), results)));
+            return copy;
+        }
+        if (node instanceof ArrayNode array) {
+            ArrayNode copy = array.arrayNode(array.size());
+            array.forEach(element -> copy.add(resolve(element, results)));
+            return copy;
+        }
+        return node;
+    }
+
+    private static JsonNode lookup(
+            String operationId, String expression, Map<String, OperationResult> results) {
+        OperationResult result = results.get(operationId);
+        if (result == null) {
+            throw unresolved(operationId, expression);
+        }
+
+        String[] parts = expression.split("\\.", 2);
+        JsonNode value =
+                switch (parts[0]) {
+                    case "status" -> parts.length == 1 ? IntNode.valueOf(result.status()) : null;
+                    case "body" -> {
+                        if (result.body() == null || parts.length == 1) {
+                            yield result.body();
+                        }
+                        yield result.body()
+                                .at(JsonPointer.compile("/" + parts[1].replace('.', '/')));
+                    }
+                    case "headers" -> header(result, parts.length == 2 ? parts[1] : null);
+                    default -> null;
+                };
+        if (value == null || value.isMissingNode()) {
+            throw unresolved(operationId, expression);
+        }
+        return value;
+    }
+
+    private static JsonNode header(OperationResult result, String name) {
+        if (name == null || result.headers() == null) {
+            return null;
+        }
+        return result.headers().entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(name))
+                .findFirst()
+                .map(header -> (JsonNode) TextNode.valueOf(header.getValue()))
+                .orElse(null);
+    }
+
+    private static IllegalArgumentException unresolved(String operationId, String expression) {
+        return new IllegalArgumentException(
+                "Unresolved reference ${" + operationId + "." + expression + "}");
+    }
+}
@@ -27,6 +27,22 @@ import java.util.Map;
  *   "stopOnError": false
  * }
  * }</pre>
+ *
+ * <p>Operations can use results of earlier operations with {@code ${opId.body.field}}, {@code
+ * ${opId.status}} or {@code ${opId.headers.Name}} in the path, header values or body, and can
+ * declare further ordering with {@code dependsOn}:
+ *
+ * <pre>{@code
+ * { "id": "order", "method": "POST", "path": "/api/orders", "body": { "total": 10 } },
+ * { "id": "item", "method": "POST", "path": "/api/order-items",
+ *   "body": { "orderId": "${order.body.id}" } }
+ * }</pre>
+ *
+ * <p>An operation whose dependency fails is not executed and is reported with status 424.
+ *
+ * <p>With {@code "atomic": true} the batch runs sequentially in a single transaction: if any
+ * operation fails, every write is rolled back and the operations that had succeeded are reported
+ * with status 424.
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record BatchRequest(
@@ -34,7 +50,8 @@ public record BatchRequest(
                 @Size(max = 100, message = "Maximum 100 operations per batch request")
                 @Valid
                 List<BatchOperation> operations,
-        boolean stopOnError) {
+        boolean stopOnError,
+        boolean atomic) {
 
     /** Default constructor with default values. */
     public BatchRequest {
@@ -43,6 +60,11 @@ public record BatchRequest(
         }
     }
 
+    /** Creates a non-atomic batch request. */
+    public BatchRequest(List<BatchOperation> operations, boolean stopOnError) {
+        this(operations, stopOnError, false);
+    }
+
     /** Creates a batch request with only operations. */
     public BatchRequest(List<BatchOperation> operations) {
         this(operations, false);
@@ -56,6 +78,8 @@ public record BatchRequest(
      * @param path Request path (relative to API base)
      * @param headers Optional headers for this specific operation
      * @param body Optional request body (for POST, PUT, PATCH)
+     * @param dependsOn Optional IDs of operations that must succeed before this one runs; IDs
+     *     referenced with {@code ${id...}} are added implicitly
      */
     @JsonInclude(JsonInclude.Include.NON_NULL)
     public record BatchOperation(
@@ -69,7 +93,14 @@ public record BatchRequest(
                     @Pattern(regexp = "^/.*", message = "Path must start with /")
                     String path,
             Map<String, String> headers,
-            JsonNode body) {
+            JsonNode body,
+            List<String> dependsOn) {
+
+        /** Creates an operation without explicit dependencies. */
+        public BatchOperation(
+                String id, String method, String path, Map<String, String> headers, JsonNode body) {
+            this(id, method, path, headers, body, null);
+        }
 
         /** Creates an operation with only method and path. */
         public BatchOperation(String method, String path) {
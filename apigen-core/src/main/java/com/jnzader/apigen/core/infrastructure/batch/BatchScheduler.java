@@ -0,0 +1,255 @@
+package com.jnzader.apigen.core.infrastructure.batch;
+
+import com.jnzader.apigen.core.infrastructure.batch.BatchRequest.BatchOperation;
+import com.jnzader.apigen.core.infrastructure.batch.BatchResponse.OperationResult;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Runs the operations of a batch as a dependency graph.
+ *
+ * <p>Each operation starts as soon as all its dependencies (see {@link
+ * BatchReferences#dependencies}) have succeeded, so independent branches run concurrently. The
+ * number of operations executing at the same time is bounded by a permit pool shared by every
+ * batch, which keeps parallel batches from exhausting the database connection pool. Permits are
+ * only held while an operation runs, never while it waits for its dependencies.
+ *
+ * <p>Failures only affect dependents: an operation whose dependency failed is reported with status
+ * 424 without being executed. Unknown, ambiguous (duplicate ID) or circular dependencies are
+ * reported with status 400. With {@code stopOnError}, no new operation starts after the first
+ * failure and operations that never started are left out of the results, as in sequential mode.
+ */
+final class BatchScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchScheduler.class);
+
+    private final Executor executor;
+    private final Semaphore permits;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param executor executor for the operations (virtual threads)
+     * @param maxConcurrency maximum number of operations running at the same time, across batches
+     */
+    BatchScheduler(Executor executor, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Executes the operations.
+     *
+     * @param operations operations in request order
+     * @param stopOnError whether to stop starting operations after the first failure
+     * @param runner executes one resolved operation
+     * @return results in request order, without the operations that never started
+     */
+    List<OperationResult> execute(
+            List<BatchOperation> operations,
+            boolean stopOnError,
+            Function<BatchOperation, OperationResult> runner) {
+        int size = operations.size();
+        OperationResult[] invalid = new OperationResult[size];
+        List<List<Integer>> dependencies = resolveDependencies(operations, invalid);
+
+        List<Integer> order = topologicalOrder(dependencies);
+        if (order.size() < size) {
+            Set<Integer> ordered = new HashSet<>(order);
+            for (int i = 0; i < size; i++) {
+                if (!ordered.contains(i)) {
+                    invalid[i] =
+                            failure(
+                                    operations.get(i),
+                                    HttpStatus.BAD_REQUEST,
+                                    "Circular dependency between operations");
+                }
+            }
+        }
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<CompletableFuture<OperationResult>> futures =
+                new ArrayList<>(Collections.nCopies(size, null));
+        for (int i = 0; i < size; i++) {
+            if (invalid[i] != null) {
+                futures.set(i, CompletableFuture.completedFuture(invalid[i]));
+            }
+        }
+        for (int index : order) {
+            if (invalid[index] != null) {
+                continue;
+            }
+            List<Integer> deps = dependencies.get(index);
+            CompletableFuture<?>[] upstream =
+                    deps.stream().map(futures::get).toArray(CompletableFuture[]::new);
+            futures.set(
+                    index,
+                    CompletableFuture.allOf(upstream)
+                            .thenApplyAsync(
+                                    ignored ->
+                                            run(
+                                                    operations,
+                                                    index,
+                                                    deps,
+                                                    futures,
+                                                    stopOnError,
+                                                    stopped,
+                                                    runner),
+                                    executor));
+        }
+
+        return futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList();
+    }
+
+    /** Maps declared and referenced IDs to positions; invalid ones become 400 results. */
+    private static List<List<Integer>> resolveDependencies(
+            List<BatchOperation> operations, OperationResult[] invalid) {
+        Map<String, Integer> positions = new HashMap<>();
+        Set<String> duplicates = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            String id = operations.get(i).id();
+            if (id != null && positions.putIfAbsent(id, i) != null) {
+                duplicates.add(id);
+            }
+        }
+
+        List<List<Integer>> dependencies = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            List<Integer> deps = new ArrayList<>();
+            for (String id : BatchReferences.dependencies(operations.get(i))) {
+                Integer position = positions.get(id);
+                if (duplicates.contains(id)) {
+                    invalid[i] =
+                            failure(
+                                    operations.get(i),
+                                    HttpStatus.BAD_REQUEST,
+                                    "Ambiguous dependency: " + id + " (duplicate operation id)");
+                } else if (position == null || position == i) {
+                    invalid[i] =
+                            failure(
+                                    operations.get(i),
+                                    HttpStatus.BAD_REQUEST,
+                                    "Unknown dependency: " + id);
+                } else {
+                    deps.add(position);
+                }
+            }
+            dependencies.add(deps);
+        }
+        return dependencies;
+    }
+
+    /** Kahn's algorithm; operations on or behind a cycle are left out. */
+    private static List<Integer> topologicalOrder(List<List<Integer>> dependencies) {
+        int size = dependencies.size();
+        int[] pending = new int[size];
+        List<List<Integer>> dependents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            pending[i] = dependencies.get(i).size();
+            for (int dependency : dependencies.get(i)) {
+                dependents.get(dependency).add(i);
+            }
+        }
+
+        Queue<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+        List<Integer> order = new ArrayList<>(size);
+        while (!ready.isEmpty()) {
+            int next = ready.poll();
+            order.add(next);
+            for (int dependent : dependents.get(next)) {
+                if (--pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private OperationResult run(
+            List<BatchOperation> operations,
+            int index,
+            List<Integer> deps,
+            List<CompletableFuture<OperationResult>> futures,
+            boolean stopOnError,
+            AtomicBoolean stopped,
+            Function<BatchOperation, OperationResult> runner) {
+        BatchOperation operation = operations.get(index);
+        if (stopOnError && stopped.get()) {
+            return null;
+        }
+        Map<String, OperationResult> upstream = new LinkedHashMap<>();
+        for (int dependency : deps) {
+            // Already completed: this stage only runs after all its dependencies
+            OperationResult result = futures.get(dependency).join();
+            if (!result.isSuccessful()) {
+                return failure(
+                        operation,
+                        HttpStatus.FAILED_DEPENDENCY,
+                        "Dependency failed: " + operations.get(dependency).id());
+            }
+            upstream.put(operations.get(dependency).id(), result);
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(operation, HttpStatus.SERVICE_UNAVAILABLE, "Batch interrupted");
+        }
+        OperationResult result;
+        try {
+            if (stopOnError && stopped.get()) {
+                return null;
+            }
+            result = runner.apply(BatchReferences.resolve(operation, upstream));
+        } catch (IllegalArgumentException e) {
+            // Unresolvable ${...} reference
+            result = failure(operation, HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Batch operation {} failed", operation.id(), e);
+            result = failure(operation, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } finally {
+            permits.release();
+        }
+
+        if (stopOnError && !result.isSuccessful() && stopped.compareAndSet(false, true)) {
+            log.debug(
+                    "Stopping parallel batch due to error in operation {}",
+                    operation.id() != null ? operation.id() : "unknown");
+        }
+        return result;
+    }
+
+    private static OperationResult failure(
+            BatchOperation operation, HttpStatus status, String error) {
+        return OperationResult.failure(operation.id(), status.value(), error);
+    }
+}
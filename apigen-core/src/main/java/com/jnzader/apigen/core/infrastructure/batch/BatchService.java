@@ -2,9 +2,17 @@ package com.jnzader.apigen.core.infrastructure.batch;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jnzader.apigen.core.application.util.Result;
+import com.jnzader.apigen.core.domain.exception.DuplicateResourceException;
+import com.jnzader.apigen.core.domain.exception.IdMismatchException;
+import com.jnzader.apigen.core.domain.exception.ResourceNotFoundException;
+import com.jnzader.apigen.core.domain.exception.ValidationException;
 import com.jnzader.apigen.core.infrastructure.batch.BatchRequest.BatchOperation;
 import com.jnzader.apigen.core.infrastructure.batch.BatchResponse.BatchSummary;
 import com.jnzader.apigen.core.infrastructure.batch.BatchResponse.OperationResult;
+import com.jnzader.apigen.core.infrastructure.batch.BatchWriteRouter.Kind;
+import com.jnzader.apigen.core.infrastructure.batch.BatchWriteRouter.RoutedWrite;
+import com.jnzader.apigen.core.infrastructure.batch.BatchWriteTarget.Written;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.Cookie;
@@ -21,16 +29,24 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * Service for processing batch API operations.
@@ -38,10 +54,23 @@ import org.springframework.web.servlet.DispatcherServlet;
  * <p>Executes multiple API operations in a single HTTP request by internally dispatching each
  * operation through Spring's DispatcherServlet.
  *
+ * <p>In sequential mode, consecutive POST, PUT or DELETE operations on the same generic resource
+ * (see {@link BatchWriteRouter}) are served with one {@code saveAll}, {@code updateAll} or {@code
+ * softDeleteAll} call in its own transaction instead of one full HTTP pipeline per operation. If
+ * such a group fails, it is rolled back and its operations are dispatched one by one, so each one
+ * gets the same result it would get on its own.
+ *
+ * <p>Operations can depend on earlier ones ({@code dependsOn} and {@code ${opId.body.id}}
+ * references, see {@link BatchRequest}). In parallel mode the batch runs as a dependency graph
+ * (see {@link BatchScheduler}) with a bounded number of operations in flight.
+ *
  * <p>Features:
  *
  * <ul>
- *   <li>Sequential or parallel execution
+ *   <li>Sequential or dependency-aware parallel execution
+ *   <li>References to results of earlier operations
+ *   <li>Native grouped writes for generic resources
+ *   <li>Atomic (all-or-nothing) sequential batches
  *   <li>Stop-on-error support
  *   <li>Execution time tracking
  *   <li>Detailed per-operation results
@@ -70,14 +99,70 @@ public class BatchService {
     private static final String HEADER_CONTENT_TYPE = "content-type";
     private static final String CONTENT_TYPE_JSON = "application/json";
 
+    private static final String ROLLED_BACK = "Rolled back: another operation of the batch failed";
+
+    /** Default maximum number of operations of parallel batches running at the same time. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
     private final DispatcherServlet dispatcherServlet;
     private final ObjectMapper objectMapper;
     private final ExecutorService executor;
+    private final BatchWriteRouter writeRouter;
+    private final TransactionOperations transactionOperations;
+    private final BatchScheduler scheduler;
 
     public BatchService(DispatcherServlet dispatcherServlet, ObjectMapper objectMapper) {
+        this(
+                dispatcherServlet,
+                objectMapper,
+                BatchWriteRouter.disabled(),
+                TransactionOperations.withoutTransaction());
+    }
+
+    /**
+     * Creates a batch service with native grouped writes.
+     *
+     * @param dispatcherServlet servlet used for operations that are not grouped
+     * @param objectMapper JSON mapper
+     * @param writeRouter resolves operations to grouped write targets
+     * @param transactionOperations transaction boundary for groups and atomic batches; must be
+     *     transactional for grouped writes to be safely retried one by one
+     */
+    public BatchService(
+            DispatcherServlet dispatcherServlet,
+            ObjectMapper objectMapper,
+            BatchWriteRouter writeRouter,
+            TransactionOperations transactionOperations) {
+        this(
+                dispatcherServlet,
+                objectMapper,
+                writeRouter,
+                transactionOperations,
+                DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Creates a batch service with native grouped writes and a parallel concurrency limit.
+     *
+     * @param dispatcherServlet servlet used for operations that are not grouped
+     * @param objectMapper JSON mapper
+     * @param writeRouter resolves operations to grouped write targets
+     * @param transactionOperations transaction boundary for groups and atomic batches
+     * @param maxConcurrency maximum number of operations of parallel batches running at the same
+     *     time, across all batches; keep it below the database connection pool size
+     */
+    public BatchService(
+            DispatcherServlet dispatcherServlet,
+            ObjectMapper objectMapper,
+            BatchWriteRouter writeRouter,
+            TransactionOperations transactionOperations,
+            int maxConcurrency) {
         this.dispatcherServlet = dispatcherServlet;
         this.objectMapper = objectMapper;
         this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.writeRouter = writeRouter;
+        this.transactionOperations = transactionOperations;
+        this.scheduler = new BatchScheduler(executor, maxConcurrency);
     }
 
     /**
@@ -90,24 +175,20 @@ public class BatchService {
     public BatchResponse processBatch(
             BatchRequest batchRequest, HttpServletRequest originalRequest) {
         long startTime = System.currentTimeMillis();
-        List<OperationResult> results = new ArrayList<>();
 
         log.debug(
-                "Processing batch with {} operations, stopOnError={}",
+                "Processing batch with {} operations, stopOnError={}, atomic={}",
                 batchRequest.operations().size(),
-                batchRequest.stopOnError());
-
-        for (BatchOperation operation : batchRequest.operations()) {
-            OperationResult result = executeOperation(operation, originalRequest);
-            results.add(result);
+                batchRequest.stopOnError(),
+                batchRequest.atomic());
 
-            if (batchRequest.stopOnError() && !result.isSuccessful()) {
-                log.debug(
-                        "Stopping batch execution due to error in operation {}",
-                        operation.id() != null ? operation.id() : "unknown");
-                break;
-            }
-        }
+        List<OperationResult> results =
+                batchRequest.atomic()
+                        ? executeAtomically(batchRequest.operations(), originalRequest)
+                        : executeSequentially(
+                                batchRequest.operations(),
+                                batchRequest.stopOnError(),
+                                originalRequest);
 
         long executionTime = System.currentTimeMillis() - startTime;
         BatchSummary summary = BatchSummary.fromResults(results);
@@ -125,7 +206,10 @@ public class BatchService {
     /**
      * Processes a batch request in parallel.
      *
-     * <p>Note: When using parallel execution, stopOnError is ignored.
+     * <p>Operations start as soon as their dependencies have succeeded; at most {@code
+     * maxConcurrency} operations run at the same time. An operation whose dependency failed is
+     * reported with status 424. With stopOnError, no operation starts after the first failure and
+     * the ones that never started are not reported.
      *
      * @param batchRequest the batch request containing operations
      * @param originalRequest the original HTTP request for context
@@ -136,19 +220,15 @@ public class BatchService {
         long startTime = System.currentTimeMillis();
 
         log.debug(
-                "Processing batch in parallel with {} operations",
-                batchRequest.operations().size());
-
-        List<CompletableFuture<OperationResult>> futures =
-                batchRequest.operations().stream()
-                        .map(
-                                op ->
-                                        CompletableFuture.supplyAsync(
-                                                () -> executeOperation(op, originalRequest),
-                                                executor))
-                        .toList();
+                "Processing batch in parallel with {} operations, stopOnError={}",
+                batchRequest.operations().size(),
+                batchRequest.stopOnError());
 
-        List<OperationResult> results = futures.stream().map(CompletableFuture::join).toList();
+        List<OperationResult> results =
+                scheduler.execute(
+                        batchRequest.operations(),
+                        batchRequest.stopOnError(),
+                        op -> executeOperation(op, originalRequest));
 
         long executionTime = System.currentTimeMillis() - startTime;
         BatchSummary summary = BatchSummary.fromResults(results);
@@ -163,6 +243,320 @@ public class BatchService {
         return new BatchResponse(results, summary, executionTime);
     }
 
+    private List<OperationResult> executeSequentially(
+            List<BatchOperation> operations, boolean stopOnError, HttpServletRequest request) {
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        Map<String, OperationResult> completed = new HashMap<>();
+        int index = 0;
+        while (index < operations.size()) {
+            List<RoutedWrite> group = nextWriteGroup(operations, index);
+            List<OperationResult> groupResults;
+            if (group.isEmpty()) {
+                groupResults =
+                        List.of(executeWithDependencies(operations.get(index), completed, request));
+                index++;
+            } else {
+                groupResults =
+                        executeGroupInTransaction(group, request)
+                                .orElseGet(() -> dispatchEach(group, stopOnError, request));
+                index += group.size();
+            }
+
+            results.addAll(groupResults);
+            recordCompleted(groupResults, completed);
+            if (stopOnError && !groupResults.getLast().isSuccessful()) {
+                log.debug(
+                        "Stopping batch execution due to error in operation {}",
+                        operations.get(results.size() - 1).id() != null
+                                ? operations.get(results.size() - 1).id()
+                                : "unknown");
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the whole batch in one transaction. The first failed operation stops the batch and
+     * rolls everything back; operations that had succeeded are reported as failed.
+     */
+    private List<OperationResult> executeAtomically(
+            List<BatchOperation> operations, HttpServletRequest request) {
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        Map<String, OperationResult> completed = new HashMap<>();
+        try {
+            transactionOperations.executeWithoutResult(
+                    status -> {
+                        int index = 0;
+                        while (index < operations.size()) {
+                            List<RoutedWrite> group = nextWriteGroup(operations, index);
+                            List<OperationResult> groupResults;
+                            if (group.isEmpty()) {
+                                groupResults =
+                                        List.of(
+                                                executeWithDependencies(
+                                                        operations.get(index),
+                                                        completed,
+                                                        request));
+                                index++;
+                            } else {
+                                groupResults = executeGroup(group, request);
+                                index += group.size();
+                            }
+                            results.addAll(groupResults);
+                            recordCompleted(groupResults, completed);
+                            if (!results.getLast().isSuccessful()) {
+                                status.setRollbackOnly();
+                                return;
+                            }
+                        }
+                    });
+        } catch (TransactionException | DataIntegrityViolationException e) {
+            log.warn("Atomic batch failed to commit: {}", e.getMessage());
+            results.replaceAll(
+                    result ->
+                            result.isSuccessful()
+                                    ? OperationResult.failure(
+                                            result.id(),
+                                            statusOf(e),
+                                            "Batch commit failed",
+                                            e.getMessage())
+                                    : result);
+            return results;
+        }
+
+        if (results.stream().allMatch(OperationResult::isSuccessful)) {
+            return results;
+        }
+        return results.stream()
+                .map(
+                        result ->
+                                result.isSuccessful()
+                                        ? OperationResult.failure(
+                                                result.id(),
+                                                HttpStatus.FAILED_DEPENDENCY.value(),
+                                                ROLLED_BACK)
+                                        : result)
+                .toList();
+    }
+
+    /**
+     * Executes an operation of a sequential batch after checking that its dependencies already ran
+     * and succeeded, replacing its references with their results.
+     */
+    private OperationResult executeWithDependencies(
+            BatchOperation operation,
+            Map<String, OperationResult> completed,
+            HttpServletRequest request) {
+        for (String dependency : BatchReferences.dependencies(operation)) {
+            OperationResult result = completed.get(dependency);
+            if (result == null) {
+                return OperationResult.failure(
+                        operation.id(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Unknown dependency: " + dependency,
+                        "Sequential batches can only depend on earlier operations");
+            }
+            if (!result.isSuccessful()) {
+                return OperationResult.failure(
+                        operation.id(),
+                        HttpStatus.FAILED_DEPENDENCY.value(),
+                        "Dependency failed: " + dependency);
+            }
+        }
+        try {
+            return executeOperation(BatchReferences.resolve(operation, completed), request);
+        } catch (IllegalArgumentException e) {
+            return OperationResult.failure(
+                    operation.id(), HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        }
+    }
+
+    private static void recordCompleted(
+            List<OperationResult> results, Map<String, OperationResult> completed) {
+        for (OperationResult result : results) {
+            if (result.id() != null) {
+                completed.put(result.id(), result);
+            }
+        }
+    }
+
+    /**
+     * Collects the run of consecutive operations starting at {@code start} that address the same
+     * resource with the same kind of write. Empty if the operation must be dispatched.
+     * Operations with dependencies are never grouped: their references are resolved first.
+     */
+    private List<RoutedWrite> nextWriteGroup(List<BatchOperation> operations, int start) {
+        if (hasDependencies(operations.get(start))) {
+            return List.of();
+        }
+        Optional<RoutedWrite> first = writeRouter.route(operations.get(start));
+        if (first.isEmpty()) {
+            return List.of();
+        }
+
+        List<RoutedWrite> group = new ArrayList<>();
+        group.add(first.get());
+        Set<Object> ids = new HashSet<>();
+        ids.add(first.get().id());
+        for (int i = start + 1; i < operations.size(); i++) {
+            if (hasDependencies(operations.get(i))) {
+                break;
+            }
+            Optional<RoutedWrite> next = writeRouter.route(operations.get(i));
+            if (next.isEmpty()
+                    || next.get().target() != first.get().target()
+                    || next.get().kind() != first.get().kind()
+                    || (next.get().id() != null && !ids.add(next.get().id()))) {
+                break;
+            }
+            group.add(next.get());
+        }
+        return group;
+    }
+
+    private static boolean hasDependencies(BatchOperation operation) {
+        return !BatchReferences.dependencies(operation).isEmpty();
+    }
+
+    /**
+     * Runs a group in its own transaction.
+     *
+     * @return the results, or empty if the group failed and was rolled back
+     */
+    private Optional<List<OperationResult>> executeGroupInTransaction(
+            List<RoutedWrite> group, HttpServletRequest request) {
+        try {
+            return transactionOperations.execute(
+                    status -> {
+                        List<OperationResult> results = executeGroup(group, request);
+                        if (!results.getFirst().isSuccessful()) {
+                            status.setRollbackOnly();
+                            return Optional.empty();
+                        }
+                        return Optional.of(results);
+                    });
+        } catch (RuntimeException e) {
+            log.debug("Grouped write failed to commit, dispatching one by one", e);
+            return Optional.empty();
+        }
+    }
+
+    private List<OperationResult> dispatchEach(
+            List<RoutedWrite> group, boolean stopOnError, HttpServletRequest request) {
+        List<OperationResult> results = new ArrayList<>(group.size());
+        for (RoutedWrite write : group) {
+            OperationResult result = executeOperation(write.operation(), request);
+            results.add(result);
+            if (stopOnError && !result.isSuccessful()) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Executes a group with one service call. Either every operation succeeds or all of them
+     * carry the error of the call.
+     */
+    private List<OperationResult> executeGroup(
+            List<RoutedWrite> group, HttpServletRequest request) {
+        BatchWriteTarget<Object, Object> target = group.getFirst().target();
+        log.trace("Executing {} {} operations natively", group.size(), group.getFirst().kind());
+
+        Result<List<OperationResult>, Exception> result =
+                switch (group.getFirst().kind()) {
+                    case CREATE ->
+                            target.createAll(group.stream().map(RoutedWrite::dto).toList())
+                                    .map(written -> writtenResults(group, written, request));
+                    case UPDATE -> {
+                        Map<Object, Object> dtos = new LinkedHashMap<>();
+                        group.forEach(write -> dtos.put(write.id(), write.dto()));
+                        yield target.updateAll(dtos)
+                                .map(written -> writtenResults(group, written, request));
+                    }
+                    case DELETE ->
+                            target.deleteAll(group.stream().map(RoutedWrite::id).toList())
+                                    .flatMap(count -> deletedResults(group, count));
+                };
+
+        return result.fold(
+                results -> results,
+                error ->
+                        group.stream()
+                                .map(
+                                        write ->
+                                                OperationResult.failure(
+                                                        write.operation().id(),
+                                                        statusOf(error),
+                                                        error.getMessage()))
+                                .toList());
+    }
+
+    private List<OperationResult> writtenResults(
+            List<RoutedWrite> group, List<Written> written, HttpServletRequest request) {
+        List<OperationResult> results = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            RoutedWrite write = group.get(i);
+            Written resource = written.get(i);
+            Map<String, String> headers = new HashMap<>();
+            if (write.kind() == Kind.CREATE) {
+                headers.put(
+                        HEADER_LOCATION,
+                        ServletUriComponentsBuilder.fromContextPath(request)
+                                .path(write.operation().path())
+                                .path("/{id}")
+                                .buildAndExpand(resource.id())
+                                .toUriString());
+            }
+            if (resource.eTag() != null) {
+                headers.put(HEADER_ETAG, resource.eTag());
+            }
+            results.add(
+                    OperationResult.success(
+                            write.operation().id(),
+                            write.kind() == Kind.CREATE
+                                    ? HttpStatus.CREATED.value()
+                                    : HttpStatus.OK.value(),
+                            headers.isEmpty() ? null : headers,
+                            objectMapper.valueToTree(resource.body())));
+        }
+        return results;
+    }
+
+    /** A bulk soft delete reports a count: a mismatch means some ID did not exist. */
+    private Result<List<OperationResult>, Exception> deletedResults(
+            List<RoutedWrite> group, int count) {
+        if (count != group.size()) {
+            return Result.failure(
+                    new ResourceNotFoundException(
+                            "Deleted " + count + " of " + group.size() + " resources"));
+        }
+        return Result.success(
+                group.stream()
+                        .map(
+                                write ->
+                                        OperationResult.success(
+                                                write.operation().id(),
+                                                HttpStatus.NO_CONTENT.value(),
+                                                null))
+                        .toList());
+    }
+
+    /** HTTP status the controller advice would use for an exception of a grouped write. */
+    private static int statusOf(Exception error) {
+        return switch (error) {
+            case ResourceNotFoundException _ -> HttpStatus.NOT_FOUND.value();
+            case DuplicateResourceException _,
+                    DataIntegrityViolationException _,
+                    OptimisticLockingFailureException _ ->
+                    HttpStatus.CONFLICT.value();
+            case ValidationException _, IdMismatchException _, IllegalArgumentException _ ->
+                    HttpStatus.BAD_REQUEST.value();
+            default -> HttpStatus.INTERNAL_SERVER_ERROR.value();
+        };
+    }
+
     /**
      * Executes a single batch operation.
      *
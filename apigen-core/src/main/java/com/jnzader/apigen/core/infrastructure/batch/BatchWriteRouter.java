@@ -0,0 +1,182 @@
+package com.jnzader.apigen.core.infrastructure.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jnzader.apigen.core.application.dto.BaseDTO;
+import com.jnzader.apigen.core.infrastructure.batch.BatchRequest.BatchOperation;
+import jakarta.validation.Validator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Resolves batch operations to the {@link BatchWriteTarget} of the resource they address.
+ *
+ * <p>Only operations that the resource would handle exactly like its generic endpoint are routed:
+ *
+ * <ul>
+ *   <li>{@code POST {base}} with a valid JSON object body
+ *   <li>{@code PUT {base}/{id}} with a valid JSON object body whose id (if any) matches the path
+ *   <li>{@code DELETE {base}/{id}} without body
+ * </ul>
+ *
+ * <p>Operations with their own headers (e.g. If-Match), query strings, bodies that fail to bind or
+ * validate, or paths the current user may not call are not routed, so they keep going through the
+ * DispatcherServlet and get the usual error responses.
+ */
+public class BatchWriteRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchWriteRouter.class);
+
+    private static final BatchWriteRouter DISABLED =
+            new BatchWriteRouter(Map::of, null, null, (method, path) -> false);
+
+    private final Supplier<Map<String, BatchWriteTarget<?, ?>>> targets;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BiPredicate<String, String> accessCheck;
+
+    /**
+     * Creates a router.
+     *
+     * @param targets write targets by resource base path; resolved once, on first use
+     * @param objectMapper mapper used to bind operation bodies and path IDs
+     * @param validator bean validator for the bound DTOs, or null
+     * @param accessCheck tells whether the current user may call a method on a path
+     */
+    public BatchWriteRouter(
+            Supplier<Map<String, BatchWriteTarget<?, ?>>> targets,
+            ObjectMapper objectMapper,
+            Validator validator,
+            BiPredicate<String, String> accessCheck) {
+        this.targets = SingletonSupplier.of(targets);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.accessCheck = accessCheck;
+    }
+
+    /** Router that routes nothing: every operation is dispatched. */
+    public static BatchWriteRouter disabled() {
+        return DISABLED;
+    }
+
+    /** Kind of grouped write. */
+    enum Kind {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    /** An operation resolved to its resource, with its bound ID and body. */
+    record RoutedWrite(
+            BatchOperation operation,
+            BatchWriteTarget<Object, Object> target,
+            Kind kind,
+            Object id,
+            Object dto) {}
+
+    /**
+     * Resolves an operation.
+     *
+     * @param operation the batch operation
+     * @return the routed write, or empty if the operation must be dispatched
+     */
+    Optional<RoutedWrite> route(BatchOperation operation) {
+        boolean hasHeaders = operation.headers() != null && !operation.headers().isEmpty();
+        if (hasHeaders || operation.path().indexOf('?') >= 0) {
+            return Optional.empty();
+        }
+
+        try {
+            return switch (operation.method()) {
+                case "POST" -> routeCreate(operation);
+                case "PUT" -> routeWithId(operation, Kind.UPDATE);
+                case "DELETE" -> routeWithId(operation, Kind.DELETE);
+                default -> Optional.empty();
+            };
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Unbindable body or ID: the controller produces the proper 400
+            log.trace("Operation {} {} not routed", operation.method(), operation.path(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<RoutedWrite> routeCreate(BatchOperation operation)
+            throws JsonProcessingException {
+        BatchWriteTarget<Object, Object> target = targetFor(stripTrailingSlash(operation.path()));
+        if (target == null || operation.body() == null || !operation.body().isObject()) {
+            return Optional.empty();
+        }
+        Object dto = bind(operation, target);
+        if (dto == null || !allowed(operation)) {
+            return Optional.empty();
+        }
+        return Optional.of(new RoutedWrite(operation, target, Kind.CREATE, null, dto));
+    }
+
+    private Optional<RoutedWrite> routeWithId(BatchOperation operation, Kind kind)
+            throws JsonProcessingException {
+        String path = stripTrailingSlash(operation.path());
+        int lastSlash = path.lastIndexOf('/');
+        if (lastSlash <= 0 || lastSlash == path.length() - 1) {
+            return Optional.empty();
+        }
+        BatchWriteTarget<Object, Object> target = targetFor(path.substring(0, lastSlash));
+        if (target == null) {
+            return Optional.empty();
+        }
+        Object id = objectMapper.convertValue(path.substring(lastSlash + 1), target.idType());
+
+        Object dto = null;
+        if (kind == Kind.UPDATE) {
+            if (operation.body() == null || !operation.body().isObject()) {
+                return Optional.empty();
+            }
+            dto = bind(operation, target);
+            // A mismatching body id is a 400 from the controller: let it answer
+            if (dto == null
+                    || dto instanceof BaseDTO baseDto
+                            && baseDto.id() != null
+                            && !baseDto.id().toString().equals(id.toString())) {
+                return Optional.empty();
+            }
+        } else if (operation.body() != null && !operation.body().isNull()) {
+            return Optional.empty();
+        }
+
+        if (!allowed(operation)) {
+            return Optional.empty();
+        }
+        return Optional.of(new RoutedWrite(operation, target, kind, id, dto));
+    }
+
+    /** Binds and validates the body; null when the controller would reject it. */
+    private Object bind(BatchOperation operation, BatchWriteTarget<Object, Object> target)
+            throws JsonProcessingException {
+        Object dto = objectMapper.treeToValue(operation.body(), target.dtoType());
+        if (validator != null && !validator.validate(dto).isEmpty()) {
+            return null;
+        }
+        return dto;
+    }
+
+    private boolean allowed(BatchOperation operation) {
+        return accessCheck.test(operation.method(), operation.path());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchWriteTarget<Object, Object> targetFor(String basePath) {
+        return (BatchWriteTarget<Object, Object>) targets.get().get(basePath);
+    }
+
+    /** Normalizes a base path: leading slash, no trailing slash. */
+    static String stripTrailingSlash(String path) {
+        return path.length() > 1 && path.endsWith("/")
+                ? path.substring(0, path.length() - 1)
+                : path;
+    }
+}
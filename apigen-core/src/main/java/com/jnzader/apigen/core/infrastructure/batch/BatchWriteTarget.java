@@ -0,0 +1,58 @@
+package com.jnzader.apigen.core.infrastructure.batch;
+
+import com.jnzader.apigen.core.application.util.Result;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grouped write operations of a REST resource, used by {@link BatchService} to serve consecutive
+ * POST, PUT and DELETE operations on the same resource with a single service call instead of one
+ * DispatcherServlet round trip per operation.
+ *
+ * <p>Implemented by {@code BaseControllerImpl}; each call must behave exactly like the equivalent
+ * sequence of HTTP requests to the resource.
+ *
+ * @param <D> the DTO type accepted and returned by the resource
+ * @param <I> the identifier type
+ */
+public interface BatchWriteTarget<D, I> {
+
+    /** DTO type used to read operation bodies. */
+    Class<D> dtoType();
+
+    /** Identifier type used to read the {@code {id}} path segment. */
+    Class<I> idType();
+
+    /**
+     * Creates all resources (equivalent to one POST per DTO).
+     *
+     * @param dtos the resources to create, in operation order
+     * @return the created resources, in the same order
+     */
+    Result<List<Written>, Exception> createAll(List<D> dtos);
+
+    /**
+     * Replaces all resources (equivalent to one PUT per entry).
+     *
+     * @param dtos map of ID to new state, in operation order
+     * @return the updated resources, in the same order
+     */
+    Result<List<Written>, Exception> updateAll(Map<I, D> dtos);
+
+    /**
+     * Soft deletes all resources (equivalent to one DELETE per ID).
+     *
+     * @param ids the IDs to delete
+     * @return number of resources deleted
+     */
+    Result<Integer, Exception> deleteAll(List<I> ids);
+
+    /**
+     * A written resource as the single-resource endpoint would return it.
+     *
+     * @param id the resource ID
+     * @param body the response body (DTO or HATEOAS model)
+     * @param eTag the ETag header value, or null
+     */
+    record Written(Object id, Object body, String eTag) {}
+}
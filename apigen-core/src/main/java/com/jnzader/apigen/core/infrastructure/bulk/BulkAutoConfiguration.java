@@ -1,11 +1,17 @@
 package com.jnzader.apigen.core.infrastructure.bulk;
 
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Auto-configuration for bulk import/export operations.
@@ -25,6 +31,11 @@ import org.springframework.context.annotation.Bean;
  * apigen.bulk.date-format=yyyy-MM-dd
  * apigen.bulk.excel-sheet-name=Data
  * </pre>
+ *
+ * <p>When a {@link PlatformTransactionManager} is available, each chunk of a streaming import runs
+ * in its own transaction and cursor exports read inside a new read-only transaction ({@code
+ * REQUIRES_NEW}), clearing its {@link EntityManager} between chunks without touching the caller's
+ * persistence context.
  */
 @AutoConfiguration
 @EnableConfigurationProperties(BulkAutoConfiguration.BulkProperties.class)
@@ -37,20 +48,40 @@ public class BulkAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(BulkImportService.class)
-    public BulkImportService bulkImportService() {
-        return new BulkOperationsService();
+    public BulkImportService bulkImportService(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            ObjectProvider<EntityManager> entityManager) {
+        return newService(transactionManager, entityManager);
     }
 
     @Bean
     @ConditionalOnMissingBean(BulkExportService.class)
-    public BulkExportService bulkExportService() {
-        return new BulkOperationsService();
+    public BulkExportService bulkExportService(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            ObjectProvider<EntityManager> entityManager) {
+        return newService(transactionManager, entityManager);
     }
 
     @Bean
     @ConditionalOnMissingBean(BulkOperationsService.class)
-    public BulkOperationsService bulkOperationsService() {
-        return new BulkOperationsService();
+    public BulkOperationsService bulkOperationsService(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            ObjectProvider<EntityManager> entityManager) {
+        return newService(transactionManager, entityManager);
+    }
+
+    private static BulkOperationsService newService(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            ObjectProvider<EntityManager> entityManager) {
+        PlatformTransactionManager manager = transactionManager.getIfAvailable();
+        if (manager == null) {
+            return new BulkOperationsService(TransactionOperations.withoutTransaction());
+        }
+        TransactionTemplate exportTransactions = new TransactionTemplate(manager);
+        exportTransactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        exportTransactions.setReadOnly(true);
+        return new BulkOperationsService(
+                new TransactionTemplate(manager), exportTransactions, entityManager.getIfUnique());
     }
 
     /** Configuration properties for bulk operations. */
@@ -1,9 +1,18 @@
 package com.jnzader.apigen.core.infrastructure.bulk;
 
+import com.jnzader.apigen.core.domain.entity.Base;
+import com.jnzader.apigen.core.domain.repository.BaseRepository;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Service for bulk exporting data to files.
@@ -27,6 +36,16 @@ import java.util.stream.Stream;
  *     BulkFormat.CSV,
  *     outputStream
  * );
+ *
+ * // Stream a whole table to the HTTP response from a database cursor
+ * return bulkExportService.exportResponse(
+ *     "products",
+ *     productRepository,
+ *     mapper::toDTO,
+ *     ProductDTO.class,
+ *     BulkFormat.CSV,
+ *     ExportConfig.defaults()
+ * );
  * }</pre>
  */
 public interface BulkExportService {
@@ -104,6 +123,102 @@ public interface BulkExportService {
             OutputStream outputStream,
             ExportConfig config);
 
+    /**
+     * Exports records read from a forward-only database cursor.
+     *
+     * <p>The cursor is consumed on the calling thread inside a transaction, in chunks of {@link
+     * ExportConfig#chunkSize()} records; the persistence context is cleared after each chunk.
+     * Chunks are encoded in parallel (up to {@link ExportConfig#parallelism()} in flight) and
+     * written to the output stream in their original order, so memory use does not grow with the
+     * number of rows.
+     *
+     * @param cursor supplier of the entity stream, e.g. {@code repository::streamAllForExport}
+     * @param mapper maps each entity to the exported record while it is still managed
+     * @param recordClass the class of the records
+     * @param format the output format
+     * @param outputStream the output stream to write to (flushed, not closed)
+     * @param config export configuration
+     * @param <E> the type of the entities
+     * @param <T> the type of records
+     * @return result of the export operation
+     */
+    <E, T> BulkOperationResult exportCursor(
+            Supplier<Stream<E>> cursor,
+            Function<E, T> mapper,
+            Class<T> recordClass,
+            BulkFormat format,
+            OutputStream outputStream,
+            ExportConfig config);
+
+    /**
+     * Exports all active entities of a repository through {@link
+     * BaseRepository#streamAllForExport()}.
+     *
+     * @see #exportCursor(Supplier, Function, Class, BulkFormat, OutputStream, ExportConfig)
+     */
+    default <E extends Base, T> BulkOperationResult exportRepository(
+            BaseRepository<E, ?> repository,
+            Function<E, T> mapper,
+            Class<T> recordClass,
+            BulkFormat format,
+            OutputStream outputStream,
+            ExportConfig config) {
+        return exportCursor(
+                repository::streamAllForExport,
+                mapper,
+                recordClass,
+                format,
+                outputStream,
+                config);
+    }
+
+    /**
+     * Builds a download response that streams the repository export straight to the servlet
+     * output stream. No Content-Length is set, so the response uses chunked transfer encoding.
+     *
+     * <p>If the export fails midway the body throws, so the container aborts the response instead
+     * of sending a silently truncated file.
+     *
+     * @param filename file name without extension
+     * @param repository the repository to read
+     * @param mapper maps each entity to the exported record
+     * @param recordClass the class of the records
+     * @param format the output format
+     * @param config export configuration
+     * @param <E> the type of the entities
+     * @param <T> the type of records
+     * @return the streaming response
+     */
+    default <E extends Base, T> ResponseEntity<StreamingResponseBody> exportResponse(
+            String filename,
+            BaseRepository<E, ?> repository,
+            Function<E, T> mapper,
+            Class<T> recordClass,
+            BulkFormat format,
+            ExportConfig config) {
+        StreamingResponseBody body =
+                out -> {
+                    BulkOperationResult result =
+                            exportRepository(repository, mapper, recordClass, format, out, config);
+                    if (!result.isFullySuccessful()) {
+                        throw new IOException(
+                                "Export aborted after "
+                                        + result.successCount()
+                                        + " records: "
+                                        + result.errors().getFirst().errorMessage());
+                    }
+                };
+        return ResponseEntity.ok()
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(filename + format.getExtension())
+                                .build()
+                                .toString())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
     /**
      * Gets the headers for a record class.
      *
@@ -113,7 +228,11 @@ public interface BulkExportService {
      */
     <T> List<String> getHeaders(Class<T> recordClass);
 
-    /** Configuration options for export operations. */
+    /**
+     * Configuration options for export operations.
+     *
+     * <p>{@code chunkSize} and {@code parallelism} only apply to cursor exports.
+     */
     record ExportConfig(
             boolean includeHeader,
             char csvSeparator,
@@ -121,11 +240,23 @@ public interface BulkExportService {
             String sheetName,
             boolean autoSizeColumns,
             List<String> includeFields,
-            List<String> excludeFields) {
+            List<String> excludeFields,
+            int chunkSize,
+            int parallelism) {
+
+        public ExportConfig {
+            if (chunkSize <= 0) {
+                chunkSize = 1000;
+            }
+            if (parallelism <= 0) {
+                parallelism = Runtime.getRuntime().availableProcessors();
+            }
+        }
 
         /** Default export configuration. */
         public static ExportConfig defaults() {
-            return new ExportConfig(true, ',', "yyyy-MM-dd", "Data", true, List.of(), List.of());
+            return new ExportConfig(
+                    true, ',', "yyyy-MM-dd", "Data", true, List.of(), List.of(), 1000, 0);
         }
 
         public static Builder builder() {
@@ -140,6 +271,8 @@ public interface BulkExportService {
             private boolean autoSizeColumns = true;
             private List<String> includeFields = List.of();
             private List<String> excludeFields = List.of();
+            private int chunkSize = 1000;
+            private int parallelism = 0;
 
             public Builder includeHeader(boolean includeHeader) {
                 this.includeHeader = includeHeader;
@@ -176,6 +309,16 @@ public interface BulkExportService {
                 return this;
             }
 
+            public Builder chunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+                return this;
+            }
+
+            public Builder parallelism(int parallelism) {
+                this.parallelism = parallelism;
+                return this;
+            }
+
             public ExportConfig build() {
                 return new ExportConfig(
                         includeHeader,
@@ -184,7 +327,9 @@ public interface BulkExportService {
                         sheetName,
                         autoSizeColumns,
                         includeFields,
-                        excludeFields);
+                        excludeFields,
+                        chunkSize,
+                        parallelism);
             }
         }
     }
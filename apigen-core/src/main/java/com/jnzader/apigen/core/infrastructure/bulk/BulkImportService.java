@@ -1,6 +1,7 @@
 package com.jnzader.apigen.core.infrastructure.bulk;
 
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 
@@ -23,6 +24,10 @@ import java.util.function.Function;
  *     result.errors().forEach(e -> log.warn("Row {}: {}", e.rowNumber(), e.errorMessage()));
  * }
  * }</pre>
+ *
+ * <p>For large files use {@link #importStreaming}: rows are read one at a time (CSV line by line,
+ * XLSX through the SAX event API) and processed in transactional chunks, so memory does not
+ * depend on the file size.
  */
 public interface BulkImportService {
 
@@ -60,6 +65,54 @@ public interface BulkImportService {
             Function<T, Object> processor,
             ImportConfig config);
 
+    /**
+     * Imports data from an input stream in streaming mode.
+     *
+     * <p>A reader thread parses rows one at a time into a bounded queue ({@link
+     * ImportConfig#queueCapacity()}); the calling thread takes them in chunks of {@link
+     * ImportConfig#batchSize()} and runs {@code processor} for each record of a chunk inside one
+     * transaction (when a transaction manager is available). Rows that fail to parse are reported
+     * as errors with their row number and do not stop the import unless {@link
+     * ImportConfig#stopOnError()} is set; a stop rolls back the chunk in progress, so the records
+     * before the failing one in that chunk are reported as failures. At most {@link
+     * ImportConfig#maxErrors()} error details are kept; {@code failureCount} always counts all of
+     * them.
+     *
+     * <p>CSV columns are matched to fields by header name. Row numbers follow {@link
+     * ImportConfig#skipHeader()} as in {@link #importData}.
+     *
+     * @param inputStream the input stream containing the data
+     * @param format the format of the data
+     * @param targetClass the class to map records to
+     * @param processor function to process each mapped record
+     * @param config import configuration options
+     * @param progressListener notified after each committed chunk
+     * @param <T> the type of records being imported
+     * @return the result of the import operation
+     */
+    <T> BulkOperationResult importStreaming(
+            InputStream inputStream,
+            BulkFormat format,
+            Class<T> targetClass,
+            Function<T, Object> processor,
+            ImportConfig config,
+            ImportProgressListener progressListener);
+
+    /**
+     * Imports data from an input stream in streaming mode without progress reporting.
+     *
+     * @see #importStreaming(InputStream, BulkFormat, Class, Function, ImportConfig,
+     *     ImportProgressListener)
+     */
+    default <T> BulkOperationResult importStreaming(
+            InputStream inputStream,
+            BulkFormat format,
+            Class<T> targetClass,
+            Function<T, Object> processor,
+            ImportConfig config) {
+        return importStreaming(inputStream, format, targetClass, processor, config, progress -> {});
+    }
+
     /**
      * Parses data from an input stream without processing.
      *
@@ -83,7 +136,33 @@ public interface BulkImportService {
     <T> BulkOperationResult validateData(
             InputStream inputStream, BulkFormat format, Class<T> targetClass);
 
-    /** Configuration options for import operations. */
+    /** Progress of a streaming import, reported after each chunk. */
+    @FunctionalInterface
+    interface ImportProgressListener {
+        void onProgress(ImportProgress progress);
+    }
+
+    /**
+     * Snapshot of a streaming import.
+     *
+     * @param chunks number of chunks processed so far
+     * @param processedRecords rows read and processed so far (including failures)
+     * @param successCount records processed successfully
+     * @param failureCount records that failed to parse or process
+     * @param elapsed time since the import started
+     */
+    record ImportProgress(
+            int chunks,
+            int processedRecords,
+            int successCount,
+            int failureCount,
+            Duration elapsed) {}
+
+    /**
+     * Configuration options for import operations.
+     *
+     * <p>{@code queueCapacity} and {@code maxErrors} only apply to streaming imports.
+     */
     record ImportConfig(
             boolean skipHeader,
             boolean stopOnError,
@@ -91,11 +170,25 @@ public interface BulkImportService {
             boolean validateBeforeProcess,
             char csvSeparator,
             String dateFormat,
-            String sheetName) {
+            String sheetName,
+            int queueCapacity,
+            int maxErrors) {
+
+        public ImportConfig {
+            if (batchSize <= 0) {
+                batchSize = 100;
+            }
+            if (queueCapacity <= 0) {
+                queueCapacity = 1000;
+            }
+            if (maxErrors <= 0) {
+                maxErrors = 1000;
+            }
+        }
 
         /** Default import configuration. */
         public static ImportConfig defaults() {
-            return new ImportConfig(true, false, 100, true, ',', "yyyy-MM-dd", null);
+            return new ImportConfig(true, false, 100, true, ',', "yyyy-MM-dd", null, 1000, 1000);
         }
 
         public static Builder builder() {
@@ -110,6 +203,8 @@ public interface BulkImportService {
             private char csvSeparator = ',';
             private String dateFormat = "yyyy-MM-dd";
             private String sheetName = null;
+            private int queueCapacity = 1000;
+            private int maxErrors = 1000;
 
             public Builder skipHeader(boolean skipHeader) {
                 this.skipHeader = skipHeader;
@@ -146,6 +241,16 @@ public interface BulkImportService {
                 return this;
             }
 
+            public Builder queueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+                return this;
+            }
+
+            public Builder maxErrors(int maxErrors) {
+                this.maxErrors = maxErrors;
+                return this;
+            }
+
             public ImportConfig build() {
                 return new ImportConfig(
                         skipHeader,
@@ -154,7 +259,9 @@ public interface BulkImportService {
                         validateBeforeProcess,
                         csvSeparator,
                         dateFormat,
-                        sheetName);
+                        sheetName,
+                        queueCapacity,
+                        maxErrors);
             }
         }
     }
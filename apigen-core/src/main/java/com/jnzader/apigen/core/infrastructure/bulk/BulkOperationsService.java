@@ -1,20 +1,33 @@
 package com.jnzader.apigen.core.infrastructure.bulk;
 
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
 import com.opencsv.CSVWriter;
 import com.opencsv.ICSVWriter;
 import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
 import com.opencsv.bean.StatefulBeanToCsv;
 import com.opencsv.bean.StatefulBeanToCsvBuilder;
+import com.opencsv.exceptions.CsvException;
+import jakarta.persistence.EntityManager;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,10 +37,21 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
@@ -36,10 +60,20 @@ import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 /**
  * Implementation of bulk import and export operations.
@@ -51,12 +85,56 @@ import org.slf4j.LoggerFactory;
  *   <li>Validation and error reporting
  *   <li>Configurable separators and date formats
  *   <li>Header auto-detection
+ *   <li>Streaming import with bounded memory and chunked transactions
+ *   <li>Parallel export from a database cursor with ordered chunk writes
  * </ul>
  */
 public class BulkOperationsService implements BulkImportService, BulkExportService {
 
     private static final Logger log = LoggerFactory.getLogger(BulkOperationsService.class);
 
+    /** Marks the end of the chunks queued for the export writer. */
+    private static final Future<?> END_OF_EXPORT = CompletableFuture.completedFuture(null);
+
+    private final TransactionOperations transactionOperations;
+    private final TransactionOperations exportTransactionOperations;
+    private final EntityManager entityManager;
+
+    /** Creates a service whose streaming import chunks run without a transaction. */
+    public BulkOperationsService() {
+        this(TransactionOperations.withoutTransaction());
+    }
+
+    /**
+     * Creates a service whose streaming import chunks run inside the given transaction template.
+     *
+     * @param transactionOperations transaction boundary for each streaming import chunk
+     */
+    public BulkOperationsService(TransactionOperations transactionOperations) {
+        this(transactionOperations, transactionOperations, null);
+    }
+
+    /**
+     * Creates a service that also clears the given persistence context between the chunks of a
+     * cursor export.
+     *
+     * <p>The export transaction must not join the caller's: clearing a persistence context shared
+     * with the caller would detach its entities and drop their pending changes. Use a {@code
+     * REQUIRES_NEW}, read-only template, which binds a fresh persistence context to the export.
+     *
+     * @param transactionOperations transaction boundary for each streaming import chunk
+     * @param exportTransactionOperations own transaction in which cursor exports read
+     * @param entityManager shared entity manager, or null when there is no persistence context
+     */
+    public BulkOperationsService(
+            TransactionOperations transactionOperations,
+            TransactionOperations exportTransactionOperations,
+            EntityManager entityManager) {
+        this.transactionOperations = transactionOperations;
+        this.exportTransactionOperations = exportTransactionOperations;
+        this.entityManager = entityManager;
+    }
+
     // ========== IMPORT OPERATIONS ==========
 
     @Override
@@ -216,6 +294,406 @@ public class BulkOperationsService implements BulkImportService, BulkExportServi
         return results;
     }
 
+    // ========== STREAMING IMPORT ==========
+
+    @Override
+    public <T> BulkOperationResult importStreaming(
+            InputStream inputStream,
+            BulkFormat format,
+            Class<T> targetClass,
+            Function<T, Object> processor,
+            ImportConfig config,
+            ImportProgressListener progressListener) {
+
+        Instant startTime = Instant.now();
+        StreamingImportState state = new StreamingImportState(config.maxErrors());
+        BlockingQueue<ParsedRow<T>> queue = new ArrayBlockingQueue<>(config.queueCapacity());
+        AtomicReference<RuntimeException> readerFailure = new AtomicReference<>();
+
+        // The reader parses ahead at most queueCapacity rows; it blocks while chunks are processed
+        Thread reader =
+                Thread.ofVirtual()
+                        .name("bulk-import-reader")
+                        .start(
+                                () ->
+                                        readRows(
+                                                inputStream,
+                                                format,
+                                                targetClass,
+                                                config,
+                                                queue,
+                                                readerFailure));
+
+        List<ParsedRow<T>> chunk = new ArrayList<>(config.batchSize());
+        try {
+            ParsedRow<T> row = queue.take();
+            while (!row.isEndOfStream() && !state.stopped) {
+                chunk.add(row);
+                if (chunk.size() >= config.batchSize()) {
+                    processChunk(chunk, processor, config, state, startTime, progressListener);
+                }
+                row = state.stopped ? row : queue.take();
+            }
+            if (!chunk.isEmpty() && !state.stopped) {
+                processChunk(chunk, processor, config, state, startTime, progressListener);
+            }
+            RuntimeException failure = readerFailure.get();
+            if (failure != null && !state.stopped) {
+                log.error("Streaming import failed", failure);
+                state.failure(0, failure.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.failure(0, "Import interrupted");
+        } finally {
+            // Unblocks the reader if processing stopped before the end of the file
+            reader.interrupt();
+        }
+
+        log.info(
+                "Streaming import finished: {} records, {} failures in {} chunks",
+                state.successCount + state.failureCount,
+                state.failureCount,
+                state.chunks);
+
+        return BulkOperationResult.builder()
+                .operationType(BulkOperationResult.OperationType.IMPORT)
+                .format(format)
+                .totalRecords(state.successCount + state.failureCount)
+                .successCount(state.successCount)
+                .failureCount(state.failureCount)
+                .errors(state.errors)
+                .startTime(startTime)
+                .endTime(Instant.now())
+                .build();
+    }
+
+    /**
+     * Runs one chunk inside a transaction. If the transaction itself fails (e.g. on commit), the
+     * records of the chunk that had succeeded are counted as failures, since nothing was persisted.
+     */
+    private <T> void processChunk(
+            List<ParsedRow<T>> chunk,
+            Function<T, Object> processor,
+            ImportConfig config,
+            StreamingImportState state,
+            Instant startTime,
+            ImportProgressListener progressListener) {
+        int successBefore = state.successCount;
+        try {
+            transactionOperations.executeWithoutResult(
+                    status -> processRows(chunk, processor, config, state));
+        } catch (RuntimeException e) {
+            int rolledBack = state.successCount - successBefore;
+            state.successCount -= rolledBack;
+            state.failureCount += rolledBack;
+            // A chunk stopped at its first row has nothing else to report
+            if (rolledBack > 0 || !(e instanceof ImportStoppedException)) {
+                log.warn(
+                        "Import chunk starting at row {} rolled back: {}",
+                        chunk.getFirst().rowNumber(),
+                        e.getMessage());
+                state.addError(
+                        chunk.getFirst().rowNumber(), "Chunk rolled back: " + e.getMessage());
+            }
+        }
+        chunk.clear();
+        state.chunks++;
+        progressListener.onProgress(state.progress(startTime));
+    }
+
+    private <T> void processRows(
+            List<ParsedRow<T>> chunk,
+            Function<T, Object> processor,
+            ImportConfig config,
+            StreamingImportState state) {
+        for (ParsedRow<T> row : chunk) {
+            if (row.error() != null) {
+                state.failure(row.rowNumber(), row.error());
+            } else {
+                try {
+                    processor.apply(row.item());
+                    state.successCount++;
+                } catch (Exception ex) {
+                    state.failure(row.rowNumber(), ex.getMessage());
+                }
+            }
+            if (config.stopOnError() && state.failureCount > 0) {
+                // Like importData, nothing after the failing row is kept: roll back the chunk
+                state.stopped = true;
+                throw new ImportStoppedException(row.rowNumber());
+            }
+        }
+    }
+
+    /** Reader thread: parses rows into the queue and always ends with an end-of-stream marker. */
+    private <T> void readRows(
+            InputStream inputStream,
+            BulkFormat format,
+            Class<T> targetClass,
+            ImportConfig config,
+            BlockingQueue<ParsedRow<T>> queue,
+            AtomicReference<RuntimeException> readerFailure) {
+        RowSink<T> sink = queue::put;
+        try {
+            switch (format) {
+                case CSV -> readCsvRows(inputStream, targetClass, config, sink);
+                case EXCEL -> readExcelRows(inputStream, targetClass, config, sink);
+            }
+        } catch (InterruptedException _) {
+            // Processing stopped early; nobody is waiting for more rows
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            readerFailure.set(e);
+        }
+        if (!Thread.currentThread().isInterrupted()) {
+            try {
+                queue.put(ParsedRow.endOfStream());
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Reads CSV records one line at a time, matching columns by header name. */
+    private <T> void readCsvRows(
+            InputStream inputStream, Class<T> targetClass, ImportConfig config, RowSink<T> sink)
+            throws InterruptedException {
+        HeaderColumnNameMappingStrategy<T> strategy = new HeaderColumnNameMappingStrategy<>();
+        strategy.setType(targetClass);
+
+        try (CSVReader csvReader =
+                new CSVReaderBuilder(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
+                        .withCSVParser(
+                                new CSVParserBuilder()
+                                        .withSeparator(config.csvSeparator())
+                                        .withIgnoreLeadingWhiteSpace(true)
+                                        .build())
+                        .build()) {
+
+            strategy.captureHeader(csvReader);
+
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                int rowNumber = rowNumber((int) csvReader.getLinesRead(), config);
+                if (line.length == 1 && line[0].isBlank()) {
+                    continue;
+                }
+                ParsedRow<T> row;
+                try {
+                    row = ParsedRow.of(rowNumber, strategy.populateNewBean(line));
+                } catch (CsvException | RuntimeException e) {
+                    row = ParsedRow.failed(rowNumber, e.getMessage());
+                }
+                sink.accept(row);
+            }
+
+        } catch (IOException | CsvException e) {
+            throw new BulkOperationException("Failed to parse CSV data", e);
+        }
+    }
+
+    /**
+     * Reads an XLSX sheet with the SAX event API: rows are emitted as they are parsed and never
+     * kept as a DOM. The upload is spooled to a temporary file because opening a package from an
+     * InputStream buffers the whole archive in memory.
+     */
+    private <T> void readExcelRows(
+            InputStream inputStream, Class<T> targetClass, ImportConfig config, RowSink<T> sink) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("apigen-import-", ".xlsx");
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+            OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ);
+            try {
+                XSSFReader xssfReader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = xssfReader.getStylesTable();
+                XSSFReader.SheetIterator sheets =
+                        (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+
+                while (sheets.hasNext()) {
+                    try (InputStream sheet = sheets.next()) {
+                        if (config.sheetName() == null
+                                || config.sheetName().equals(sheets.getSheetName())) {
+                            XMLReader parser = XMLHelper.newXMLReader();
+                            parser.setContentHandler(
+                                    new XSSFSheetXMLHandler(
+                                            styles,
+                                            strings,
+                                            new SheetRowHandler<>(targetClass, config, sink),
+                                            new DataFormatter(),
+                                            false));
+                            parser.parse(new InputSource(sheet));
+                            return;
+                        }
+                    }
+                }
+                throw new BulkOperationException("Sheet not found: " + config.sheetName());
+            } finally {
+                // Read-only package: revert instead of close (close would try to save)
+                pkg.revert();
+            }
+        } catch (BulkOperationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BulkOperationException("Failed to parse Excel data", e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Row number reported for a line of the file (1-based, header included), numbered like {@link
+     * #importData}: data rows start at 2 with {@code skipHeader} and at 1 without it.
+     */
+    private static int rowNumber(int line, ImportConfig config) {
+        return config.skipHeader() ? line : line - 1;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** Receives parsed rows; blocks while the queue is full. */
+    @FunctionalInterface
+    private interface RowSink<T> {
+        void accept(ParsedRow<T> row) throws InterruptedException;
+    }
+
+    /**
+     * A parsed row: either an item or a parse error. A negative row number marks the end of the
+     * stream.
+     */
+    private record ParsedRow<T>(int rowNumber, T item, String error) {
+
+        static <T> ParsedRow<T> of(int rowNumber, T item) {
+            return new ParsedRow<>(rowNumber, item, null);
+        }
+
+        static <T> ParsedRow<T> failed(int rowNumber, String error) {
+            return new ParsedRow<>(rowNumber, null, error != null ? error : "Invalid row");
+        }
+
+        static <T> ParsedRow<T> endOfStream() {
+            return new ParsedRow<>(-1, null, null);
+        }
+
+        boolean isEndOfStream() {
+            return rowNumber < 0;
+        }
+    }
+
+    /** Rolls back the chunk in progress when {@code stopOnError} stops a streaming import. */
+    private static final class ImportStoppedException extends RuntimeException {
+
+        private ImportStoppedException(int rowNumber) {
+            super("import stopped at row " + rowNumber);
+        }
+    }
+
+    /** Counters of a streaming import. Only touched by the thread that processes chunks. */
+    private static final class StreamingImportState {
+        private final int maxErrors;
+        private final List<BulkOperationResult.RecordError> errors = new ArrayList<>();
+        private int chunks;
+        private int successCount;
+        private int failureCount;
+        private boolean stopped;
+
+        private StreamingImportState(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void failure(int rowNumber, String message) {
+            failureCount++;
+            addError(rowNumber, message);
+        }
+
+        /** Keeps at most maxErrors details so a file full of bad rows cannot exhaust memory. */
+        void addError(int rowNumber, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkOperationResult.RecordError(rowNumber, message));
+            }
+        }
+
+        ImportProgress progress(Instant startTime) {
+            return new ImportProgress(
+                    chunks,
+                    successCount + failureCount,
+                    successCount,
+                    failureCount,
+                    Duration.between(startTime, Instant.now()));
+        }
+    }
+
+    /** SAX handler that maps each sheet row to an instance, using the first row as header. */
+    private final class SheetRowHandler<T> implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Class<T> targetClass;
+        private final ImportConfig config;
+        private final RowSink<T> sink;
+        private final List<String> cells = new ArrayList<>();
+        private FieldMapping[] columns;
+
+        private SheetRowHandler(Class<T> targetClass, ImportConfig config, RowSink<T> sink) {
+            this.targetClass = targetClass;
+            this.config = config;
+            this.sink = sink;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column =
+                    cellReference != null
+                            ? new CellReference(cellReference).getCol()
+                            : cells.size();
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (columns == null) {
+                columns = mapColumns(targetClass, cells);
+                return;
+            }
+            if (cells.stream().allMatch(value -> value == null || value.isBlank())) {
+                return;
+            }
+
+            int rowNumber = rowNumber(rowNum + 1, config);
+            ParsedRow<T> row;
+            try {
+                row = ParsedRow.of(rowNumber, createInstance(targetClass, columns, cells, config));
+            } catch (Exception e) {
+                row = ParsedRow.failed(rowNumber, e.getMessage());
+            }
+
+            try {
+                sink.accept(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BulkOperationException("Import cancelled", e);
+            }
+        }
+    }
+
     // ========== EXPORT OPERATIONS ==========
 
     @Override
@@ -293,6 +771,394 @@ public class BulkOperationsService implements BulkImportService, BulkExportServi
                 .build();
     }
 
+    // ========== CURSOR EXPORT ==========
+
+    @Override
+    public <E, T> BulkOperationResult exportCursor(
+            Supplier<Stream<E>> cursor,
+            Function<E, T> mapper,
+            Class<T> recordClass,
+            BulkFormat format,
+            OutputStream outputStream,
+            ExportConfig config) {
+
+        Instant startTime = Instant.now();
+        List<String> headers = getFilteredHeaders(recordClass, config);
+        List<ValueReader> readers = getValueReaders(recordClass, headers);
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(config.dateFormat());
+        List<BulkOperationResult.RecordError> errors = new ArrayList<>();
+        int exported = 0;
+
+        try {
+            exported =
+                    switch (format) {
+                        case CSV ->
+                                exportCursorToCsv(
+                                        cursor,
+                                        mapper,
+                                        headers,
+                                        readers,
+                                        dateFormatter,
+                                        outputStream,
+                                        config);
+                        case EXCEL ->
+                                exportCursorToExcel(
+                                        cursor,
+                                        mapper,
+                                        headers,
+                                        readers,
+                                        dateFormatter,
+                                        outputStream,
+                                        config);
+                    };
+        } catch (ChunkedExportException e) {
+            log.error("Cursor export failed after {} records", e.exported, e.getCause());
+            exported = e.exported;
+            errors.add(new BulkOperationResult.RecordError(0, e.getCause().getMessage()));
+        } catch (RuntimeException | IOException e) {
+            log.error("Cursor export failed", e);
+            errors.add(new BulkOperationResult.RecordError(0, e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(new BulkOperationResult.RecordError(0, "Export interrupted"));
+        }
+
+        return BulkOperationResult.builder()
+                .operationType(BulkOperationResult.OperationType.EXPORT)
+                .format(format)
+                .totalRecords(exported + errors.size())
+                .successCount(exported)
+                .failureCount(errors.size())
+                .errors(errors)
+                .startTime(startTime)
+                .endTime(Instant.now())
+                .build();
+    }
+
+    private <E, T> int exportCursorToCsv(
+            Supplier<Stream<E>> cursor,
+            Function<E, T> mapper,
+            List<String> headers,
+            List<ValueReader> readers,
+            DateTimeFormatter dateFormatter,
+            OutputStream outputStream,
+            ExportConfig config)
+            throws IOException, InterruptedException {
+
+        if (config.includeHeader()) {
+            String[] headerLine = headers.toArray(String[]::new);
+            outputStream.write(encodeCsv(config, csvWriter -> csvWriter.writeNext(headerLine)));
+        }
+
+        int exported =
+                runOrderedExport(
+                        cursor,
+                        mapper,
+                        config,
+                        items -> encodeCsvChunk(items, readers, dateFormatter, config),
+                        outputStream::write);
+        outputStream.flush();
+        return exported;
+    }
+
+    /**
+     * XLSX rows must be appended to a single sheet in order, so only the value extraction runs in
+     * parallel; SXSSF keeps a small window of rows in memory and spools the rest to disk. The
+     * archive is written when the cursor is exhausted.
+     */
+    private <E, T> int exportCursorToExcel(
+            Supplier<Stream<E>> cursor,
+            Function<E, T> mapper,
+            List<String> headers,
+            List<ValueReader> readers,
+            DateTimeFormatter dateFormatter,
+            OutputStream outputStream,
+            ExportConfig config)
+            throws IOException, InterruptedException {
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            Sheet sheet = workbook.createSheet(config.sheetName());
+
+            if (config.includeHeader()) {
+                Row headerRow = sheet.createRow(0);
+                CellStyle headerStyle = createHeaderStyle(workbook);
+                for (int i = 0; i < headers.size(); i++) {
+                    Cell cell = headerRow.createCell(i);
+                    cell.setCellValue(headers.get(i));
+                    cell.setCellStyle(headerStyle);
+                }
+            }
+
+            int exported =
+                    runOrderedExport(
+                            cursor,
+                            mapper,
+                            config,
+                            items -> extractValues(items, readers),
+                            values -> {
+                                for (Object[] rowValues : values) {
+                                    Row row = sheet.createRow(sheet.getLastRowNum() + 1);
+                                    for (int i = 0; i < rowValues.length; i++) {
+                                        setCellValue(
+                                                row.createCell(i), rowValues[i], dateFormatter);
+                                    }
+                                }
+                            });
+
+            workbook.write(outputStream);
+            outputStream.flush();
+            return exported;
+        }
+    }
+
+    /**
+     * Pipeline behind cursor exports. The calling thread reads the cursor inside its own export
+     * transaction and cuts it into chunks, clearing that transaction's persistence context after
+     * each one; chunks are encoded on
+     * virtual threads; a writer thread takes the encoded chunks in submission order. At most
+     * {@code parallelism} chunks are in flight, which bounds memory regardless of the row count.
+     *
+     * @return number of records written
+     */
+    private <E, T, C> int runOrderedExport(
+            Supplier<Stream<E>> cursor,
+            Function<E, T> mapper,
+            ExportConfig config,
+            Function<List<T>, C> encoder,
+            ChunkWriter<C> writer)
+            throws InterruptedException {
+
+        BlockingQueue<Future<EncodedChunk<C>>> pending =
+                new ArrayBlockingQueue<>(config.parallelism());
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicInteger written = new AtomicInteger();
+
+        try (ExecutorService encoders = Executors.newVirtualThreadPerTaskExecutor()) {
+            Thread writerThread =
+                    Thread.ofVirtual()
+                            .name("bulk-export-writer")
+                            .start(() -> writeChunks(pending, writer, failure, written));
+            try {
+                exportTransactionOperations.executeWithoutResult(
+                        status ->
+                                readChunks(
+                                        cursor,
+                                        mapper,
+                                        config,
+                                        encoders,
+                                        encoder,
+                                        pending,
+                                        failure));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                pending.put(endOfExport());
+                writerThread.join();
+            }
+        }
+
+        Exception error = failure.get();
+        if (error != null) {
+            throw new ChunkedExportException(written.get(), error);
+        }
+        return written.get();
+    }
+
+    private <E, T, C> void readChunks(
+            Supplier<Stream<E>> cursor,
+            Function<E, T> mapper,
+            ExportConfig config,
+            ExecutorService encoders,
+            Function<List<T>, C> encoder,
+            BlockingQueue<Future<EncodedChunk<C>>> pending,
+            AtomicReference<Exception> failure) {
+
+        try (Stream<E> stream = cursor.get()) {
+            Iterator<E> iterator = stream.iterator();
+            List<T> chunk = new ArrayList<>(config.chunkSize());
+            while (iterator.hasNext() && failure.get() == null) {
+                chunk.add(mapper.apply(iterator.next()));
+                if (chunk.size() == config.chunkSize()) {
+                    submitChunk(chunk, encoders, encoder, pending);
+                    chunk = new ArrayList<>(config.chunkSize());
+                    // The chunk holds mapped records only: drop the entities read so far
+                    if (entityManager != null) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty() && failure.get() == null) {
+                submitChunk(chunk, encoders, encoder, pending);
+            }
+        }
+    }
+
+    private <T, C> void submitChunk(
+            List<T> chunk,
+            ExecutorService encoders,
+            Function<List<T>, C> encoder,
+            BlockingQueue<Future<EncodedChunk<C>>> pending) {
+        try {
+            // Blocks while parallelism chunks are already in flight
+            pending.put(
+                    encoders.submit(() -> new EncodedChunk<>(chunk.size(), encoder.apply(chunk))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkOperationException("Export interrupted", e);
+        }
+    }
+
+    /** Writer thread: writes chunks in order until the end marker; after a failure only drains. */
+    private <C> void writeChunks(
+            BlockingQueue<Future<EncodedChunk<C>>> pending,
+            ChunkWriter<C> writer,
+            AtomicReference<Exception> failure,
+            AtomicInteger written) {
+        try {
+            Future<EncodedChunk<C>> next = pending.take();
+            while (next != END_OF_EXPORT) {
+                if (failure.get() != null) {
+                    next.cancel(true);
+                } else {
+                    try {
+                        EncodedChunk<C> chunk = next.get();
+                        writer.write(chunk.data());
+                        written.addAndGet(chunk.records());
+                    } catch (ExecutionException e) {
+                        failure.compareAndSet(
+                                null, e.getCause() instanceof Exception ex ? ex : e);
+                    } catch (IOException | RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+                next = pending.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> Future<EncodedChunk<C>> endOfExport() {
+        return (Future<EncodedChunk<C>>) END_OF_EXPORT;
+    }
+
+    private <T> byte[] encodeCsvChunk(
+            List<T> items,
+            List<ValueReader> readers,
+            DateTimeFormatter dateFormatter,
+            ExportConfig config) {
+        return encodeCsv(
+                config,
+                csvWriter -> {
+                    String[] line = new String[readers.size()];
+                    for (T item : items) {
+                        for (int i = 0; i < line.length; i++) {
+                            Object value = readValue(readers.get(i), item);
+                            line[i] = formatCsvValue(value, dateFormatter);
+                        }
+                        csvWriter.writeNext(line, false);
+                    }
+                });
+    }
+
+    private byte[] encodeCsv(ExportConfig config, Consumer<CSVWriter> rows) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (CSVWriter csvWriter =
+                new CSVWriter(
+                        new OutputStreamWriter(buffer, StandardCharsets.UTF_8),
+                        config.csvSeparator(),
+                        ICSVWriter.DEFAULT_QUOTE_CHARACTER,
+                        ICSVWriter.DEFAULT_ESCAPE_CHARACTER,
+                        ICSVWriter.DEFAULT_LINE_END)) {
+            rows.accept(csvWriter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private <T> List<Object[]> extractValues(List<T> items, List<ValueReader> readers) {
+        List<Object[]> values = new ArrayList<>(items.size());
+        for (T item : items) {
+            Object[] rowValues = new Object[readers.size()];
+            for (int i = 0; i < rowValues.length; i++) {
+                rowValues[i] = readValue(readers.get(i), item);
+            }
+            values.add(rowValues);
+        }
+        return values;
+    }
+
+    private String formatCsvValue(Object value, DateTimeFormatter dateFormatter) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof LocalDate date) {
+            return date.format(dateFormatter);
+        } else if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return value.toString();
+    }
+
+    private Object readValue(ValueReader reader, Object item) {
+        try {
+            return reader.read(item);
+        } catch (ReflectiveOperationException _) {
+            return null;
+        }
+    }
+
+    /** Resolves the accessor of every exported column once, instead of per row. */
+    @SuppressWarnings("java:S3011") // Reflection is required for generic field access
+    private List<ValueReader> getValueReaders(Class<?> recordClass, List<String> headers) {
+        List<ValueReader> readers = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            ValueReader reader = item -> null;
+            if (recordClass.isRecord()) {
+                for (RecordComponent component : recordClass.getRecordComponents()) {
+                    if (component.getName().equals(header)) {
+                        Method accessor = component.getAccessor();
+                        reader = accessor::invoke;
+                    }
+                }
+            } else {
+                try {
+                    Field field = recordClass.getDeclaredField(header);
+                    field.setAccessible(true);
+                    reader = field::get;
+                } catch (NoSuchFieldException _) {
+                    // Column without backing field: exported empty
+                }
+            }
+            readers.add(reader);
+        }
+        return readers;
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(Object item) throws ReflectiveOperationException;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<C> {
+        void write(C chunk) throws IOException;
+    }
+
+    private record EncodedChunk<C>(int records, C data) {}
+
+    /** Carries the number of records already written when a cursor export fails. */
+    private static final class ChunkedExportException extends RuntimeException {
+        private final int exported;
+
+        private ChunkedExportException(int exported, Exception cause) {
+            super(cause);
+            this.exported = exported;
+        }
+    }
+
     @Override
     public <T> List<String> getHeaders(Class<T> recordClass) {
         if (recordClass.isRecord()) {
@@ -493,6 +1359,22 @@ public class BulkOperationsService implements BulkImportService, BulkExportServi
         return mappings;
     }
 
+    /** Maps each column index to a field (null when the header does not match any field). */
+    private <T> FieldMapping[] mapColumns(Class<T> targetClass, List<String> headers) {
+        FieldMapping[] columns = new FieldMapping[headers.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String header = headers.get(i);
+            if (header != null) {
+                String normalizedHeader = normalizeFieldName(header);
+                columns[i] =
+                        targetClass.isRecord()
+                                ? findRecordFieldMapping(header, normalizedHeader, targetClass)
+                                : findClassFieldMapping(header, normalizedHeader, targetClass);
+            }
+        }
+        return columns;
+    }
+
     private String normalizeFieldName(String name) {
         return name.toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
     }
@@ -577,6 +1459,77 @@ public class BulkOperationsService implements BulkImportService, BulkExportServi
         return targetClass.getDeclaredConstructor(paramTypes).newInstance(args);
     }
 
+    /** Builds an instance from the formatted cell values of a streamed row. */
+    private <T> T createInstance(
+            Class<T> targetClass, FieldMapping[] columns, List<String> values, ImportConfig config)
+            throws ReflectiveOperationException {
+        int columnCount = Math.min(columns.length, values.size());
+
+        if (targetClass.isRecord()) {
+            RecordComponent[] components = targetClass.getRecordComponents();
+            Object[] args = new Object[components.length];
+            Class<?>[] paramTypes = new Class<?>[components.length];
+            for (int j = 0; j < components.length; j++) {
+                paramTypes[j] = components[j].getType();
+                args[j] = getDefaultValue(paramTypes[j]);
+            }
+            for (int i = 0; i < columnCount; i++) {
+                FieldMapping mapping = columns[i];
+                for (int j = 0; mapping != null && j < components.length; j++) {
+                    if (components[j].getName().equals(mapping.fieldName())) {
+                        args[j] = convertStringValue(values.get(i), mapping.fieldType(), config);
+                        break;
+                    }
+                }
+            }
+            return targetClass.getDeclaredConstructor(paramTypes).newInstance(args);
+        }
+
+        T instance = targetClass.getDeclaredConstructor().newInstance();
+        for (int i = 0; i < columnCount; i++) {
+            FieldMapping mapping = columns[i];
+            if (mapping != null) {
+                Object value = convertStringValue(values.get(i), mapping.fieldType(), config);
+                setFieldValue(instance, mapping.fieldName(), value);
+            }
+        }
+        return instance;
+    }
+
+    private Object convertStringValue(String value, Class<?> targetType, ImportConfig config) {
+        if (value == null || value.isBlank()) {
+            return targetType == String.class ? value : getDefaultValue(targetType);
+        }
+        String trimmed = value.trim();
+
+        if (targetType == String.class) {
+            return value;
+        }
+        if (isIntegerType(targetType)) {
+            return Integer.parseInt(trimmed);
+        }
+        if (isLongType(targetType)) {
+            return Long.parseLong(trimmed);
+        }
+        if (isDoubleType(targetType)) {
+            return Double.parseDouble(trimmed);
+        }
+        if (isBooleanType(targetType)) {
+            return Boolean.parseBoolean(trimmed);
+        }
+        if (targetType == BigDecimal.class) {
+            return new BigDecimal(trimmed);
+        }
+        if (targetType == LocalDate.class) {
+            return LocalDate.parse(trimmed, DateTimeFormatter.ofPattern(config.dateFormat()));
+        }
+        if (targetType == LocalDateTime.class) {
+            return LocalDateTime.parse(trimmed);
+        }
+
+        return value;
+    }
+
     private Object convertCellValue(
             Cell cell, Class<?> targetType, DataFormatter formatter, ImportConfig config) {
         if (cell == null) {
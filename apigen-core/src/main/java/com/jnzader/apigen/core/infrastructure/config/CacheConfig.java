@@ -1,6 +1,8 @@
 package com.jnzader.apigen.core.infrastructure.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jnzader.apigen.core.infrastructure.config.cache.EntityIndexedCache;
+import com.jnzader.apigen.core.infrastructure.config.cache.LocalEntityKeyIndex;
 import com.jnzader.apigen.core.infrastructure.config.properties.AppProperties;
 import java.time.Duration;
 import java.util.Arrays;
@@ -8,6 +10,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -24,10 +27,14 @@ import org.springframework.context.annotation.Configuration;
  * <p>Caffeine is a high-performance caching library for Java, based on Guava Cache design but with
  * better performance. Ideal for single-instance applications.
  *
- * <p>For distributed cache (multi-instance), use Redis with: {@code apigen.cache.type=redis}
+ * <p>For distributed cache (multi-instance), use Redis with: {@code apigen.cache.type=redis}, or a
+ * local Caffeine tier in front of Redis with: {@code apigen.cache.type=tiered}
  *
  * <p>Configured caches: - entities: Entity cache by ID (TTL: 10 minutes) - lists: List cache (TTL:
  * 5 minutes) - counts: Count cache (TTL: 2 minutes)
+ *
+ * <p>The lists and counts caches are wrapped in {@link EntityIndexedCache} so that writes evict
+ * only the keys of the affected entity without scanning the whole cache.
  */
 @Configuration
 @EnableCaching
@@ -54,11 +61,11 @@ public class CacheConfig implements CachingConfigurer {
     public CacheManager cacheManager() {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
 
-        List<CaffeineCache> caches =
+        List<Cache> caches =
                 Arrays.asList(
                         buildCache("entities", entitiesCaffeineBuilder()),
-                        buildCache("lists", listsCaffeineBuilder()),
-                        buildCache("counts", countsCaffeineBuilder()));
+                        buildIndexedCache("lists", listsCaffeineBuilder()),
+                        buildIndexedCache("counts", countsCaffeineBuilder()));
 
         cacheManager.setCaches(caches);
 
@@ -74,7 +81,46 @@ public class CacheConfig implements CachingConfigurer {
 
     /** Builds a Caffeine cache with the given configuration. */
     private CaffeineCache buildCache(String name, Caffeine<Object, Object> caffeineBuilder) {
-        return new CaffeineCache(name, caffeineBuilder.build());
+        return new CaffeineCache(
+                name,
+                caffeineBuilder
+                        .removalListener(
+                                (key, value, cause) ->
+                                        log.debug(
+                                                "Cache '{}' - removed key: {}, cause: {}",
+                                                name,
+                                                key,
+                                                cause))
+                        .build());
+    }
+
+    /**
+     * Builds a Caffeine cache indexed by entity name. Entries Caffeine evicts on its own
+     * (expiration, size) are unregistered from the index by a synchronous eviction listener, so the
+     * index stays bounded by the cache size. Explicit removals are unregistered by {@link
+     * EntityIndexedCache} itself, and a replaced value keeps its key.
+     */
+    private EntityIndexedCache buildIndexedCache(
+            String name, Caffeine<Object, Object> caffeineBuilder) {
+        LocalEntityKeyIndex index = new LocalEntityKeyIndex();
+        CaffeineCache cache =
+                new CaffeineCache(
+                        name,
+                        caffeineBuilder
+                                .evictionListener(
+                                        (key, value, cause) -> {
+                                            log.debug(
+                                                    "Cache '{}' - evicted key: {}, cause: {}",
+                                                    name,
+                                                    key,
+                                                    cause);
+                                            String entityName = EntityIndexedCache.entityOf(key);
+                                            if (entityName != null) {
+                                                index.unregister(entityName, key);
+                                            }
+                                        })
+                                .build());
+        return new EntityIndexedCache(cache, index);
     }
 
     /** Specific builder for entity cache. Larger size and longer expiration time. */
@@ -84,13 +130,7 @@ public class CacheConfig implements CachingConfigurer {
                 .maximumSize(config.maxSize())
                 .expireAfterWrite(config.expireAfterWrite())
                 .expireAfterAccess(Duration.ofMinutes(30))
-                .recordStats()
-                .removalListener(
-                        (key, value, cause) ->
-                                log.debug(
-                                        "Cache 'entities' - removed key: {}, cause: {}",
-                                        key,
-                                        cause));
+                .recordStats();
     }
 
     /** Specific builder for list cache. Smaller size and shorter expiration time. */
@@ -99,11 +139,7 @@ public class CacheConfig implements CachingConfigurer {
         return Caffeine.newBuilder()
                 .maximumSize(config.maxSize())
                 .expireAfterWrite(config.expireAfterWrite())
-                .recordStats()
-                .removalListener(
-                        (key, value, cause) ->
-                                log.debug(
-                                        "Cache 'lists' - removed key: {}, cause: {}", key, cause));
+                .recordStats();
     }
 
     /** Specific builder for count cache. Very small size and fast expiration. */
@@ -112,11 +148,7 @@ public class CacheConfig implements CachingConfigurer {
         return Caffeine.newBuilder()
                 .maximumSize(config.maxSize())
                 .expireAfterWrite(config.expireAfterWrite())
-                .recordStats()
-                .removalListener(
-                        (key, value, cause) ->
-                                log.debug(
-                                        "Cache 'counts' - removed key: {}, cause: {}", key, cause));
+                .recordStats();
     }
 
     /** Cache error handler. Logs errors but allows the application to continue functioning. */
@@ -1,5 +1,9 @@
 package com.jnzader.apigen.core.infrastructure.config;
 
+import com.jnzader.apigen.core.infrastructure.util.ETagStrategy;
+import com.jnzader.apigen.core.infrastructure.util.StandardETagStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,10 +21,33 @@ import org.springframework.web.filter.ShallowEtagHeaderFilter;
  *
  * <p>Limitations: - The server still processes the request completely (only saves bandwidth) - For
  * true processing savings, use server-side caching
+ *
+ * <p>Controllers extending {@code BaseControllerImpl} set their own ETag (reused by the filter)
+ * using the {@link ETagStrategy} selected with {@code apigen.etag.strategy}:
+ *
+ * <ul>
+ *   <li>{@code content-hash} (default): streaming MD5 of the DTO JSON
+ *   <li>{@code version}: {@code "id:version"}; If-None-Match/If-Match are resolved with a version
+ *       projection, without loading or mapping the entity
+ *   <li>{@code none}: no ETags from controllers
+ * </ul>
  */
 @Configuration
 public class ETagConfig {
 
+    /**
+     * ETag strategy used by base controllers, unless a custom {@link ETagStrategy} bean exists.
+     *
+     * @param strategy configured strategy name
+     * @return the ETag strategy
+     */
+    @Bean
+    @ConditionalOnMissingBean(ETagStrategy.class)
+    public ETagStrategy eTagStrategy(
+            @Value("${apigen.etag.strategy:content-hash}") String strategy) {
+        return StandardETagStrategy.fromProperty(strategy);
+    }
+
     @Bean
     public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
         FilterRegistrationBean<ShallowEtagHeaderFilter> filterRegistrationBean =
@@ -1,9 +1,12 @@
 package com.jnzader.apigen.core.infrastructure.config;
 
+import com.jnzader.apigen.core.infrastructure.config.cache.EntityIndexedCacheManager;
+import com.jnzader.apigen.core.infrastructure.config.cache.RedisEntityKeyIndex;
 import com.jnzader.apigen.core.infrastructure.config.properties.AppProperties;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -19,6 +22,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -43,6 +47,9 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  *   cache:
  *     type: redis
  * </pre>
+ *
+ * <p>The lists and counts caches are indexed by entity in Redis sets (see {@link
+ * RedisEntityKeyIndex}), so selective eviction works across instances without {@code clear()}.
  */
 @Configuration
 @EnableCaching
@@ -79,11 +86,43 @@ public class RedisCacheConfig implements CachingConfigurer {
      * Creates a Redis-based CacheManager with per-cache TTL configuration.
      *
      * @param connectionFactory the Redis connection factory
-     * @return the configured RedisCacheManager
+     * @return the configured cache manager, indexed by entity for lists and counts
      */
     @Bean(name = "redisCacheManager")
     @Primary
     public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+        RedisCacheManager redisCacheManager =
+                buildRedisCacheManager(connectionFactory, cacheProperties, true);
+
+        log.info(
+                "Redis cache manager configured. Caches: entities (TTL: {}), lists (TTL: {}),"
+                        + " counts (TTL: {})",
+                cacheProperties.entities().expireAfterWrite(),
+                cacheProperties.lists().expireAfterWrite(),
+                cacheProperties.counts().expireAfterWrite());
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        return new EntityIndexedCacheManager(
+                redisCacheManager,
+                Set.of("lists", "counts"),
+                cacheName ->
+                        new RedisEntityKeyIndex(
+                                redisTemplate, cacheName, ttlOf(cacheProperties, cacheName)));
+    }
+
+    /**
+     * Builds and initializes a RedisCacheManager with per-cache TTL configuration. Shared with
+     * {@link TieredCacheConfig}, which uses it as the L2 tier.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param cacheProperties cache TTL configuration
+     * @param transactionAware whether puts/evicts are deferred until transaction commit
+     * @return the initialized RedisCacheManager
+     */
+    static RedisCacheManager buildRedisCacheManager(
+            RedisConnectionFactory connectionFactory,
+            AppProperties.CacheProperties cacheProperties,
+            boolean transactionAware) {
         RedisCacheConfiguration defaultConfig =
                 RedisCacheConfiguration.defaultCacheConfig()
                         .serializeKeysWith(
@@ -109,18 +148,24 @@ public class RedisCacheConfig implements CachingConfigurer {
         cacheConfigs.put(
                 "counts", defaultConfig.entryTtl(cacheProperties.counts().expireAfterWrite()));
 
-        log.info(
-                "Redis cache manager configured. Caches: entities (TTL: {}), lists (TTL: {}),"
-                        + " counts (TTL: {})",
-                cacheProperties.entities().expireAfterWrite(),
-                cacheProperties.lists().expireAfterWrite(),
-                cacheProperties.counts().expireAfterWrite());
+        RedisCacheManager.RedisCacheManagerBuilder builder =
+                RedisCacheManager.builder(connectionFactory)
+                        .cacheDefaults(defaultConfig.entryTtl(Duration.ofMinutes(10)))
+                        .withInitialCacheConfigurations(cacheConfigs);
+        if (transactionAware) {
+            builder.transactionAware();
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+        // Not exposed as a bean itself, so the initial cache configurations must be loaded here
+        redisCacheManager.initializeCaches();
+        return redisCacheManager;
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig.entryTtl(Duration.ofMinutes(10)))
-                .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware()
-                .build();
+    /** Returns the configured entry TTL of an indexed cache. */
+    static Duration ttlOf(AppProperties.CacheProperties cacheProperties, String cacheName) {
+        return "lists".equals(cacheName)
+                ? cacheProperties.lists().expireAfterWrite()
+                : cacheProperties.counts().expireAfterWrite();
     }
 
     /**
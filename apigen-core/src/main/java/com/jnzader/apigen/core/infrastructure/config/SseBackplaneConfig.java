@@ -0,0 +1,75 @@
+package com.jnzader.apigen.core.infrastructure.config;
+
+import com.jnzader.apigen.core.infrastructure.sse.RedisSseBackplane;
+import com.jnzader.apigen.core.infrastructure.sse.SseBackplane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub backplane for SSE, so broadcasts reach clients connected to any node and sticky
+ * sessions are not needed.
+ *
+ * <p>Enabled when: {@code apigen.sse.backplane.type=redis}
+ *
+ * <pre>
+ * apigen:
+ *   sse:
+ *     backplane:
+ *       type: redis
+ *       channel: apigen:sse
+ *       max-batch-size: 100
+ * </pre>
+ *
+ * <p>Define an {@link SseBackplane} bean (e.g. {@code InMemorySseBackplane}) to replace the Redis
+ * pub/sub channel.
+ */
+@Configuration
+@ConditionalOnProperty(name = "apigen.sse.backplane.type", havingValue = "redis")
+@ConditionalOnClass(RedisConnectionFactory.class)
+public class SseBackplaneConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SseBackplaneConfig.class);
+
+    /**
+     * Listener container for the backplane channel.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return the listener container
+     */
+    @Bean
+    @ConditionalOnMissingBean(RedisMessageListenerContainer.class)
+    public RedisMessageListenerContainer sseBackplaneListenerContainer(
+            RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Redis pub/sub backplane, used unless another backplane is defined.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param listenerContainer the listener container
+     * @param channel the pub/sub channel name
+     * @return the backplane
+     */
+    @Bean
+    @ConditionalOnMissingBean(SseBackplane.class)
+    public SseBackplane sseBackplane(
+            RedisConnectionFactory connectionFactory,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${apigen.sse.backplane.channel:apigen:sse}") String channel) {
+        log.info("SSE backplane configured on Redis channel {}", channel);
+        return new RedisSseBackplane(
+                new StringRedisTemplate(connectionFactory), listenerContainer, channel);
+    }
+}
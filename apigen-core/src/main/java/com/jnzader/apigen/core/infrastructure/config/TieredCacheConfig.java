@@ -0,0 +1,274 @@
+package com.jnzader.apigen.core.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jnzader.apigen.core.infrastructure.config.cache.CacheInvalidationTransport;
+import com.jnzader.apigen.core.infrastructure.config.cache.EntityIndexedCacheManager;
+import com.jnzader.apigen.core.infrastructure.config.cache.RedisCacheInvalidationTransport;
+import com.jnzader.apigen.core.infrastructure.config.cache.RedisEntityKeyIndex;
+import com.jnzader.apigen.core.infrastructure.config.cache.TieredCacheManager;
+import com.jnzader.apigen.core.infrastructure.config.properties.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Two-tier (near-cache) configuration: a bounded Caffeine L1 per node in front of a shared Redis
+ * L2.
+ *
+ * <p>Hits on L1 avoid both the Redis round trip and the JSON deserialization. Every write and
+ * eviction is broadcast over a Redis pub/sub channel so the other nodes drop their L1 copy; the L1
+ * TTL is additionally capped by {@code apigen.cache.tiered.l1-expire-after-write} to bound
+ * staleness if a message is lost.
+ *
+ * <p>Enabled when: {@code apigen.cache.type=tiered}
+ *
+ * <pre>
+ * apigen:
+ *   cache:
+ *     type: tiered
+ *     tiered:
+ *       l1-expire-after-write: 1m
+ *       channel: apigen:cache:invalidation
+ * </pre>
+ *
+ * <p>Define a {@link CacheInvalidationTransport} bean (e.g. {@code
+ * InMemoryCacheInvalidationTransport}) to replace the Redis pub/sub channel.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "apigen.cache.type", havingValue = "tiered")
+@ConditionalOnClass(RedisConnectionFactory.class)
+@EnableConfigurationProperties(TieredCacheConfig.TieredCacheProperties.class)
+public class TieredCacheConfig implements CachingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredCacheConfig.class);
+
+    private final AppProperties.CacheProperties cacheProperties;
+    private final TieredCacheProperties tieredProperties;
+
+    public TieredCacheConfig(AppProperties appProperties, TieredCacheProperties tieredProperties) {
+        this.cacheProperties =
+                appProperties != null && appProperties.cache() != null
+                        ? appProperties.cache()
+                        : new AppProperties.CacheProperties(null, null, null);
+        this.tieredProperties = tieredProperties;
+    }
+
+    /**
+     * Listener container for the invalidation channel.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return the listener container
+     */
+    @Bean
+    @ConditionalOnMissingBean(RedisMessageListenerContainer.class)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Redis pub/sub invalidation channel, used unless another transport is defined.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param listenerContainer the listener container
+     * @return the transport
+     */
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationTransport.class)
+    public CacheInvalidationTransport cacheInvalidationTransport(
+            RedisConnectionFactory connectionFactory,
+            RedisMessageListenerContainer listenerContainer) {
+        return new RedisCacheInvalidationTransport(
+                new StringRedisTemplate(connectionFactory),
+                listenerContainer,
+                tieredProperties.getChannel());
+    }
+
+    /**
+     * Creates the tiered CacheManager. Lists and counts are additionally indexed by entity in
+     * Redis so selective eviction reaches every node.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param transport the invalidation channel
+     * @param meterRegistry optional registry for per-tier metrics
+     * @return the configured cache manager
+     */
+    @Bean
+    @Primary
+    public CacheManager tieredCacheManager(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationTransport transport,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        // L2 is not transaction-aware itself: the tiered manager defers both tiers together
+        RedisCacheManager remote =
+                RedisCacheConfig.buildRedisCacheManager(connectionFactory, cacheProperties, false);
+
+        TieredCacheManager tiered =
+                new TieredCacheManager(
+                        remote,
+                        this::buildLocalCache,
+                        transport,
+                        meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        tiered.setTransactionAware(true);
+        tiered.initializeCaches();
+
+        log.info(
+                "Tiered cache manager configured (node {}). L1: Caffeine (max TTL {}), L2: Redis,"
+                        + " invalidation: {}",
+                tiered.getNodeId(),
+                tieredProperties.getL1ExpireAfterWrite(),
+                transport.getClass().getSimpleName());
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        return new EntityIndexedCacheManager(
+                tiered,
+                Set.of("lists", "counts"),
+                cacheName ->
+                        new RedisEntityKeyIndex(
+                                redisTemplate,
+                                cacheName,
+                                RedisCacheConfig.ttlOf(cacheProperties, cacheName)));
+    }
+
+    /** Builds the L1 Caffeine cache, sized like the local cache and capped in TTL. */
+    private Cache buildLocalCache(String name) {
+        AppProperties.CacheProperties.CacheConfig config =
+                switch (name) {
+                    case "entities" -> cacheProperties.entities();
+                    case "lists" -> cacheProperties.lists();
+                    case "counts" -> cacheProperties.counts();
+                    default ->
+                            new AppProperties.CacheProperties.CacheConfig(
+                                    tieredProperties.getL1MaxSize(),
+                                    tieredProperties.getL1ExpireAfterWrite());
+                };
+        Duration cap = tieredProperties.getL1ExpireAfterWrite();
+        Duration ttl =
+                config.expireAfterWrite() != null && config.expireAfterWrite().compareTo(cap) < 0
+                        ? config.expireAfterWrite()
+                        : cap;
+        return new CaffeineCache(
+                name,
+                Caffeine.newBuilder()
+                        .maximumSize(config.maxSize())
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build(),
+                false);
+    }
+
+    /**
+     * Error handler for tiered cache operations. Logs errors but allows the application to
+     * continue.
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new SimpleCacheErrorHandler() {
+            @Override
+            public void handleCacheGetError(
+                    RuntimeException exception, org.springframework.cache.Cache cache, Object key) {
+                log.error(
+                        "Tiered cache GET error for cache '{}' with key '{}': {}",
+                        cache.getName(),
+                        key,
+                        exception.getMessage());
+            }
+
+            @Override
+            public void handleCachePutError(
+                    RuntimeException exception,
+                    org.springframework.cache.Cache cache,
+                    Object key,
+                    Object value) {
+                log.error(
+                        "Tiered cache PUT error for cache '{}' with key '{}': {}",
+                        cache.getName(),
+                        key,
+                        exception.getMessage());
+            }
+
+            @Override
+            public void handleCacheEvictError(
+                    RuntimeException exception, org.springframework.cache.Cache cache, Object key) {
+                log.error(
+                        "Tiered cache EVICT error for cache '{}' with key '{}': {}",
+                        cache.getName(),
+                        key,
+                        exception.getMessage());
+            }
+
+            @Override
+            public void handleCacheClearError(
+                    RuntimeException exception, org.springframework.cache.Cache cache) {
+                log.error(
+                        "Tiered cache CLEAR error for cache '{}': {}",
+                        cache.getName(),
+                        exception.getMessage());
+            }
+        };
+    }
+
+    /** Configuration properties for the tiered cache. */
+    @ConfigurationProperties(prefix = "apigen.cache.tiered")
+    public static class TieredCacheProperties {
+
+        /** Maximum L1 entries for caches without specific configuration. */
+        private long l1MaxSize = 1000;
+
+        /** Upper bound of the L1 TTL, limits staleness if an invalidation is lost. */
+        private Duration l1ExpireAfterWrite = Duration.ofMinutes(1);
+
+        /** Redis pub/sub channel for invalidation messages. */
+        private String channel = "apigen:cache:invalidation";
+
+        public long getL1MaxSize() {
+            return l1MaxSize;
+        }
+
+        public void setL1MaxSize(long l1MaxSize) {
+            this.l1MaxSize = l1MaxSize;
+        }
+
+        public Duration getL1ExpireAfterWrite() {
+            return l1ExpireAfterWrite;
+        }
+
+        public void setL1ExpireAfterWrite(Duration l1ExpireAfterWrite) {
+            this.l1ExpireAfterWrite = l1ExpireAfterWrite;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+    }
+}
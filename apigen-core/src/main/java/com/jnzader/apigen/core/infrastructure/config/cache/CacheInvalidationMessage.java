@@ -0,0 +1,87 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidation broadcast between nodes of a tiered cache.
+ *
+ * <p>Encoded as plain text lines ({@code origin}, {@code cacheName}, then either {@code *} for a
+ * full clear or one key per line), so it can travel over Redis pub/sub without a JSON dependency.
+ * Cache keys must not contain line breaks.
+ *
+ * @param origin id of the node that produced the change (ignored by that same node)
+ * @param cacheName name of the affected cache
+ * @param keys keys to evict from L1; empty when {@code clear} is true
+ * @param clear whether the whole L1 cache must be cleared
+ */
+public record CacheInvalidationMessage(
+        String origin, String cacheName, List<String> keys, boolean clear) {
+
+    private static final String CLEAR_MARKER = "*";
+
+    public CacheInvalidationMessage {
+        keys = keys != null ? List.copyOf(keys) : List.of();
+    }
+
+    /**
+     * Creates a message evicting the given keys.
+     *
+     * @param origin the publishing node id
+     * @param cacheName the cache name
+     * @param keys the keys to evict
+     * @return the message
+     */
+    public static CacheInvalidationMessage evict(
+            String origin, String cacheName, List<String> keys) {
+        return new CacheInvalidationMessage(origin, cacheName, keys, false);
+    }
+
+    /**
+     * Creates a message clearing the whole cache.
+     *
+     * @param origin the publishing node id
+     * @param cacheName the cache name
+     * @return the message
+     */
+    public static CacheInvalidationMessage clear(String origin, String cacheName) {
+        return new CacheInvalidationMessage(origin, cacheName, List.of(), true);
+    }
+
+    /**
+     * Encodes the message as text.
+     *
+     * @return the encoded message
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder().append(origin).append('\n').append(cacheName);
+        if (clear) {
+            sb.append('\n').append(CLEAR_MARKER);
+        } else {
+            keys.forEach(key -> sb.append('\n').append(key));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a message produced by {@link #encode()}.
+     *
+     * @param encoded the encoded text
+     * @return the message
+     * @throws IllegalArgumentException if the text is not a valid message
+     */
+    public static CacheInvalidationMessage decode(String encoded) {
+        String[] lines = encoded.split("\n", -1);
+        if (lines.length < 2) {
+            throw new IllegalArgumentException("Invalid cache invalidation message: " + encoded);
+        }
+        if (lines.length == 3 && CLEAR_MARKER.equals(lines[2])) {
+            return clear(lines[0], lines[1]);
+        }
+        List<String> keys = new ArrayList<>(lines.length - 2);
+        for (int i = 2; i < lines.length; i++) {
+            keys.add(lines[i]);
+        }
+        return evict(lines[0], lines[1], keys);
+    }
+}
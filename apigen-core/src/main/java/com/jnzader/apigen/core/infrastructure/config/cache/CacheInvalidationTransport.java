@@ -0,0 +1,26 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel used by {@link TieredCache} to broadcast L1 invalidations to every node.
+ *
+ * <p>Implementations: {@link RedisCacheInvalidationTransport} (Redis pub/sub) and {@link
+ * InMemoryCacheInvalidationTransport} (in-process stand-in for tests and single-node setups).
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Publishes a message to every subscribed node, including the publisher.
+     *
+     * @param message the invalidation message
+     */
+    void publish(CacheInvalidationMessage message);
+
+    /**
+     * Registers a listener for messages published by any node.
+     *
+     * @param listener the listener
+     */
+    void subscribe(Consumer<CacheInvalidationMessage> listener);
+}
@@ -0,0 +1,167 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} decorator that keeps an {@link EntityKeyIndex} of its keys grouped by entity.
+ *
+ * <p>Keys follow the convention {@code <EntityName>:<rest>} used by {@code BaseServiceImpl} (e.g.
+ * {@code "User:all:0:20:id: ASC"} or {@code "User:count"}). Every write path registers the key
+ * under its entity, so {@link #evictEntity(String)} removes exactly the affected entries without
+ * scanning the cache. Works the same over Caffeine and Redis caches; only the index differs.
+ *
+ * <p>Keys are registered after the value is written and unregistered after an explicit eviction,
+ * both inline, so a removal of an older entry can never drop the key of a fresher one from the
+ * index. Removals the cache performs on its own (expiration, size) are reported by the cache.
+ */
+public class EntityIndexedCache implements Cache {
+
+    private static final char ENTITY_SEPARATOR = ':';
+
+    private final Cache delegate;
+    private final EntityKeyIndex index;
+
+    /**
+     * Creates the decorator.
+     *
+     * @param delegate the cache holding the values
+     * @param index the index tracking keys per entity
+     */
+    public EntityIndexedCache(Cache delegate, EntityKeyIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    /**
+     * Extracts the entity name from a cache key.
+     *
+     * @param key the cache key
+     * @return the entity name, or null if the key does not follow the entity prefix convention
+     */
+    public static String entityOf(Object key) {
+        if (key == null) {
+            return null;
+        }
+        String str = key.toString();
+        int separator = str.indexOf(ENTITY_SEPARATOR);
+        return separator > 0 ? str.substring(0, separator) : null;
+    }
+
+    /**
+     * Evicts every entry registered for the given entity.
+     *
+     * @param entityName the entity name
+     * @return the number of keys evicted
+     */
+    public int evictEntity(String entityName) {
+        Collection<Object> keys = index.drain(entityName);
+        keys.forEach(delegate::evict);
+        return keys.size();
+    }
+
+    /**
+     * Returns the wrapped cache.
+     *
+     * @return the delegate cache
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        T value = delegate.get(key, valueLoader);
+        register(key);
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(
+            Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        CompletableFuture<T> value = delegate.retrieve(key, valueLoader);
+        register(key);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        register(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        register(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        unregister(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        unregister(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        index.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        index.clear();
+        return invalidated;
+    }
+
+    private void register(Object key) {
+        String entityName = entityOf(key);
+        if (entityName != null) {
+            index.register(entityName, key);
+        }
+    }
+
+    private void unregister(Object key) {
+        String entityName = entityOf(key);
+        if (entityName != null) {
+            index.unregister(entityName, key);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} decorator that wraps selected caches in {@link EntityIndexedCache}.
+ *
+ * <p>Used for cache managers that create their own cache instances (e.g. {@code
+ * RedisCacheManager}), where the caches cannot be decorated before registration.
+ */
+public class EntityIndexedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> indexedCacheNames;
+    private final Function<String, EntityKeyIndex> indexFactory;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the decorator.
+     *
+     * @param delegate the underlying cache manager
+     * @param indexedCacheNames names of the caches to index by entity
+     * @param indexFactory creates the index for a given cache name
+     */
+    public EntityIndexedCacheManager(
+            CacheManager delegate,
+            Set<String> indexedCacheNames,
+            Function<String, EntityKeyIndex> indexFactory) {
+        this.delegate = delegate;
+        this.indexedCacheNames = Set.copyOf(indexedCacheNames);
+        this.indexFactory = indexFactory;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!indexedCacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+        Cache cached = decorated.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return decorated.computeIfAbsent(
+                name, n -> new EntityIndexedCache(target, indexFactory.apply(n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
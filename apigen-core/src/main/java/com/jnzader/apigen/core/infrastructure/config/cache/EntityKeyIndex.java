@@ -0,0 +1,41 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.Collection;
+
+/**
+ * Secondary index of cache keys grouped by entity name.
+ *
+ * <p>Maintained on every put so that all entries belonging to one entity can be evicted in
+ * O(affected keys) instead of scanning every key of the cache.
+ *
+ * @see EntityIndexedCache
+ */
+public interface EntityKeyIndex {
+
+    /**
+     * Records that the given key belongs to the entity.
+     *
+     * @param entityName the entity name (key prefix)
+     * @param key the cache key
+     */
+    void register(String entityName, Object key);
+
+    /**
+     * Removes a single key from the index, typically after the cache expired or evicted it.
+     *
+     * @param entityName the entity name (key prefix)
+     * @param key the cache key
+     */
+    void unregister(String entityName, Object key);
+
+    /**
+     * Atomically removes and returns every key currently indexed for the entity.
+     *
+     * @param entityName the entity name (key prefix)
+     * @return the keys that were indexed, never null
+     */
+    Collection<Object> drain(String entityName);
+
+    /** Removes every entry from the index. */
+    void clear();
+}
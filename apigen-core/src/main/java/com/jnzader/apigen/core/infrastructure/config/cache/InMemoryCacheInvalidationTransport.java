@@ -0,0 +1,27 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link CacheInvalidationTransport} that delivers messages synchronously.
+ *
+ * <p>Sharing one instance between several {@link TieredCacheManager}s simulates a cluster without a
+ * real Redis server.
+ */
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<CacheInvalidationMessage>> listeners =
+            new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link EntityKeyIndex} for node-local caches such as Caffeine.
+ *
+ * <p>Entries are removed when drained or when the owning cache reports a removal through {@link
+ * #unregister(String, Object)}, so the index stays bounded by the size of the cache.
+ */
+public class LocalEntityKeyIndex implements EntityKeyIndex {
+
+    private final Map<String, Set<Object>> keysByEntity = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(String entityName, Object key) {
+        keysByEntity.computeIfAbsent(entityName, k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    @Override
+    public void unregister(String entityName, Object key) {
+        Set<Object> keys = keysByEntity.get(entityName);
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    @Override
+    public Collection<Object> drain(String entityName) {
+        Set<Object> keys = keysByEntity.remove(entityName);
+        return keys != null ? List.copyOf(keys) : List.of();
+    }
+
+    @Override
+    public void clear() {
+        keysByEntity.clear();
+    }
+
+    /**
+     * Returns the number of keys currently indexed for the entity.
+     *
+     * @param entityName the entity name
+     * @return indexed key count
+     */
+    public int size(String entityName) {
+        Set<Object> keys = keysByEntity.get(entityName);
+        return keys != null ? keys.size() : 0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Redis-backed {@link EntityKeyIndex} shared by every application instance.
+ *
+ * <p>Each entity is tracked in a Redis set {@code apigen:idx:<cache>:<entity>} whose TTL is
+ * refreshed on every registration, so the index never outlives the entries it points to. The
+ * {@code SADD} and the TTL refresh run in one Lua script: a single round trip per registration.
+ *
+ * <p>Draining removes exactly the members that were read ({@code SREM}) instead of deleting the
+ * set, so keys registered concurrently by other nodes are kept for the next eviction. {@link
+ * #clear()} finds the index sets with {@code SCAN}, never {@code KEYS}, so it does not block Redis.
+ */
+public class RedisEntityKeyIndex implements EntityKeyIndex {
+
+    private static final String KEY_PREFIX = "apigen:idx:";
+    private static final int SCAN_BATCH = 500;
+
+    /** Adds the member and refreshes the TTL of the set (in milliseconds) atomically. */
+    private static final RedisScript<Long> REGISTER_SCRIPT =
+            RedisScript.of(
+                    "redis.call('SADD', KEYS[1], ARGV[1]) "
+                            + "return redis.call('PEXPIRE', KEYS[1], ARGV[2])",
+                    Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String cacheName;
+    private final Duration ttl;
+
+    /**
+     * Creates the index.
+     *
+     * @param redisTemplate the Redis template
+     * @param cacheName the name of the indexed cache
+     * @param entryTtl the TTL of the indexed cache entries
+     */
+    public RedisEntityKeyIndex(
+            StringRedisTemplate redisTemplate, String cacheName, Duration entryTtl) {
+        this.redisTemplate = redisTemplate;
+        this.cacheName = cacheName;
+        // Keep the index slightly longer than the entries so no live key is left unindexed
+        this.ttl = entryTtl.plus(Duration.ofMinutes(1));
+    }
+
+    @Override
+    public void register(String entityName, Object key) {
+        redisTemplate.execute(
+                REGISTER_SCRIPT,
+                List.of(indexKey(entityName)),
+                key.toString(),
+                String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public void unregister(String entityName, Object key) {
+        redisTemplate.opsForSet().remove(indexKey(entityName), key.toString());
+    }
+
+    @Override
+    public Collection<Object> drain(String entityName) {
+        String indexKey = indexKey(entityName);
+        Set<String> members = redisTemplate.opsForSet().members(indexKey);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        redisTemplate.opsForSet().remove(indexKey, members.toArray());
+        return List.copyOf(members);
+    }
+
+    @Override
+    public void clear() {
+        ScanOptions options =
+                ScanOptions.scanOptions()
+                        .match(KEY_PREFIX + cacheName + ":*")
+                        .count(SCAN_BATCH)
+                        .build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.delete(batch);
+        }
+    }
+
+    private String indexKey(String entityName) {
+        return KEY_PREFIX + cacheName + ":" + entityName;
+    }
+}
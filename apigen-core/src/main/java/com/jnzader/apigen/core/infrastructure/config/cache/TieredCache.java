@@ -0,0 +1,307 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+
+/**
+ * Two-tier cache: a node-local L1 (typically Caffeine) in front of a shared L2 (typically Redis).
+ *
+ * <p>Reads are served from L1 when possible and otherwise from L2, populating L1 on the way back.
+ * Writes go to both tiers. Evictions, clears and puts that replace an entry already in L2 are
+ * broadcast through a {@link CacheInvalidationTransport} so the other nodes drop the stale L1
+ * entry. Populating a key that L2 did not have (a loader, {@link #putIfAbsent}, or the put that
+ * follows a {@code @Cacheable} miss) is not broadcast: no other node can hold a newer copy, and
+ * evicting theirs would only make every miss on one node cost a miss on all the others.
+ *
+ * <p>L1 keys are normalized with {@link String#valueOf(Object)}, matching how L2 (Redis) and the
+ * invalidation messages identify keys.
+ *
+ * <p>Metrics (tags {@code cache}, {@code tier}):
+ *
+ * <ul>
+ *   <li>{@code apigen.cache.tier.requests} - lookups per tier, with {@code result=hit|miss}
+ *   <li>{@code apigen.cache.tier.latency} - lookup latency per tier
+ * </ul>
+ */
+public class TieredCache implements Cache {
+
+    static final String METRIC_REQUESTS = "apigen.cache.tier.requests";
+    static final String METRIC_LATENCY = "apigen.cache.tier.latency";
+
+    private final Cache local;
+    private final Cache remote;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Timer l1Latency;
+    private final Timer l2Latency;
+
+    /**
+     * Creates the tiered cache.
+     *
+     * @param local the node-local L1 cache
+     * @param remote the shared L2 cache
+     * @param transport the invalidation channel
+     * @param nodeId id of this node, used to ignore its own invalidations
+     * @param meterRegistry registry for per-tier meters
+     */
+    public TieredCache(
+            Cache local,
+            Cache remote,
+            CacheInvalidationTransport transport,
+            String nodeId,
+            MeterRegistry meterRegistry) {
+        this.local = local;
+        this.remote = remote;
+        this.transport = transport;
+        this.nodeId = nodeId;
+
+        String name = remote.getName();
+        this.l1Hits = requests(meterRegistry, name, "l1", "hit");
+        this.l1Misses = requests(meterRegistry, name, "l1", "miss");
+        this.l2Hits = requests(meterRegistry, name, "l2", "hit");
+        this.l2Misses = requests(meterRegistry, name, "l2", "miss");
+        this.l1Latency = latency(meterRegistry, name, "l1");
+        this.l2Latency = latency(meterRegistry, name, "l2");
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    /**
+     * Returns the L1 cache of this node.
+     *
+     * @return the local tier
+     */
+    public Cache getLocal() {
+        return local;
+    }
+
+    /**
+     * Returns the shared L2 cache.
+     *
+     * @return the remote tier
+     */
+    public Cache getRemote() {
+        return remote;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = String.valueOf(key);
+
+        long start = System.nanoTime();
+        ValueWrapper cached = local.get(localKey);
+        l1Latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (cached != null) {
+            l1Hits.increment();
+            return cached;
+        }
+        l1Misses.increment();
+
+        start = System.nanoTime();
+        ValueWrapper shared = remote.get(key);
+        l2Latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (shared == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        if (shared.get() != null) {
+            local.put(localKey, shared.get());
+        }
+        return shared;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            local.put(String.valueOf(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        String localKey = String.valueOf(key);
+        ValueWrapper cached = local.get(localKey);
+        if (cached != null) {
+            l1Hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        l1Misses.increment();
+        CompletableFuture<?> future = remote.retrieve(key);
+        return future != null
+                ? future.thenApply(
+                        result -> {
+                            Object value =
+                                    result instanceof ValueWrapper wrapper
+                                            ? wrapper.get()
+                                            : result;
+                            if (value != null) {
+                                l2Hits.increment();
+                                local.put(localKey, value);
+                            } else {
+                                l2Misses.increment();
+                            }
+                            return result;
+                        })
+                : null;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(
+            Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        String localKey = String.valueOf(key);
+        ValueWrapper cached = local.get(localKey);
+        if (cached != null) {
+            l1Hits.increment();
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return CompletableFuture.completedFuture(value);
+        }
+        l1Misses.increment();
+        return remote.retrieve(key, valueLoader)
+                .thenApply(
+                        value -> {
+                            if (value != null) {
+                                local.put(localKey, value);
+                            }
+                            return value;
+                        });
+    }
+
+    /**
+     * Stores the value in both tiers. The value is first offered to L2 with {@code putIfAbsent}:
+     * if L2 had no entry this only populates the cache and nothing is broadcast; otherwise the
+     * entry is overwritten and the other nodes are told to drop their L1 copy.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null && remote.putIfAbsent(key, value) == null) {
+            local.put(String.valueOf(key), value);
+            return;
+        }
+        remote.put(key, value);
+        if (value != null) {
+            local.put(String.valueOf(key), value);
+        }
+        publish(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            local.put(String.valueOf(key), current);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.evict(String.valueOf(key));
+        publish(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        local.evict(String.valueOf(key));
+        publish(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        transport.publish(CacheInvalidationMessage.clear(nodeId, getName()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidate();
+        transport.publish(CacheInvalidationMessage.clear(nodeId, getName()));
+        return invalidated;
+    }
+
+    /**
+     * Applies an invalidation received from another node to the L1 tier. Messages published by
+     * this same node are ignored since the local tier was already updated.
+     *
+     * @param message the received message
+     */
+    public void onInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        if (message.clear()) {
+            local.clear();
+        } else {
+            message.keys().forEach(local::evict);
+        }
+    }
+
+    private void publish(Object key) {
+        transport.publish(
+                CacheInvalidationMessage.evict(nodeId, getName(), List.of(String.valueOf(key))));
+    }
+
+    private static Counter requests(
+            MeterRegistry registry, String cacheName, String tier, String result) {
+        return Counter.builder(METRIC_REQUESTS)
+                .description("Tiered cache lookups per tier")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer latency(MeterRegistry registry, String cacheName, String tier) {
+        return Timer.builder(METRIC_LATENCY)
+                .description("Tiered cache lookup latency per tier")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .register(registry);
+    }
+}
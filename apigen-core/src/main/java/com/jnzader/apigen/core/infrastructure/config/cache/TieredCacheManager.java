@@ -0,0 +1,124 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+/**
+ * Cache manager combining a node-local L1 with a shared L2 manager into {@link TieredCache}s.
+ *
+ * <p>Subscribes once to the {@link CacheInvalidationTransport} and routes every received message to
+ * the L1 tier of the matching cache. When transaction awareness is enabled, puts and evictions
+ * (including the broadcast) are deferred until the surrounding transaction commits, so other nodes
+ * never re-read a value that is about to change.
+ */
+public class TieredCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Function<String, Cache> localCacheFactory;
+    private final CacheInvalidationTransport transport;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Map<String, TieredCache> tieredCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the manager with a random node id.
+     *
+     * @param remoteCacheManager manager providing the shared L2 caches
+     * @param localCacheFactory creates the L1 cache for a given cache name
+     * @param transport the invalidation channel
+     * @param meterRegistry registry for per-tier meters
+     */
+    public TieredCacheManager(
+            CacheManager remoteCacheManager,
+            Function<String, Cache> localCacheFactory,
+            CacheInvalidationTransport transport,
+            MeterRegistry meterRegistry) {
+        this(
+                remoteCacheManager,
+                localCacheFactory,
+                transport,
+                meterRegistry,
+                UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates the manager.
+     *
+     * @param remoteCacheManager manager providing the shared L2 caches
+     * @param localCacheFactory creates the L1 cache for a given cache name
+     * @param transport the invalidation channel
+     * @param meterRegistry registry for per-tier meters
+     * @param nodeId id of this node
+     */
+    public TieredCacheManager(
+            CacheManager remoteCacheManager,
+            Function<String, Cache> localCacheFactory,
+            CacheInvalidationTransport transport,
+            MeterRegistry meterRegistry,
+            String nodeId) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localCacheFactory = localCacheFactory;
+        this.transport = transport;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId;
+        transport.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Returns the id identifying this node in invalidation messages.
+     *
+     * @return the node id
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : remoteCacheManager.getCacheNames()) {
+            Cache tiered = createTieredCache(name);
+            if (tiered != null) {
+                caches.add(tiered);
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createTieredCache(name);
+    }
+
+    private TieredCache createTieredCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return tieredCaches.computeIfAbsent(
+                name,
+                n ->
+                        new TieredCache(
+                                localCacheFactory.apply(n),
+                                remote,
+                                transport,
+                                nodeId,
+                                meterRegistry));
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        TieredCache cache = tieredCaches.get(message.cacheName());
+        if (cache != null) {
+            cache.onInvalidation(message);
+        }
+    }
+}
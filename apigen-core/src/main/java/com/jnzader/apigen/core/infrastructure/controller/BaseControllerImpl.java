@@ -5,28 +5,38 @@ import com.jnzader.apigen.core.application.dto.pagination.CursorPageRequest;
 import com.jnzader.apigen.core.application.dto.pagination.CursorPageResponse;
 import com.jnzader.apigen.core.application.mapper.BaseMapper;
 import com.jnzader.apigen.core.application.service.BaseService;
+import com.jnzader.apigen.core.application.util.Result;
 import com.jnzader.apigen.core.domain.entity.Base;
 import com.jnzader.apigen.core.domain.exception.IdMismatchException;
 import com.jnzader.apigen.core.domain.exception.OperationFailedException;
 import com.jnzader.apigen.core.domain.exception.PreconditionFailedException;
 import com.jnzader.apigen.core.domain.specification.FilterSpecificationBuilder;
+import com.jnzader.apigen.core.infrastructure.batch.BatchWriteTarget;
 import com.jnzader.apigen.core.infrastructure.hateoas.BaseResourceAssembler;
 import com.jnzader.apigen.core.infrastructure.util.ETagGenerator;
+import com.jnzader.apigen.core.infrastructure.util.ETagStrategy;
 import com.jnzader.apigen.core.infrastructure.util.FieldAccessorCache;
+import com.jnzader.apigen.core.infrastructure.util.StandardETagStrategy;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -35,6 +45,7 @@ import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -67,11 +78,16 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
 
     private static final Logger log = LoggerFactory.getLogger(BaseControllerImpl.class);
 
+    /** Endpoints cuya lógica reemplaza el fast path de escrituras en lote. */
+    private static final Set<String> WRITE_ENDPOINTS = Set.of("save", "update", "delete");
+
     protected final BaseService<E, I> baseService;
     protected final BaseMapper<E, D> baseMapper;
     protected final BaseResourceAssembler<D, I> resourceAssembler;
     protected final FilterSpecificationBuilder filterBuilder;
 
+    private ETagStrategy eTagStrategy = StandardETagStrategy.CONTENT_HASH;
+
     protected BaseControllerImpl(
             BaseService<E, I> baseService,
             BaseMapper<E, D> baseMapper,
@@ -102,6 +118,17 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
         this.filterBuilder = new FilterSpecificationBuilder();
     }
 
+    /**
+     * Inyecta la estrategia de ETag configurada ({@code apigen.etag.strategy}). Por defecto se usa
+     * el hash del contenido del DTO.
+     */
+    @Autowired(required = false)
+    public void setETagStrategy(ETagStrategy eTagStrategy) {
+        if (eTagStrategy != null) {
+            this.eTagStrategy = eTagStrategy;
+        }
+    }
+
     /** Retorna el nombre del recurso para mensajes de log. */
     protected String getResourceName() {
         return "Resource";
@@ -318,12 +345,20 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
 
         log.debug("GET {} - findById: {}", getResourceName(), id);
 
+        // Con ETags por versión, un If-None-Match vigente se resuelve sin cargar la entidad
+        if (eTagStrategy.isVersionBased() && ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+            Optional<ResponseEntity<Void>> notModified = notModifiedByVersion(id, ifNoneMatch);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
+
         return baseService
                 .findById(id)
                 .fold(
                         entity -> {
                             D dto = baseMapper.toDTO(entity);
-                            String etag = ETagGenerator.generate(dto);
+                            String etag = eTagStrategy.generate(entity, () -> dto);
 
                             // Verificar cache condicional
                             if (etag != null
@@ -429,7 +464,7 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                                             .toUri();
 
                             // Generar ETag
-                            String etag = ETagGenerator.generate(savedDto);
+                            String etag = eTagStrategy.generate(savedEntity, () -> savedDto);
 
                             log.info(
                                     "Creado {} con ID: {} en {}",
@@ -485,18 +520,21 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
 
         // Verificar concurrencia optimista si se proporciona If-Match
         if (ifMatch != null && !ifMatch.isBlank()) {
+            if (eTagStrategy.isVersionBased()) {
+                return baseService
+                        .findVersionById(id)
+                        .fold(
+                                version -> {
+                                    checkIfMatch(versionETag(id, version), ifMatch);
+                                    return performUpdate(id, dto);
+                                },
+                                this::handleFailure);
+            }
             return baseService
                     .findById(id)
                     .fold(
                             existingEntity -> {
-                                D existingDto = baseMapper.toDTO(existingEntity);
-                                String currentEtag = ETagGenerator.generate(existingDto);
-
-                                if (!ETagGenerator.matchesIfMatch(currentEtag, ifMatch)) {
-                                    throw PreconditionFailedException.etagMismatch(
-                                            currentEtag, ifMatch);
-                                }
-
+                                checkIfMatch(currentETag(existingEntity), ifMatch);
                                 return performUpdate(id, dto);
                             },
                             this::handleFailure);
@@ -505,6 +543,44 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
         return performUpdate(id, dto);
     }
 
+    /**
+     * Resuelve If-None-Match con una proyección de la versión, sin cargar ni mapear la entidad.
+     * Retorna vacío si el ETag no coincide (o la entidad no existe) para seguir por el camino
+     * normal.
+     */
+    private Optional<ResponseEntity<Void>> notModifiedByVersion(I id, String ifNoneMatch) {
+        return baseService
+                .findVersionById(id)
+                .toOptional()
+                .map(version -> versionETag(id, version))
+                .filter(etag -> ETagGenerator.matchesIfNoneMatch(etag, ifNoneMatch))
+                .map(
+                        etag -> {
+                            log.debug(
+                                    "Version ETag match for {} {}, returning 304",
+                                    getResourceName(),
+                                    id);
+                            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(etag)
+                                    .<Void>build();
+                        });
+    }
+
+    /** ETag actual de la entidad según la estrategia; el DTO solo se mapea si hace falta. */
+    private String currentETag(E entity) {
+        return eTagStrategy.generate(entity, () -> baseMapper.toDTO(entity));
+    }
+
+    private String versionETag(I id, Long version) {
+        return ETagGenerator.generateFromVersion(extractIdAsLong(id), version);
+    }
+
+    private static void checkIfMatch(String currentEtag, String ifMatch) {
+        if (!ETagGenerator.matchesIfMatch(currentEtag, ifMatch)) {
+            throw PreconditionFailedException.etagMismatch(currentEtag, ifMatch);
+        }
+    }
+
     private ResponseEntity<?> performUpdate(I id, D dto) {
         E entity = baseMapper.toEntity(dto);
         return baseService
@@ -512,7 +588,7 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                 .fold(
                         updatedEntity -> {
                             D updatedDto = baseMapper.toDTO(updatedEntity);
-                            String etag = ETagGenerator.generate(updatedDto);
+                            String etag = eTagStrategy.generate(updatedEntity, () -> updatedDto);
 
                             log.info("Actualizado {} con ID: {}", getResourceName(), id);
 
@@ -555,13 +631,7 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                         existingEntity -> {
                             // Verificar concurrencia optimista
                             if (ifMatch != null && !ifMatch.isBlank()) {
-                                D existingDto = baseMapper.toDTO(existingEntity);
-                                String currentEtag = ETagGenerator.generate(existingDto);
-
-                                if (!ETagGenerator.matchesIfMatch(currentEtag, ifMatch)) {
-                                    throw PreconditionFailedException.etagMismatch(
-                                            currentEtag, ifMatch);
-                                }
+                                checkIfMatch(currentETag(existingEntity), ifMatch);
                             }
 
                             // Actualizar solo campos no nulos
@@ -572,7 +642,9 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                                     .fold(
                                             updatedEntity -> {
                                                 D updatedDto = baseMapper.toDTO(updatedEntity);
-                                                String etag = ETagGenerator.generate(updatedDto);
+                                                String etag =
+                                                        eTagStrategy.generate(
+                                                                updatedEntity, () -> updatedDto);
 
                                                 log.info(
                                                         "Actualizado parcialmente {} con ID: {}",
@@ -692,6 +764,11 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                     **Uso:**
                     1. Primera página: `GET /cursor?size=20`
                     2. Siguiente página: `GET /cursor?cursor={nextCursor}&size=20`
+                    3. Página anterior: `GET /cursor?cursor={prevCursor}&size=20`
+
+                    El cursor conserva el campo y la dirección de ordenamiento (keyset sobre
+                    `(sort, id)`), por lo que `sort` y `direction` solo aplican a la primera
+                    página.
 
                     **Respuesta incluye:**
                     - `content`: Lista de elementos
@@ -726,7 +803,11 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                 sort,
                 direction);
 
-        CursorPageRequest request = new CursorPageRequest(cursor, size, sort, direction);
+        // Un cursor existente define el ordenamiento (campo y dirección) de la paginación
+        CursorPageRequest request =
+                cursor != null && !cursor.isBlank()
+                        ? CursorPageRequest.fromCursor(cursor, size)
+                        : CursorPageRequest.firstPage(size, sort, direction);
 
         // Construir especificación de filtrado si se proporciona
         Specification<E> spec = null;
@@ -757,6 +838,86 @@ public abstract class BaseControllerImpl<E extends Base, D extends BaseDTO, I ex
                         this::handleFailure);
     }
 
+    // ==================== Escrituras en lote ====================
+
+    /**
+     * Escrituras agrupadas de este recurso para el fast path de {@code /api/batch}.
+     *
+     * <p>Retorna vacío si la subclase sobrescribe {@code save}, {@code update} o {@code delete}, o
+     * si no se pueden resolver los tipos genéricos: en ese caso el batch despacha cada operación
+     * por el controlador para no saltarse su lógica.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<BatchWriteTarget<D, I>> batchWriteTarget() {
+        Class<?> controllerClass = ClassUtils.getUserClass(getClass());
+        boolean customWrites =
+                Arrays.stream(controllerClass.getMethods())
+                        .filter(method -> WRITE_ENDPOINTS.contains(method.getName()))
+                        .filter(method -> !method.isBridge())
+                        .map(Method::getDeclaringClass)
+                        .anyMatch(declaring -> declaring != BaseControllerImpl.class);
+        Class<?>[] types =
+                GenericTypeResolver.resolveTypeArguments(controllerClass, BaseControllerImpl.class);
+        if (customWrites || types == null) {
+            return Optional.empty();
+        }
+        return Optional.of(
+                new ControllerBatchWriteTarget((Class<D>) types[1], (Class<I>) types[2]));
+    }
+
+    /** Traduce las escrituras en lote a saveAll / updateAll / softDeleteAll del servicio. */
+    private final class ControllerBatchWriteTarget implements BatchWriteTarget<D, I> {
+        private final Class<D> dtoType;
+        private final Class<I> idType;
+
+        private ControllerBatchWriteTarget(Class<D> dtoType, Class<I> idType) {
+            this.dtoType = dtoType;
+            this.idType = idType;
+        }
+
+        @Override
+        public Class<D> dtoType() {
+            return dtoType;
+        }
+
+        @Override
+        public Class<I> idType() {
+            return idType;
+        }
+
+        @Override
+        public Result<List<Written>, Exception> createAll(List<D> dtos) {
+            log.debug("BATCH POST {} - saveAll: {}", getResourceName(), dtos.size());
+            List<E> entities = dtos.stream().map(baseMapper::toEntity).toList();
+            return baseService
+                    .saveAll(entities)
+                    .map(saved -> saved.stream().map(this::written).toList());
+        }
+
+        @Override
+        public Result<List<Written>, Exception> updateAll(Map<I, D> dtos) {
+            log.debug("BATCH PUT {} - updateAll: {}", getResourceName(), dtos.size());
+            Map<I, E> entities = new LinkedHashMap<>();
+            dtos.forEach((id, dto) -> entities.put(id, baseMapper.toEntity(dto)));
+            return baseService
+                    .updateAll(entities)
+                    .map(updated -> updated.stream().map(this::written).toList());
+        }
+
+        @Override
+        public Result<Integer, Exception> deleteAll(List<I> ids) {
+            log.debug("BATCH DELETE {} - softDeleteAll: {}", getResourceName(), ids.size());
+            return baseService.softDeleteAll(ids);
+        }
+
+        private Written written(E entity) {
+            D dto = baseMapper.toDTO(entity);
+            String etag = eTagStrategy.generate(entity, () -> dto);
+            Object body = resourceAssembler != null ? resourceAssembler.toModel(dto) : dto;
+            return new Written(entity.getId(), body, etag);
+        }
+    }
+
     // ==================== Métodos auxiliares ====================
 
     /** Maneja errores delegando al GlobalExceptionHandler. */
@@ -1,7 +1,20 @@
 package com.jnzader.apigen.core.infrastructure.eventsourcing;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Repository for event-sourced aggregates.
@@ -39,15 +52,77 @@ import java.util.function.Supplier;
  * }
  * }</pre>
  *
+ * <p><strong>Snapshots</strong> are taken when replaying the events since the last snapshot would
+ * cost more than {@link RepositoryConfig#snapshotMaxReplayCost()}, estimated from the measured
+ * time per replayed event, or when {@link RepositoryConfig#snapshotMaxEvents()} events have
+ * accumulated. The state is captured on the caller's thread, but serialized and stored on the
+ * snapshot executor after the surrounding transaction commits, so saves don't pay for it.
+ *
+ * <p>With a {@link RepositoryConfig#cacheSize()}, the latest snapshot state of recently used
+ * aggregates is also kept in memory together with its version. {@link #findById} then only reads
+ * the current version and, if it matches, restores the aggregate without replaying events. Cached
+ * states are shared between loads, so {@link EventSourcedAggregate#createSnapshot()} must return
+ * immutable state.
+ *
  * @param <T> the aggregate type
  */
 public class AggregateRepository<T extends EventSourcedAggregate> {
 
+    private static final Logger log = LoggerFactory.getLogger(AggregateRepository.class);
+
+    private static final Executor DEFAULT_SNAPSHOT_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("aggregate-snapshot-", 0).factory());
+
+    /** Weight of the latest replay in the moving average of the time per event. */
+    private static final double REPLAY_COST_SMOOTHING = 0.2;
+
+    /**
+     * Snapshot and cache settings.
+     *
+     * @param snapshotMaxEvents events since the last snapshot that trigger a new one (0 = no limit)
+     * @param snapshotMaxReplayCost estimated replay time that triggers a snapshot ({@code null} =
+     *     only count events)
+     * @param cacheSize aggregates whose state is kept in memory (0 = no cache)
+     */
+    public record RepositoryConfig(
+            int snapshotMaxEvents, Duration snapshotMaxReplayCost, int cacheSize) {
+
+        public RepositoryConfig {
+            if (snapshotMaxEvents < 0) {
+                throw new IllegalArgumentException("snapshotMaxEvents must be >= 0");
+            }
+            if (snapshotMaxReplayCost != null
+                    && (snapshotMaxReplayCost.isNegative() || snapshotMaxReplayCost.isZero())) {
+                throw new IllegalArgumentException("snapshotMaxReplayCost must be positive");
+            }
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("cacheSize must be >= 0");
+            }
+        }
+
+        /** No snapshots and no cache. */
+        public static RepositoryConfig defaults() {
+            return new RepositoryConfig(0, null, 0);
+        }
+
+        boolean snapshotsEnabled() {
+            return snapshotMaxEvents > 0 || snapshotMaxReplayCost != null;
+        }
+    }
+
+    /** Snapshot state of a cached aggregate. */
+    private record CachedState(long version, long snapshotVersion, Object state) {}
+
     private final EventStore eventStore;
     private final EventSerializer serializer;
     private final String aggregateType;
     private final Supplier<T> aggregateFactory;
-    private final int snapshotFrequency;
+    private final RepositoryConfig config;
+    private final Executor snapshotExecutor;
+    private final Cache<String, CachedState> cache;
+    private final Set<String> pendingSnapshots = ConcurrentHashMap.newKeySet();
+    private volatile double replayNanosPerEvent;
 
     /**
      * Creates a new aggregate repository without snapshot support.
@@ -62,11 +137,11 @@ public class AggregateRepository<T extends EventSourcedAggregate> {
             EventSerializer serializer,
             String aggregateType,
             Supplier<T> aggregateFactory) {
-        this(eventStore, serializer, aggregateType, aggregateFactory, 0);
+        this(eventStore, serializer, aggregateType, aggregateFactory, RepositoryConfig.defaults());
     }
 
     /**
-     * Creates a new aggregate repository with snapshot support.
+     * Creates a new aggregate repository that snapshots every {@code snapshotFrequency} events.
      *
      * @param eventStore the event store
      * @param serializer the event serializer
@@ -80,11 +155,65 @@ public class AggregateRepository<T extends EventSourcedAggregate> {
             String aggregateType,
             Supplier<T> aggregateFactory,
             int snapshotFrequency) {
+        this(
+                eventStore,
+                serializer,
+                aggregateType,
+                aggregateFactory,
+                new RepositoryConfig(snapshotFrequency, null, 0));
+    }
+
+    /**
+     * Creates a new aggregate repository that stores snapshots on virtual threads.
+     *
+     * @param eventStore the event store
+     * @param serializer the event serializer
+     * @param aggregateType the aggregate type name
+     * @param aggregateFactory factory to create new aggregate instances
+     * @param config snapshot and cache settings
+     */
+    public AggregateRepository(
+            EventStore eventStore,
+            EventSerializer serializer,
+            String aggregateType,
+            Supplier<T> aggregateFactory,
+            RepositoryConfig config) {
+        this(
+                eventStore,
+                serializer,
+                aggregateType,
+                aggregateFactory,
+                config,
+                DEFAULT_SNAPSHOT_EXECUTOR);
+    }
+
+    /**
+     * Creates a new aggregate repository.
+     *
+     * @param eventStore the event store
+     * @param serializer the event serializer
+     * @param aggregateType the aggregate type name
+     * @param aggregateFactory factory to create new aggregate instances
+     * @param config snapshot and cache settings
+     * @param snapshotExecutor executor that serializes and stores snapshots
+     */
+    public AggregateRepository(
+            EventStore eventStore,
+            EventSerializer serializer,
+            String aggregateType,
+            Supplier<T> aggregateFactory,
+            RepositoryConfig config,
+            Executor snapshotExecutor) {
         this.eventStore = eventStore;
         this.serializer = serializer;
         this.aggregateType = aggregateType;
         this.aggregateFactory = aggregateFactory;
-        this.snapshotFrequency = snapshotFrequency;
+        this.config = config;
+        this.snapshotExecutor = snapshotExecutor;
+        this.cache =
+                config.cacheSize() > 0
+                        ? Caffeine.newBuilder().maximumSize(config.cacheSize()).build()
+                        : null;
     }
 
     /**
@@ -106,9 +235,9 @@ public class AggregateRepository<T extends EventSourcedAggregate> {
                 aggregate.getUncommittedEvents(),
                 expectedVersion);
 
-        // Create snapshot if needed
-        if (shouldCreateSnapshot(aggregate)) {
-            createSnapshot(aggregate);
+        maybeSnapshot(aggregate);
+        if (cache != null) {
+            cacheAfterCommit(aggregate);
         }
 
         aggregate.markEventsAsCommitted();
@@ -121,29 +250,9 @@ public class AggregateRepository<T extends EventSourcedAggregate> {
      * @return the aggregate if found
      */
     public Optional<T> findById(String id) {
-        if (!eventStore.exists(id)) {
-            return Optional.empty();
-        }
-
-        T aggregate = aggregateFactory.get();
-
-        // Try to load from snapshot first
-        if (snapshotFrequency > 0) {
-            Optional<Snapshot> snapshot = eventStore.getLatestSnapshot(id);
-            if (snapshot.isPresent()) {
-                restoreFromSnapshot(aggregate, snapshot.get());
-                // Load events after snapshot
-                var events = eventStore.getEventsFrom(id, snapshot.get().getVersion());
-                replayEvents(aggregate, events);
-                return Optional.of(aggregate);
-            }
-        }
-
-        // Load all events
-        var events = eventStore.getEvents(id);
-        replayEvents(aggregate, events);
-
-        return Optional.of(aggregate);
+        Optional<T> aggregate = cache != null ? loadWithCache(id) : load(id);
+        aggregate.ifPresent(this::maybeSnapshot);
+        return aggregate;
     }
 
     /**
@@ -166,37 +275,185 @@ public class AggregateRepository<T extends EventSourcedAggregate> {
         return eventStore.getCurrentVersion(id);
     }
 
-    private void replayEvents(T aggregate, java.util.List<StoredEvent> storedEvents) {
+    /** Moving average of the time to deserialize and apply one event, in nanoseconds. */
+    double getReplayNanosPerEvent() {
+        return replayNanosPerEvent;
+    }
+
+    private Optional<T> load(String id) {
+        if (!eventStore.exists(id)) {
+            return Optional.empty();
+        }
+
+        T aggregate = aggregateFactory.get();
+
+        // Try to load from snapshot first
+        if (config.snapshotsEnabled()) {
+            Optional<Snapshot> snapshot = eventStore.getLatestSnapshot(id);
+            if (snapshot.isPresent()) {
+                Object state =
+                        serializer.deserializeState(snapshot.get().getState(), getSnapshotClass());
+                aggregate.restoreFromSnapshot(state);
+                long version = snapshot.get().getVersion();
+                replayEvents(aggregate, version, eventStore.getEventsFrom(id, version));
+                return Optional.of(aggregate);
+            }
+        }
+
+        // Load all events
+        replayEvents(aggregate, -1, eventStore.getEvents(id));
+        return Optional.of(aggregate);
+    }
+
+    private Optional<T> loadWithCache(String id) {
+        long currentVersion = eventStore.getCurrentVersion(id);
+        if (currentVersion < 0) {
+            cache.invalidate(id);
+            return Optional.empty();
+        }
+
+        CachedState cached = cache.getIfPresent(id);
+        if (cached == null || cached.version() > currentVersion) {
+            Optional<T> loaded = load(id);
+            loaded.ifPresent(this::cache);
+            return loaded;
+        }
+
+        T aggregate = aggregateFactory.get();
+        aggregate.restoreFromSnapshot(cached.state());
+        if (cached.version() == currentVersion) {
+            aggregate.loadFromSnapshot(cached.version(), List.of());
+        } else {
+            replayEvents(
+                    aggregate, cached.version(), eventStore.getEventsFrom(id, cached.version()));
+        }
+        aggregate.markSnapshotted(cached.snapshotVersion());
+        cache(aggregate);
+        return Optional.of(aggregate);
+    }
+
+    private void replayEvents(T aggregate, long fromVersion, List<StoredEvent> storedEvents) {
+        long start = System.nanoTime();
         var events =
                 storedEvents.stream()
                         .map(se -> serializer.deserialize(se.getPayload(), se.getEventType()))
                         .toList();
-        aggregate.loadFromHistory(events);
+        if (fromVersion < 0) {
+            aggregate.loadFromHistory(events);
+        } else {
+            aggregate.loadFromSnapshot(fromVersion, events);
+        }
+        if (!events.isEmpty()) {
+            double nanosPerEvent = (double) (System.nanoTime() - start) / events.size();
+            double average = replayNanosPerEvent;
+            replayNanosPerEvent =
+                    average == 0
+                            ? nanosPerEvent
+                            : average + REPLAY_COST_SMOOTHING * (nanosPerEvent - average);
+        }
     }
 
-    private void restoreFromSnapshot(T aggregate, Snapshot snapshot) {
-        Object state = serializer.deserializeState(snapshot.getState(), getSnapshotClass());
-        aggregate.restoreFromSnapshot(state);
+    private boolean shouldCreateSnapshot(T aggregate) {
+        if (!config.snapshotsEnabled() || aggregate.getVersion() <= 0) {
+            return false;
+        }
+        long eventsSinceSnapshot = aggregate.getVersion() - aggregate.getSnapshotVersion();
+        if (config.snapshotMaxEvents() > 0 && eventsSinceSnapshot >= config.snapshotMaxEvents()) {
+            return true;
+        }
+        return config.snapshotMaxReplayCost() != null
+                && eventsSinceSnapshot * replayNanosPerEvent
+                        >= config.snapshotMaxReplayCost().toNanos();
     }
 
-    private boolean shouldCreateSnapshot(T aggregate) {
-        return snapshotFrequency > 0
-                && aggregate.getVersion() > 0
-                && aggregate.getVersion() % snapshotFrequency == 0;
+    private void maybeSnapshot(T aggregate) {
+        if (!shouldCreateSnapshot(aggregate)) {
+            return;
+        }
+        Object state = aggregate.createSnapshot();
+        if (state == null || !pendingSnapshots.add(aggregate.getId())) {
+            return;
+        }
+
+        String id = aggregate.getId();
+        long version = aggregate.getVersion();
+        aggregate.markSnapshotted(version);
+        Runnable store =
+                () -> {
+                    try {
+                        eventStore.saveSnapshot(
+                                Snapshot.builder()
+                                        .aggregateId(id)
+                                        .aggregateType(aggregateType)
+                                        .version(version)
+                                        .state(serializer.serializeState(state))
+                                        .build());
+                    } catch (RuntimeException e) {
+                        log.warn(
+                                "Could not snapshot aggregate {} v{}: {}",
+                                id,
+                                version,
+                                e.getMessage());
+                    } finally {
+                        pendingSnapshots.remove(id);
+                    }
+                };
+        afterCommit(
+                () -> {
+                    try {
+                        snapshotExecutor.execute(store);
+                    } catch (RejectedExecutionException e) {
+                        pendingSnapshots.remove(id);
+                        log.debug("Snapshot of aggregate {} rejected: {}", id, e.getMessage());
+                    }
+                },
+                () -> pendingSnapshots.remove(id));
     }
 
-    private void createSnapshot(T aggregate) {
+    private void cache(T aggregate) {
         Object state = aggregate.createSnapshot();
         if (state != null) {
-            Snapshot snapshot =
-                    Snapshot.builder()
-                            .aggregateId(aggregate.getId())
-                            .aggregateType(aggregateType)
-                            .version(aggregate.getVersion())
-                            .state(serializer.serializeState(state))
-                            .build();
-            eventStore.saveSnapshot(snapshot);
+            cache.put(
+                    aggregate.getId(),
+                    new CachedState(
+                            aggregate.getVersion(), aggregate.getSnapshotVersion(), state));
+        }
+    }
+
+    private void cacheAfterCommit(T aggregate) {
+        Object state = aggregate.createSnapshot();
+        if (state == null) {
+            cache.invalidate(aggregate.getId());
+            return;
+        }
+        String id = aggregate.getId();
+        CachedState cached =
+                new CachedState(aggregate.getVersion(), aggregate.getSnapshotVersion(), state);
+        // Until the commit, other loads must not see the new state
+        cache.invalidate(id);
+        afterCommit(() -> cache.put(id, cached), () -> {});
+    }
+
+    /**
+     * Runs {@code onCommit} after the current transaction commits, or right away without one.
+     * {@code onRollback} runs if the transaction does not commit.
+     */
+    private static void afterCommit(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            onCommit.run();
+                        } else {
+                            onRollback.run();
+                        }
+                    }
+                });
     }
 
     /**
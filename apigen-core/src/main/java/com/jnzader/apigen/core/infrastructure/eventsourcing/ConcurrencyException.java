@@ -40,6 +40,26 @@ public class ConcurrencyException extends RuntimeException {
         this.actualVersion = actualVersion;
     }
 
+    /**
+     * Creates a new ConcurrencyException for a conflict detected by the store's unique {@code
+     * (aggregate_id, version)} constraint, when the actual version is not known.
+     *
+     * @param aggregateId the aggregate that had the conflict
+     * @param expectedVersion the version that was expected
+     * @param cause the constraint violation
+     */
+    public ConcurrencyException(String aggregateId, long expectedVersion, Throwable cause) {
+        super(
+                String.format(
+                        "Concurrency conflict for aggregate '%s': expected version %d but the"
+                                + " stream was modified concurrently",
+                        aggregateId, expectedVersion),
+                cause);
+        this.aggregateId = aggregateId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = -1;
+    }
+
     public String getAggregateId() {
         return aggregateId;
     }
@@ -48,6 +68,11 @@ public class ConcurrencyException extends RuntimeException {
         return expectedVersion;
     }
 
+    /**
+     * Returns the version found in the store.
+     *
+     * @return the actual version, or -1 if the conflict was detected on insert and it is unknown
+     */
     public long getActualVersion() {
         return actualVersion;
     }
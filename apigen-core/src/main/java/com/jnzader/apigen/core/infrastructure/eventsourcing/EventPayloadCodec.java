@@ -0,0 +1,45 @@
+package com.jnzader.apigen.core.infrastructure.eventsourcing;
+
+/**
+ * Binary encoding for event payloads, plugged into {@link EventSerializer}.
+ *
+ * <p>Payloads written with a codec are stored with a header naming it, so events written as JSON
+ * and with any registered codec can be read from the same stream. A codec's {@link #name()} is
+ * persisted with every event and must never change once events have been written with it.
+ *
+ * <p>Example:
+ *
+ * <pre>{@code
+ * EventSerializer serializer = new EventSerializer(objectMapper);
+ * serializer.writeWith(new SmileEventPayloadCodec(), 1024);
+ * }</pre>
+ */
+public interface EventPayloadCodec {
+
+    /**
+     * Name stored in the payload header.
+     *
+     * @return the codec name, made of letters, digits and {@code -}
+     */
+    String name();
+
+    /**
+     * Encodes an event.
+     *
+     * @param value the event
+     * @return the encoded bytes
+     * @throws EventSerializationException if the value cannot be encoded
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Decodes an event.
+     *
+     * @param bytes the encoded bytes
+     * @param type the target class
+     * @param <T> the target type
+     * @return the decoded event
+     * @throws EventSerializationException if the bytes cannot be decoded
+     */
+    <T> T decode(byte[] bytes, Class<T> type);
+}
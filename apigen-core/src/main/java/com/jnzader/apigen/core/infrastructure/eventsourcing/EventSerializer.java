@@ -4,8 +4,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Serializer for domain events using JSON.
@@ -27,23 +33,41 @@ import java.util.concurrent.ConcurrentHashMap;
  * // Deserialize
  * DomainEvent event = serializer.deserialize(json, "ProductCreated");
  * }</pre>
+ *
+ * <p>Events can be written with a binary {@link EventPayloadCodec} instead of JSON via {@link
+ * #writeWith(EventPayloadCodec, int)}. Such payloads are stored as {@code ~codec:base64} or, when
+ * larger than the compression threshold and smaller once deflated, {@code ~codec+deflate:base64}.
+ * JSON never starts with {@code ~}, so existing JSON events and binary events are read from the
+ * same stream: the header picks the codec, which must be registered. {@link
+ * SmileEventPayloadCodec} is registered by default. Metadata and snapshots stay JSON.
  */
 public class EventSerializer {
 
+    /** Marks a payload written with an {@link EventPayloadCodec}. */
+    static final char BINARY_MARKER = '~';
+
+    private static final String DEFLATE = "deflate";
+    private static final Pattern CODEC_NAME = Pattern.compile("[A-Za-z0-9-]+");
+
     private final ObjectMapper objectMapper;
     private final Map<String, Class<? extends DomainEvent>> eventTypes;
+    private final Map<String, EventPayloadCodec> codecs = new ConcurrentHashMap<>();
+    private volatile EventPayloadCodec writeCodec;
+    private volatile int compressionThreshold = -1;
 
     public EventSerializer() {
         this.objectMapper = createObjectMapper();
         this.eventTypes = new ConcurrentHashMap<>();
+        registerCodec(SmileEventPayloadCodec.from(this.objectMapper));
     }
 
     public EventSerializer(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
         this.eventTypes = new ConcurrentHashMap<>();
+        registerCodec(SmileEventPayloadCodec.from(this.objectMapper));
     }
 
-    private static ObjectMapper createObjectMapper() {
+    static ObjectMapper createObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -64,13 +88,64 @@ public class EventSerializer {
     }
 
     /**
-     * Serializes a domain event to JSON.
+     * Registers a codec for reading, and writing if selected with {@link #writeWith}.
+     *
+     * @param codec the codec
+     */
+    public void registerCodec(EventPayloadCodec codec) {
+        if (!CODEC_NAME.matcher(codec.name()).matches()) {
+            throw new IllegalArgumentException("Invalid codec name: " + codec.name());
+        }
+        codecs.put(codec.name(), codec);
+    }
+
+    /**
+     * Writes new events with a binary codec instead of JSON.
+     *
+     * @param codec the codec, registered if it isn't yet; {@code null} to write JSON again
+     * @param compressionThreshold encoded size in bytes from which payloads are deflated, or -1 to
+     *     never compress
+     */
+    public void writeWith(EventPayloadCodec codec, int compressionThreshold) {
+        if (codec != null) {
+            registerCodec(codec);
+        }
+        this.compressionThreshold = compressionThreshold;
+        this.writeCodec = codec;
+    }
+
+    /**
+     * Writes new events with a registered codec, or as JSON.
+     *
+     * @param codecName name of a registered codec, or {@code "json"}
+     * @param compressionThreshold encoded size in bytes from which payloads are deflated, or -1 to
+     *     never compress
+     * @throws IllegalArgumentException if no codec is registered under that name
+     */
+    public void writeWith(String codecName, int compressionThreshold) {
+        if ("json".equals(codecName)) {
+            writeWith((EventPayloadCodec) null, compressionThreshold);
+            return;
+        }
+        EventPayloadCodec codec = codecs.get(codecName);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown event payload codec: " + codecName);
+        }
+        writeWith(codec, compressionThreshold);
+    }
+
+    /**
+     * Serializes a domain event to JSON, or with the codec selected by {@link #writeWith}.
      *
      * @param event the event to serialize
-     * @return JSON string representation
+     * @return JSON string representation, or the header and Base64 payload
      * @throws EventSerializationException if serialization fails
      */
     public String serialize(DomainEvent event) {
+        EventPayloadCodec codec = writeCodec;
+        if (codec != null) {
+            return encode(codec, codec.encode(event));
+        }
         try {
             return objectMapper.writeValueAsString(event);
         } catch (JsonProcessingException e) {
@@ -80,9 +155,9 @@ public class EventSerializer {
     }
 
     /**
-     * Deserializes a JSON string to a domain event.
+     * Deserializes a stored payload to a domain event.
      *
-     * @param json the JSON string
+     * @param json the JSON string or binary payload
      * @param eventType the event type for determining the target class
      * @return the deserialized event
      * @throws EventSerializationException if deserialization fails or type is not registered
@@ -93,6 +168,9 @@ public class EventSerializer {
             throw new EventSerializationException("Unknown event type: " + eventType);
         }
 
+        if (isBinary(json)) {
+            return decode(json, eventClass);
+        }
         try {
             return objectMapper.readValue(json, eventClass);
         } catch (JsonProcessingException e) {
@@ -101,15 +179,18 @@ public class EventSerializer {
     }
 
     /**
-     * Deserializes a JSON string to a specific event class.
+     * Deserializes a stored payload to a specific event class.
      *
-     * @param json the JSON string
+     * @param json the JSON string or binary payload
      * @param eventClass the target class
      * @param <T> the event type
      * @return the deserialized event
      * @throws EventSerializationException if deserialization fails
      */
     public <T extends DomainEvent> T deserialize(String json, Class<T> eventClass) {
+        if (isBinary(json)) {
+            return decode(json, eventClass);
+        }
         try {
             return objectMapper.readValue(json, eventClass);
         } catch (JsonProcessingException e) {
@@ -118,6 +199,83 @@ public class EventSerializer {
         }
     }
 
+    private String encode(EventPayloadCodec codec, byte[] bytes) {
+        String header = codec.name();
+        int threshold = compressionThreshold;
+        if (threshold >= 0 && bytes.length >= threshold) {
+            byte[] deflated = deflate(bytes);
+            if (deflated.length < bytes.length) {
+                bytes = deflated;
+                header += "+" + DEFLATE;
+            }
+        }
+        return BINARY_MARKER + header + ":" + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private <T> T decode(String payload, Class<T> type) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            throw new EventSerializationException("Malformed binary event payload");
+        }
+        String header = payload.substring(1, separator);
+        boolean deflated = header.endsWith("+" + DEFLATE);
+        String name =
+                deflated ? header.substring(0, header.length() - DEFLATE.length() - 1) : header;
+        EventPayloadCodec codec = codecs.get(name);
+        if (codec == null) {
+            throw new EventSerializationException("Unknown event payload codec: " + name);
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(payload.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new EventSerializationException("Malformed binary event payload", e);
+        }
+        return codec.decode(deflated ? inflate(bytes) : bytes, type);
+    }
+
+    private static boolean isBinary(String payload) {
+        return payload != null && !payload.isEmpty() && payload.charAt(0) == BINARY_MARKER;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+            byte[] buffer = new byte[Math.min(bytes.length, 8192) + 64];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new EventSerializationException("Truncated compressed event payload");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new EventSerializationException("Corrupt compressed event payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
     /**
      * Serializes metadata to JSON.
      *
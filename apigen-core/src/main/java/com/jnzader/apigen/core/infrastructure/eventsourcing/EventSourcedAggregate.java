@@ -52,6 +52,7 @@ public abstract class EventSourcedAggregate {
 
     private String id;
     private long version = -1;
+    private long snapshotVersion = -1;
     private final List<DomainEvent> uncommittedEvents = new ArrayList<>();
 
     protected EventSourcedAggregate() {}
@@ -157,11 +158,26 @@ public abstract class EventSourcedAggregate {
      */
     public void loadFromSnapshot(long snapshotVersion, List<? extends DomainEvent> events) {
         this.version = snapshotVersion;
+        this.snapshotVersion = snapshotVersion;
         for (DomainEvent event : events) {
             applyEvent(event, false);
         }
     }
 
+    /**
+     * Version of the latest snapshot this instance was loaded from or saved as.
+     *
+     * @return the snapshot version, or -1 if there is none
+     */
+    long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /** Records that a snapshot was taken at the given version. */
+    void markSnapshotted(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
     private void applyEvent(DomainEvent event, boolean isNew) {
         apply(event);
         version++;
@@ -1,12 +1,20 @@
 package com.jnzader.apigen.core.infrastructure.eventsourcing;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Auto-configuration for event sourcing infrastructure.
@@ -16,9 +24,11 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
  * <p>Provides:
  *
  * <ul>
- *   <li>{@link EventSerializer} for JSON serialization of events
+ *   <li>{@link EventSerializer} for JSON or binary serialization of events
  *   <li>{@link EventStore} JPA implementation for event persistence
- *   <li>JPA repositories for stored events and snapshots
+ *   <li>JPA repositories for stored events, snapshots and projection checkpoints
+ *   <li>{@link ProjectionEngine} building every {@link Projection} bean in the background, when
+ *       {@code projections.enabled} is set
  * </ul>
  *
  * <p>Configuration properties:
@@ -27,25 +37,50 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
  * apigen:
  *   eventsourcing:
  *     enabled: true
+ *     serialization:
+ *       format: json                # or smile, or the name of an EventPayloadCodec bean
+ *       compression-threshold: 1024 # bytes; -1 disables compression
+ *     projections:
+ *       enabled: true
+ *       poll-interval: 1s
+ *       batch-size: 500
+ *       rebuild-parallelism: 4
+ *       gap-timeout: 10s
  * }</pre>
  *
  * <p>Note: Ensure your application scans the eventsourcing package for JPA entities.
  */
 @AutoConfiguration
 @ConditionalOnProperty(prefix = "apigen.eventsourcing", name = "enabled", havingValue = "true")
-@EnableJpaRepositories(basePackageClasses = {StoredEventRepository.class, SnapshotRepository.class})
+@EnableJpaRepositories(
+        basePackageClasses = {
+            StoredEventRepository.class,
+            SnapshotRepository.class,
+            ProjectionCheckpointRepository.class
+        })
 public class EventSourcingAutoConfiguration {
 
     /**
      * Creates the event serializer bean.
      *
      * @param objectMapper optional ObjectMapper from context
+     * @param codecs additional payload codecs
+     * @param format format for new events
+     * @param compressionThreshold encoded size from which binary payloads are deflated
      * @return the event serializer
      */
     @Bean
     @ConditionalOnMissingBean
-    public EventSerializer eventSerializer(ObjectMapper objectMapper) {
-        return new EventSerializer(objectMapper);
+    public EventSerializer eventSerializer(
+            ObjectMapper objectMapper,
+            ObjectProvider<EventPayloadCodec> codecs,
+            @Value("${apigen.eventsourcing.serialization.format:json}") String format,
+            @Value("${apigen.eventsourcing.serialization.compression-threshold:1024}")
+                    int compressionThreshold) {
+        EventSerializer serializer = new EventSerializer(objectMapper);
+        codecs.orderedStream().forEach(serializer::registerCodec);
+        serializer.writeWith(format, compressionThreshold);
+        return serializer;
     }
 
     /**
@@ -66,4 +101,52 @@ public class EventSourcingAutoConfiguration {
             ApplicationEventPublisher eventPublisher) {
         return new JpaEventStore(eventRepository, snapshotRepository, serializer, eventPublisher);
     }
+
+    /** Projection engine, enabled with {@code apigen.eventsourcing.projections.enabled=true}. */
+    @Configuration
+    @ConditionalOnProperty(
+            prefix = "apigen.eventsourcing.projections",
+            name = "enabled",
+            havingValue = "true")
+    static class ProjectionConfiguration {
+
+        /**
+         * Creates the projection engine for every {@link Projection} bean.
+         *
+         * @param eventStore the event store
+         * @param checkpointRepository the checkpoint repository
+         * @param transactionManager the transaction manager
+         * @param projections the projections
+         * @param meterRegistry optional registry for lag metrics
+         * @param pollInterval how long a caught-up worker waits before polling again
+         * @param batchSize maximum events applied per transaction
+         * @param rebuildParallelism default partitions for rebuilds
+         * @param gapTimeout how long a gap in global positions is waited for
+         * @return the projection engine
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public ProjectionEngine projectionEngine(
+                EventStore eventStore,
+                ProjectionCheckpointRepository checkpointRepository,
+                PlatformTransactionManager transactionManager,
+                ObjectProvider<Projection> projections,
+                ObjectProvider<MeterRegistry> meterRegistry,
+                @Value("${apigen.eventsourcing.projections.poll-interval:1s}")
+                        Duration pollInterval,
+                @Value("${apigen.eventsourcing.projections.batch-size:500}") int batchSize,
+                @Value("${apigen.eventsourcing.projections.rebuild-parallelism:4}")
+                        int rebuildParallelism,
+                @Value("${apigen.eventsourcing.projections.gap-timeout:10s}")
+                        Duration gapTimeout) {
+            return new ProjectionEngine(
+                    eventStore,
+                    checkpointRepository,
+                    new TransactionTemplate(transactionManager),
+                    projections.orderedStream().toList(),
+                    new ProjectionEngine.ProjectionConfig(
+                            pollInterval, batchSize, rebuildParallelism, gapTimeout),
+                    meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.jnzader.apigen.core.infrastructure.eventsourcing;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface for storing and retrieving domain events.
@@ -24,6 +25,34 @@ import java.util.Optional;
  */
 public interface EventStore {
 
+    /** Events fetched per query by {@link #readAll(long)}. */
+    int READ_ALL_PAGE_SIZE = 500;
+
+    /**
+     * Events to append to one aggregate, for {@link #appendAll(List)}.
+     *
+     * @param aggregateId the aggregate identifier
+     * @param aggregateType the type of aggregate
+     * @param events the events to append
+     * @param expectedVersion the expected current version (-1 for new aggregates)
+     */
+    record AppendRequest(
+            String aggregateId,
+            String aggregateType,
+            List<DomainEvent> events,
+            long expectedVersion) {
+
+        public AppendRequest {
+            if (aggregateId == null || aggregateId.isBlank()) {
+                throw new IllegalArgumentException("aggregateId must not be blank");
+            }
+            if (expectedVersion < -1) {
+                throw new IllegalArgumentException("expectedVersion must be >= -1");
+            }
+            events = events == null ? List.of() : List.copyOf(events);
+        }
+    }
+
     /**
      * Appends events to the event stream for an aggregate.
      *
@@ -40,6 +69,26 @@ public interface EventStore {
             List<DomainEvent> events,
             long expectedVersion);
 
+    /**
+     * Appends events to several aggregates atomically.
+     *
+     * <p>Either all streams are appended or, if any expected version doesn't match, none is. The
+     * default implementation calls {@link #append} for each request and is only atomic inside a
+     * caller's transaction.
+     *
+     * @param requests the events to append, per aggregate
+     * @throws ConcurrencyException if the expected version of any aggregate doesn't match
+     */
+    default void appendAll(List<AppendRequest> requests) {
+        for (AppendRequest request : requests) {
+            append(
+                    request.aggregateId(),
+                    request.aggregateType(),
+                    request.events(),
+                    request.expectedVersion());
+        }
+    }
+
     /**
      * Retrieves all events for an aggregate.
      *
@@ -84,7 +133,7 @@ public interface EventStore {
     boolean exists(String aggregateId);
 
     /**
-     * Retrieves events by type across all aggregates.
+     * Retrieves the most recent events of a type across all aggregates, newest first.
      *
      * @param eventType the event type to filter by
      * @param limit maximum number of events to return
@@ -93,14 +142,58 @@ public interface EventStore {
     List<StoredEvent> getEventsByType(String eventType, int limit);
 
     /**
-     * Retrieves all events across all aggregates, ordered by stored timestamp.
+     * Retrieves a page of the global log: the events after a global position, in log order.
+     *
+     * <p>Pass the {@link StoredEvent#getGlobalPosition() position} of the last event read to get
+     * the next page; {@code 0} starts from the beginning.
      *
-     * @param fromPosition the global position to start from
+     * @param fromPosition the global position to start after (exclusive)
      * @param limit maximum number of events to return
      * @return list of stored events
      */
     List<StoredEvent> getAllEvents(long fromPosition, int limit);
 
+    /**
+     * Gets the global position of the most recent event.
+     *
+     * <p>Required by {@link ProjectionEngine}, which checks it when it starts and refuses to start
+     * without it. The log cannot be measured efficiently through the other methods of this
+     * interface, so the default implementation throws; stores that keep a global log should
+     * override it.
+     *
+     * @return the last position, or {@code 0} if the log is empty
+     * @throws UnsupportedOperationException if the store does not track global positions
+     */
+    default long getLastPosition() {
+        throw new UnsupportedOperationException(
+                getClass().getName()
+                        + " does not implement EventStore.getLastPosition(), which projections"
+                        + " need to track their lag");
+    }
+
+    /**
+     * Streams the global log from a position, for catching up projections.
+     *
+     * <p>The log is read lazily in pages of {@link #READ_ALL_PAGE_SIZE} events, so memory use does
+     * not depend on the size of the log. The stream covers the events stored when each page is
+     * read, and ends at the first page that comes back short.
+     *
+     * @param fromPosition the global position to start after (exclusive)
+     * @return the events in log order
+     */
+    default Stream<StoredEvent> readAll(long fromPosition) {
+        return Stream.iterate(
+                        getAllEvents(fromPosition, READ_ALL_PAGE_SIZE),
+                        page -> !page.isEmpty(),
+                        page ->
+                                page.size() < READ_ALL_PAGE_SIZE
+                                        ? List.of()
+                                        : getAllEvents(
+                                                page.getLast().getGlobalPosition(),
+                                                READ_ALL_PAGE_SIZE))
+                .flatMap(List::stream);
+    }
+
     /**
      * Saves a snapshot of an aggregate's state.
      *
@@ -1,11 +1,19 @@
 package com.jnzader.apigen.core.infrastructure.eventsourcing;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -33,6 +41,11 @@ public class JpaEventStore implements EventStore {
 
     private static final Logger log = LoggerFactory.getLogger(JpaEventStore.class);
 
+    /** Unique index on {@code (aggregate_id, version)}, see {@link StoredEvent}. */
+    static final String VERSION_CONSTRAINT = "idx_event_aggregate";
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
     private final StoredEventRepository eventRepository;
     private final SnapshotRepository snapshotRepository;
     private final EventSerializer serializer;
@@ -56,56 +69,145 @@ public class JpaEventStore implements EventStore {
             String aggregateType,
             List<DomainEvent> events,
             long expectedVersion) {
-        if (events == null || events.isEmpty()) {
+        appendAll(List.of(new AppendRequest(aggregateId, aggregateType, events, expectedVersion)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Events are numbered from the expected version and the unique {@code (aggregate_id,
+     * version)} index rejects the insert if another writer got there first. The index cannot
+     * notice an expected version ahead of the stream, which would leave a gap, so before writing
+     * one query checks that every stream has an event at its expected version. Payloads are
+     * serialized up front and each aggregate's events are flushed together, so with {@code
+     * hibernate.jdbc.batch_size} set they are sent as one JDBC batch. Events are published to
+     * Spring only after every stream has been written.
+     *
+     * <p>Only a violation of that index is reported as a {@link ConcurrencyException}; any other
+     * integrity violation (a duplicate event ID, a null column) is rethrown as is.
+     */
+    @Override
+    @Transactional
+    public void appendAll(List<AppendRequest> requests) {
+        checkExpectedVersionsExist(requests);
+        List<StoredEventWrapper> stored = new ArrayList<>();
+        for (AppendRequest request : requests) {
+            if (request.events().isEmpty()) {
+                continue;
+            }
+
+            List<StoredEvent> batch = toStoredEvents(request);
+            try {
+                eventRepository.saveAll(batch);
+                eventRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                if (!isVersionConflict(e)) {
+                    throw e;
+                }
+                throw new ConcurrencyException(
+                        request.aggregateId(), request.expectedVersion(), e);
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                stored.add(new StoredEventWrapper(batch.get(i), request.events().get(i)));
+            }
+            log.info(
+                    "Appended {} events to aggregate {} (v{} -> v{})",
+                    batch.size(),
+                    request.aggregateId(),
+                    request.expectedVersion(),
+                    batch.getLast().getVersion());
+        }
+
+        // Publish to Spring event system
+        if (eventPublisher != null) {
+            stored.forEach(eventPublisher::publishEvent);
+        }
+    }
+
+    /**
+     * Rejects requests whose expected version is ahead of the stream. Streams behind it are caught
+     * by the unique index on insert.
+     */
+    private void checkExpectedVersionsExist(List<AppendRequest> requests) {
+        Set<String> aggregateIds = new HashSet<>();
+        Set<Long> versions = new HashSet<>();
+        for (AppendRequest request : requests) {
+            if (!request.events().isEmpty() && request.expectedVersion() >= 0) {
+                aggregateIds.add(request.aggregateId());
+                versions.add(request.expectedVersion());
+            }
+        }
+        if (aggregateIds.isEmpty()) {
             return;
         }
 
-        // Check for concurrency conflicts
-        // Note: Using repository directly to avoid self-invocation of @Transactional method
-        long currentVersion = eventRepository.findMaxVersionByAggregateId(aggregateId).orElse(-1L);
-        if (expectedVersion != -1 && currentVersion != expectedVersion) {
-            throw new ConcurrencyException(aggregateId, expectedVersion, currentVersion);
+        Set<String> present = new HashSet<>();
+        for (StoredEventRepository.AggregateVersion found :
+                eventRepository.findAggregateVersions(aggregateIds, versions)) {
+            present.add(versionKey(found.getAggregateId(), found.getVersion()));
         }
+        for (AppendRequest request : requests) {
+            if (!request.events().isEmpty()
+                    && request.expectedVersion() >= 0
+                    && !present.contains(
+                            versionKey(request.aggregateId(), request.expectedVersion()))) {
+                throw new ConcurrencyException(
+                        request.aggregateId(),
+                        request.expectedVersion(),
+                        getCurrentVersion(request.aggregateId()));
+            }
+        }
+    }
 
-        long version = currentVersion;
-        for (DomainEvent event : events) {
-            version++;
+    private static String versionKey(String aggregateId, long version) {
+        return aggregateId + '@' + version;
+    }
+
+    /**
+     * Indicates whether the violation comes from the {@code (aggregate_id, version)} index, by the
+     * constraint name Hibernate reports or, failing that, by a unique violation SQL state whose
+     * message names the index.
+     */
+    static boolean isVersionConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                return namesVersionConstraint(violation.getConstraintName());
+            }
+            if (cause instanceof SQLException sql
+                    && UNIQUE_VIOLATION_SQL_STATE.equals(sql.getSQLState())) {
+                return namesVersionConstraint(sql.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private static boolean namesVersionConstraint(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(VERSION_CONSTRAINT);
+    }
 
-            StoredEvent storedEvent =
+    private List<StoredEvent> toStoredEvents(AppendRequest request) {
+        List<StoredEvent> batch = new ArrayList<>(request.events().size());
+        long version = request.expectedVersion();
+        for (DomainEvent event : request.events()) {
+            version++;
+            batch.add(
                     StoredEvent.builder()
                             .eventId(
                                     event.getEventId() != null
                                             ? event.getEventId()
                                             : UUID.randomUUID().toString())
-                            .aggregateId(aggregateId)
-                            .aggregateType(aggregateType)
+                            .aggregateId(request.aggregateId())
+                            .aggregateType(request.aggregateType())
                             .eventType(event.getEventType())
                             .version(version)
                             .payload(serializer.serialize(event))
                             .metadata(serializer.serializeMetadata(event.getMetadata()))
                             .occurredAt(event.getOccurredAt())
-                            .build();
-
-            eventRepository.save(storedEvent);
-
-            log.debug(
-                    "Stored event {} v{} for aggregate {}",
-                    event.getEventType(),
-                    version,
-                    aggregateId);
-
-            // Publish to Spring event system
-            if (eventPublisher != null) {
-                eventPublisher.publishEvent(new StoredEventWrapper(storedEvent, event));
-            }
+                            .build());
         }
-
-        log.info(
-                "Appended {} events to aggregate {} (v{} -> v{})",
-                events.size(),
-                aggregateId,
-                expectedVersion,
-                version);
+        return batch;
     }
 
     @Override
@@ -145,19 +247,22 @@ public class JpaEventStore implements EventStore {
     @Override
     @Transactional(readOnly = true)
     public List<StoredEvent> getEventsByType(String eventType, int limit) {
-        List<StoredEvent> events = eventRepository.findByEventTypeOrderByStoredAtDesc(eventType);
-        if (events.size() > limit) {
-            return events.subList(0, limit);
-        }
-        return events;
+        return eventRepository.findByEventTypeOrderByGlobalPositionDesc(
+                eventType, PageRequest.of(0, limit));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<StoredEvent> getAllEvents(long fromPosition, int limit) {
-        // For simplicity, use findAll with pagination
-        // In production, you might want a more efficient approach with a global sequence
-        return eventRepository.findAll().stream().skip(fromPosition).limit(limit).toList();
+        // Keyset pagination on the global position index: cost does not depend on log size
+        return eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                fromPosition, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLastPosition() {
+        return eventRepository.findMaxGlobalPosition().orElse(0L);
     }
 
     @Override
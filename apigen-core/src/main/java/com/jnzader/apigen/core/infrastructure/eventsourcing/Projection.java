@@ -0,0 +1,55 @@
+package com.jnzader.apigen.core.infrastructure.eventsourcing;
+
+/**
+ * A read model built from the global event log by the {@link ProjectionEngine}.
+ *
+ * <p>Events are applied in log order, in a transaction that also stores the projection's
+ * checkpoint, so a read model kept in the same database is updated exactly once per event. If
+ * {@link #apply} throws, the batch is rolled back and retried, and later events wait.
+ *
+ * <p>Example:
+ *
+ * <pre>{@code
+ * @Component
+ * public class ProductCatalogProjection implements Projection {
+ *
+ *     public String name() {
+ *         return "product-catalog";
+ *     }
+ *
+ *     public void apply(StoredEvent event) {
+ *         switch (event.getEventType()) {
+ *             case "ProductCreated" -> catalog.insert(event.getAggregateId(), event.getPayload());
+ *             case "ProductDeleted" -> catalog.delete(event.getAggregateId());
+ *             default -> { }
+ *         }
+ *     }
+ *
+ *     public void reset() {
+ *         catalog.deleteAll();
+ *     }
+ * }
+ * }</pre>
+ */
+public interface Projection {
+
+    /**
+     * Unique name, used as the key of the persisted checkpoint.
+     *
+     * @return the projection name
+     */
+    String name();
+
+    /**
+     * Applies one event to the read model.
+     *
+     * <p>During a {@link ProjectionEngine#rebuild rebuild}, events of different aggregates may be
+     * applied concurrently; events of the same aggregate are always applied in order.
+     *
+     * @param event the stored event
+     */
+    void apply(StoredEvent event);
+
+    /** Clears the read model before it is rebuilt from the start of the log. */
+    default void reset() {}
+}
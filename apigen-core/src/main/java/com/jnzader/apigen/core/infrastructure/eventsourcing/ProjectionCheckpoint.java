@@ -0,0 +1,94 @@
+package com.jnzader.apigen.core.infrastructure.eventsourcing;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * JPA entity storing how far a {@link Projection} has read the global event log.
+ *
+ * <p>The position is the {@link StoredEvent#getGlobalPosition() global position} of the last event
+ * applied; it is saved in the same transaction as the read model changes. While a rebuild runs the
+ * checkpoint is marked as rebuilding, so a rebuild cut short by a crash is detected on restart.
+ */
+@Entity
+@Table(name = "event_projections")
+public class ProjectionCheckpoint {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @Column(name = "projection_name", length = 100)
+    private String projectionName;
+
+    @Column(name = "position", nullable = false)
+    private long position;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "rebuilding", nullable = false)
+    private boolean rebuilding;
+
+    protected ProjectionCheckpoint() {
+        // JPA
+    }
+
+    /**
+     * Creates a checkpoint at the start of the log.
+     *
+     * @param projectionName the projection name
+     */
+    public ProjectionCheckpoint(String projectionName) {
+        this.projectionName = projectionName;
+        this.updatedAt = Instant.now();
+    }
+
+    public String getProjectionName() {
+        return projectionName;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding;
+    }
+
+    /** Moves the checkpoint to a position, ending any rebuild, and clears the last error. */
+    void advance(long position) {
+        this.position = position;
+        this.updatedAt = Instant.now();
+        this.lastError = null;
+        this.rebuilding = false;
+    }
+
+    /** Moves the checkpoint back to the start of the log for a rebuild. */
+    void startRebuild() {
+        advance(0);
+        this.rebuilding = true;
+    }
+
+    /** Records an error that stopped the projection at its current position. */
+    void fail(String error) {
+        this.updatedAt = Instant.now();
+        this.lastError =
+                error == null || error.length() <= MAX_ERROR_LENGTH
+                        ? error
+                        : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,9 @@
+package com.jnzader.apigen.core.infrastructure.eventsourcing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** JPA repository for projection checkpoints. */
+@Repository
+public interface ProjectionCheckpointRepository
+        extends JpaRepository<ProjectionCheckpoint, String> {}
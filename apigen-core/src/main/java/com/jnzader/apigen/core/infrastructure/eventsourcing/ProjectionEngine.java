@@ -0,0 +1,597 @@
+package com.jnzader.apigen.core.infrastructure.eventsourcing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Builds {@link Projection}s asynchronously from the global event log.
+ *
+ * <p>Each projection has its own worker thread that polls the log after its persisted {@link
+ * ProjectionCheckpoint}, applies up to {@code batchSize} events in order and stores the new
+ * checkpoint in the same transaction. Appending events therefore never waits for read models, and
+ * a failing projection only stops itself: it retries the same batch every {@code pollInterval}
+ * while the others keep going. Workers are woken up right after a transaction that appended events
+ * commits, so read models usually trail the write side by milliseconds.
+ *
+ * <p>Global positions are taken when events are inserted, so a transaction can commit a lower
+ * position after a higher one is visible. A worker that finds a gap stops before it until the gap
+ * is filled or is older than {@code gapTimeout} (the position was rolled back), so events are not
+ * skipped.
+ *
+ * <p>{@link #rebuild} resets a projection and replays the log from the start, applying events on
+ * {@code parallelism} partitions by aggregate ID: events of one aggregate stay in order, different
+ * aggregates are applied concurrently. The checkpoint is marked as rebuilding until the replay
+ * completes; if the node stops before that, the worker resets the projection again when it next
+ * starts and replays the log from the start, instead of applying it over a partial read model.
+ *
+ * <p>Metrics (tag {@code projection}):
+ *
+ * <ul>
+ *   <li>{@code apigen.eventsourcing.projection.lag} - events between the checkpoint and the end of
+ *       the log
+ *   <li>{@code apigen.eventsourcing.projection.applied} - events applied
+ *   <li>{@code apigen.eventsourcing.projection.failures} - failed batches
+ * </ul>
+ *
+ * <p>Run a single node per projection: checkpoints are not leased, so two nodes would apply the
+ * same events.
+ */
+public class ProjectionEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionEngine.class);
+
+    static final String METRIC_LAG = "apigen.eventsourcing.projection.lag";
+    static final String METRIC_APPLIED = "apigen.eventsourcing.projection.applied";
+    static final String METRIC_FAILURES = "apigen.eventsourcing.projection.failures";
+
+    private final EventStore eventStore;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final TransactionOperations transactionOperations;
+    private final ProjectionConfig config;
+    private final Map<String, Worker> workers = new LinkedHashMap<>();
+    private final ExecutorService rebuildExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+
+    /**
+     * Creates the engine.
+     *
+     * @param eventStore the event store to read from
+     * @param checkpointRepository repository for checkpoints
+     * @param transactionOperations transactions wrapping each batch and its checkpoint
+     * @param projections the projections to build
+     * @param config engine configuration
+     * @param meterRegistry registry for lag and throughput metrics
+     */
+    public ProjectionEngine(
+            EventStore eventStore,
+            ProjectionCheckpointRepository checkpointRepository,
+            TransactionOperations transactionOperations,
+            List<Projection> projections,
+            ProjectionConfig config,
+            MeterRegistry meterRegistry) {
+        this.eventStore = eventStore;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionOperations = transactionOperations;
+        this.config = config;
+        for (Projection projection : projections) {
+            if (workers.putIfAbsent(projection.name(), new Worker(projection, meterRegistry))
+                    != null) {
+                throw new IllegalArgumentException(
+                        "Duplicate projection name: " + projection.name());
+            }
+        }
+    }
+
+    /**
+     * Applies the next batch of events to a projection.
+     *
+     * @param name the projection name
+     * @return number of events applied
+     * @throws RuntimeException if the projection fails; its checkpoint is not moved
+     */
+    public int pollOnce(String name) {
+        return worker(name).pollOnce();
+    }
+
+    /**
+     * Rebuilds a projection from the start of the log.
+     *
+     * <p>The projection is {@link Projection#reset() reset} and its worker pauses until the replay
+     * ends. If the replay fails, the checkpoint stays at {@code 0}, marked as rebuilding, and the
+     * projection remains paused until it is rebuilt again or the engine restarts.
+     *
+     * @param name the projection name
+     * @param parallelism number of partitions applied concurrently
+     * @return the position reached, once the rebuild completes
+     */
+    public CompletableFuture<Long> rebuild(String name, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        Worker worker = worker(name);
+        return CompletableFuture.supplyAsync(() -> worker.rebuild(parallelism), rebuildExecutor);
+    }
+
+    /**
+     * Rebuilds a projection with the configured parallelism.
+     *
+     * @param name the projection name
+     * @return the position reached, once the rebuild completes
+     */
+    public CompletableFuture<Long> rebuild(String name) {
+        return rebuild(name, config.rebuildParallelism());
+    }
+
+    /**
+     * Gets the checkpoint of a projection.
+     *
+     * @param name the projection name
+     * @return the position of the last event applied
+     */
+    public long getPosition(String name) {
+        return worker(name).position();
+    }
+
+    /**
+     * Gets how many events a projection is behind, as of its last poll.
+     *
+     * @param name the projection name
+     * @return events between its checkpoint and the end of the log
+     */
+    public long getLag(String name) {
+        return (long) worker(name).lag();
+    }
+
+    /**
+     * Wakes the workers once the transaction that stored the event commits.
+     *
+     * @param stored the event published by {@link JpaEventStore}
+     */
+    @EventListener
+    public void onEventStored(JpaEventStore.StoredEventWrapper stored) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            wakeUp();
+                        }
+                    });
+        } else {
+            wakeUp();
+        }
+    }
+
+    /** Makes every worker poll right away instead of waiting for the poll interval. */
+    void wakeUp() {
+        workers.values().forEach(worker -> worker.wakeUps.offer(Boolean.TRUE));
+    }
+
+    private Worker worker(String name) {
+        Worker worker = workers.get(name);
+        if (worker == null) {
+            throw new IllegalArgumentException("Unknown projection: " + name);
+        }
+        return worker;
+    }
+
+    /**
+     * Starts a worker per projection.
+     *
+     * @throws IllegalStateException if the event store cannot report the end of the global log
+     */
+    @Override
+    public void start() {
+        if (!running) {
+            try {
+                eventStore.getLastPosition();
+            } catch (UnsupportedOperationException e) {
+                throw new IllegalStateException(
+                        "Projections need an EventStore that tracks global positions", e);
+            }
+            running = true;
+            workers.values().forEach(Worker::start);
+            log.info("Projection engine started with {} projection(s)", workers.size());
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workers.values().forEach(Worker::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Polling loop, checkpoint and metrics of one projection. */
+    private final class Worker {
+
+        private final Projection projection;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final BlockingQueue<Boolean> wakeUps = new ArrayBlockingQueue<>(1);
+        private final AtomicLong position = new AtomicLong(-1);
+        private final AtomicLong head = new AtomicLong();
+        private final Counter applied;
+        private final Counter failures;
+        private volatile boolean paused;
+        private boolean recovered;
+        private volatile Thread thread;
+
+        private Worker(Projection projection, MeterRegistry meterRegistry) {
+            this.projection = projection;
+            this.applied =
+                    Counter.builder(METRIC_APPLIED)
+                            .description("Events applied to the projection")
+                            .tag("projection", projection.name())
+                            .register(meterRegistry);
+            this.failures =
+                    Counter.builder(METRIC_FAILURES)
+                            .description("Projection batches that failed and will be retried")
+                            .tag("projection", projection.name())
+                            .register(meterRegistry);
+            Gauge.builder(METRIC_LAG, this, Worker::lag)
+                    .description("Events between the projection checkpoint and the end of the log")
+                    .tag("projection", projection.name())
+                    .register(meterRegistry);
+        }
+
+        private long position() {
+            long current = position.get();
+            if (current < 0) {
+                current =
+                        checkpointRepository
+                                .findById(projection.name())
+                                .map(ProjectionCheckpoint::getPosition)
+                                .orElse(0L);
+                position.compareAndSet(-1, current);
+            }
+            return current;
+        }
+
+        private double lag() {
+            long current = position.get();
+            return current < 0 ? Double.NaN : Math.max(0, head.get() - current);
+        }
+
+        private int pollOnce() {
+            lock.lock();
+            try {
+                if (paused) {
+                    return 0;
+                }
+                if (!recovered) {
+                    restartInterruptedRebuild();
+                    recovered = true;
+                }
+                long from = position();
+                head.set(eventStore.getLastPosition());
+                List<StoredEvent> ready =
+                        readyPrefix(from, eventStore.getAllEvents(from, config.batchSize()));
+                if (ready.isEmpty()) {
+                    return 0;
+                }
+
+                long last = ready.getLast().getGlobalPosition();
+                transactionOperations.executeWithoutResult(
+                        status -> {
+                            ready.forEach(projection::apply);
+                            saveCheckpoint(last);
+                        });
+                position.set(last);
+                applied.increment(ready.size());
+                return ready.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Resets the projection if the engine stopped in the middle of rebuilding it, so the log is
+         * replayed from the start instead of over a partially rebuilt read model.
+         */
+        private void restartInterruptedRebuild() {
+            boolean interrupted =
+                    checkpointRepository
+                            .findById(projection.name())
+                            .map(ProjectionCheckpoint::isRebuilding)
+                            .orElse(false);
+            if (interrupted) {
+                log.warn(
+                        "Rebuild of projection {} did not complete, replaying it from the start",
+                        projection.name());
+                transactionOperations.executeWithoutResult(
+                        status -> {
+                            projection.reset();
+                            saveCheckpoint(0);
+                        });
+                position.set(0);
+            }
+        }
+
+        /** The events up to the first gap that may still be filled by an open transaction. */
+        private List<StoredEvent> readyPrefix(long from, List<StoredEvent> events) {
+            Instant settled = Instant.now().minus(config.gapTimeout());
+            long expected = from + 1;
+            int ready = 0;
+            for (StoredEvent event : events) {
+                if (event.getGlobalPosition() != expected && event.getStoredAt().isAfter(settled)) {
+                    log.debug(
+                            "Projection {} waiting for position {} before {}",
+                            projection.name(),
+                            expected,
+                            event.getGlobalPosition());
+                    break;
+                }
+                expected = event.getGlobalPosition() + 1;
+                ready++;
+            }
+            return events.subList(0, ready);
+        }
+
+        private void saveCheckpoint(long last) {
+            ProjectionCheckpoint checkpoint = checkpoint();
+            checkpoint.advance(last);
+            checkpointRepository.save(checkpoint);
+        }
+
+        private ProjectionCheckpoint checkpoint() {
+            return checkpointRepository
+                    .findById(projection.name())
+                    .orElseGet(() -> new ProjectionCheckpoint(projection.name()));
+        }
+
+        private void recordFailure(RuntimeException e) {
+            failures.increment();
+            log.warn(
+                    "Projection {} failed after position {}: {}",
+                    projection.name(),
+                    position.get(),
+                    e.getMessage());
+            try {
+                transactionOperations.executeWithoutResult(
+                        status -> {
+                            ProjectionCheckpoint checkpoint = checkpoint();
+                            checkpoint.fail(e.getMessage());
+                            checkpointRepository.save(checkpoint);
+                        });
+            } catch (RuntimeException ex) {
+                log.debug("Could not record projection error: {}", ex.getMessage());
+            }
+        }
+
+        private long rebuild(int parallelism) {
+            lock.lock();
+            try {
+                paused = true;
+                log.info(
+                        "Rebuilding projection {} with {} partition(s)",
+                        projection.name(),
+                        parallelism);
+                transactionOperations.executeWithoutResult(
+                        status -> {
+                            projection.reset();
+                            ProjectionCheckpoint checkpoint = checkpoint();
+                            checkpoint.startRebuild();
+                            checkpointRepository.save(checkpoint);
+                        });
+                position.set(0);
+                recovered = true;
+                head.set(eventStore.getLastPosition());
+
+                long last = replay(parallelism, head.get());
+                transactionOperations.executeWithoutResult(status -> saveCheckpoint(last));
+                position.set(last);
+                paused = false;
+                log.info("Projection {} rebuilt up to position {}", projection.name(), last);
+                return last;
+            } finally {
+                lock.unlock();
+                wakeUps.offer(Boolean.TRUE);
+            }
+        }
+
+        /**
+         * Dispatches the log up to {@code target} to partitions by aggregate ID.
+         *
+         * @return the position of the last event dispatched
+         */
+        private long replay(int parallelism, long target) {
+            AtomicReference<RuntimeException> failure = new AtomicReference<>();
+            List<Partition> partitions = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                partitions.add(new Partition(failure));
+            }
+
+            long last = 0;
+            try (Stream<StoredEvent> events = eventStore.readAll(0)) {
+                Instant settled = Instant.now().minus(config.gapTimeout());
+                for (StoredEvent event : (Iterable<StoredEvent>) events::iterator) {
+                    long eventPosition = event.getGlobalPosition();
+                    if (eventPosition > target
+                            || failure.get() != null
+                            || (eventPosition != last + 1
+                                    && event.getStoredAt().isAfter(settled))) {
+                        // Beyond the snapshot of the log, or after a gap the worker will wait for
+                        break;
+                    }
+                    int index =
+                            Math.floorMod(event.getAggregateId().hashCode(), partitions.size());
+                    partitions.get(index).add(event);
+                    last = eventPosition;
+                }
+            } finally {
+                partitions.forEach(Partition::finish);
+            }
+            for (Partition partition : partitions) {
+                partition.join();
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return last;
+        }
+
+        private void loop() {
+            while (thread == Thread.currentThread()) {
+                int count;
+                try {
+                    count = pollOnce();
+                } catch (RuntimeException e) {
+                    recordFailure(e);
+                    count = 0;
+                }
+                if (count < config.batchSize()) {
+                    try {
+                        wakeUps.poll(config.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException _) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void start() {
+            if (thread == null) {
+                thread =
+                        Thread.ofPlatform()
+                                .name("projection-" + projection.name())
+                                .daemon()
+                                .unstarted(this::loop);
+                thread.start();
+            }
+        }
+
+        private void stop() {
+            Thread current = thread;
+            thread = null;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        /** Applies the events of some aggregates, in order, during a rebuild. */
+        private final class Partition {
+
+            private final BlockingQueue<List<StoredEvent>> chunks = new ArrayBlockingQueue<>(4);
+            private final AtomicReference<RuntimeException> failure;
+            private final Thread consumer;
+            private List<StoredEvent> chunk = new ArrayList<>();
+
+            private Partition(AtomicReference<RuntimeException> failure) {
+                this.failure = failure;
+                this.consumer = Thread.ofVirtual().start(this::drain);
+            }
+
+            private void add(StoredEvent event) {
+                chunk.add(event);
+                if (chunk.size() >= config.batchSize()) {
+                    put(chunk);
+                    chunk = new ArrayList<>();
+                }
+            }
+
+            /** Sends the last chunk and the end marker. */
+            private void finish() {
+                if (!chunk.isEmpty()) {
+                    put(chunk);
+                }
+                put(List.of());
+            }
+
+            private void put(List<StoredEvent> events) {
+                try {
+                    chunks.put(events);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Projection rebuild interrupted", e);
+                }
+            }
+
+            private void drain() {
+                try {
+                    List<StoredEvent> events;
+                    while (!(events = chunks.take()).isEmpty()) {
+                        // After a failure, keep draining so the dispatcher never blocks
+                        if (failure.get() == null) {
+                            apply(events);
+                        }
+                    }
+                } catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            private void apply(List<StoredEvent> events) {
+                try {
+                    transactionOperations.executeWithoutResult(
+                            status -> events.forEach(projection::apply));
+                    applied.increment(events.size());
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+
+            private void join() {
+                try {
+                    consumer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Projection rebuild interrupted", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Configuration for the projection engine.
+     *
+     * @param pollInterval how long a caught-up worker waits before polling again
+     * @param batchSize maximum events applied per transaction
+     * @param rebuildParallelism default partitions used by {@link #rebuild(String)}
+     * @param gapTimeout how long a gap in global positions is waited for before it is considered a
+     *     rolled back insert
+     */
+    public record ProjectionConfig(
+            Duration pollInterval, int batchSize, int rebuildParallelism, Duration gapTimeout) {
+
+        public ProjectionConfig {
+            if (batchSize <= 0 || rebuildParallelism <= 0) {
+                throw new IllegalArgumentException(
+                        "batchSize and rebuildParallelism must be positive");
+            }
+        }
+
+        /** Creates default configuration. */
+        public static ProjectionConfig defaults() {
+            return new ProjectionConfig(Duration.ofSeconds(1), 500, 4, Duration.ofSeconds(10));
+        }
+    }
+}
@@ -4,8 +4,12 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.Instant;
+import org.springframework.data.domain.Persistable;
 
 /**
  * JPA entity representing a stored domain event.
@@ -13,21 +17,46 @@ import java.time.Instant;
  * <p>This entity is used by the event store to persist events. Events are immutable once stored.
  *
  * <p>The table is optimized for event stream queries with indexes on aggregate_id and version.
+ * The {@code (aggregate_id, version)} index is unique: it is what detects concurrent appends to
+ * the same aggregate, so the store does not have to read the current version first.
+ *
+ * <p>Every event also gets a {@code global_position} from an identity column when it is inserted.
+ * It increases across all aggregates, so readers can page through the whole log with indexed range
+ * queries ({@code global_position > ?}) instead of offsets. The column uses the standard {@code
+ * GENERATED BY DEFAULT AS IDENTITY} syntax (PostgreSQL, H2, Oracle, DB2). Positions are taken
+ * on insert, not on commit: a concurrent transaction may still make a lower position visible after
+ * a higher one has been read. The position is not read back after the insert, so that events can
+ * be inserted in JDBC batches; it is only set on events loaded from the store.
+ *
+ * <p>Event IDs are assigned before saving, so the entity reports itself as new via {@link
+ * Persistable} until it is persisted or loaded; otherwise Spring Data would merge it, issuing a
+ * select per event.
  */
 @Entity
 @Table(
         name = "event_store",
         indexes = {
-            @Index(name = "idx_event_aggregate", columnList = "aggregate_id, version"),
-            @Index(name = "idx_event_type", columnList = "event_type"),
+            @Index(
+                    name = "idx_event_aggregate",
+                    columnList = "aggregate_id, version",
+                    unique = true),
+            @Index(name = "idx_event_position", columnList = "global_position", unique = true),
+            @Index(name = "idx_event_type", columnList = "event_type, global_position"),
             @Index(name = "idx_event_occurred", columnList = "occurred_at")
         })
-public class StoredEvent {
+public class StoredEvent implements Persistable<String> {
 
     @Id
     @Column(name = "event_id", length = 36)
     private String eventId;
 
+    @Column(
+            name = "global_position",
+            insertable = false,
+            updatable = false,
+            columnDefinition = "BIGINT GENERATED BY DEFAULT AS IDENTITY")
+    private Long globalPosition;
+
     @Column(name = "aggregate_id", nullable = false, length = 100)
     private String aggregateId;
 
@@ -52,12 +81,15 @@ public class StoredEvent {
     @Column(name = "stored_at", nullable = false)
     private Instant storedAt;
 
+    @Transient private boolean isNew = true;
+
     protected StoredEvent() {
         // JPA
     }
 
     private StoredEvent(Builder builder) {
         this.eventId = builder.eventId;
+        this.globalPosition = builder.globalPosition;
         this.aggregateId = builder.aggregateId;
         this.aggregateType = builder.aggregateType;
         this.eventType = builder.eventType;
@@ -65,7 +97,7 @@ public class StoredEvent {
         this.payload = builder.payload;
         this.metadata = builder.metadata;
         this.occurredAt = builder.occurredAt;
-        this.storedAt = Instant.now();
+        this.storedAt = builder.storedAt != null ? builder.storedAt : Instant.now();
     }
 
     public static Builder builder() {
@@ -76,6 +108,32 @@ public class StoredEvent {
         return eventId;
     }
 
+    @Override
+    public String getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Position of the event in the global log, or {@code null} on an event that was not loaded
+     * from the store.
+     *
+     * @return the global position
+     */
+    public Long getGlobalPosition() {
+        return globalPosition;
+    }
+
     public String getAggregateId() {
         return aggregateId;
     }
@@ -110,6 +168,7 @@ public class StoredEvent {
 
     public static class Builder {
         private String eventId;
+        private Long globalPosition;
         private String aggregateId;
         private String aggregateType;
         private String eventType;
@@ -117,12 +176,19 @@ public class StoredEvent {
         private String payload;
         private String metadata;
         private Instant occurredAt;
+        private Instant storedAt;
 
         public Builder eventId(String eventId) {
             this.eventId = eventId;
             return this;
         }
 
+        /** Sets the global position; normally assigned by the database on insert. */
+        public Builder globalPosition(Long globalPosition) {
+            this.globalPosition = globalPosition;
+            return this;
+        }
+
         public Builder aggregateId(String aggregateId) {
             this.aggregateId = aggregateId;
             return this;
@@ -158,6 +224,12 @@ public class StoredEvent {
             return this;
         }
 
+        /** Sets when the event was stored; defaults to the time of {@link #build()}. */
+        public Builder storedAt(Instant storedAt) {
+            this.storedAt = storedAt;
+            return this;
+        }
+
         public StoredEvent build() {
             return new StoredEvent(this);
         }
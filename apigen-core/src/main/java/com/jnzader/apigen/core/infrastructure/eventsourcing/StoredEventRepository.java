@@ -1,7 +1,9 @@
 package com.jnzader.apigen.core.infrastructure.eventsourcing;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,14 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface StoredEventRepository extends JpaRepository<StoredEvent, String> {
 
+    /** An aggregate ID and one of its versions. */
+    interface AggregateVersion {
+
+        String getAggregateId();
+
+        long getVersion();
+    }
+
     /**
      * Finds all events for an aggregate ordered by version.
      *
@@ -54,6 +64,21 @@ public interface StoredEventRepository extends JpaRepository<StoredEvent, String
     @Query("SELECT MAX(e.version) FROM StoredEvent e WHERE e.aggregateId = :aggregateId")
     Optional<Long> findMaxVersionByAggregateId(@Param("aggregateId") String aggregateId);
 
+    /**
+     * Finds which of the given aggregates have an event at one of the given versions, using the
+     * {@code (aggregate_id, version)} index. Callers match the pairs they need in the result.
+     *
+     * @param aggregateIds the aggregate identifiers
+     * @param versions the versions to look for
+     * @return the matching aggregate ID and version pairs
+     */
+    @Query(
+            "SELECT e.aggregateId AS aggregateId, e.version AS version FROM StoredEvent e"
+                    + " WHERE e.aggregateId IN :aggregateIds AND e.version IN :versions")
+    List<AggregateVersion> findAggregateVersions(
+            @Param("aggregateIds") Collection<String> aggregateIds,
+            @Param("versions") Collection<Long> versions);
+
     /**
      * Checks if any events exist for an aggregate.
      *
@@ -70,6 +95,35 @@ public interface StoredEventRepository extends JpaRepository<StoredEvent, String
      */
     List<StoredEvent> findByEventTypeOrderByStoredAtDesc(String eventType);
 
+    /**
+     * Finds the most recent events of a type, newest first, using the (event_type,
+     * global_position) index.
+     *
+     * @param eventType the event type
+     * @param pageable the page (only the size is used)
+     * @return events of the specified type
+     */
+    List<StoredEvent> findByEventTypeOrderByGlobalPositionDesc(
+            String eventType, Pageable pageable);
+
+    /**
+     * Gets the global position of the most recent event.
+     *
+     * @return the maximum position, or empty if the log is empty
+     */
+    @Query("SELECT MAX(e.globalPosition) FROM StoredEvent e")
+    Optional<Long> findMaxGlobalPosition();
+
+    /**
+     * Finds the events after a global position, in log order.
+     *
+     * @param position the position to start after (exclusive)
+     * @param pageable the page (only the size is used)
+     * @return events after the position
+     */
+    List<StoredEvent> findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+            long position, Pageable pageable);
+
     /**
      * Counts events for an aggregate.
      *
@@ -0,0 +1,22 @@
+package com.jnzader.apigen.core.infrastructure.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Estrategia para resolver la IP del cliente de un request.
+ *
+ * <p>Si hay un bean de este tipo, {@link RequestLoggingFilter} lo usa para poblar el {@link
+ * RequestAuthContext}; así todos los filtros comparten la misma IP, resuelta una sola vez. El
+ * módulo de seguridad lo implementa validando proxies de confianza.
+ */
+@FunctionalInterface
+public interface ClientAddressResolver {
+
+    /**
+     * Resuelve la IP del cliente.
+     *
+     * @param request HTTP request
+     * @return IP del cliente
+     */
+    String resolveClientIp(HttpServletRequest request);
+}
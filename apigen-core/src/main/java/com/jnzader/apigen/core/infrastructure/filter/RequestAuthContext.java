@@ -0,0 +1,123 @@
+package com.jnzader.apigen.core.infrastructure.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Optional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Contexto de autenticación del request, compartido por toda la cadena de filtros.
+ *
+ * <p>Se guarda como atributo del request y se pobla una sola vez: la IP del cliente al crearlo y el
+ * principal, el tier de rate limiting y el tenant a medida que se conocen. Los filtros y servicios
+ * que los necesitan los leen de aquí en lugar de volver a parsear headers, resolver la IP o extraer
+ * claims del token.
+ *
+ * <p>Ejemplo:
+ *
+ * <pre>{@code
+ * RequestAuthContext context = RequestAuthContext.of(request, clientIpResolver);
+ * String clientIp = context.getClientIp();
+ *
+ * // Fuera de los filtros
+ * RequestAuthContext.current().map(RequestAuthContext::getPrincipal);
+ * }</pre>
+ */
+public final class RequestAuthContext {
+
+    /** Nombre del atributo del request que guarda el contexto. */
+    public static final String ATTRIBUTE = RequestAuthContext.class.getName();
+
+    private final String clientIp;
+    private volatile String principal;
+    private volatile String tier;
+    private volatile String tenantId;
+
+    private RequestAuthContext(String clientIp) {
+        this.clientIp = clientIp;
+    }
+
+    /**
+     * Obtiene el contexto del request, creándolo si aún no existe.
+     *
+     * <p>La IP solo se resuelve al crearlo: si otro filtro ya lo creó, se reutiliza su IP.
+     *
+     * @param request HTTP request
+     * @param clientIpResolver resolvedor de la IP, usado solo si hay que crear el contexto
+     * @return el contexto del request
+     */
+    public static RequestAuthContext of(
+            HttpServletRequest request, ClientAddressResolver clientIpResolver) {
+        if (request.getAttribute(ATTRIBUTE) instanceof RequestAuthContext existing) {
+            return existing;
+        }
+        RequestAuthContext context =
+                new RequestAuthContext(clientIpResolver.resolveClientIp(request));
+        request.setAttribute(ATTRIBUTE, context);
+        return context;
+    }
+
+    /**
+     * Obtiene el contexto del request, si algún filtro lo creó.
+     *
+     * @param request HTTP request
+     * @return el contexto, o vacío si no existe
+     */
+    public static Optional<RequestAuthContext> find(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof RequestAuthContext context
+                ? Optional.of(context)
+                : Optional.empty();
+    }
+
+    /**
+     * Obtiene el contexto del request en curso, para código fuera de la cadena de filtros.
+     *
+     * @return el contexto, o vacío si no hay request o no se creó
+     */
+    public static Optional<RequestAuthContext> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof RequestAuthContext context) {
+            return Optional.of(context);
+        }
+        return Optional.empty();
+    }
+
+    /** IP del cliente, resuelta al crear el contexto. */
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    /** Nombre del usuario autenticado, o null si aún no se autenticó. */
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(String principal) {
+        this.principal = principal;
+    }
+
+    /** Indica si el request ya tiene un usuario autenticado. */
+    public boolean isAuthenticated() {
+        return principal != null;
+    }
+
+    /** Tier de rate limiting (ej. "pro"), o null si aún no se resolvió. */
+    public String getTier() {
+        return tier;
+    }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
+
+    /** Tenant del request, o null si no hay multi-tenancy o no se resolvió. */
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+}
@@ -11,6 +11,8 @@ import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -25,6 +27,9 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
  * información del request entrante (método, URI, headers) - Registra información del response
  * (status, duración) - Soporta logging del body para debugging (configurable) - Thread-safe usando
  * MDC para el ID de correlación
+ *
+ * <p>Crea el {@link RequestAuthContext} del request, resolviendo la IP del cliente una sola vez
+ * para toda la cadena de filtros.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -60,6 +65,24 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     private static final Pattern CREDIT_CARD_PATTERN =
             Pattern.compile("\\b(?:\\d{4}[- ]?){3}\\d{4}\\b");
 
+    private final ClientAddressResolver clientIpResolver;
+
+    /** Crea el filtro resolviendo la IP a partir de los headers de proxy. */
+    public RequestLoggingFilter() {
+        this.clientIpResolver = RequestLoggingFilter::getClientIp;
+    }
+
+    /**
+     * Crea el filtro usando el {@link ClientAddressResolver} registrado, si lo hay.
+     *
+     * @param clientIpResolver resolvedor de IP opcional
+     */
+    @Autowired
+    public RequestLoggingFilter(ObjectProvider<ClientAddressResolver> clientIpResolver) {
+        this.clientIpResolver =
+                clientIpResolver.getIfAvailable(() -> RequestLoggingFilter::getClientIp);
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -94,6 +117,11 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             filterChain.doFilter(wrappedRequest, wrappedResponse);
 
         } finally {
+            // El usuario ya se conoce si algún filtro posterior autenticó el request
+            RequestAuthContext.find(request)
+                    .map(RequestAuthContext::getPrincipal)
+                    .ifPresent(principal -> MDC.put(MDC_USER_ID, principal));
+
             // Log response saliente
             long duration = System.currentTimeMillis() - startTime;
             logResponse(wrappedRequest, wrappedResponse, duration);
@@ -129,7 +157,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         MDC.put(MDC_CORRELATION_ID, correlationId);
         MDC.put(MDC_REQUEST_ID, requestId);
         MDC.put(MDC_SPAN_ID, spanId);
-        MDC.put(MDC_CLIENT_IP, getClientIp(request));
+        MDC.put(MDC_CLIENT_IP, RequestAuthContext.of(request, clientIpResolver).getClientIp());
         MDC.put(MDC_HTTP_METHOD, request.getMethod());
         MDC.put(MDC_REQUEST_URI, request.getRequestURI());
 
@@ -242,7 +270,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         return result;
     }
 
-    private String getClientIp(HttpServletRequest request) {
+    private static String getClientIp(HttpServletRequest request) {
         String ip = request.getHeader("X-Forwarded-For");
         if (ip == null || ip.isBlank() || UNKNOWN_IP.equalsIgnoreCase(ip)) {
             ip = request.getHeader("X-Real-IP");
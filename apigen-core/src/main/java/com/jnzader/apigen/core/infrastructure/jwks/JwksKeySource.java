@@ -0,0 +1,337 @@
+package com.jnzader.apigen.core.infrastructure.jwks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Public keys fetched from a JWKS endpoint (RFC 7517), cached locally.
+ *
+ * <p>Supports {@code EC} P-256 keys (ES256) and {@code OKP} Ed25519 keys (EdDSA). The key set is
+ * cached for the {@code max-age} of the response (or a default TTL) and refreshed ahead of time:
+ * once 80% of the TTL has elapsed, the next lookup triggers a background refresh while the cached
+ * keys keep being served, so verification never waits on the network in steady state.
+ *
+ * <p>A lookup for an unknown {@code kid}, typically right after the issuer rotates its key,
+ * refetches the key set, at most once per {@code minRefreshInterval} so that tokens with bogus key
+ * IDs cannot be used to flood the issuer. Concurrent lookups share the same fetch, and no lock is
+ * held while it runs. If a refresh fails the previous keys are kept.
+ *
+ * <p>Call {@link #prefetch()} at startup so the first requests find the keys cached. Callers that
+ * must not block, such as a reactive gateway running on the event loop, use {@link
+ * #getKeyAsync(String)}, which fetches with {@link HttpClient#sendAsync}.
+ *
+ * <p>Usage example:
+ *
+ * <pre>{@code
+ * JwksKeySource keys = new JwksKeySource(URI.create("https://auth/.well-known/jwks.json"), mapper);
+ * keys.prefetch();
+ * PublicKey key = keys.getKey(kid);
+ * }</pre>
+ */
+public class JwksKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final double REFRESH_AHEAD_FRACTION = 0.8;
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    /** DER prefix of an X.509 Ed25519 public key; the raw 32-byte key follows it. */
+    private static final byte[] ED25519_X509_PREFIX = {
+        0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00
+    };
+
+    private final URI uri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration defaultTtl;
+    private final Duration minRefreshInterval;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private Instant lastFetchAttempt = Instant.EPOCH;
+    private CompletableFuture<KeySet> pendingFetch;
+
+    public JwksKeySource(URI uri, ObjectMapper objectMapper) {
+        this(
+                uri,
+                objectMapper,
+                HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build(),
+                DEFAULT_TTL,
+                DEFAULT_MIN_REFRESH_INTERVAL);
+    }
+
+    public JwksKeySource(
+            URI uri,
+            ObjectMapper objectMapper,
+            HttpClient httpClient,
+            Duration defaultTtl,
+            Duration minRefreshInterval) {
+        this.uri = uri;
+        this.objectMapper = objectMapper;
+        this.httpClient = httpClient;
+        this.defaultTtl = defaultTtl;
+        this.minRefreshInterval = minRefreshInterval;
+    }
+
+    /**
+     * Gets the public key with the given ID, waiting for a refetch if the key is not cached.
+     *
+     * @param kid the key ID from the token header
+     * @return the key, or {@code null} if the JWKS does not contain it
+     */
+    public PublicKey getKey(String kid) {
+        PublicKey key = cachedKey(kid);
+        if (key == null) {
+            key = refreshIfAllowed().join().keys().get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Gets the public key with the given ID without blocking the calling thread.
+     *
+     * <p>Completes immediately when the key is cached; otherwise completes once the refetch
+     * triggered for the unknown key ID finishes.
+     *
+     * @param kid the key ID from the token header
+     * @return the key, or a future completed with {@code null} if the JWKS does not contain it
+     */
+    public CompletableFuture<PublicKey> getKeyAsync(String kid) {
+        PublicKey key = cachedKey(kid);
+        if (key != null) {
+            return CompletableFuture.completedFuture(key);
+        }
+        return refreshIfAllowed().thenApply(keys -> keys.keys().get(kid));
+    }
+
+    /**
+     * Fetches the key set now, regardless of the cache.
+     *
+     * @throws JwksVerificationException if the JWKS cannot be fetched or parsed
+     */
+    public void refresh() {
+        synchronized (this) {
+            lastFetchAttempt = Instant.now();
+        }
+        keySet = fetch();
+    }
+
+    /**
+     * Loads the key set so that the first lookups are served from the cache. A failure is logged
+     * and the keys are fetched again on the first lookup.
+     */
+    public void prefetch() {
+        try {
+            refresh();
+        } catch (JwksVerificationException e) {
+            log.warn("Could not prefetch JWKS from {}: {}", uri, e.getMessage());
+        }
+    }
+
+    private PublicKey cachedKey(String kid) {
+        KeySet current = keySet;
+        if (current != KeySet.EMPTY && Instant.now().isAfter(current.refreshAt())) {
+            refreshInBackground();
+        }
+        return current.keys().get(kid);
+    }
+
+    /** Starts a fetch for an unknown key ID, or joins the one in flight; never blocks. */
+    private synchronized CompletableFuture<KeySet> refreshIfAllowed() {
+        if (pendingFetch != null) {
+            return pendingFetch;
+        }
+        Instant now = Instant.now();
+        if (now.isBefore(lastFetchAttempt.plus(minRefreshInterval))) {
+            return CompletableFuture.completedFuture(keySet);
+        }
+        lastFetchAttempt = now;
+        CompletableFuture<KeySet> fetch =
+                httpClient
+                        .sendAsync(request(), HttpResponse.BodyHandlers.ofString())
+                        .thenApply(this::toKeySet)
+                        .handle(
+                                (keys, error) -> {
+                                    if (error != null) {
+                                        log.warn(
+                                                "Could not refresh JWKS from {}: {}",
+                                                uri,
+                                                rootCause(error).getMessage());
+                                        return keySet;
+                                    }
+                                    keySet = keys;
+                                    return keys;
+                                });
+        pendingFetch = fetch;
+        fetch.whenComplete((keys, error) -> clearPendingFetch(fetch));
+        return fetch;
+    }
+
+    private synchronized void clearPendingFetch(CompletableFuture<KeySet> fetch) {
+        if (pendingFetch == fetch) {
+            pendingFetch = null;
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual()
+                .name("jwks-refresh")
+                .start(
+                        () -> {
+                            try {
+                                refresh();
+                            } catch (JwksVerificationException e) {
+                                log.warn(
+                                        "Could not refresh JWKS from {}: {}", uri, e.getMessage());
+                            } finally {
+                                refreshing.set(false);
+                            }
+                        });
+    }
+
+    private KeySet fetch() {
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new JwksVerificationException(
+                    "JWKS request failed: " + e.getMessage(),
+                    JwksVerificationException.UNKNOWN_KEY,
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JwksVerificationException(
+                    "JWKS request interrupted", JwksVerificationException.UNKNOWN_KEY, e);
+        }
+        return toKeySet(response);
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private KeySet toKeySet(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new JwksVerificationException(
+                    "JWKS request returned " + response.statusCode(),
+                    JwksVerificationException.UNKNOWN_KEY);
+        }
+
+        Map<String, PublicKey> keys = parse(response.body());
+        Duration ttl =
+                response.headers()
+                        .firstValue("Cache-Control")
+                        .map(MAX_AGE::matcher)
+                        .filter(Matcher::find)
+                        .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+                        .orElse(defaultTtl);
+        Instant refreshAt =
+                Instant.now().plusMillis((long) (ttl.toMillis() * REFRESH_AHEAD_FRACTION));
+        log.debug("Loaded {} keys from {} (refresh in {})", keys.size(), uri, ttl);
+        return new KeySet(keys, refreshAt);
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+    }
+
+    private Map<String, PublicKey> parse(String body) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new JwksVerificationException(
+                    "Invalid JWKS document", JwksVerificationException.UNKNOWN_KEY, e);
+        }
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : root.path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            if (kid == null || "enc".equals(jwk.path("use").asText())) {
+                continue;
+            }
+            try {
+                PublicKey key = toPublicKey(jwk);
+                if (key != null) {
+                    keys.put(kid, key);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping invalid JWK {}: {}", kid, e.getMessage());
+            }
+        }
+        return Map.copyOf(keys);
+    }
+
+    /** Converts a JWK to a public key; {@code null} for unsupported key types. */
+    static PublicKey toPublicKey(JsonNode jwk) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        String kty = jwk.path("kty").asText();
+        String crv = jwk.path("crv").asText();
+        if ("EC".equals(kty) && "P-256".equals(crv)) {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            ECPoint point =
+                    new ECPoint(
+                            new BigInteger(1, decoder.decode(jwk.path("x").asText())),
+                            new BigInteger(1, decoder.decode(jwk.path("y").asText())));
+            return KeyFactory.getInstance("EC")
+                    .generatePublic(
+                            new ECPublicKeySpec(
+                                    point, parameters.getParameterSpec(ECParameterSpec.class)));
+        }
+        if ("OKP".equals(kty) && "Ed25519".equals(crv)) {
+            byte[] raw = decoder.decode(jwk.path("x").asText());
+            byte[] encoded = new byte[ED25519_X509_PREFIX.length + raw.length];
+            System.arraycopy(ED25519_X509_PREFIX, 0, encoded, 0, ED25519_X509_PREFIX.length);
+            System.arraycopy(raw, 0, encoded, ED25519_X509_PREFIX.length, raw.length);
+            return KeyFactory.getInstance("Ed25519")
+                    .generatePublic(new X509EncodedKeySpec(encoded));
+        }
+        return null;
+    }
+
+    /** Cached keys and the instant after which they are refreshed in the background. */
+    private record KeySet(Map<String, PublicKey> keys, Instant refreshAt) {
+
+        private static final KeySet EMPTY = new KeySet(Map.of(), Instant.EPOCH);
+    }
+}
@@ -0,0 +1,200 @@
+package com.jnzader.apigen.core.infrastructure.jwks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Verifies ES256/EdDSA-signed JWTs with the keys of a {@link JwksKeySource}.
+ *
+ * <p>Lets services that only hold the issuer's public keys (the gateway, gRPC services) verify
+ * tokens locally, without calling the issuer or sharing its secret. Checks the signature, {@code
+ * exp}, {@code nbf}, {@code type} and, when configured, {@code iss}. HMAC and unsigned tokens are
+ * rejected, so a public key can never be used as an HMAC secret, and so are refresh tokens, which
+ * are signed with the same key but must only be accepted by the issuer's refresh endpoint.
+ *
+ * <p>Usage example:
+ *
+ * <pre>{@code
+ * JwksTokenVerifier verifier = new JwksTokenVerifier(keySource, "apigen", mapper);
+ * JwtClaims claims = verifier.verify(token);
+ * }</pre>
+ */
+public class JwksTokenVerifier {
+
+    private static final Duration DEFAULT_CLOCK_SKEW = Duration.ofSeconds(30);
+    private static final int ES256_SIGNATURE_LENGTH = 64;
+    private static final String TYPE_ACCESS = "access";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final JwksKeySource keySource;
+    private final String issuer;
+    private final Duration clockSkew;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a verifier.
+     *
+     * @param keySource the issuer's public keys
+     * @param issuer the expected {@code iss} claim, or {@code null} to accept any issuer
+     * @param objectMapper mapper used to read the token header and payload
+     */
+    public JwksTokenVerifier(JwksKeySource keySource, String issuer, ObjectMapper objectMapper) {
+        this(keySource, issuer, DEFAULT_CLOCK_SKEW, objectMapper);
+    }
+
+    public JwksTokenVerifier(
+            JwksKeySource keySource, String issuer, Duration clockSkew, ObjectMapper objectMapper) {
+        this.keySource = keySource;
+        this.issuer = issuer;
+        this.clockSkew = clockSkew;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Verifies a compact JWS and returns its claims.
+     *
+     * @param token the token, without the {@code Bearer} prefix
+     * @return the verified claims
+     * @throws JwksVerificationException if the token is malformed, not signed by a JWKS key,
+     *     expired, not an access token or issued by another issuer
+     */
+    public JwtClaims verify(String token) {
+        ParsedToken parsed = parse(token);
+        return verifyWith(parsed, keySource.getKey(parsed.kid()));
+    }
+
+    /**
+     * Verifies a compact JWS without blocking the calling thread while an unknown signing key is
+     * fetched.
+     *
+     * @param token the token, without the {@code Bearer} prefix
+     * @return the verified claims, or a future failed with a {@link JwksVerificationException}
+     */
+    public CompletableFuture<JwtClaims> verifyAsync(String token) {
+        ParsedToken parsed;
+        try {
+            parsed = parse(token);
+        } catch (JwksVerificationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return keySource.getKeyAsync(parsed.kid()).thenApply(key -> verifyWith(parsed, key));
+    }
+
+    private ParsedToken parse(String token) {
+        String[] parts = token != null ? token.split("\\.", -1) : new String[0];
+        if (parts.length != 3) {
+            throw invalid("Malformed token");
+        }
+
+        Map<String, Object> header = decode(parts[0]);
+        String algorithm = String.valueOf(header.get("alg"));
+        if (!"ES256".equals(algorithm) && !"EdDSA".equals(algorithm)) {
+            throw invalid("Unsupported algorithm: " + algorithm);
+        }
+        if (!(header.get("kid") instanceof String kid)) {
+            throw invalid("Missing key ID");
+        }
+        return new ParsedToken(parts, algorithm, kid);
+    }
+
+    private JwtClaims verifyWith(ParsedToken token, PublicKey key) {
+        if (key == null) {
+            throw new JwksVerificationException(
+                    "Unknown signing key: " + token.kid(), JwksVerificationException.UNKNOWN_KEY);
+        }
+
+        String[] parts = token.parts();
+        byte[] signature = base64(parts[2]);
+        boolean es256 = "ES256".equals(token.algorithm());
+        if (es256 && signature.length != ES256_SIGNATURE_LENGTH) {
+            throw invalid("Invalid signature");
+        }
+        if (!verifySignature(
+                es256 ? "SHA256withECDSAinP1363Format" : "Ed25519",
+                key,
+                (parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII),
+                signature)) {
+            throw invalid("Invalid signature");
+        }
+
+        JwtClaims claims = new JwtClaims(decode(parts[1]));
+        validateClaims(claims);
+        return claims;
+    }
+
+    private void validateClaims(JwtClaims claims) {
+        Instant now = Instant.now();
+        Instant expiration = instant(claims, "exp");
+        if (expiration == null) {
+            throw invalid("Missing expiration");
+        }
+        if (now.minus(clockSkew).isAfter(expiration)) {
+            throw new JwksVerificationException(
+                    "Token has expired", JwksVerificationException.TOKEN_EXPIRED);
+        }
+        Instant notBefore = instant(claims, "nbf");
+        if (notBefore != null && now.plus(clockSkew).isBefore(notBefore)) {
+            throw new JwksVerificationException(
+                    "Token is not valid yet", JwksVerificationException.TOKEN_EXPIRED);
+        }
+        if (!TYPE_ACCESS.equals(claims.get("type"))) {
+            throw invalid("Not an access token");
+        }
+        if (issuer != null && !issuer.equals(claims.get("iss"))) {
+            throw invalid("Unexpected issuer");
+        }
+    }
+
+    private static boolean verifySignature(
+            String algorithm, PublicKey key, byte[] content, byte[] signature) {
+        try {
+            Signature verifier = Signature.getInstance(algorithm);
+            verifier.initVerify(key);
+            verifier.update(content);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            // Also covers a key of the wrong type for the token's algorithm
+            return false;
+        }
+    }
+
+    private Map<String, Object> decode(String part) {
+        try {
+            return objectMapper.readValue(base64(part), MAP_TYPE);
+        } catch (IOException e) {
+            throw invalid("Malformed token");
+        }
+    }
+
+    private static byte[] base64(String part) {
+        try {
+            return Base64.getUrlDecoder().decode(part);
+        } catch (IllegalArgumentException e) {
+            throw invalid("Malformed token");
+        }
+    }
+
+    private static Instant instant(JwtClaims claims, String name) {
+        return claims.claims().get(name) instanceof Number seconds
+                ? Instant.ofEpochSecond(seconds.longValue())
+                : null;
+    }
+
+    private static JwksVerificationException invalid(String message) {
+        return new JwksVerificationException(message, JwksVerificationException.INVALID_TOKEN);
+    }
+
+    /** A token split into its parts, with the header fields needed to pick the key. */
+    private record ParsedToken(String[] parts, String algorithm, String kid) {}
+}
@@ -0,0 +1,30 @@
+package com.jnzader.apigen.core.infrastructure.jwks;
+
+/** Thrown when a JWT cannot be verified against a JWKS. */
+public class JwksVerificationException extends RuntimeException {
+
+    /** The token is malformed or its signature does not verify. */
+    public static final String INVALID_TOKEN = "INVALID_TOKEN";
+
+    /** The token has expired or is not valid yet. */
+    public static final String TOKEN_EXPIRED = "TOKEN_EXPIRED";
+
+    /** The token was signed with a key that is not in the JWKS. */
+    public static final String UNKNOWN_KEY = "UNKNOWN_KEY";
+
+    private final String errorCode;
+
+    public JwksVerificationException(String message, String errorCode) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    public JwksVerificationException(String message, String errorCode, Throwable cause) {
+        super(message, cause);
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,53 @@
+package com.jnzader.apigen.core.infrastructure.jwks;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Claims of a JWT verified by {@link JwksTokenVerifier}.
+ *
+ * <p>Reads the claims issued by the APiGen security module: {@code sub}, {@code userId}, {@code
+ * role} and, for stateless tokens, {@code authorities}.
+ *
+ * @param claims the token payload
+ */
+public record JwtClaims(Map<String, Object> claims) {
+
+    public JwtClaims {
+        claims = Map.copyOf(claims);
+    }
+
+    /** The token subject (the username), or {@code null}. */
+    public String subject() {
+        return get("sub");
+    }
+
+    /** The {@code userId} claim as a string, falling back to the subject. */
+    public String userId() {
+        Object userId = claims.get("userId");
+        return userId != null ? userId.toString() : subject();
+    }
+
+    /**
+     * The granted roles: the {@code authorities} claim when present, otherwise the single {@code
+     * role} claim.
+     */
+    public Set<String> roles() {
+        Set<String> roles = new LinkedHashSet<>();
+        if (claims.get("authorities") instanceof Collection<?> authorities) {
+            authorities.forEach(authority -> roles.add(String.valueOf(authority)));
+        } else if (claims.get("role") != null) {
+            roles.add(claims.get("role").toString());
+        }
+        return Collections.unmodifiableSet(roles);
+    }
+
+    /** A string claim, or {@code null} if absent. */
+    public String get(String name) {
+        Object value = claims.get(name);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.jnzader.apigen.core.infrastructure.multitenancy;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,7 +23,7 @@ import org.slf4j.LoggerFactory;
  *
  * <ul>
  *   <li>Resolves tenant ID from the request
- *   <li>Sets the tenant in {@link TenantContext}
+ *   <li>Sets the tenant in {@link TenantContext} and in the {@link RequestAuthContext}, if any
  *   <li>Adds X-Tenant-ID header to the response
  *   <li>Clears the context after request processing
  * </ul>
@@ -90,6 +91,8 @@ public class TenantFilter implements Filter {
 
             // Set tenant context
             TenantContext.setTenantId(tenantId);
+            RequestAuthContext.find(httpRequest)
+                    .ifPresent(context -> context.setTenantId(tenantId));
 
             // Add tenant header to response
             httpResponse.setHeader(TENANT_HEADER, tenantId);
@@ -0,0 +1,26 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link SseBackplane} that delivers messages synchronously.
+ *
+ * <p>Sharing one instance between several {@link SseEmitterService}s simulates a cluster without a
+ * real Redis server.
+ */
+public class InMemorySseBackplane implements SseBackplane {
+
+    private final List<Consumer<SseBackplaneMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(SseBackplaneMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<SseBackplaneMessage> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/** {@link SseBackplane} backed by a Redis pub/sub channel. */
+public class RedisSseBackplane implements SseBackplane {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSseBackplane.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+
+    /**
+     * Creates the backplane.
+     *
+     * @param redisTemplate template used to publish
+     * @param listenerContainer container receiving channel messages
+     * @param channel the pub/sub channel name
+     */
+    public RedisSseBackplane(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(SseBackplaneMessage message) {
+        redisTemplate.convertAndSend(topic.getTopic(), message.encode());
+    }
+
+    @Override
+    public void subscribe(Consumer<SseBackplaneMessage> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> {
+                    try {
+                        listener.accept(
+                                SseBackplaneMessage.decode(
+                                        new String(message.getBody(), StandardCharsets.UTF_8)));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Ignoring malformed SSE backplane message: {}", e.getMessage());
+                    }
+                },
+                topic);
+    }
+}
@@ -0,0 +1,27 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel used by {@link SseEmitterService} to share broadcasts with every node of a cluster, so
+ * clients receive events regardless of the node they are connected to.
+ *
+ * <p>Implementations: {@link RedisSseBackplane} (Redis pub/sub) and {@link InMemorySseBackplane}
+ * (in-process stand-in for tests and single-node setups).
+ */
+public interface SseBackplane {
+
+    /**
+     * Publishes a message to every subscribed node, including the publisher.
+     *
+     * @param message the message
+     */
+    void publish(SseBackplaneMessage message);
+
+    /**
+     * Registers a listener for messages published by any node.
+     *
+     * @param listener the listener
+     */
+    void subscribe(Consumer<SseBackplaneMessage> listener);
+}
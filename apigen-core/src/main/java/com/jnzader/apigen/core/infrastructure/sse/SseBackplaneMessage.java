@@ -0,0 +1,91 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch of broadcasts shared between nodes over an {@link SseBackplane}.
+ *
+ * <p>Encoded as plain text: the {@code origin} line, then for each event its {@code topic}, {@code
+ * id} and {@code name} lines, the length of the data and the data itself. The data is the already
+ * serialized event and may span several lines; the other fields must not contain line breaks.
+ *
+ * @param origin id of the node that broadcast the events (ignored by that same node)
+ * @param events the events, in broadcast order
+ */
+public record SseBackplaneMessage(String origin, List<Event> events) {
+
+    public SseBackplaneMessage {
+        events = events != null ? List.copyOf(events) : List.of();
+    }
+
+    /**
+     * A broadcast event. Nodes keep its ID, so their replay logs can resume from the same IDs.
+     *
+     * @param topic the topic
+     * @param id the event ID
+     * @param name the event name
+     * @param data the serialized event data
+     */
+    public record Event(String topic, String id, String name, String data) {}
+
+    /**
+     * Encodes the message as text.
+     *
+     * @return the encoded message
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder().append(origin).append('\n');
+        for (Event event : events) {
+            sb.append(event.topic())
+                    .append('\n')
+                    .append(event.id())
+                    .append('\n')
+                    .append(event.name())
+                    .append('\n')
+                    .append(event.data().length())
+                    .append('\n')
+                    .append(event.data())
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a message produced by {@link #encode()}.
+     *
+     * @param encoded the encoded text
+     * @return the message
+     * @throws IllegalArgumentException if the text is not a valid message
+     */
+    public static SseBackplaneMessage decode(String encoded) {
+        try {
+            int end = encoded.indexOf('\n');
+            String origin = encoded.substring(0, end);
+            List<Event> events = new ArrayList<>();
+            int pos = end + 1;
+            while (pos < encoded.length()) {
+                String[] fields = new String[4];
+                for (int i = 0; i < fields.length; i++) {
+                    end = encoded.indexOf('\n', pos);
+                    fields[i] = encoded.substring(pos, end);
+                    pos = end + 1;
+                }
+                int length = Integer.parseInt(fields[3]);
+                events.add(
+                        new Event(
+                                fields[0],
+                                fields[1],
+                                fields[2],
+                                encoded.substring(pos, pos + length)));
+                if (encoded.charAt(pos + length) != '\n') {
+                    throw new IllegalArgumentException("Invalid SSE backplane message");
+                }
+                pos += length + 1;
+            }
+            return new SseBackplaneMessage(origin, events);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid SSE backplane message", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes a node's broadcasts to the {@link SseBackplane} in batches.
+ *
+ * <p>A single writer task sends everything queued while the previous message was in flight, up to
+ * {@code maxBatchSize} events per message. A lone event is sent right away, while a burst of
+ * broadcasts shares a few backplane messages instead of one round trip each. Events keep their
+ * broadcast order.
+ */
+final class SseBackplanePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(SseBackplanePublisher.class);
+
+    static final String METRIC_BATCH_SIZE = "apigen.sse.backplane.batch.size";
+
+    private final SseBackplane backplane;
+    private final String nodeId;
+    private final int maxBatchSize;
+    private final Executor executor;
+    private final Queue<SseBackplaneMessage.Event> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    private final DistributionSummary batchSize;
+
+    SseBackplanePublisher(
+            SseBackplane backplane,
+            String nodeId,
+            int maxBatchSize,
+            Executor executor,
+            MeterRegistry meterRegistry) {
+        this.backplane = backplane;
+        this.nodeId = nodeId;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+        this.batchSize =
+                DistributionSummary.builder(METRIC_BATCH_SIZE)
+                        .description("Events per SSE backplane message")
+                        .register(meterRegistry);
+    }
+
+    /** Queues an event for the other nodes without blocking. */
+    void publish(SseBackplaneMessage.Event event) {
+        pending.add(event);
+        if (publishing.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                publishing.set(false);
+                log.debug("SSE backplane publisher rejected: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            List<SseBackplaneMessage.Event> batch = new ArrayList<>();
+            SseBackplaneMessage.Event event;
+            while ((event = pending.poll()) != null) {
+                batch.add(event);
+                if (batch.size() == maxBatchSize) {
+                    send(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+            publishing.set(false);
+        } while (!pending.isEmpty() && publishing.compareAndSet(false, true));
+    }
+
+    private void send(List<SseBackplaneMessage.Event> batch) {
+        try {
+            backplane.publish(new SseBackplaneMessage(nodeId, batch));
+            batchSize.record(batch.size());
+        } catch (RuntimeException e) {
+            // Local clients already have these events; only other nodes miss them
+            log.warn(
+                    "Failed to publish {} SSE event(s) to the backplane: {}",
+                    batch.size(),
+                    e.getMessage());
+        }
+    }
+}
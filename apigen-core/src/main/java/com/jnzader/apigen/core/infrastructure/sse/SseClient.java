@@ -0,0 +1,209 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import com.jnzader.apigen.core.infrastructure.sse.SseEmitterService.SlowConsumerPolicy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * A connected SSE client with its own bounded send buffer.
+ *
+ * <p>Frames are queued by the broadcaster and written by a single writer task per client, so a
+ * client that reads slowly only fills its own buffer. When the buffer is full, the {@link
+ * SlowConsumerPolicy} decides whether the oldest or the newest frame is dropped, or whether the
+ * client is disconnected.
+ *
+ * <p>The connection event and replayed history go through a separate, unbounded backlog that is
+ * written before the buffer, so they are never dropped and always precede live events. While a
+ * resuming client's history is being read, live frames are buffered but not written, and those
+ * already covered by the history are skipped.
+ */
+final class SseClient {
+
+    private static final Logger log = LoggerFactory.getLogger(SseClient.class);
+
+    private final String id;
+    private final String topic;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseFrame> buffer;
+    private final Queue<SseFrame> backlog = new ConcurrentLinkedQueue<>();
+    private final SlowConsumerPolicy policy;
+    private final Executor executor;
+    private final SseEmitterService service;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile boolean holdingLive;
+    private volatile long replayedThroughSeq = -1;
+
+    SseClient(
+            String id,
+            String topic,
+            SseEmitter emitter,
+            int bufferSize,
+            SlowConsumerPolicy policy,
+            Executor executor,
+            SseEmitterService service) {
+        this.id = id;
+        this.topic = topic;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.policy = policy;
+        this.executor = executor;
+        this.service = service;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String topic() {
+        return topic;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a frame for this client without blocking.
+     *
+     * @param frame the frame
+     * @return {@code false} if the client is closed or was disconnected by the slow consumer
+     *     policy
+     */
+    boolean enqueue(SseFrame frame) {
+        return enqueue(frame, -1);
+    }
+
+    /**
+     * Queues a broadcast frame for this client without blocking.
+     *
+     * @param frame the frame
+     * @param seq the frame's sequence in the topic's replay log, or {@code -1}
+     * @return {@code false} if the client is closed or was disconnected by the slow consumer
+     *     policy
+     */
+    boolean enqueue(SseFrame frame, long seq) {
+        if (closed) {
+            return false;
+        }
+        if (seq >= 0 && seq <= replayedThroughSeq) {
+            // Already part of the replayed history
+            return true;
+        }
+        if (!buffer.offer(frame)) {
+            switch (policy) {
+                case DROP_NEWEST -> {
+                    service.frameDropped(this);
+                    return true;
+                }
+                case DROP_OLDEST -> {
+                    while (!buffer.offer(frame)) {
+                        if (buffer.poll() != null) {
+                            service.frameDropped(this);
+                        }
+                    }
+                }
+                case DISCONNECT -> {
+                    log.debug("Disconnecting slow SSE client {} in topic {}", id, topic);
+                    service.frameDropped(this);
+                    disconnect();
+                    return false;
+                }
+            }
+        }
+        scheduleWrite();
+        return true;
+    }
+
+    /**
+     * Queues frames that must not be dropped, ahead of the live buffer.
+     *
+     * @param frames the frames, oldest first
+     */
+    void replay(List<SseFrame> frames) {
+        if (closed) {
+            return;
+        }
+        backlog.addAll(frames);
+        scheduleWrite();
+    }
+
+    /**
+     * Holds live frames back until {@link #releaseLive()}, skipping those up to a sequence.
+     *
+     * @param seq the last sequence that the replayed history covers
+     */
+    void holdLive(long seq) {
+        replayedThroughSeq = seq;
+        holdingLive = true;
+    }
+
+    /** Starts writing the live frames held back by {@link #holdLive(long)}. */
+    void releaseLive() {
+        holdingLive = false;
+        scheduleWrite();
+    }
+
+    /** Stops writing and discards queued frames. */
+    void close() {
+        closed = true;
+        backlog.clear();
+        buffer.clear();
+    }
+
+    /** Closes the client and completes its emitter off the broadcasting thread. */
+    private void disconnect() {
+        close();
+        try {
+            executor.execute(() -> service.disconnectClient(id));
+        } catch (RejectedExecutionException _) {
+            service.disconnectClient(id);
+        }
+    }
+
+    private void scheduleWrite() {
+        if (writing.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                writing.set(false);
+                log.debug("SSE writer rejected for client {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            SseFrame frame;
+            while (!closed && (frame = next()) != null) {
+                try {
+                    emitter.send(frame.payload());
+                    service.frameWritten(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // IllegalStateException: the emitter has already completed
+                    log.debug("Error sending to client {}: {}", id, e.getMessage());
+                    service.removeClient(this);
+                    return;
+                }
+            }
+            writing.set(false);
+        } while (!closed
+                && !(backlog.isEmpty() && (holdingLive || buffer.isEmpty()))
+                && writing.compareAndSet(false, true));
+    }
+
+    private SseFrame next() {
+        SseFrame frame = backlog.poll();
+        return frame != null || holdingLive ? frame : buffer.poll();
+    }
+}
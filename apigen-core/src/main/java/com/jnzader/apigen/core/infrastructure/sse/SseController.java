@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -44,7 +45,11 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  * </pre>
  *
  * <p>Available events: - connected: Sent when connection is established (includes clientId) -
- * heartbeat: Periodic keepalive - message: Generic event (configurable by topic)
+ * heartbeat: Periodic keepalive - message: Generic event (configurable by topic) - resync: Sent on
+ * reconnect when the events missed since Last-Event-ID are no longer retained
+ *
+ * <p>EventSource reconnects on its own and sends the ID of the last event it received in the
+ * {@code Last-Event-ID} header; the events broadcast in between are replayed first.
  */
 @RestController
 @RequestMapping("${app.api.base-path:}/v1/events")
@@ -68,6 +73,9 @@ public class SseController {
 
                     Available topics depend on the application configuration.
                     Common examples: 'orders', 'notifications', 'updates'.
+
+                    On reconnect, events broadcast after Last-Event-ID are replayed.
+                    If they are no longer retained, a 'resync' event is sent instead.
                     """)
     @ApiResponse(
             responseCode = "200",
@@ -79,8 +87,11 @@ public class SseController {
                     String topic,
             @Parameter(description = "Optional client ID (one is generated if not provided)")
                     @RequestParam(required = false)
-                    String clientId) {
-        return sseEmitterService.subscribe(topic, clientId);
+                    String clientId,
+            @Parameter(description = "ID of the last event received, to resume after it")
+                    @RequestHeader(value = "Last-Event-ID", required = false)
+                    String lastEventId) {
+        return sseEmitterService.subscribe(topic, clientId, lastEventId);
     }
 
     @Operation(
@@ -1,12 +1,31 @@
 package com.jnzader.apigen.core.infrastructure.sse;
 
-import java.io.IOException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -17,6 +36,43 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  * - Send to specific clients by ID - Automatic cleanup of dead connections - Thread-safe for
  * concurrent use
  *
+ * <p>Fan-out: each event is serialized and encoded into an SSE frame once, and the same bytes are
+ * queued for every subscriber. Each client has a bounded buffer drained by its own writer on a
+ * virtual thread, so {@code broadcast} never blocks on a slow client. When a client's buffer is
+ * full, the {@link SlowConsumerPolicy} drops the oldest or newest frame, or disconnects the client.
+ *
+ * <p>Metrics (tag {@code topic}):
+ *
+ * <ul>
+ *   <li>{@code apigen.sse.fanout.latency} - time from broadcast until a frame is written to a
+ *       client
+ *   <li>{@code apigen.sse.dropped} - frames dropped by the slow consumer policy, with tag {@code
+ *       policy}
+ * </ul>
+ *
+ * <p>Configuration: {@code apigen.sse.client-buffer-size} (default 256) and {@code
+ * apigen.sse.slow-consumer-policy} ({@code DROP_OLDEST}, {@code DROP_NEWEST} or {@code
+ * DISCONNECT}).
+ *
+ * <p>Resume (opt-in): with {@code apigen.sse.replay.size} greater than 0 (default 0, disabled),
+ * broadcasts to a topic are recorded in a bounded {@link SseReplayLog} of that many events. A
+ * topic gets a log when its first client subscribes, and the log is dropped once the topic has had
+ * no subscribers for {@code apigen.sse.replay.retention-millis} (default 300000), so broadcasts to
+ * topics nobody follows cost nothing. A client that reconnects with the {@code Last-Event-ID}
+ * header, which browsers send automatically, first receives the events it missed. If that event
+ * is no longer retained, it receives a {@code resync} event instead and should reload its data.
+ * With {@code apigen.sse.replay.spill-directory} set, frames evicted from memory are kept in
+ * segment files ({@code apigen.sse.replay.max-segments} of {@code replay.size} frames each). Only
+ * broadcasts carry event IDs: connection events, direct messages and heartbeats do not move the
+ * client's resume point.
+ *
+ * <p>Cluster: with an {@link SseBackplane} bean (see {@code apigen.sse.backplane.type=redis}),
+ * broadcasts are delivered locally and also shared with the other nodes, which deliver them to
+ * their own subscribers under the same event ID, so a client can resume on any node that has a
+ * replay log for the topic. Events are
+ * sent to the backplane in batches of up to {@code apigen.sse.backplane.max-batch-size} (default
+ * 100). Direct messages and heartbeats stay on the local node.
+ *
  * <p>Typical usage:
  *
  * <pre>
@@ -41,12 +97,140 @@ public class SseEmitterService {
      */
     private static final long DEFAULT_TIMEOUT = 30 * 60 * 1000L;
 
+    static final String METRIC_FANOUT_LATENCY = "apigen.sse.fanout.latency";
+    static final String METRIC_DROPPED = "apigen.sse.dropped";
+
     /** Map of topics to their subscribers. Each topic can have multiple connected clients. */
     private final Map<String, Set<SseClient>> topicSubscribers = new ConcurrentHashMap<>();
 
     /** Map of client ID to its emitter (for direct send). */
     private final Map<String, SseClient> clientsById = new ConcurrentHashMap<>();
 
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final FanoutConfig config;
+    private final ReplayConfig replay;
+    private final Map<String, SseReplayLog> replayLogs = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SseBackplanePublisher backplanePublisher;
+    private final Map<String, Timer> fanoutLatency = new ConcurrentHashMap<>();
+    private final Map<String, Counter> dropped = new ConcurrentHashMap<>();
+
+    /** Creates the service with default configuration and a local metrics registry. */
+    public SseEmitterService() {
+        this(createObjectMapper(), new SimpleMeterRegistry(), FanoutConfig.defaults());
+    }
+
+    /**
+     * Creates the service with the default replay configuration.
+     *
+     * @param objectMapper mapper used to serialize event data
+     * @param meterRegistry registry for fan-out metrics
+     * @param config fan-out configuration
+     */
+    public SseEmitterService(
+            ObjectMapper objectMapper, MeterRegistry meterRegistry, FanoutConfig config) {
+        this(objectMapper, meterRegistry, config, ReplayConfig.defaults());
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param objectMapper mapper used to serialize event data
+     * @param meterRegistry registry for fan-out metrics
+     * @param config fan-out configuration
+     * @param replay replay log configuration
+     */
+    public SseEmitterService(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            FanoutConfig config,
+            ReplayConfig replay) {
+        this(objectMapper, meterRegistry, config, replay, null, 1);
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param objectMapper mapper used to serialize event data
+     * @param meterRegistry registry for fan-out metrics
+     * @param config fan-out configuration
+     * @param replay replay log configuration
+     * @param backplane channel shared with the other nodes, or {@code null} for a single node
+     * @param backplaneBatchSize maximum events per backplane message
+     */
+    public SseEmitterService(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            FanoutConfig config,
+            ReplayConfig replay,
+            SseBackplane backplane,
+            int backplaneBatchSize) {
+        if (backplaneBatchSize <= 0) {
+            throw new IllegalArgumentException("backplaneBatchSize must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.config = config;
+        this.replay = replay;
+        if (backplane != null) {
+            this.backplanePublisher =
+                    new SseBackplanePublisher(
+                            backplane, nodeId, backplaneBatchSize, writers, meterRegistry);
+            backplane.subscribe(this::onBackplaneMessage);
+        } else {
+            this.backplanePublisher = null;
+        }
+    }
+
+    /**
+     * Creates the service from the application context.
+     *
+     * @param objectMapper mapper used to serialize event data, if available
+     * @param meterRegistry registry for fan-out metrics, if available
+     * @param clientBufferSize frames buffered per client
+     * @param slowConsumerPolicy what to do when a client's buffer is full
+     * @param replaySize events kept in memory per topic for resuming clients (0 disables replay)
+     * @param spillDirectory directory for replay segment files (empty disables spilling)
+     * @param maxSegments segment files kept per topic
+     * @param replayRetentionMillis how long a topic's replay log outlives its last subscriber
+     * @param backplane channel shared with the other nodes, if available
+     * @param backplaneBatchSize maximum events per backplane message
+     */
+    @Autowired
+    public SseEmitterService(
+            ObjectProvider<ObjectMapper> objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${apigen.sse.client-buffer-size:256}") int clientBufferSize,
+            @Value("${apigen.sse.slow-consumer-policy:DROP_OLDEST}")
+                    SlowConsumerPolicy slowConsumerPolicy,
+            @Value("${apigen.sse.replay.size:0}") int replaySize,
+            @Value("${apigen.sse.replay.spill-directory:}") String spillDirectory,
+            @Value("${apigen.sse.replay.max-segments:10}") int maxSegments,
+            @Value("${apigen.sse.replay.retention-millis:300000}") long replayRetentionMillis,
+            ObjectProvider<SseBackplane> backplane,
+            @Value("${apigen.sse.backplane.max-batch-size:100}") int backplaneBatchSize) {
+        this(
+                objectMapper.getIfAvailable(SseEmitterService::createObjectMapper),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                new FanoutConfig(clientBufferSize, slowConsumerPolicy),
+                new ReplayConfig(
+                        replaySize,
+                        spillDirectory.isBlank() ? null : Path.of(spillDirectory),
+                        maxSegments,
+                        Duration.ofMillis(replayRetentionMillis)),
+                backplane.getIfAvailable(),
+                backplaneBatchSize);
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
     /**
      * Subscribes a new client to a topic.
      *
@@ -65,16 +249,63 @@ public class SseEmitterService {
      * @return SseEmitter for the connection
      */
     public SseEmitter subscribe(String topic, String clientId) {
-        SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
-        String id = clientId != null ? clientId : java.util.UUID.randomUUID().toString();
+        return subscribe(topic, clientId, null);
+    }
+
+    /**
+     * Subscribes a client to a topic, resuming after the last event it received.
+     *
+     * <p>The missed events are queued before any new broadcast, without gaps or duplicates. If
+     * {@code lastEventId} is no longer retained, a {@code resync} event is sent instead.
+     *
+     * @param topic Topic to subscribe to
+     * @param clientId Unique client ID (optional)
+     * @param lastEventId Value of the {@code Last-Event-ID} header (optional)
+     * @return SseEmitter for the connection
+     */
+    public SseEmitter subscribe(String topic, String clientId, String lastEventId) {
+        SseEmitter emitter = newEmitter(DEFAULT_TIMEOUT);
+        String id = clientId != null ? clientId : UUID.randomUUID().toString();
 
-        SseClient client = new SseClient(id, topic, emitter);
+        SseClient client =
+                new SseClient(
+                        id,
+                        topic,
+                        emitter,
+                        config.clientBufferSize(),
+                        config.slowConsumerPolicy(),
+                        writers,
+                        this);
 
-        // Add to topic subscribers
-        topicSubscribers.computeIfAbsent(topic, _ -> new CopyOnWriteArraySet<>()).add(client);
+        // Queue the connection event first so it precedes any broadcast. It has no ID, so that
+        // it does not replace the client's Last-Event-ID
+        client.replay(
+                List.of(
+                        frame(
+                                topic,
+                                null,
+                                "connected",
+                                Map.of(
+                                        "clientId", id,
+                                        "topic", topic,
+                                        "timestamp", java.time.Instant.now().toString()))));
 
-        // Add to clients by ID map
-        clientsById.put(id, client);
+        SseReplayLog replayLog = activeReplayLog(topic);
+        if (replayLog == null || lastEventId == null || lastEventId.isBlank()) {
+            resume(client, null, lastEventId, -1);
+            register(client);
+        } else {
+            // Broadcasts append under the same monitor: the frames up to throughSeq are replayed
+            // and skipped live, the later ones are fanned out to the now registered client
+            long throughSeq;
+            synchronized (replayLog) {
+                throughSeq = replayLog.lastSeq();
+                client.holdLive(throughSeq);
+                register(client);
+            }
+            resume(client, replayLog, lastEventId, throughSeq);
+            client.releaseLive();
+        }
 
         // Configure callbacks for cleanup
         emitter.onCompletion(() -> removeClient(client));
@@ -90,24 +321,118 @@ public class SseEmitterService {
                     removeClient(client);
                 });
 
-        // Send initial connection event
-        try {
-            emitter.send(
-                    SseEmitter.event()
-                            .name("connected")
-                            .id(id)
-                            .data(
-                                    Map.of(
-                                            "clientId", id,
-                                            "topic", topic,
-                                            "timestamp", java.time.Instant.now().toString())));
-            log.debug("Client {} connected to topic {}", id, topic);
-        } catch (IOException e) {
-            log.warn("Error sending connection event to client {}: {}", id, e.getMessage());
-            removeClient(client);
+        log.debug("Client {} connected to topic {}", id, topic);
+        return emitter;
+    }
+
+    private void register(SseClient client) {
+        // Add to topic subscribers
+        topicSubscribers.compute(
+                client.topic(),
+                (_, subscribers) -> {
+                    Set<SseClient> set =
+                            subscribers != null ? subscribers : new CopyOnWriteArraySet<>();
+                    set.add(client);
+                    return set;
+                });
+
+        // Add to clients by ID map
+        clientsById.put(client.id(), client);
+    }
+
+    private void resume(
+            SseClient client, SseReplayLog replayLog, String lastEventId, long throughSeq) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
         }
+        Optional<List<SseFrame>> missed =
+                replayLog != null ? replayLog.after(lastEventId, throughSeq) : Optional.empty();
+        if (missed.isPresent()) {
+            log.debug(
+                    "Replaying {} event(s) to client {} after {}",
+                    missed.get().size(),
+                    client.id(),
+                    lastEventId);
+            client.replay(missed.get());
+        } else {
+            log.debug("Event {} not retained, client {} must resync", lastEventId, client.id());
+            client.replay(
+                    List.of(
+                            frame(
+                                    client.topic(),
+                                    null,
+                                    "resync",
+                                    Map.of("lastEventId", lastEventId))));
+        }
+    }
 
-        return emitter;
+    /** Gets or creates the replay log of a topic that is being subscribed to. */
+    private SseReplayLog activeReplayLog(String topic) {
+        if (replay.size() <= 0) {
+            return null;
+        }
+        return replayLogs.compute(
+                topic,
+                (key, existing) -> {
+                    SseReplayLog replayLog = existing != null ? existing : newReplayLog(key);
+                    replayLog.markActive();
+                    return replayLog;
+                });
+    }
+
+    private SseReplayLog newReplayLog(String topic) {
+        SseReplaySpill spill =
+                replay.spillDirectory() != null
+                        ? new SseReplaySpill(
+                                topic,
+                                replay.spillDirectory()
+                                        .resolve(SseReplaySpill.directoryName(topic)),
+                                replay.size(),
+                                replay.maxSegments())
+                        : null;
+        return new SseReplayLog(replay.size(), spill);
+    }
+
+    /**
+     * Drops the replay logs of topics that have had no subscribers for longer than {@code
+     * apigen.sse.replay.retention-millis}, deleting their segment files. Called on every heartbeat
+     * and whenever a topic loses its last subscriber.
+     */
+    public void expireIdleReplayLogs() {
+        if (replayLogs.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long retentionMillis = replay.retention().toMillis();
+        List<SseReplayLog> expired = new ArrayList<>();
+        for (String topic : replayLogs.keySet()) {
+            replayLogs.computeIfPresent(
+                    topic,
+                    (key, replayLog) -> {
+                        if (getSubscriberCount(key) > 0) {
+                            replayLog.markActive();
+                            return replayLog;
+                        }
+                        if (replayLog.isExpired(now, retentionMillis)) {
+                            expired.add(replayLog);
+                            return null;
+                        }
+                        replayLog.markIdle(now);
+                        return replayLog;
+                    });
+        }
+        // Segment files are deleted outside the map's locks
+        for (SseReplayLog replayLog : expired) {
+            replayLog.close();
+        }
+        if (!expired.isEmpty()) {
+            log.debug("Dropped {} idle SSE replay log(s)", expired.size());
+        }
+    }
+
+    /** Creates the emitter for a new connection. */
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
     }
 
     /**
@@ -123,32 +448,67 @@ public class SseEmitterService {
     /**
      * Sends a named event to all subscribers of a topic.
      *
+     * <p>The event is serialized once and queued for every subscriber; this method does not wait
+     * for the clients to receive it.
+     *
      * @param topic Target topic
      * @param eventName Event name (for client-side filtering)
      * @param event Event data
      */
     public void broadcast(String topic, String eventName, Object event) {
-        Set<SseClient> subscribers = topicSubscribers.get(topic);
-        if (subscribers == null || subscribers.isEmpty()) {
+        if (backplanePublisher == null
+                && getSubscriberCount(topic) == 0
+                && !replayLogs.containsKey(topic)) {
             log.trace("No subscribers for topic {}", topic);
             return;
         }
 
+        String data = serialize(eventName, event);
+        if (data == null) {
+            return;
+        }
+        String id = UUID.randomUUID().toString();
+        if (backplanePublisher != null) {
+            backplanePublisher.publish(new SseBackplaneMessage.Event(topic, id, eventName, data));
+        }
+        deliver(SseFrame.encode(topic, id, eventName, data));
+    }
+
+    /** Delivers the broadcasts of another node to the local subscribers. */
+    private void onBackplaneMessage(SseBackplaneMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        for (SseBackplaneMessage.Event event : message.events()) {
+            deliver(SseFrame.encode(event.topic(), event.id(), event.name(), event.data()));
+        }
+    }
+
+    /**
+     * Records a broadcast frame in the topic's replay log, if it has one, and queues it for its
+     * subscribers. Only the append holds the log's lock; writes to clients happen outside it.
+     */
+    private void deliver(SseFrame frame) {
+        // A log outlives its last subscriber for a while, for clients that are about to reconnect
+        SseReplayLog replayLog = replayLogs.get(frame.topic());
+        long seq = replayLog != null ? replayLog.append(frame) : -1;
+        fanOut(frame, seq);
+    }
+
+    private void fanOut(SseFrame frame, long seq) {
+        Set<SseClient> subscribers = topicSubscribers.get(frame.topic());
+        if (subscribers == null || subscribers.isEmpty()) {
+            log.trace("No subscribers for topic {}", frame.topic());
+            return;
+        }
+
         log.debug(
                 "Sending event '{}' to {} subscribers of topic {}",
-                eventName,
+                frame.name(),
                 subscribers.size(),
-                topic);
-
-        String eventId = java.util.UUID.randomUUID().toString();
-
+                frame.topic());
         for (SseClient client : subscribers) {
-            try {
-                client.emitter().send(SseEmitter.event().name(eventName).id(eventId).data(event));
-            } catch (IOException e) {
-                log.debug("Error sending to client {}: {}", client.id(), e.getMessage());
-                removeClient(client);
-            }
+            client.enqueue(frame, seq);
         }
     }
 
@@ -158,7 +518,7 @@ public class SseEmitterService {
      * @param clientId Target client ID
      * @param eventName Event name
      * @param event Event data
-     * @return true if the send was successful
+     * @return true if the event was queued for the client
      */
     public boolean sendToClient(String clientId, String eventName, Object event) {
         SseClient client = clientsById.get(clientId);
@@ -167,48 +527,20 @@ public class SseEmitterService {
             return false;
         }
 
-        try {
-            client.emitter()
-                    .send(
-                            SseEmitter.event()
-                                    .name(eventName)
-                                    .id(java.util.UUID.randomUUID().toString())
-                                    .data(event));
-            return true;
-        } catch (IOException e) {
-            log.debug("Error sending to client {}: {}", clientId, e.getMessage());
-            removeClient(client);
-            return false;
-        }
+        // No ID: a direct message is not part of the topic history
+        SseFrame frame = frame(client.topic(), null, eventName, event);
+        return frame != null && client.enqueue(frame);
     }
 
     /**
      * Sends a heartbeat to all connected clients. Useful for keeping connections alive and
-     * detecting dead clients.
-     *
-     * <p>Uses parallel processing to not block when there are many connected clients.
+     * detecting dead clients, which are removed when their writer fails.
      */
     public void sendHeartbeatToAll() {
-        long timestamp = System.currentTimeMillis();
-        var heartbeatEvent = Map.of("timestamp", timestamp);
-
-        // Collect all clients first to use parallelStream effectively
-        topicSubscribers.values().parallelStream()
-                .flatMap(Set::stream)
-                .forEach(client -> sendHeartbeatToClient(client, heartbeatEvent));
-    }
-
-    /**
-     * Sends a heartbeat to a specific client.
-     *
-     * @param client Target client
-     * @param heartbeatEvent Heartbeat data
-     */
-    private void sendHeartbeatToClient(SseClient client, Map<String, Long> heartbeatEvent) {
-        try {
-            client.emitter().send(SseEmitter.event().name("heartbeat").data(heartbeatEvent));
-        } catch (IOException _) {
-            removeClient(client);
+        SseFrame frame =
+                frame(null, null, "heartbeat", Map.of("timestamp", System.currentTimeMillis()));
+        for (SseClient client : clientsById.values()) {
+            client.enqueue(frame);
         }
     }
 
@@ -227,6 +559,7 @@ public class SseEmitterService {
     public void disconnectClient(String clientId) {
         SseClient client = clientsById.get(clientId);
         if (client != null) {
+            client.close();
             client.emitter().complete();
             removeClient(client);
         }
@@ -237,25 +570,153 @@ public class SseEmitterService {
         Set<SseClient> subscribers = topicSubscribers.remove(topic);
         if (subscribers != null) {
             for (SseClient client : subscribers) {
+                client.close();
                 client.emitter().complete();
                 clientsById.remove(client.id());
             }
+            topicIdle(topic);
         }
     }
 
     /** Removes a client from all data structures. */
-    private void removeClient(SseClient client) {
-        clientsById.remove(client.id());
-        Set<SseClient> subscribers = topicSubscribers.get(client.topic());
-        if (subscribers != null) {
-            subscribers.remove(client);
-            if (subscribers.isEmpty()) {
-                topicSubscribers.remove(client.topic());
-            }
+    void removeClient(SseClient client) {
+        client.close();
+        clientsById.remove(client.id(), client);
+        Set<SseClient> subscribers =
+                topicSubscribers.computeIfPresent(
+                        client.topic(),
+                        (_, set) -> {
+                            set.remove(client);
+                            return set.isEmpty() ? null : set;
+                        });
+        if (subscribers == null) {
+            topicIdle(client.topic());
         }
         log.debug("Client {} removed from topic {}", client.id(), client.topic());
     }
 
-    /** Internal record representing an SSE client. */
-    private record SseClient(String id, String topic, SseEmitter emitter) {}
+    /** Starts the retention of a topic's replay log once it has no subscribers. */
+    private void topicIdle(String topic) {
+        SseReplayLog replayLog = replayLogs.get(topic);
+        if (replayLog != null) {
+            replayLog.markIdle(System.currentTimeMillis());
+            expireIdleReplayLogs();
+        }
+    }
+
+    /** Serializes and encodes an event once; {@code null} if it cannot be serialized. */
+    private SseFrame frame(String topic, String id, String eventName, Object event) {
+        String data = serialize(eventName, event);
+        return data != null ? SseFrame.encode(topic, id, eventName, data) : null;
+    }
+
+    /** Serializes event data; {@code null} if it cannot be serialized. */
+    private String serialize(String eventName, Object event) {
+        try {
+            // Strings are sent as-is, like SseEmitter does
+            return event instanceof String text ? text : objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize SSE event '{}': {}", eventName, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Records the fan-out latency of a frame written to a client. */
+    void frameWritten(SseFrame frame) {
+        if (frame.topic() == null) {
+            return;
+        }
+        fanoutLatency
+                .computeIfAbsent(
+                        frame.topic(),
+                        topic ->
+                                Timer.builder(METRIC_FANOUT_LATENCY)
+                                        .description("Time from broadcast to write per client")
+                                        .tag("topic", topic)
+                                        .register(meterRegistry))
+                .record(System.nanoTime() - frame.createdNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /** Counts a frame dropped for a slow client. */
+    void frameDropped(SseClient client) {
+        dropped.computeIfAbsent(
+                        client.topic(),
+                        topic ->
+                                Counter.builder(METRIC_DROPPED)
+                                        .description("SSE frames dropped for slow clients")
+                                        .tag("topic", topic)
+                                        .tag("policy", config.slowConsumerPolicy().name())
+                                        .register(meterRegistry))
+                .increment();
+    }
+
+    /** What to do when a client's send buffer is full. */
+    public enum SlowConsumerPolicy {
+        /** Drop the oldest buffered frame to make room (the client skips events). */
+        DROP_OLDEST,
+        /** Drop the new frame. */
+        DROP_NEWEST,
+        /** Disconnect the client; it is expected to reconnect. */
+        DISCONNECT
+    }
+
+    /**
+     * Fan-out configuration.
+     *
+     * @param clientBufferSize frames buffered per client
+     * @param slowConsumerPolicy what to do when a client's buffer is full
+     */
+    public record FanoutConfig(int clientBufferSize, SlowConsumerPolicy slowConsumerPolicy) {
+
+        public FanoutConfig {
+            if (clientBufferSize <= 0) {
+                throw new IllegalArgumentException("clientBufferSize must be positive");
+            }
+        }
+
+        /** Creates default configuration. */
+        public static FanoutConfig defaults() {
+            return new FanoutConfig(256, SlowConsumerPolicy.DROP_OLDEST);
+        }
+    }
+
+    /**
+     * Replay log configuration.
+     *
+     * @param size events kept in memory per topic; {@code 0} disables replay
+     * @param spillDirectory directory for segment files with older events, or {@code null}
+     * @param maxSegments segment files of {@code size} events kept per topic
+     * @param retention how long a topic's log is kept after its last subscriber leaves
+     */
+    public record ReplayConfig(int size, Path spillDirectory, int maxSegments, Duration retention) {
+
+        /** Retention used when none is given: 5 minutes. */
+        public static final Duration DEFAULT_RETENTION = Duration.ofMinutes(5);
+
+        public ReplayConfig {
+            if (size < 0 || maxSegments <= 0) {
+                throw new IllegalArgumentException(
+                        "size must not be negative and maxSegments must be positive");
+            }
+            if (retention == null || retention.isNegative()) {
+                throw new IllegalArgumentException("retention must not be negative");
+            }
+        }
+
+        /**
+         * Creates the configuration with the default retention.
+         *
+         * @param size events kept in memory per topic; {@code 0} disables replay
+         * @param spillDirectory directory for segment files with older events, or {@code null}
+         * @param maxSegments segment files of {@code size} events kept per topic
+         */
+        public ReplayConfig(int size, Path spillDirectory, int maxSegments) {
+            this(size, spillDirectory, maxSegments, DEFAULT_RETENTION);
+        }
+
+        /** Creates default configuration: replay disabled. */
+        public static ReplayConfig defaults() {
+            return new ReplayConfig(0, null, 10);
+        }
+    }
 }
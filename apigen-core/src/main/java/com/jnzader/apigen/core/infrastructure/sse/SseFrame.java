@@ -0,0 +1,66 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+/**
+ * An SSE event encoded once in wire format and shared by every client it is sent to.
+ *
+ * @param topic topic the event belongs to
+ * @param id event ID ({@code null} for events that must not move the client's Last-Event-ID)
+ * @param name event name
+ * @param payload the encoded frame, ready to write to an emitter
+ * @param createdNanos {@link System#nanoTime()} when the frame was created, for fan-out latency
+ */
+record SseFrame(
+        String topic, String id, String name, Set<DataWithMediaType> payload, long createdNanos) {
+
+    /**
+     * Encodes an event.
+     *
+     * @param topic the topic
+     * @param id the event ID, or {@code null}
+     * @param name the event name
+     * @param data the event data, already serialized
+     * @return the frame
+     */
+    static SseFrame encode(String topic, String id, String name, String data) {
+        StringBuilder frame = new StringBuilder(data.length() + 64);
+        if (id != null) {
+            frame.append("id:").append(id).append('\n');
+        }
+        frame.append("event:").append(name).append('\n');
+        // Multi-line data must be sent as one data field per line
+        for (String line : data.split("\r\n|\r|\n", -1)) {
+            frame.append("data:").append(line).append('\n');
+        }
+        frame.append('\n');
+
+        return decode(topic, id, name, frame.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Wraps an already encoded frame, such as one read back from a replay segment.
+     *
+     * @param topic the topic
+     * @param id the event ID, or {@code null}
+     * @param name the event name
+     * @param bytes the encoded frame
+     * @return the frame
+     */
+    static SseFrame decode(String topic, String id, String name, byte[] bytes) {
+        return new SseFrame(
+                topic,
+                id,
+                name,
+                Set.of(new DataWithMediaType(bytes, MediaType.TEXT_EVENT_STREAM)),
+                System.nanoTime());
+    }
+
+    /** The encoded frame. */
+    byte[] bytes() {
+        return (byte[]) payload.iterator().next().getData();
+    }
+}
@@ -9,7 +9,8 @@ import org.springframework.stereotype.Component;
 /**
  * Scheduler for sending periodic heartbeats to SSE clients.
  *
- * <p>Keeps connections alive and detects disconnected clients. Runs every 30 seconds by default.
+ * <p>Keeps connections alive and detects disconnected clients. Runs every 30 seconds by default,
+ * and also drops the replay logs of topics that have been idle past their retention.
  *
  * <p>Can be disabled with: apigen.sse.heartbeat.enabled=false
  */
@@ -36,5 +37,6 @@ public class SseHeartbeatScheduler {
             log.trace("Sending heartbeat to {} SSE clients", clientCount);
             sseEmitterService.sendHeartbeatToAll();
         }
+        sseEmitterService.expireIdleReplayLogs();
     }
 }
@@ -0,0 +1,230 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded history of the events broadcast to a topic, used to resume clients that reconnect with
+ * a {@code Last-Event-ID} header.
+ *
+ * <p>The most recent {@code capacity} frames are kept in memory. With a {@link SseReplaySpill},
+ * older frames move to segment files instead of being discarded, extending the history without
+ * keeping it on the heap.
+ *
+ * <p>Every frame gets a sequence number. The log's monitor only guards the in-memory history and
+ * is never held while writing to clients or to disk: frames evicted from memory are queued and
+ * written to the spill under a separate lock, by whichever broadcaster gets it first. Callers
+ * that must not miss or duplicate events between a replay and live delivery register their
+ * client under the monitor, note {@link #lastSeq()}, and skip live frames up to it (see {@link
+ * SseEmitterService}).
+ */
+final class SseReplayLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SseReplayLog.class);
+
+    private record Entry(long seq, SseFrame frame) {}
+
+    private final int capacity;
+    private final SseReplaySpill spill;
+    private final Deque<Entry> memory = new ArrayDeque<>();
+    private final Map<String, Long> sequences = new HashMap<>();
+    private final Queue<Entry> pendingSpill = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private long nextSeq;
+    private volatile long idleSince;
+
+    /**
+     * Creates the log.
+     *
+     * @param capacity frames kept in memory
+     * @param spill segment files for older frames, or {@code null} to discard them
+     */
+    SseReplayLog(int capacity, SseReplaySpill spill) {
+        this.capacity = capacity;
+        this.spill = spill;
+    }
+
+    /**
+     * Appends a frame; frames without an ID cannot be resumed from and are ignored.
+     *
+     * @param frame the frame
+     * @return the frame's sequence number, or {@code -1} if it has no ID
+     */
+    long append(SseFrame frame) {
+        if (frame.id() == null) {
+            return -1;
+        }
+        long seq;
+        synchronized (this) {
+            seq = nextSeq++;
+            memory.addLast(new Entry(seq, frame));
+            sequences.put(frame.id(), seq);
+
+            if (memory.size() > capacity) {
+                Entry oldest = memory.removeFirst();
+                if (spill != null) {
+                    pendingSpill.add(oldest);
+                } else {
+                    sequences.remove(oldest.frame().id());
+                }
+            }
+        }
+        if (spill != null) {
+            drainSpill();
+        }
+        return seq;
+    }
+
+    /** Sequence number of the last appended frame, or {@code -1} if there is none. */
+    synchronized long lastSeq() {
+        return nextSeq - 1;
+    }
+
+    /**
+     * Returns the frames broadcast after the given event, up to a sequence number.
+     *
+     * @param lastEventId ID of the last event the client received
+     * @param throughSeq sequence number of the last frame to return
+     * @return the frames after it, oldest first; empty if the event is unknown or frames after it
+     *     are no longer retained, in which case the client must resynchronize
+     */
+    Optional<List<SseFrame>> after(String lastEventId, long throughSeq) {
+        spillLock.lock();
+        try {
+            writePendingSpill();
+            long seq;
+            boolean fromSpill;
+            List<SseFrame> recent = new ArrayList<>();
+            synchronized (this) {
+                Long known = sequences.get(lastEventId);
+                if (known == null || known + 1 < oldestRetained()) {
+                    return Optional.empty();
+                }
+                seq = known;
+                // Frames evicted after the drain above wait in pendingSpill: nobody else can write
+                // them while spillLock is held, so they are taken from the queue, oldest first
+                List<Entry> unspilled = new ArrayList<>(pendingSpill);
+                unspilled.addAll(memory);
+                fromSpill =
+                        spill != null
+                                && !unspilled.isEmpty()
+                                && seq + 1 < unspilled.getFirst().seq();
+                for (Entry entry : unspilled) {
+                    if (entry.seq() > seq && entry.seq() <= throughSeq) {
+                        recent.add(entry.frame());
+                    }
+                }
+            }
+
+            // The spill only changes under spillLock, so it is read without blocking appends
+            List<SseFrame> frames = new ArrayList<>();
+            if (fromSpill) {
+                try {
+                    frames.addAll(spill.read(seq, throughSeq));
+                } catch (UncheckedIOException e) {
+                    log.warn(
+                            "Could not replay SSE events after {}: {}",
+                            lastEventId,
+                            e.getMessage());
+                    return Optional.empty();
+                }
+            }
+            frames.addAll(recent);
+            return Optional.of(frames);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /** Number of frames kept in memory. */
+    synchronized int size() {
+        return memory.size();
+    }
+
+    /** Marks the log as used by at least one subscriber. */
+    void markActive() {
+        idleSince = 0;
+    }
+
+    /**
+     * Marks the log as having no subscribers, if it was not already.
+     *
+     * @param now current time in milliseconds
+     */
+    void markIdle(long now) {
+        if (idleSince == 0) {
+            idleSince = now;
+        }
+    }
+
+    /**
+     * Indicates whether the log has had no subscribers for longer than the retention.
+     *
+     * @param now current time in milliseconds
+     * @param retentionMillis how long an idle log is kept
+     */
+    boolean isExpired(long now, long retentionMillis) {
+        long since = idleSince;
+        return since != 0 && now - since > retentionMillis;
+    }
+
+    /** Discards the history, deleting any segment files. */
+    void close() {
+        spillLock.lock();
+        try {
+            pendingSpill.clear();
+            synchronized (this) {
+                memory.clear();
+                sequences.clear();
+            }
+            if (spill != null) {
+                spill.delete();
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /** Writes the evicted frames to the spill unless another thread is already doing so. */
+    private void drainSpill() {
+        while (!pendingSpill.isEmpty() && spillLock.tryLock()) {
+            try {
+                writePendingSpill();
+            } finally {
+                spillLock.unlock();
+            }
+        }
+    }
+
+    private void writePendingSpill() {
+        Entry entry;
+        while ((entry = pendingSpill.poll()) != null) {
+            List<String> evicted = spill.write(entry.seq(), entry.frame());
+            synchronized (this) {
+                evicted.forEach(sequences::remove);
+            }
+        }
+    }
+
+    private long oldestRetained() {
+        if (spill != null && spill.firstSeq() >= 0) {
+            return spill.firstSeq();
+        }
+        Entry pending = pendingSpill.peek();
+        if (pending != null) {
+            return pending.seq();
+        }
+        return memory.isEmpty() ? nextSeq : memory.getFirst().seq();
+    }
+}
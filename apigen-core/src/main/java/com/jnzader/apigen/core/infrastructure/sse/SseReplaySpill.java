@@ -0,0 +1,225 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Segment files holding the frames evicted from a topic's in-memory replay log.
+ *
+ * <p>Frames are appended to the current segment until it holds {@code segmentEntries} frames; then
+ * a new segment is started and, beyond {@code maxSegments}, the oldest one is deleted. Each record
+ * is {@code seq, id, name, length, bytes}. Files are local to the node and discarded on restart.
+ *
+ * <p>Not thread-safe: guarded by the spill lock of the owning {@link SseReplayLog}.
+ */
+final class SseReplaySpill {
+
+    private static final Logger log = LoggerFactory.getLogger(SseReplaySpill.class);
+
+    private final String topic;
+    private final Path directory;
+    private final int segmentEntries;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private boolean failed;
+
+    private static final class Segment {
+        private final Path file;
+        private final long firstSeq;
+        private final List<String> ids = new ArrayList<>();
+        private long lastSeq = -1;
+        private DataOutputStream out;
+
+        private Segment(Path file, long firstSeq) {
+            this.file = file;
+            this.firstSeq = firstSeq;
+        }
+    }
+
+    /**
+     * Creates the spill for a topic, discarding segments left by a previous run.
+     *
+     * @param topic the topic
+     * @param directory the directory for this topic's segments
+     * @param segmentEntries frames per segment
+     * @param maxSegments segments kept
+     */
+    SseReplaySpill(String topic, Path directory, int segmentEntries, int maxSegments) {
+        this.topic = topic;
+        this.directory = directory;
+        this.segmentEntries = segmentEntries;
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> stale = Files.list(directory)) {
+                for (Path file : stale.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    /**
+     * Appends a frame.
+     *
+     * @param seq the frame's sequence in the replay log
+     * @param frame the frame
+     * @return IDs of the frames that are no longer retained (a deleted segment, or this frame if
+     *     it could not be written)
+     */
+    List<String> write(long seq, SseFrame frame) {
+        if (failed) {
+            return List.of(frame.id());
+        }
+        try {
+            Segment current = segments.peekLast();
+            List<String> evicted = List.of();
+            if (current == null || current.ids.size() >= segmentEntries) {
+                if (current != null) {
+                    current.out.close();
+                    current.out = null;
+                }
+                current =
+                        new Segment(directory.resolve("segment-%019d.log".formatted(seq)), seq);
+                current.out =
+                        new DataOutputStream(
+                                new BufferedOutputStream(Files.newOutputStream(current.file)));
+                segments.addLast(current);
+                if (segments.size() > maxSegments) {
+                    Segment oldest = segments.removeFirst();
+                    Files.deleteIfExists(oldest.file);
+                    evicted = oldest.ids;
+                }
+            }
+
+            byte[] bytes = frame.bytes();
+            current.out.writeLong(seq);
+            current.out.writeUTF(frame.id());
+            current.out.writeUTF(frame.name());
+            current.out.writeInt(bytes.length);
+            current.out.write(bytes);
+            current.ids.add(frame.id());
+            current.lastSeq = seq;
+            return evicted;
+        } catch (IOException e) {
+            disable(e);
+            return List.of(frame.id());
+        }
+    }
+
+    /** Sequence of the oldest spilled frame, or {@code -1} if there is none. */
+    long firstSeq() {
+        Segment oldest = segments.peekFirst();
+        return oldest != null ? oldest.firstSeq : -1;
+    }
+
+    /**
+     * Reads the spilled frames in a sequence range, oldest first.
+     *
+     * @param afterSeq the exclusive lower bound
+     * @param throughSeq the inclusive upper bound
+     * @return the frames
+     * @throws UncheckedIOException if a segment cannot be read
+     */
+    List<SseFrame> read(long afterSeq, long throughSeq) {
+        List<SseFrame> frames = new ArrayList<>();
+        if (failed) {
+            return frames;
+        }
+        try {
+            for (Segment segment : segments) {
+                if (segment.lastSeq <= afterSeq || segment.firstSeq > throughSeq) {
+                    continue;
+                }
+                if (segment.out != null) {
+                    segment.out.flush();
+                }
+                readSegment(segment.file, afterSeq, throughSeq, frames);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read SSE replay segment", e);
+        }
+        return frames;
+    }
+
+    private void readSegment(Path file, long afterSeq, long throughSeq, List<SseFrame> frames)
+            throws IOException {
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                long seq;
+                try {
+                    seq = in.readLong();
+                } catch (EOFException _) {
+                    return;
+                }
+                String id = in.readUTF();
+                String name = in.readUTF();
+                byte[] bytes = in.readNBytes(in.readInt());
+                if (seq > afterSeq && seq <= throughSeq) {
+                    frames.add(SseFrame.decode(topic, id, name, bytes));
+                }
+            }
+        }
+    }
+
+    /** Deletes every segment. */
+    void clear() {
+        for (Segment segment : segments) {
+            try {
+                if (segment.out != null) {
+                    segment.out.close();
+                }
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                log.debug(
+                        "Could not delete SSE replay segment {}: {}",
+                        segment.file,
+                        e.getMessage());
+            }
+        }
+        segments.clear();
+    }
+
+    /** Deletes every segment and the topic's directory. */
+    void delete() {
+        clear();
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.debug("Could not delete SSE replay directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void disable(IOException e) {
+        log.warn(
+                "SSE replay spill for topic {} disabled, keeping memory only: {}",
+                topic,
+                e.getMessage());
+        failed = true;
+        clear();
+    }
+
+    /** Directory name for a topic's segments. */
+    static String directoryName(String topic) {
+        return URLEncoder.encode(topic, StandardCharsets.UTF_8);
+    }
+}
@@ -1,9 +1,10 @@
 package com.jnzader.apigen.core.infrastructure.util;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jnzader.apigen.core.domain.entity.Base;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
@@ -16,7 +17,8 @@ import org.slf4j.LoggerFactory;
  * <p>Los ETags se utilizan para: - Caché condicional (If-None-Match → 304 Not Modified) - Control
  * de concurrencia optimista (If-Match → 412 Precondition Failed)
  *
- * <p>El ETag se genera como un hash MD5 del contenido JSON del objeto.
+ * <p>El ETag se genera como un hash MD5 del contenido JSON del objeto, o a partir de id y versión
+ * de la entidad (ver {@link ETagStrategy}).
  */
 public final class ETagGenerator {
 
@@ -31,7 +33,8 @@ public final class ETagGenerator {
      * Genera un ETag para el objeto dado.
      *
      * <p>El ETag es un hash MD5 del JSON serializado del objeto, envuelto en comillas dobles según
-     * RFC 7232.
+     * RFC 7232. El JSON se escribe directamente sobre el digest, sin construir un String ni un
+     * byte[] intermedio.
      *
      * @param object El objeto para el que generar el ETag.
      * @return El ETag generado, o null si no se pudo generar.
@@ -48,12 +51,14 @@ public final class ETagGenerator {
         }
 
         try {
-            String json = objectMapper.writeValueAsString(object);
             MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] digest = md.digest(json.getBytes(StandardCharsets.UTF_8));
-            String hash = HexFormat.of().formatHex(digest);
+            try (DigestOutputStream out =
+                    new DigestOutputStream(OutputStream.nullOutputStream(), md)) {
+                objectMapper.writeValue(out, object);
+            }
+            String hash = HexFormat.of().formatHex(md.digest());
             return "\"" + hash + "\"";
-        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+        } catch (IOException | NoSuchAlgorithmException e) {
             log.warn("No se pudo generar ETag para el objeto: {}", e.getMessage());
             return null;
         }
@@ -0,0 +1,34 @@
+package com.jnzader.apigen.core.infrastructure.util;
+
+import com.jnzader.apigen.core.domain.entity.Base;
+import java.util.function.Supplier;
+
+/**
+ * Estrategia de generación de ETags usada por {@code BaseControllerImpl}.
+ *
+ * <p>Se selecciona con {@code apigen.etag.strategy} (ver {@link StandardETagStrategy}) o definiendo
+ * un bean propio de este tipo.
+ */
+public interface ETagStrategy {
+
+    /**
+     * Genera el ETag de un recurso.
+     *
+     * @param entity La entidad de la que proviene la representación.
+     * @param representation Proveedor de la representación enviada al cliente (normalmente el
+     *     DTO); solo se invoca si la estrategia la necesita.
+     * @return El ETag, o null si no se debe enviar ETag.
+     */
+    String generate(Base entity, Supplier<?> representation);
+
+    /**
+     * Indica si el ETag depende solo de id y versión. En ese caso el controlador puede resolver
+     * {@code If-None-Match} e {@code If-Match} con una proyección de la versión, sin cargar ni
+     * mapear la entidad.
+     *
+     * @return true si el ETag es {@code "id:version"}.
+     */
+    default boolean isVersionBased() {
+        return false;
+    }
+}
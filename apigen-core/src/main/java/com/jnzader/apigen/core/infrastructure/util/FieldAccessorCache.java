@@ -143,6 +143,21 @@ public final class FieldAccessorCache {
                 });
     }
 
+    /**
+     * Obtiene el tipo declarado de un campo (tipo de retorno del accessor cacheado).
+     *
+     * @param clazz La clase a inspeccionar
+     * @param fieldName Nombre del campo
+     * @return El tipo del campo, o null si no existe o no es accesible
+     */
+    public static Class<?> getFieldType(Class<?> clazz, String fieldName) {
+        if (clazz == null || fieldName == null) {
+            return null;
+        }
+        MethodHandle accessor = getOrCreateAccessors(clazz).get(fieldName);
+        return accessor != null ? accessor.type().returnType() : null;
+    }
+
     /**
      * Verifica si un campo existe en una clase.
      *
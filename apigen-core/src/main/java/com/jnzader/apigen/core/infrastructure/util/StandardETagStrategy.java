@@ -0,0 +1,53 @@
+package com.jnzader.apigen.core.infrastructure.util;
+
+import com.jnzader.apigen.core.domain.entity.Base;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Estrategias de ETag incluidas.
+ *
+ * <ul>
+ *   <li>{@link #VERSION}: {@code "id:version"}, O(1) y sin serialización. Habilita el 304 con
+ *       proyección de versión.
+ *   <li>{@link #CONTENT_HASH}: MD5 del JSON de la representación, calculado en streaming.
+ *   <li>{@link #NONE}: no se envían ETags.
+ * </ul>
+ */
+public enum StandardETagStrategy implements ETagStrategy {
+    VERSION {
+        @Override
+        public String generate(Base entity, Supplier<?> representation) {
+            return ETagGenerator.generateFromVersion(entity);
+        }
+
+        @Override
+        public boolean isVersionBased() {
+            return true;
+        }
+    },
+    CONTENT_HASH {
+        @Override
+        public String generate(Base entity, Supplier<?> representation) {
+            return ETagGenerator.generate(representation.get());
+        }
+    },
+    NONE {
+        @Override
+        public String generate(Base entity, Supplier<?> representation) {
+            return null;
+        }
+    };
+
+    /**
+     * Resuelve la estrategia a partir del valor de la propiedad ({@code version}, {@code
+     * content-hash}, {@code none}).
+     *
+     * @param value El valor configurado.
+     * @return La estrategia correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ninguna estrategia.
+     */
+    public static StandardETagStrategy fromProperty(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
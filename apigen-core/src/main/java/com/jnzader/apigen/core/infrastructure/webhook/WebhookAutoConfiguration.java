@@ -1,13 +1,19 @@
 package com.jnzader.apigen.core.infrastructure.webhook;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Auto-configuration for webhook support.
@@ -24,7 +30,21 @@ import org.springframework.context.annotation.Configuration;
  *   max-retries: 3
  *   retry-base-delay: 1s
  *   retry-max-delay: 5m
+ *   queue-capacity: 10000  # events waiting per subscription before new ones are rejected
+ *   max-concurrency: 4     # requests in flight per subscription
+ *   max-batch-size: 1      # events per request; above 1, payloads are sent as a JSON array
+ *   circuit-breaker:
+ *     failure-rate: 50     # % of failed requests that opens the circuit
+ *     open-duration: 30s
+ *   outbox:
+ *     enabled: false       # durable outbox (table webhook_outbox) with a relay per node
+ *     poll-interval: 1s
+ *     batch-size: 50
+ *     lease-duration: 2m
  * </pre>
+ *
+ * <p>Note: with the outbox enabled, ensure your application scans the webhook package for JPA
+ * entities.
  */
 @Configuration
 @ConditionalOnProperty(name = "apigen.webhooks.enabled", havingValue = "true")
@@ -48,6 +68,7 @@ public class WebhookAutoConfiguration {
      * @param subscriptionRepository the subscription repository
      * @param objectMapper the object mapper
      * @param properties configuration properties
+     * @param meterRegistry registry for queue and delivery metrics, if available
      * @return the webhook service
      */
     @Bean
@@ -55,7 +76,8 @@ public class WebhookAutoConfiguration {
     public WebhookService webhookService(
             WebhookSubscriptionRepository subscriptionRepository,
             ObjectMapper objectMapper,
-            WebhookProperties properties) {
+            WebhookProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
         WebhookService.WebhookConfig config =
                 WebhookService.WebhookConfig.builder()
                         .connectTimeout(properties.getConnectTimeout())
@@ -63,9 +85,59 @@ public class WebhookAutoConfiguration {
                         .maxRetries(properties.getMaxRetries())
                         .retryBaseDelay(properties.getRetryBaseDelay())
                         .retryMaxDelay(properties.getRetryMaxDelay())
+                        .queueCapacity(properties.getQueueCapacity())
+                        .maxConcurrency(properties.getMaxConcurrency())
+                        .maxBatchSize(properties.getMaxBatchSize())
+                        .circuitBreakerFailureRate(properties.getCircuitBreaker().getFailureRate())
+                        .circuitBreakerOpenDuration(
+                                properties.getCircuitBreaker().getOpenDuration())
                         .build();
 
-        return new WebhookService(subscriptionRepository, objectMapper, config);
+        return new WebhookService(
+                subscriptionRepository,
+                objectMapper,
+                config,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /** Transactional outbox, enabled with {@code apigen.webhooks.outbox.enabled=true}. */
+    @Configuration
+    @ConditionalOnProperty(name = "apigen.webhooks.outbox.enabled", havingValue = "true")
+    @EnableJpaRepositories(basePackageClasses = WebhookOutboxRepository.class)
+    static class WebhookOutboxConfiguration {
+
+        /**
+         * Creates the webhook outbox and its relay.
+         *
+         * @param outboxRepository the outbox repository
+         * @param subscriptionRepository the subscription repository
+         * @param webhookService the webhook service used for delivery attempts
+         * @param objectMapper the object mapper
+         * @param transactionManager the transaction manager
+         * @param properties configuration properties
+         * @return the webhook outbox
+         */
+        @Bean
+        @ConditionalOnMissingBean(WebhookOutbox.class)
+        public WebhookOutbox webhookOutbox(
+                WebhookOutboxRepository outboxRepository,
+                WebhookSubscriptionRepository subscriptionRepository,
+                WebhookService webhookService,
+                ObjectMapper objectMapper,
+                PlatformTransactionManager transactionManager,
+                WebhookProperties properties) {
+            WebhookProperties.Outbox outbox = properties.getOutbox();
+            return new WebhookOutbox(
+                    outboxRepository,
+                    subscriptionRepository,
+                    webhookService,
+                    objectMapper,
+                    new TransactionTemplate(transactionManager),
+                    new WebhookOutbox.OutboxConfig(
+                            outbox.getPollInterval(),
+                            outbox.getBatchSize(),
+                            outbox.getLeaseDuration()));
+        }
     }
 
     /** Configuration properties for webhooks. */
@@ -90,6 +162,21 @@ public class WebhookAutoConfiguration {
         /** Maximum delay between retries. */
         private Duration retryMaxDelay = Duration.ofMinutes(5);
 
+        /** Maximum events waiting per subscription; further events are rejected. */
+        private int queueCapacity = 10_000;
+
+        /** Maximum concurrent requests per subscription. */
+        private int maxConcurrency = 4;
+
+        /** Maximum events per request; above 1, payloads are sent as a JSON array. */
+        private int maxBatchSize = 1;
+
+        /** Circuit breaker settings, per subscription. */
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        /** Transactional outbox settings. */
+        private Outbox outbox = new Outbox();
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -137,5 +224,119 @@ public class WebhookAutoConfiguration {
         public void setRetryMaxDelay(Duration retryMaxDelay) {
             this.retryMaxDelay = retryMaxDelay;
         }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public void setOutbox(Outbox outbox) {
+            this.outbox = outbox;
+        }
+
+        /** Circuit breaker settings. */
+        public static class CircuitBreaker {
+
+            /** Percentage of failed requests (out of the last 20) that opens the circuit. */
+            private float failureRate = 50;
+
+            /** How long an open circuit skips requests before letting one through. */
+            private Duration openDuration = Duration.ofSeconds(30);
+
+            public float getFailureRate() {
+                return failureRate;
+            }
+
+            public void setFailureRate(float failureRate) {
+                this.failureRate = failureRate;
+            }
+
+            public Duration getOpenDuration() {
+                return openDuration;
+            }
+
+            public void setOpenDuration(Duration openDuration) {
+                this.openDuration = openDuration;
+            }
+        }
+
+        /** Transactional outbox settings. */
+        public static class Outbox {
+
+            /** Whether events are delivered through the durable outbox. */
+            private boolean enabled = false;
+
+            /** How long the relay waits for new rows when the outbox is drained. */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /** Maximum rows claimed and delivered concurrently per poll. */
+            private int batchSize = 50;
+
+            /** How long a claimed row is reserved for the claiming node. */
+            private Duration leaseDuration = Duration.ofMinutes(2);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getLeaseDuration() {
+                return leaseDuration;
+            }
+
+            public void setLeaseDuration(Duration leaseDuration) {
+                this.leaseDuration = leaseDuration;
+            }
+        }
     }
 }
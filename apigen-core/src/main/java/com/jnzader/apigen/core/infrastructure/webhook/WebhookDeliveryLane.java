@@ -0,0 +1,315 @@
+package com.jnzader.apigen.core.infrastructure.webhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivery queue of a single subscription.
+ *
+ * <p>Events wait in a bounded queue and at most {@code maxConcurrency} requests per subscription
+ * are in flight at a time; a request keeps its slot while it waits for a retry, so a slow or
+ * failing endpoint only backs up its own lane. When the queue is full, new events are rejected
+ * right away instead of piling up in memory.
+ *
+ * <p>With {@code maxBatchSize > 1}, queued events are sent as a JSON array of up to that many
+ * payloads per request, with {@code X-Webhook-Batch-Size} set and a batch ID in {@code
+ * X-Webhook-Id} that stays the same across retries. Events may be delivered out of order when
+ * {@code maxConcurrency > 1}.
+ *
+ * <p>A lane lives until its subscription is removed; {@link #close()} then fails the queued events
+ * and unregisters its meters.
+ */
+final class WebhookDeliveryLane {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryLane.class);
+
+    static final String METRIC_QUEUE_DEPTH = "apigen.webhook.queue.depth";
+    static final String METRIC_REJECTED = "apigen.webhook.rejected";
+
+    private final WebhookService service;
+    private final Executor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final BlockingQueue<Pending> queue;
+    private final int maxConcurrency;
+    private final int maxBatchSize;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Gauge queueDepth;
+    private volatile WebhookSubscription subscription;
+    private volatile boolean closed;
+
+    /** An event waiting in the lane. */
+    private record Pending(
+            WebhookPayload payload, String json, CompletableFuture<WebhookDelivery> result) {}
+
+    /** The request sent for a batch; built once and reused for its retries. */
+    private record Request(String id, String event, String body, int batchSize) {}
+
+    WebhookDeliveryLane(
+            WebhookSubscription subscription,
+            WebhookService service,
+            Executor executor,
+            ScheduledExecutorService retryScheduler,
+            WebhookService.WebhookConfig config,
+            MeterRegistry meterRegistry) {
+        this.subscription = subscription;
+        this.service = service;
+        this.executor = executor;
+        this.retryScheduler = retryScheduler;
+        this.queue = new ArrayBlockingQueue<>(config.queueCapacity());
+        this.maxConcurrency = config.maxConcurrency();
+        this.maxBatchSize = config.maxBatchSize();
+        this.meterRegistry = meterRegistry;
+        this.rejected =
+                Counter.builder(METRIC_REJECTED)
+                        .description("Webhook events rejected because the lane queue was full")
+                        .tag("subscription", subscription.id())
+                        .tag("reason", "queue_full")
+                        .register(meterRegistry);
+        this.queueDepth =
+                Gauge.builder(METRIC_QUEUE_DEPTH, this, WebhookDeliveryLane::depth)
+                        .description("Webhook events waiting to be delivered")
+                        .tag("subscription", subscription.id())
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Queues an event for delivery.
+     *
+     * @param subscription the current state of the subscription
+     * @param payload the payload
+     * @param json the serialized payload
+     * @return the final delivery result; {@code FAILED_PERMANENT} right away if the queue is full
+     */
+    CompletableFuture<WebhookDelivery> submit(
+            WebhookSubscription subscription, WebhookPayload payload, String json) {
+        this.subscription = subscription;
+        CompletableFuture<WebhookDelivery> result = new CompletableFuture<>();
+        if (!queue.offer(new Pending(payload, json, result))) {
+            rejected.increment();
+            log.warn(
+                    "Webhook queue full for {}, rejecting event {}",
+                    subscription.url(),
+                    payload.id());
+            WebhookDelivery delivery =
+                    WebhookDelivery.failedPermanent(
+                            subscription.id(),
+                            payload.id(),
+                            subscription.url(),
+                            null,
+                            "Delivery queue full",
+                            0,
+                            Duration.ZERO);
+            service.notifyDelivery(delivery);
+            result.complete(delivery);
+            return result;
+        }
+        pump();
+        if (closed) {
+            // Removed concurrently: do not leave the event behind in a dead lane
+            failQueued();
+        }
+        return result;
+    }
+
+    /** Number of queued events, not counting those in flight. */
+    int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Stops the lane: queued events fail with {@code FAILED_PERMANENT} and the lane's meters are
+     * removed. Requests in flight finish, but their retries are not sent.
+     */
+    void close() {
+        closed = true;
+        meterRegistry.remove(queueDepth);
+        meterRegistry.remove(rejected);
+        failQueued();
+    }
+
+    private void failQueued() {
+        List<Pending> dropped = new ArrayList<>();
+        queue.drainTo(dropped);
+        for (Pending pending : dropped) {
+            WebhookDelivery delivery =
+                    WebhookDelivery.failedPermanent(
+                            subscription.id(),
+                            pending.payload().id(),
+                            subscription.url(),
+                            null,
+                            "Subscription removed",
+                            0,
+                            Duration.ZERO);
+            service.notifyDelivery(delivery);
+            pending.result().complete(delivery);
+        }
+    }
+
+    /**
+     * Starts requests while there are queued events and free slots.
+     *
+     * <p>Never re-entered from within: a batch the executor rejects is failed in place and the
+     * loop moves on, so sustained rejection drains the queue iteratively.
+     */
+    private void pump() {
+        while (!closed && !queue.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxConcurrency) {
+                // A request in flight will pump again when it completes
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            queue.drainTo(batch, maxBatchSize);
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            Request request = request(batch);
+            try {
+                executor.execute(() -> send(batch, request, 1));
+            } catch (RejectedExecutionException e) {
+                finish(batch, failed(request, null, "Delivery rejected: " + e.getMessage(), 1));
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private Request request(List<Pending> batch) {
+        if (maxBatchSize == 1) {
+            Pending single = batch.getFirst();
+            return new Request(single.payload().id(), single.payload().event(), single.json(), 0);
+        }
+        List<String> events =
+                batch.stream().map(pending -> pending.payload().event()).distinct().toList();
+        String body = batch.stream().map(Pending::json).collect(Collectors.joining(",", "[", "]"));
+        return new Request(
+                UUID.randomUUID().toString(),
+                events.size() == 1 ? events.getFirst() : "batch",
+                body,
+                batch.size());
+    }
+
+    private void send(List<Pending> batch, Request request, int attemptNumber) {
+        if (closed) {
+            complete(batch, failed(request, null, "Subscription removed", attemptNumber - 1));
+            return;
+        }
+        WebhookDelivery delivery;
+        try {
+            delivery =
+                    service.deliverOnce(
+                            subscription,
+                            request.id(),
+                            request.event(),
+                            request.body(),
+                            request.batchSize(),
+                            attemptNumber);
+        } catch (RuntimeException e) {
+            log.error("Webhook delivery to {} failed", subscription.url(), e);
+            delivery = failed(request, null, e.getMessage(), attemptNumber);
+        }
+
+        if (delivery.status() != WebhookDelivery.DeliveryStatus.FAILED_WILL_RETRY) {
+            complete(batch, delivery);
+            return;
+        }
+        if (closed) {
+            complete(
+                    batch,
+                    failed(request, delivery.httpStatus(), "Subscription removed", attemptNumber));
+            return;
+        }
+
+        long delayMs = service.calculateBackoff(attemptNumber);
+        Integer httpStatus = delivery.httpStatus();
+        try {
+            retryScheduler.schedule(
+                    () -> retry(batch, request, httpStatus, attemptNumber),
+                    delayMs,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            complete(batch, retryRejected(request, httpStatus, e, attemptNumber));
+        }
+    }
+
+    /** Runs on the retry scheduler: hands the next attempt to the executor. */
+    private void retry(
+            List<Pending> batch, Request request, Integer httpStatus, int attemptNumber) {
+        try {
+            executor.execute(() -> send(batch, request, attemptNumber + 1));
+        } catch (RejectedExecutionException e) {
+            // Nobody else would complete the batch or free its slot
+            complete(batch, retryRejected(request, httpStatus, e, attemptNumber));
+        }
+    }
+
+    private WebhookDelivery retryRejected(
+            Request request, Integer httpStatus, RejectedExecutionException e, int attemptNumber) {
+        return failed(request, httpStatus, "Retry rejected: " + e.getMessage(), attemptNumber);
+    }
+
+    /** Completes every event of the batch with the batch outcome, frees the slot and pumps. */
+    private void complete(List<Pending> batch, WebhookDelivery delivery) {
+        finish(batch, delivery);
+        inFlight.decrementAndGet();
+        pump();
+    }
+
+    /** Completes every event of the batch with the batch outcome. */
+    private void finish(List<Pending> batch, WebhookDelivery delivery) {
+        for (Pending pending : batch) {
+            WebhookDelivery result =
+                    maxBatchSize == 1 ? delivery : forPayload(delivery, pending.payload().id());
+            service.notifyDelivery(result);
+            pending.result().complete(result);
+        }
+    }
+
+    private WebhookDelivery failed(
+            Request request, Integer httpStatus, String error, int attemptNumber) {
+        return WebhookDelivery.failedPermanent(
+                subscription.id(),
+                request.id(),
+                subscription.url(),
+                httpStatus,
+                error,
+                attemptNumber,
+                Duration.ZERO);
+    }
+
+    private static WebhookDelivery forPayload(WebhookDelivery delivery, String payloadId) {
+        return WebhookDelivery.builder()
+                .subscriptionId(delivery.subscriptionId())
+                .payloadId(payloadId)
+                .url(delivery.url())
+                .status(delivery.status())
+                .httpStatus(delivery.httpStatus())
+                .responseBody(delivery.responseBody())
+                .errorMessage(delivery.errorMessage())
+                .attemptNumber(delivery.attemptNumber())
+                .duration(delivery.duration())
+                .timestamp(delivery.timestamp())
+                .build();
+    }
+}
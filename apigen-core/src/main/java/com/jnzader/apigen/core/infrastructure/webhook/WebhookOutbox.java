@@ -0,0 +1,355 @@
+package com.jnzader.apigen.core.infrastructure.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transactional outbox for webhook deliveries with at-least-once semantics.
+ *
+ * <p>{@link #enqueue} writes one {@link WebhookOutboxEntry} per interested subscription in the
+ * caller's transaction, so events are only sent if the domain change commits. A relay thread then
+ * claims due rows with {@code SELECT ... FOR UPDATE SKIP LOCKED}, leases them to this node, and
+ * delivers them on virtual threads outside of any transaction:
+ *
+ * <ul>
+ *   <li>Delivered rows are deleted
+ *   <li>Retryable failures get {@code next_attempt_at = now + backoff}: the table is the delay
+ *       queue, so pending retries survive restarts and no thread waits for them
+ *   <li>Rows that exhausted {@code maxRetries} or got a non-retryable error are marked {@code
+ *       FAILED}
+ * </ul>
+ *
+ * <p>Several nodes can relay the same table. If a node dies during a delivery, its lease expires
+ * and another node delivers the row again; receivers should deduplicate by {@code X-Webhook-Id},
+ * which stays the same across attempts. The outcome of a delivery is recorded with a conditional
+ * update on the row ID and this node's lease, so a node whose lease expired mid-delivery never
+ * overwrites or re-inserts a row that another node has since taken over or deleted.
+ *
+ * <p>{@link #stop()} stops claiming rows and waits up to 30 seconds for in-flight deliveries to
+ * record their outcome.
+ *
+ * <p>Usage example:
+ *
+ * <pre>{@code
+ * @Transactional
+ * public Order placeOrder(Order order) {
+ *     Order saved = orderRepository.save(order);
+ *     webhookOutbox.enqueue(WebhookEvent.ENTITY_CREATED, payloadFor(saved));
+ *     return saved;
+ * }
+ * }</pre>
+ */
+public class WebhookOutbox implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookOutbox.class);
+
+    /** How long {@link #stop()} waits for in-flight deliveries. */
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WebhookOutboxRepository outboxRepository;
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final WebhookService webhookService;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations transactionOperations;
+    private final OutboxConfig config;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BlockingQueue<Boolean> wakeUps = new ArrayBlockingQueue<>(1);
+    private volatile ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Thread relayThread;
+
+    /**
+     * Creates the outbox.
+     *
+     * @param outboxRepository repository for outbox rows
+     * @param subscriptionRepository repository for webhook subscriptions
+     * @param webhookService service used for single, signed delivery attempts
+     * @param objectMapper mapper used to serialize payloads
+     * @param transactionOperations transactions for claiming rows and recording outcomes
+     * @param config relay configuration
+     */
+    public WebhookOutbox(
+            WebhookOutboxRepository outboxRepository,
+            WebhookSubscriptionRepository subscriptionRepository,
+            WebhookService webhookService,
+            ObjectMapper objectMapper,
+            TransactionOperations transactionOperations,
+            OutboxConfig config) {
+        this.outboxRepository = outboxRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.webhookService = webhookService;
+        this.objectMapper = objectMapper;
+        this.transactionOperations = transactionOperations;
+        this.config = config;
+    }
+
+    /**
+     * Enqueues an event for every interested subscription.
+     *
+     * <p>Call it inside the transaction of the domain change: the rows are written with it and
+     * relayed after it commits.
+     *
+     * @param event the event type
+     * @param payload the payload to send
+     * @return IDs of the created outbox rows
+     */
+    public List<String> enqueue(WebhookEvent event, WebhookPayload payload) {
+        List<WebhookSubscription> subscribers = subscriptionRepository.findByEvent(event);
+        if (subscribers.isEmpty()) {
+            log.debug("No subscribers for event: {}", event.getEventType());
+            return List.of();
+        }
+
+        String payloadJson;
+        try {
+            payloadJson = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize webhook payload", e);
+        }
+
+        List<WebhookOutboxEntry> entries =
+                subscribers.stream()
+                        .map(
+                                subscription ->
+                                        WebhookOutboxEntry.builder()
+                                                .subscriptionId(subscription.id())
+                                                .eventType(payload.event())
+                                                .payloadId(payload.id())
+                                                .payload(payloadJson)
+                                                .build())
+                        .toList();
+        outboxRepository.saveAll(entries);
+        log.debug(
+                "Enqueued event {} for {} subscriber(s)", event.getEventType(), entries.size());
+
+        wakeUpAfterCommit();
+        return entries.stream().map(WebhookOutboxEntry::getEntryId).toList();
+    }
+
+    /**
+     * Claims one batch of due rows and delivers it.
+     *
+     * @return number of rows claimed
+     */
+    public int relayOnce() {
+        Instant now = Instant.now();
+        List<WebhookOutboxEntry> claimed =
+                transactionOperations.execute(
+                        status -> {
+                            List<WebhookOutboxEntry> due =
+                                    outboxRepository.findDueForUpdate(
+                                            WebhookOutboxEntry.Status.PENDING,
+                                            now,
+                                            PageRequest.of(0, config.batchSize()));
+                            Instant leaseUntil = now.plus(config.leaseDuration());
+                            due.forEach(entry -> entry.lease(nodeId, leaseUntil));
+                            return outboxRepository.saveAll(due);
+                        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        log.debug("Relaying {} webhook outbox row(s)", claimed.size());
+        CompletableFuture<?>[] deliveries =
+                claimed.stream()
+                        .map(
+                                entry ->
+                                        CompletableFuture.runAsync(
+                                                () -> deliver(entry), deliveryExecutor))
+                        .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(deliveries).get();
+        } catch (InterruptedException e) {
+            // Unfinished rows are delivered again when their lease expires
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Webhook outbox delivery failed", e.getCause());
+        }
+        return claimed.size();
+    }
+
+    private void deliver(WebhookOutboxEntry entry) {
+        Optional<WebhookSubscription> subscription =
+                subscriptionRepository
+                        .findById(entry.getSubscriptionId())
+                        .filter(WebhookSubscription::active);
+        if (subscription.isEmpty()) {
+            finish(entry, () -> markFailed(entry, "Subscription not found or inactive"));
+            return;
+        }
+
+        int attemptNumber = entry.getAttempts() + 1;
+        WebhookDelivery delivery =
+                webhookService.deliverOnce(
+                        subscription.get(),
+                        entry.getPayloadId(),
+                        entry.getEventType(),
+                        entry.getPayload(),
+                        attemptNumber);
+        webhookService.notifyDelivery(delivery);
+
+        finish(
+                entry,
+                () ->
+                        switch (delivery.status()) {
+                            case SUCCESS ->
+                                    outboxRepository.deleteLeased(entry.getEntryId(), nodeId);
+                            case FAILED_WILL_RETRY ->
+                                    outboxRepository.scheduleRetryLeased(
+                                            entry.getEntryId(),
+                                            nodeId,
+                                            Instant.now()
+                                                    .plusMillis(
+                                                            webhookService.calculateBackoff(
+                                                                    attemptNumber)),
+                                            WebhookOutboxEntry.truncate(delivery.errorMessage()));
+                            default -> markFailed(entry, delivery.errorMessage());
+                        });
+    }
+
+    private int markFailed(WebhookOutboxEntry entry, String error) {
+        return outboxRepository.markFailedLeased(
+                entry.getEntryId(),
+                nodeId,
+                WebhookOutboxEntry.Status.FAILED,
+                WebhookOutboxEntry.truncate(error));
+    }
+
+    /** Records a delivery outcome, unless the row is no longer leased to this node. */
+    private void finish(WebhookOutboxEntry entry, IntSupplier update) {
+        Integer updated = transactionOperations.execute(status -> update.getAsInt());
+        if (updated == null || updated == 0) {
+            log.debug(
+                    "Lease on webhook outbox row {} was lost; another node owns its outcome",
+                    entry.getEntryId());
+        }
+    }
+
+    /** Makes the relay poll right away instead of waiting for the poll interval. */
+    void wakeUp() {
+        wakeUps.offer(Boolean.TRUE);
+    }
+
+    private void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            wakeUp();
+                        }
+                    });
+        } else {
+            wakeUp();
+        }
+    }
+
+    private void relayLoop() {
+        while (relayThread == Thread.currentThread()) {
+            int claimed;
+            try {
+                claimed = relayOnce();
+            } catch (RuntimeException e) {
+                log.warn("Webhook outbox relay failed: {}", e.getMessage());
+                claimed = 0;
+            }
+            if (claimed < config.batchSize()) {
+                try {
+                    wakeUps.poll(config.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (relayThread == null) {
+            if (deliveryExecutor.isShutdown()) {
+                deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            }
+            relayThread =
+                    Thread.ofPlatform()
+                            .name("webhook-outbox-relay")
+                            .daemon()
+                            .unstarted(this::relayLoop);
+            relayThread.start();
+            log.info("Webhook outbox relay started (node {})", nodeId);
+        }
+    }
+
+    /**
+     * Stops the relay and waits for in-flight deliveries, so their outcome is recorded before the
+     * data source closes. Rows still in flight after the timeout are delivered again when their
+     * lease expires.
+     */
+    @Override
+    public void stop() {
+        Thread thread = relayThread;
+        relayThread = null;
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        try {
+            if (thread != null) {
+                thread.interrupt();
+                thread.join(SHUTDOWN_TIMEOUT);
+            }
+            deliveryExecutor.shutdown();
+            long remaining = deadline - System.nanoTime();
+            if (!deliveryExecutor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                log.warn("Webhook outbox deliveries still running after {}", SHUTDOWN_TIMEOUT);
+                deliveryExecutor.shutdownNow();
+            }
+        } catch (InterruptedException _) {
+            deliveryExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return relayThread != null;
+    }
+
+    /**
+     * Configuration for the outbox relay.
+     *
+     * @param pollInterval how long the relay waits for new rows when the table is drained
+     * @param batchSize maximum rows claimed (and delivered concurrently) per poll
+     * @param leaseDuration how long a claimed row is reserved for this node; must exceed the
+     *     request timeout
+     */
+    public record OutboxConfig(Duration pollInterval, int batchSize, Duration leaseDuration) {
+
+        public OutboxConfig {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+        }
+
+        /** Creates default configuration. */
+        public static OutboxConfig defaults() {
+            return new OutboxConfig(Duration.ofSeconds(1), 50, Duration.ofMinutes(2));
+        }
+    }
+}
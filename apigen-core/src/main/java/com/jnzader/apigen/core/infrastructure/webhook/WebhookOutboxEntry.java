@@ -0,0 +1,210 @@
+package com.jnzader.apigen.core.infrastructure.webhook;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for a pending webhook delivery in the transactional outbox.
+ *
+ * <p>One row per subscription and event, written in the same transaction as the domain change.
+ * Delivered rows are deleted; rows that exhausted their attempts stay with status {@code FAILED}
+ * for inspection.
+ *
+ * <p>The lease columns let several nodes poll the table concurrently: a node claims due rows with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED} and leases them until {@code lease_until}. If the node
+ * dies, the lease expires and another node delivers the row again (at-least-once).
+ */
+@Entity
+@Table(
+        name = "webhook_outbox",
+        indexes = {
+            @Index(name = "idx_webhook_outbox_due", columnList = "status, next_attempt_at"),
+            @Index(name = "idx_webhook_outbox_subscription", columnList = "subscription_id")
+        })
+public class WebhookOutboxEntry {
+
+    /** Outbox row states. */
+    public enum Status {
+        /** Waiting for its next delivery attempt. */
+        PENDING,
+        /** All attempts failed or the error was not retryable. */
+        FAILED
+    }
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @Column(name = "entry_id", length = 36)
+    private String entryId;
+
+    @Column(name = "subscription_id", nullable = false, length = 100)
+    private String subscriptionId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "payload_id", nullable = false, length = 36)
+    private String payloadId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected WebhookOutboxEntry() {
+        // JPA
+    }
+
+    private WebhookOutboxEntry(Builder builder) {
+        this.entryId = UUID.randomUUID().toString();
+        this.subscriptionId = builder.subscriptionId;
+        this.eventType = builder.eventType;
+        this.payloadId = builder.payloadId;
+        this.payload = builder.payload;
+        this.status = Status.PENDING;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Leases the row to a node until the given instant. */
+    void lease(String owner, Instant until) {
+        this.leaseOwner = owner;
+        this.leaseUntil = until;
+    }
+
+    /** Records a failed attempt and makes the row due again at {@code nextAttemptAt}. */
+    void scheduleRetry(Instant nextAttemptAt, String error) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+    }
+
+    /** Records the last failed attempt; the row will not be delivered again. */
+    void markFailed(String error) {
+        this.attempts++;
+        this.status = Status.FAILED;
+        this.lastError = truncate(error);
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+    }
+
+    /** Truncates an error message to the length of the {@code last_error} column. */
+    static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    public String getEntryId() {
+        return entryId;
+    }
+
+    public String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayloadId() {
+        return payloadId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public static class Builder {
+        private String subscriptionId;
+        private String eventType;
+        private String payloadId;
+        private String payload;
+
+        public Builder subscriptionId(String subscriptionId) {
+            this.subscriptionId = subscriptionId;
+            return this;
+        }
+
+        public Builder eventType(String eventType) {
+            this.eventType = eventType;
+            return this;
+        }
+
+        public Builder payloadId(String payloadId) {
+            this.payloadId = payloadId;
+            return this;
+        }
+
+        public Builder payload(String payload) {
+            this.payload = payload;
+            return this;
+        }
+
+        public WebhookOutboxEntry build() {
+            return new WebhookOutboxEntry(this);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.jnzader.apigen.core.infrastructure.webhook;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JPA repository for the webhook outbox.
+ *
+ * <p>Provides the claim query used by {@link WebhookOutbox} to lease due rows, and the updates
+ * that record a delivery's outcome. Those only apply while the row is still leased to the node
+ * that delivered it: if the lease expired and another node took the row over (or already deleted
+ * it), they change nothing and return 0.
+ */
+@Repository
+public interface WebhookOutboxRepository extends JpaRepository<WebhookOutboxEntry, String> {
+
+    /**
+     * Locks due, unleased rows, skipping rows locked by other nodes.
+     *
+     * <p>Issued as {@code SELECT ... FOR UPDATE SKIP LOCKED} (lock timeout {@code -2}) on
+     * databases that support it. Must run inside a transaction; the rows are leased and the
+     * transaction committed right away, so the locks are only held while claiming.
+     *
+     * @param status the status to claim ({@code PENDING})
+     * @param now the current time
+     * @param page maximum number of rows to claim
+     * @return the locked rows, oldest due first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+            "SELECT e FROM WebhookOutboxEntry e WHERE e.status = :status"
+                    + " AND e.nextAttemptAt <= :now"
+                    + " AND (e.leaseUntil IS NULL OR e.leaseUntil < :now)"
+                    + " ORDER BY e.nextAttemptAt")
+    List<WebhookOutboxEntry> findDueForUpdate(
+            @Param("status") WebhookOutboxEntry.Status status,
+            @Param("now") Instant now,
+            Pageable page);
+
+    /**
+     * Deletes a delivered row if it is still leased to the given node.
+     *
+     * @param entryId the row ID
+     * @param leaseOwner the node that delivered it
+     * @return number of rows deleted (0 if the lease was lost)
+     */
+    @Modifying
+    @Query(
+            "DELETE FROM WebhookOutboxEntry e WHERE e.entryId = :entryId"
+                    + " AND e.leaseOwner = :leaseOwner")
+    int deleteLeased(@Param("entryId") String entryId, @Param("leaseOwner") String leaseOwner);
+
+    /**
+     * Records a failed attempt and releases the row until its next attempt, if it is still leased
+     * to the given node.
+     *
+     * @param entryId the row ID
+     * @param leaseOwner the node that delivered it
+     * @param nextAttemptAt when the row is due again
+     * @param error the error, already truncated to the column length
+     * @return number of rows updated (0 if the lease was lost)
+     */
+    @Modifying
+    @Query(
+            "UPDATE WebhookOutboxEntry e SET e.attempts = e.attempts + 1,"
+                    + " e.nextAttemptAt = :nextAttemptAt, e.lastError = :error,"
+                    + " e.leaseOwner = null, e.leaseUntil = null"
+                    + " WHERE e.entryId = :entryId AND e.leaseOwner = :leaseOwner")
+    int scheduleRetryLeased(
+            @Param("entryId") String entryId,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("nextAttemptAt") Instant nextAttemptAt,
+            @Param("error") String error);
+
+    /**
+     * Records the last failed attempt of a row, if it is still leased to the given node.
+     *
+     * @param entryId the row ID
+     * @param leaseOwner the node that delivered it
+     * @param status the final status ({@code FAILED})
+     * @param error the error, already truncated to the column length
+     * @return number of rows updated (0 if the lease was lost)
+     */
+    @Modifying
+    @Query(
+            "UPDATE WebhookOutboxEntry e SET e.attempts = e.attempts + 1, e.status = :status,"
+                    + " e.lastError = :error, e.leaseOwner = null, e.leaseUntil = null"
+                    + " WHERE e.entryId = :entryId AND e.leaseOwner = :leaseOwner")
+    int markFailedLeased(
+            @Param("entryId") String entryId,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("status") WebhookOutboxEntry.Status status,
+            @Param("error") String error);
+
+    /**
+     * Counts rows by status.
+     *
+     * @param status the status
+     * @return the number of rows
+     */
+    long countByStatus(WebhookOutboxEntry.Status status);
+}
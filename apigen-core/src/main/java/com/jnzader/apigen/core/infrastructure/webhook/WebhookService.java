@@ -2,6 +2,14 @@ package com.jnzader.apigen.core.infrastructure.webhook;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -9,9 +17,14 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +35,14 @@ import org.slf4j.LoggerFactory;
  * <p>Features:
  *
  * <ul>
- *   <li>Asynchronous delivery using virtual threads
+ *   <li>Asynchronous delivery using virtual threads, through a bounded queue per subscription
+ *       with a limit of concurrent requests (see {@link WebhookDeliveryLane})
+ *   <li>Optional batching of several events per request
+ *   <li>A circuit breaker per subscription that stops calling endpoints that keep failing
+ *   <li>A shared HTTP/2 client that reuses connections per host
  *   <li>HMAC-SHA256 signatures for request authentication
- *   <li>Configurable retry logic with exponential backoff
+ *   <li>Configurable retry logic with exponential backoff, scheduled on a delay queue so that no
+ *       thread is held while waiting for the next attempt
  *   <li>Delivery tracking and logging
  * </ul>
  *
@@ -40,6 +58,19 @@ import org.slf4j.LoggerFactory;
  *
  * webhookService.dispatch(WebhookEvent.ENTITY_CREATED, payload);
  * }</pre>
+ *
+ * <p>Metrics (tag {@code subscription}):
+ *
+ * <ul>
+ *   <li>{@code apigen.webhook.queue.depth} - events waiting in the subscription queue
+ *   <li>{@code apigen.webhook.delivery.latency} - request latency, with {@code
+ *       outcome=success|retry|failed}
+ *   <li>{@code apigen.webhook.rejected} - events or attempts not sent, with {@code
+ *       reason=queue_full|circuit_open}
+ * </ul>
+ *
+ * <p>Retries scheduled here live in memory and are lost on restart. For at-least-once delivery
+ * across restarts and nodes, enqueue events in the {@link WebhookOutbox} instead.
  */
 public class WebhookService {
 
@@ -49,13 +80,20 @@ public class WebhookService {
     private static final String HEADER_WEBHOOK_SIGNATURE = "X-Webhook-Signature";
     private static final String HEADER_WEBHOOK_TIMESTAMP = "X-Webhook-Timestamp";
     private static final String HEADER_WEBHOOK_EVENT = "X-Webhook-Event";
+    private static final String HEADER_WEBHOOK_BATCH_SIZE = "X-Webhook-Batch-Size";
+    static final String METRIC_DELIVERY_LATENCY = "apigen.webhook.delivery.latency";
     private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final String CIRCUIT_BREAKER_PREFIX = "webhook-";
 
     private final WebhookSubscriptionRepository subscriptionRepository;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
     private final ExecutorService executorService;
+    private final ScheduledExecutorService retryScheduler;
     private final WebhookConfig config;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Map<String, WebhookDeliveryLane> lanes = new ConcurrentHashMap<>();
     private Consumer<WebhookDelivery> deliveryCallback;
 
     /**
@@ -78,15 +116,49 @@ public class WebhookService {
             WebhookSubscriptionRepository subscriptionRepository,
             ObjectMapper objectMapper,
             WebhookConfig config) {
+        this(subscriptionRepository, objectMapper, config, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Creates a new WebhookService with the given configuration and metrics registry.
+     *
+     * @param subscriptionRepository repository for webhook subscriptions
+     * @param objectMapper JSON object mapper
+     * @param config webhook configuration
+     * @param meterRegistry registry for queue and delivery metrics
+     */
+    public WebhookService(
+            WebhookSubscriptionRepository subscriptionRepository,
+            ObjectMapper objectMapper,
+            WebhookConfig config,
+            MeterRegistry meterRegistry) {
         this.subscriptionRepository = subscriptionRepository;
         this.objectMapper = objectMapper;
         this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakers =
+                CircuitBreakerRegistry.of(
+                        CircuitBreakerConfig.custom()
+                                .failureRateThreshold(config.circuitBreakerFailureRate())
+                                .slidingWindowType(
+                                        CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                                .slidingWindowSize(20)
+                                .minimumNumberOfCalls(10)
+                                .waitDurationInOpenState(config.circuitBreakerOpenDuration())
+                                .permittedNumberOfCallsInHalfOpenState(1)
+                                .build());
+        // HTTP/2 multiplexes concurrent requests to the same host over one connection; HTTP/1.1
+        // endpoints fall back to the client's per-host connection pool
         this.httpClient =
                 HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
                         .connectTimeout(config.connectTimeout())
                         .executor(Executors.newVirtualThreadPerTaskExecutor())
                         .build();
         this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+        this.retryScheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("webhook-retry").daemon().factory());
     }
 
     /**
@@ -101,9 +173,12 @@ public class WebhookService {
     /**
      * Dispatches a webhook event to all interested subscribers.
      *
+     * <p>The payload is serialized once and queued in the lane of each subscription. If a lane is
+     * full, its future completes right away with {@code FAILED_PERMANENT}.
+     *
      * @param event the event type
      * @param payload the payload to send
-     * @return completable futures for each delivery
+     * @return completable futures for each delivery, completed with the final outcome
      */
     public List<CompletableFuture<WebhookDelivery>> dispatch(
             WebhookEvent event, WebhookPayload payload) {
@@ -119,11 +194,72 @@ public class WebhookService {
                 event.getEventType(),
                 subscribers.size());
 
+        String payloadJson;
+        try {
+            payloadJson = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize webhook payload", e);
+            return subscribers.stream()
+                    .map(subscription -> serializationFailed(subscription, payload, e))
+                    .toList();
+        }
+
         return subscribers.stream()
-                .map(subscription -> deliverAsync(subscription, payload))
+                .map(subscription -> lane(subscription).submit(subscription, payload, payloadJson))
                 .toList();
     }
 
+    private WebhookDeliveryLane lane(WebhookSubscription subscription) {
+        return lanes.computeIfAbsent(
+                subscription.id(),
+                id ->
+                        new WebhookDeliveryLane(
+                                subscription,
+                                this,
+                                executorService,
+                                retryScheduler,
+                                config,
+                                meterRegistry));
+    }
+
+    /**
+     * Removes a subscription and its delivery lane.
+     *
+     * <p>Events still queued for it complete with {@code FAILED_PERMANENT}, and its queue,
+     * rejection, latency and circuit breaker state is released. Use this instead of deleting the
+     * subscription from the repository directly, or call {@link #removeLane(String)} afterwards.
+     *
+     * @param subscriptionId the subscription ID
+     */
+    public void unsubscribe(String subscriptionId) {
+        subscriptionRepository.deleteById(subscriptionId);
+        removeLane(subscriptionId);
+    }
+
+    /**
+     * Releases the delivery lane and per-subscription meters of a subscription that no longer
+     * receives events.
+     *
+     * @param subscriptionId the subscription ID
+     */
+    public void removeLane(String subscriptionId) {
+        WebhookDeliveryLane lane = lanes.remove(subscriptionId);
+        if (lane != null) {
+            lane.close();
+        }
+        circuitBreakers.remove(CIRCUIT_BREAKER_PREFIX + subscriptionId);
+        meterRegistry
+                .find(METRIC_DELIVERY_LATENCY)
+                .tag("subscription", subscriptionId)
+                .meters()
+                .forEach(meterRegistry::remove);
+        meterRegistry
+                .find(WebhookDeliveryLane.METRIC_REJECTED)
+                .tag("subscription", subscriptionId)
+                .meters()
+                .forEach(meterRegistry::remove);
+    }
+
     /**
      * Dispatches a webhook event synchronously and waits for all deliveries.
      *
@@ -169,85 +305,220 @@ public class WebhookService {
 
     private CompletableFuture<WebhookDelivery> deliverAsync(
             WebhookSubscription subscription, WebhookPayload payload) {
-        return CompletableFuture.supplyAsync(
-                () -> deliverWithRetry(subscription, payload, 1), executorService);
-    }
-
-    private WebhookDelivery deliverWithRetry(
-            WebhookSubscription subscription, WebhookPayload payload, int attemptNumber) {
-        Instant startTime = Instant.now();
         String payloadJson;
-
         try {
             payloadJson = objectMapper.writeValueAsString(payload);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize webhook payload", e);
-            return createFailedDelivery(
-                    subscription,
-                    payload,
-                    null,
-                    "Serialization failed: " + e.getMessage(),
-                    attemptNumber,
-                    Duration.ZERO,
-                    true);
+            return serializationFailed(subscription, payload, e);
+        }
+
+        CompletableFuture<WebhookDelivery> result = new CompletableFuture<>();
+        executorService.execute(
+                () -> attemptDelivery(subscription, payload, payloadJson, 1, result));
+        return result;
+    }
+
+    private CompletableFuture<WebhookDelivery> serializationFailed(
+            WebhookSubscription subscription, WebhookPayload payload, JsonProcessingException e) {
+        WebhookDelivery delivery =
+                WebhookDelivery.failedPermanent(
+                        subscription.id(),
+                        payload.id(),
+                        subscription.url(),
+                        null,
+                        "Serialization failed: " + e.getMessage(),
+                        1,
+                        Duration.ZERO);
+        notifyDelivery(delivery);
+        return CompletableFuture.completedFuture(delivery);
+    }
+
+    /**
+     * Runs one attempt and, if it failed with a retryable error, schedules the next one on the
+     * retry scheduler instead of sleeping, so no thread is held between attempts.
+     */
+    private void attemptDelivery(
+            WebhookSubscription subscription,
+            WebhookPayload payload,
+            String payloadJson,
+            int attemptNumber,
+            CompletableFuture<WebhookDelivery> result) {
+        WebhookDelivery delivery =
+                deliverOnce(
+                        subscription, payload.id(), payload.event(), payloadJson, attemptNumber);
+
+        if (delivery.status() != WebhookDelivery.DeliveryStatus.FAILED_WILL_RETRY) {
+            notifyDelivery(delivery);
+            result.complete(delivery);
+            return;
+        }
+
+        int nextAttempt = attemptNumber + 1;
+        long delayMs = calculateBackoff(attemptNumber);
+        log.debug("Scheduling retry {} in {}ms for {}", nextAttempt, delayMs, subscription.url());
+        try {
+            retryScheduler.schedule(
+                    () ->
+                            executorService.execute(
+                                    () ->
+                                            attemptDelivery(
+                                                    subscription,
+                                                    payload,
+                                                    payloadJson,
+                                                    nextAttempt,
+                                                    result)),
+                    delayMs,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            WebhookDelivery failed =
+                    WebhookDelivery.failedPermanent(
+                            subscription.id(),
+                            payload.id(),
+                            subscription.url(),
+                            delivery.httpStatus(),
+                            "Retry rejected: " + e.getMessage(),
+                            attemptNumber,
+                            delivery.duration());
+            notifyDelivery(failed);
+            result.complete(failed);
+        }
+    }
+
+    /**
+     * Performs a single, signed delivery attempt without retrying.
+     *
+     * @param subscription the target subscription
+     * @param payloadId the payload ID (sent as {@code X-Webhook-Id}, stable across attempts)
+     * @param event the event type
+     * @param payloadJson the serialized payload
+     * @param attemptNumber the attempt number (1-based)
+     * @return {@code SUCCESS}, {@code FAILED_WILL_RETRY} if the error is retryable and attempts
+     *     remain, or {@code FAILED_PERMANENT}
+     */
+    WebhookDelivery deliverOnce(
+            WebhookSubscription subscription,
+            String payloadId,
+            String event,
+            String payloadJson,
+            int attemptNumber) {
+        return deliverOnce(subscription, payloadId, event, payloadJson, 0, attemptNumber);
+    }
+
+    /**
+     * Performs a single, signed delivery attempt without retrying.
+     *
+     * <p>Attempts go through the circuit breaker of the subscription: while it is open, the
+     * attempt fails without calling the endpoint and is retried with the usual backoff.
+     *
+     * @param subscription the target subscription
+     * @param payloadId the payload or batch ID (sent as {@code X-Webhook-Id})
+     * @param event the event type
+     * @param payloadJson the serialized payload, or a JSON array of payloads for a batch
+     * @param batchSize the number of payloads in a batch, or {@code 0} for a single payload
+     * @param attemptNumber the attempt number (1-based)
+     * @return {@code SUCCESS}, {@code FAILED_WILL_RETRY} if the error is retryable and attempts
+     *     remain, or {@code FAILED_PERMANENT}
+     */
+    WebhookDelivery deliverOnce(
+            WebhookSubscription subscription,
+            String payloadId,
+            String event,
+            String payloadJson,
+            int batchSize,
+            int attemptNumber) {
+        CircuitBreaker circuitBreaker =
+                circuitBreakers.circuitBreaker(CIRCUIT_BREAKER_PREFIX + subscription.id());
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug(
+                    "Circuit open for {}, skipping attempt {}", subscription.url(), attemptNumber);
+            Counter.builder(WebhookDeliveryLane.METRIC_REJECTED)
+                    .tag("subscription", subscription.id())
+                    .tag("reason", "circuit_open")
+                    .register(meterRegistry)
+                    .increment();
+            return failedAttempt(
+                    subscription, payloadId, null, "Circuit open", attemptNumber, Duration.ZERO);
         }
 
+        Instant startTime = Instant.now();
         try {
             Instant timestamp = Instant.now();
             String signature = WebhookSignature.sign(payloadJson, subscription.secret(), timestamp);
 
-            HttpRequest request =
+            HttpRequest.Builder builder =
                     HttpRequest.newBuilder()
                             .uri(URI.create(subscription.url()))
                             .timeout(config.requestTimeout())
                             .header("Content-Type", CONTENT_TYPE_JSON)
-                            .header(HEADER_WEBHOOK_ID, payload.id())
-                            .header(HEADER_WEBHOOK_EVENT, payload.event())
+                            .header(HEADER_WEBHOOK_ID, payloadId)
+                            .header(HEADER_WEBHOOK_EVENT, event)
                             .header(
                                     HEADER_WEBHOOK_TIMESTAMP,
                                     String.valueOf(timestamp.getEpochSecond()))
                             .header(HEADER_WEBHOOK_SIGNATURE, signature)
-                            .POST(HttpRequest.BodyPublishers.ofString(payloadJson))
-                            .build();
+                            .POST(HttpRequest.BodyPublishers.ofString(payloadJson));
+            if (batchSize > 0) {
+                builder.header(HEADER_WEBHOOK_BATCH_SIZE, String.valueOf(batchSize));
+            }
 
             HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
             Duration duration = Duration.between(startTime, Instant.now());
 
             int statusCode = response.statusCode();
-            boolean success = statusCode >= 200 && statusCode < 300;
-
-            if (success) {
+            if (statusCode >= 200 && statusCode < 300) {
+                circuitBreaker.onSuccess(duration.toNanos(), TimeUnit.NANOSECONDS);
+                recordLatency(subscription, "success", duration);
                 log.debug(
                         "Webhook delivered successfully to {} (status: {})",
                         subscription.url(),
                         statusCode);
-                WebhookDelivery delivery =
-                        WebhookDelivery.success(
-                                subscription.id(),
-                                payload.id(),
-                                subscription.url(),
-                                statusCode,
-                                response.body(),
-                                attemptNumber,
-                                duration);
-                notifyDelivery(delivery);
-                return delivery;
-            } else {
-                log.warn(
-                        "Webhook delivery failed to {} (status: {}, attempt: {})",
+                return WebhookDelivery.success(
+                        subscription.id(),
+                        payloadId,
                         subscription.url(),
                         statusCode,
-                        attemptNumber);
-                return handleFailedDelivery(
-                        subscription,
-                        payload,
-                        statusCode,
-                        "HTTP " + statusCode,
+                        response.body(),
                         attemptNumber,
                         duration);
             }
 
+            log.warn(
+                    "Webhook delivery failed to {} (status: {}, attempt: {})",
+                    subscription.url(),
+                    statusCode,
+                    attemptNumber);
+            if (isRetryable(statusCode)) {
+                circuitBreaker.onError(
+                        duration.toNanos(),
+                        TimeUnit.NANOSECONDS,
+                        new IOException("HTTP " + statusCode));
+            } else {
+                // The endpoint is up; a client error says nothing about its health
+                circuitBreaker.releasePermission();
+            }
+            return recordLatency(
+                    subscription,
+                    failedAttempt(
+                            subscription,
+                            payloadId,
+                            statusCode,
+                            "HTTP " + statusCode,
+                            attemptNumber,
+                            duration));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission();
+            return WebhookDelivery.failedPermanent(
+                    subscription.id(),
+                    payloadId,
+                    subscription.url(),
+                    null,
+                    "Interrupted during delivery",
+                    attemptNumber,
+                    Duration.between(startTime, Instant.now()));
         } catch (Exception e) {
             Duration duration = Duration.between(startTime, Instant.now());
             log.warn(
@@ -255,91 +526,84 @@ public class WebhookService {
                     subscription.url(),
                     attemptNumber,
                     e.getMessage());
-            return handleFailedDelivery(
-                    subscription, payload, null, e.getMessage(), attemptNumber, duration);
+            circuitBreaker.onError(duration.toNanos(), TimeUnit.NANOSECONDS, e);
+            return recordLatency(
+                    subscription,
+                    failedAttempt(
+                            subscription,
+                            payloadId,
+                            null,
+                            e.getMessage(),
+                            attemptNumber,
+                            duration));
         }
     }
 
-    private WebhookDelivery handleFailedDelivery(
-            WebhookSubscription subscription,
-            WebhookPayload payload,
-            Integer httpStatus,
-            String errorMessage,
-            int attemptNumber,
-            Duration duration) {
-
-        boolean shouldRetry = attemptNumber < config.maxRetries();
-        boolean isRetryableStatus = httpStatus == null || httpStatus >= 500 || httpStatus == 429;
-
-        if (shouldRetry && isRetryableStatus) {
-            // Schedule retry with exponential backoff
-            int nextAttempt = attemptNumber + 1;
-            long delayMs = calculateBackoff(attemptNumber);
-            log.debug(
-                    "Scheduling retry {} in {}ms for {}", nextAttempt, delayMs, subscription.url());
-
-            try {
-                Thread.sleep(delayMs);
-            } catch (InterruptedException _) {
-                Thread.currentThread().interrupt();
-                return createFailedDelivery(
-                        subscription,
-                        payload,
-                        httpStatus,
-                        "Interrupted during retry",
-                        attemptNumber,
-                        duration,
-                        true);
-            }
+    private WebhookDelivery recordLatency(
+            WebhookSubscription subscription, WebhookDelivery delivery) {
+        String outcome =
+                delivery.status() == WebhookDelivery.DeliveryStatus.FAILED_WILL_RETRY
+                        ? "retry"
+                        : "failed";
+        recordLatency(subscription, outcome, delivery.duration());
+        return delivery;
+    }
 
-            return deliverWithRetry(subscription, payload, nextAttempt);
-        }
+    private void recordLatency(
+            WebhookSubscription subscription, String outcome, Duration duration) {
+        Timer.builder(METRIC_DELIVERY_LATENCY)
+                .description("Webhook request latency")
+                .tag("subscription", subscription.id())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(duration);
+    }
 
-        return createFailedDelivery(
-                subscription, payload, httpStatus, errorMessage, attemptNumber, duration, true);
+    private static boolean isRetryable(Integer httpStatus) {
+        return httpStatus == null || httpStatus >= 500 || httpStatus == 429;
     }
 
-    private WebhookDelivery createFailedDelivery(
+    private WebhookDelivery failedAttempt(
             WebhookSubscription subscription,
-            WebhookPayload payload,
+            String payloadId,
             Integer httpStatus,
             String errorMessage,
             int attemptNumber,
-            Duration duration,
-            boolean permanent) {
-        WebhookDelivery delivery;
-        if (permanent) {
-            delivery =
-                    WebhookDelivery.failedPermanent(
-                            subscription.id(),
-                            payload.id(),
-                            subscription.url(),
-                            httpStatus,
-                            errorMessage,
-                            attemptNumber,
-                            duration);
-        } else {
-            delivery =
-                    WebhookDelivery.failedWillRetry(
-                            subscription.id(),
-                            payload.id(),
-                            subscription.url(),
-                            httpStatus,
-                            errorMessage,
-                            attemptNumber,
-                            duration);
+            Duration duration) {
+        boolean shouldRetry = attemptNumber < config.maxRetries();
+        if (shouldRetry && isRetryable(httpStatus)) {
+            return WebhookDelivery.failedWillRetry(
+                    subscription.id(),
+                    payloadId,
+                    subscription.url(),
+                    httpStatus,
+                    errorMessage,
+                    attemptNumber,
+                    duration);
         }
-        notifyDelivery(delivery);
-        return delivery;
+        return WebhookDelivery.failedPermanent(
+                subscription.id(),
+                payloadId,
+                subscription.url(),
+                httpStatus,
+                errorMessage,
+                attemptNumber,
+                duration);
     }
 
-    private long calculateBackoff(int attemptNumber) {
+    /** Delay before the attempt after {@code attemptNumber}. */
+    long calculateBackoff(int attemptNumber) {
         // Exponential backoff: baseDelay * 2^(attempt-1), capped at maxDelay
         long delay = config.retryBaseDelay().toMillis() * (1L << (attemptNumber - 1));
         return Math.min(delay, config.retryMaxDelay().toMillis());
     }
 
-    private void notifyDelivery(WebhookDelivery delivery) {
+    /** Maximum number of delivery attempts. */
+    int maxAttempts() {
+        return config.maxRetries();
+    }
+
+    void notifyDelivery(WebhookDelivery delivery) {
         if (deliveryCallback != null) {
             try {
                 deliveryCallback.accept(delivery);
@@ -355,7 +619,63 @@ public class WebhookService {
             Duration requestTimeout,
             int maxRetries,
             Duration retryBaseDelay,
-            Duration retryMaxDelay) {
+            Duration retryMaxDelay,
+            int queueCapacity,
+            int maxConcurrency,
+            int maxBatchSize,
+            float circuitBreakerFailureRate,
+            Duration circuitBreakerOpenDuration) {
+
+        /** Events queued per subscription. */
+        public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+        /** Requests in flight per subscription. */
+        public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+        /** Events per request (no batching). */
+        public static final int DEFAULT_MAX_BATCH_SIZE = 1;
+
+        /** Failure rate (%) that opens a subscription's circuit. */
+        public static final float DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 50;
+
+        /** How long an open circuit stays open. */
+        public static final Duration DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = Duration.ofSeconds(30);
+
+        public WebhookConfig {
+            if (queueCapacity <= 0 || maxConcurrency <= 0 || maxBatchSize <= 0) {
+                throw new IllegalArgumentException(
+                        "queueCapacity, maxConcurrency and maxBatchSize must be positive");
+            }
+        }
+
+        /**
+         * Creates configuration with the default queue, concurrency, batching and circuit breaker
+         * settings.
+         *
+         * @param connectTimeout connection timeout
+         * @param requestTimeout request timeout
+         * @param maxRetries maximum delivery attempts
+         * @param retryBaseDelay delay before the first retry
+         * @param retryMaxDelay maximum delay between retries
+         */
+        public WebhookConfig(
+                Duration connectTimeout,
+                Duration requestTimeout,
+                int maxRetries,
+                Duration retryBaseDelay,
+                Duration retryMaxDelay) {
+            this(
+                    connectTimeout,
+                    requestTimeout,
+                    maxRetries,
+                    retryBaseDelay,
+                    retryMaxDelay,
+                    DEFAULT_QUEUE_CAPACITY,
+                    DEFAULT_MAX_CONCURRENCY,
+                    DEFAULT_MAX_BATCH_SIZE,
+                    DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE,
+                    DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION);
+        }
 
         /** Creates default configuration. */
         public static WebhookConfig defaults() {
@@ -380,6 +700,11 @@ public class WebhookService {
             private int maxRetries = 3;
             private Duration retryBaseDelay = Duration.ofSeconds(1);
             private Duration retryMaxDelay = Duration.ofMinutes(5);
+            private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+            private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+            private float circuitBreakerFailureRate = DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+            private Duration circuitBreakerOpenDuration = DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
 
             public Builder connectTimeout(Duration connectTimeout) {
                 this.connectTimeout = connectTimeout;
@@ -406,9 +731,43 @@ public class WebhookService {
                 return this;
             }
 
+            public Builder queueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+                return this;
+            }
+
+            public Builder maxConcurrency(int maxConcurrency) {
+                this.maxConcurrency = maxConcurrency;
+                return this;
+            }
+
+            public Builder maxBatchSize(int maxBatchSize) {
+                this.maxBatchSize = maxBatchSize;
+                return this;
+            }
+
+            public Builder circuitBreakerFailureRate(float circuitBreakerFailureRate) {
+                this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+                return this;
+            }
+
+            public Builder circuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+                this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+                return this;
+            }
+
             public WebhookConfig build() {
                 return new WebhookConfig(
-                        connectTimeout, requestTimeout, maxRetries, retryBaseDelay, retryMaxDelay);
+                        connectTimeout,
+                        requestTimeout,
+                        maxRetries,
+                        retryBaseDelay,
+                        retryMaxDelay,
+                        queueCapacity,
+                        maxConcurrency,
+                        maxBatchSize,
+                        circuitBreakerFailureRate,
+                        circuitBreakerOpenDuration);
             }
         }
     }
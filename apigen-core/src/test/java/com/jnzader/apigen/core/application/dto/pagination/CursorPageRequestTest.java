@@ -0,0 +1,200 @@
+package com.jnzader.apigen.core.application.dto.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jnzader.apigen.core.application.dto.pagination.CursorPageRequest.DecodedCursor;
+import com.jnzader.apigen.core.application.dto.pagination.CursorPageRequest.SortDirection;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("CursorPageRequest Tests")
+class CursorPageRequestTest {
+
+    @Nested
+    @DisplayName("binary cursor")
+    class BinaryCursorTests {
+
+        @Test
+        @DisplayName("should round-trip id, field, typed value, direction and backward flag")
+        void shouldRoundTrip() {
+            LocalDateTime created = LocalDateTime.of(2024, 5, 17, 10, 30, 15, 123_456_000);
+
+            String cursor =
+                    CursorPageRequest.encodeCursor(
+                            42L, "fechaCreacion", created, SortDirection.ASC, true);
+            DecodedCursor decoded = decode(cursor);
+
+            assertThat(decoded.lastId()).isEqualTo(42L);
+            assertThat(decoded.sortField()).isEqualTo("fechaCreacion");
+            assertThat(decoded.sortValue()).isEqualTo(created);
+            assertThat(decoded.sortDirection()).isEqualTo(SortDirection.ASC);
+            assertThat(decoded.backward()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should keep value types")
+        void shouldKeepValueTypes() {
+            assertThat(roundTrip(7)).isEqualTo(7L);
+            assertThat(roundTrip(-3L)).isEqualTo(-3L);
+            assertThat(roundTrip("Laptop: Pro")).isEqualTo("Laptop: Pro");
+            assertThat(roundTrip(1.5d)).isEqualTo(1.5d);
+            assertThat(roundTrip(true)).isEqualTo(true);
+            assertThat(roundTrip(LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 2, 29));
+            assertThat(roundTrip(Instant.ofEpochSecond(1_700_000_000L, 5)))
+                    .isEqualTo(Instant.ofEpochSecond(1_700_000_000L, 5));
+            assertThat(roundTrip(null)).isNull();
+        }
+
+        @Test
+        @DisplayName("should be more compact than the text format")
+        void shouldBeCompact() {
+            LocalDateTime created = LocalDateTime.of(2024, 5, 17, 10, 30, 15);
+            String binary =
+                    CursorPageRequest.encodeCursor(
+                            123_456L, "fechaCreacion", created, SortDirection.DESC);
+            String text =
+                    Base64.getUrlEncoder()
+                            .withoutPadding()
+                            .encodeToString(
+                                    ("123456:fechaCreacion:" + created + ":DESC")
+                                            .getBytes(StandardCharsets.UTF_8));
+
+            assertThat(binary.length()).isLessThan(text.length());
+        }
+
+        @Test
+        @DisplayName("should round-trip sort values longer than 64 KB")
+        void shouldRoundTripLongText() {
+            String value = "ñ".repeat(40_000);
+
+            assertThat(roundTrip(value)).isEqualTo(value);
+        }
+
+        @Test
+        @DisplayName("should still decode text values written with writeUTF")
+        void shouldDecodeModifiedUtf8Text() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(0x01); // formato
+                out.writeByte(0x00); // ASC, hacia adelante
+                out.writeByte(0x02); // id 1 (varint ZigZag)
+                out.writeUTF("name");
+                out.writeByte(2); // tipo de texto anterior
+                out.writeUTF("Zoë");
+            }
+            String cursor =
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+
+            DecodedCursor decoded = decode(cursor);
+
+            assertThat(decoded.lastId()).isEqualTo(1L);
+            assertThat(decoded.sortValue()).isEqualTo("Zoë");
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"AQ", "AQAB", "!!!", "AQACAARuYW1lCP____8P"})
+        @DisplayName("should reject malformed cursors")
+        void shouldRejectMalformedCursors(String cursor) {
+            assertThatThrownBy(() -> decode(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Cursor inválido");
+        }
+    }
+
+    @Nested
+    @DisplayName("legacy text cursor")
+    class LegacyCursorTests {
+
+        @Test
+        @DisplayName("should decode Base64(id:sortField:sortValue:direction)")
+        void shouldDecodeLegacyCursor() {
+            String cursor = legacy("15:fechaCreacion:2024-01-01T10:00:00:ASC");
+
+            DecodedCursor decoded = decode(cursor);
+
+            assertThat(decoded.lastId()).isEqualTo(15L);
+            assertThat(decoded.sortField()).isEqualTo("fechaCreacion");
+            assertThat(decoded.sortValueAs(LocalDateTime.class))
+                    .isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 0));
+            assertThat(decoded.sortDirection()).isEqualTo(SortDirection.ASC);
+            assertThat(decoded.backward()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should decode empty sort value as null")
+        void shouldDecodeEmptySortValue() {
+            assertThat(decode(legacy("15:id::DESC")).sortValue()).isNull();
+        }
+
+        private String legacy(String raw) {
+            return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Nested
+    @DisplayName("sortValueAs")
+    class SortValueAsTests {
+
+        @Test
+        @DisplayName("should convert to the entity field type")
+        void shouldConvertToFieldType() {
+            assertThat(cursorWith(7L).sortValueAs(Integer.class)).isEqualTo(7);
+            assertThat(cursorWith(7L).sortValueAs(long.class)).isEqualTo(7L);
+            assertThat(cursorWith("12.50").sortValueAs(BigDecimal.class))
+                    .isEqualTo(new BigDecimal("12.50"));
+            assertThat(cursorWith("ASC").sortValueAs(SortDirection.class))
+                    .isEqualTo(SortDirection.ASC);
+            UUID uuid = UUID.randomUUID();
+            assertThat(cursorWith(uuid.toString()).sortValueAs(UUID.class)).isEqualTo(uuid);
+        }
+
+        @Test
+        @DisplayName("should reject values incompatible with the field type")
+        void shouldRejectIncompatibleValues() {
+            assertThatThrownBy(() -> cursorWith("abc").sortValueAs(Long.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Long");
+        }
+
+        private DecodedCursor cursorWith(Object value) {
+            return decode(CursorPageRequest.encodeCursor(1L, "field", value, SortDirection.ASC));
+        }
+    }
+
+    @Test
+    @DisplayName("fromCursor should take sort field and direction from the cursor")
+    void fromCursorShouldUseCursorSort() {
+        String cursor = CursorPageRequest.encodeCursor(1L, "name", "a", SortDirection.ASC);
+
+        CursorPageRequest request = CursorPageRequest.fromCursor(cursor, 10);
+
+        assertThat(request.sortField()).isEqualTo("name");
+        assertThat(request.sortDirection()).isEqualTo(SortDirection.ASC);
+        assertThat(request.isFirstPage()).isFalse();
+    }
+
+    private static DecodedCursor decode(String cursor) {
+        return new CursorPageRequest(cursor, 10, null, null).getDecodedCursor();
+    }
+
+    private static Object roundTrip(Object value) {
+        return decode(CursorPageRequest.encodeCursor(1L, "field", value, SortDirection.ASC))
+                .sortValue();
+    }
+}
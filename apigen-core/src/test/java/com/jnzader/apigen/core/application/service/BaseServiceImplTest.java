@@ -5,19 +5,24 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 
+import com.jnzader.apigen.core.application.dto.pagination.CursorPageRequest;
+import com.jnzader.apigen.core.application.dto.pagination.CursorPageResponse;
 import com.jnzader.apigen.core.application.util.Result;
 import com.jnzader.apigen.core.domain.entity.Base;
 import com.jnzader.apigen.core.domain.exception.ResourceNotFoundException;
 import com.jnzader.apigen.core.domain.specification.BaseSpecification;
 import com.jnzader.apigen.core.fixtures.TestEntity;
 import com.jnzader.apigen.core.fixtures.TestEntityRepository;
+import com.jnzader.apigen.core.fixtures.TestEntityService;
 import com.jnzader.apigen.core.fixtures.TestEntityServiceImpl;
 import com.jnzader.apigen.core.support.TestEntityBuilder;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +33,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
@@ -119,6 +129,40 @@ class BaseServiceImplTest {
         }
     }
 
+    // ==================== findVersionById Tests ====================
+
+    @Nested
+    @DisplayName("findVersionById()")
+    class FindVersionByIdTests {
+
+        @Test
+        @DisplayName("should return version projection without loading the entity")
+        void shouldReturnVersionWithoutLoadingEntity() {
+            // Given
+            given(repository.findVersionById(VALID_ID)).willReturn(Optional.of(4L));
+
+            // When
+            Result<Long, Exception> result = service.findVersionById(VALID_ID);
+
+            // Then
+            assertThat(result.orElseThrow()).isEqualTo(4L);
+            then(repository).should(never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("should return failure when entity not found")
+        void shouldReturnFailureWhenNotFound() {
+            // Given
+            given(repository.findVersionById(INVALID_ID)).willReturn(Optional.empty());
+
+            // When
+            Result<Long, Exception> result = service.findVersionById(INVALID_ID);
+
+            // Then
+            assertThatThrownBy(result::orElseThrow).isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
     // ==================== findAll Tests ====================
 
     @Nested
@@ -487,6 +531,150 @@ class BaseServiceImplTest {
         }
     }
 
+    // ==================== updateAll Tests ====================
+
+    @Nested
+    @DisplayName("updateAll()")
+    class UpdateAllTests {
+
+        @Test
+        @DisplayName("should load current versions once and save all entities in batch")
+        void shouldUpdateAllEntitiesInBatch() {
+            // Given
+            TestEntity current1 = TestEntityBuilder.aTestEntity().withId(1L).build();
+            TestEntity current2 = TestEntityBuilder.aTestEntity().withId(2L).build();
+            current1.setVersion(3L);
+            current2.setVersion(5L);
+            TestEntity update1 = TestEntityBuilder.aTestEntity().withName("Updated 1").build();
+            TestEntity update2 = TestEntityBuilder.aTestEntity().withName("Updated 2").build();
+            Map<Long, TestEntity> updates = new LinkedHashMap<>();
+            updates.put(1L, update1);
+            updates.put(2L, update2);
+            given(repository.findAllById(updates.keySet()))
+                    .willReturn(List.of(current2, current1));
+            given(repository.saveAll(anyList())).willAnswer(inv -> inv.getArgument(0));
+
+            // When
+            Result<List<TestEntity>, Exception> result = service.updateAll(updates);
+
+            // Then
+            assertThat(result.isSuccess()).isTrue();
+            then(repository).should().saveAll(entityListCaptor.capture());
+            assertThat(entityListCaptor.getValue())
+                    .extracting(TestEntity::getId, TestEntity::getVersion)
+                    .containsExactly(tuple(1L, 3L), tuple(2L, 5L));
+            then(repository).should(never()).findById(anyLong());
+            then(cacheEvictionService).should().evictAllByIds("TestEntity", updates.keySet());
+        }
+
+        @Test
+        @DisplayName("should fail without saving when an entity does not exist")
+        void shouldFailWhenEntityDoesNotExist() {
+            // Given
+            TestEntity current1 = TestEntityBuilder.aTestEntity().withId(1L).build();
+            Map<Long, TestEntity> updates = new LinkedHashMap<>();
+            updates.put(1L, TestEntityBuilder.aTestEntity().build());
+            updates.put(99L, TestEntityBuilder.aTestEntity().build());
+            given(repository.findAllById(updates.keySet())).willReturn(List.of(current1));
+
+            // When
+            Result<List<TestEntity>, Exception> result = service.updateAll(updates);
+
+            // Then
+            assertThat(result.isFailure()).isTrue();
+            assertThatThrownBy(result::orElseThrow)
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("99");
+            then(repository).should(never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("should return empty list for empty input")
+        void shouldReturnEmptyListForEmptyInput() {
+            // When
+            Result<List<TestEntity>, Exception> result = service.updateAll(Map.of());
+
+            // Then
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.orElseThrow()).isEmpty();
+            then(repository).should(never()).findAllById(any());
+        }
+    }
+
+    // ==================== Batch cache eviction Tests ====================
+
+    @Nested
+    @DisplayName("Batch operations with cached reads")
+    class BatchCacheEvictionTests {
+
+        private TestEntityService cachedService;
+
+        @BeforeEach
+        void setUpCachingProxy() {
+            CacheManager cacheManager =
+                    new ConcurrentMapCacheManager("entities", "lists", "counts");
+            TestEntityServiceImpl target =
+                    new TestEntityServiceImpl(
+                            repository,
+                            new CacheEvictionService(cacheManager),
+                            eventPublisher,
+                            auditorAware);
+            ReflectionTestUtils.setField(target, "entityManager", entityManager);
+
+            CacheInterceptor interceptor = new CacheInterceptor();
+            interceptor.setCacheOperationSource(new AnnotationCacheOperationSource());
+            interceptor.setCacheManager(cacheManager);
+            interceptor.afterPropertiesSet();
+            interceptor.afterSingletonsInstantiated();
+
+            ProxyFactory proxyFactory = new ProxyFactory(target);
+            proxyFactory.addAdvice(interceptor);
+            cachedService = (TestEntityService) proxyFactory.getProxy();
+        }
+
+        @Test
+        @DisplayName("should read the new value after updateAll")
+        void shouldReadNewValueAfterUpdateAll() {
+            // Given - the row is cached with its old value
+            TestEntity stale = TestEntityBuilder.aTestEntity().withId(1L).withName("Old").build();
+            TestEntity fresh = TestEntityBuilder.aTestEntity().withId(1L).withName("New").build();
+            given(repository.findById(1L)).willReturn(Optional.of(stale), Optional.of(fresh));
+            assertThat(cachedService.findById(1L).orElseThrow().getName()).isEqualTo("Old");
+
+            given(repository.findAllById(any())).willReturn(List.of(stale));
+            given(repository.saveAll(anyList())).willAnswer(inv -> inv.getArgument(0));
+            Map<Long, TestEntity> updates = Map.of(1L, fresh);
+
+            // When
+            cachedService.updateAll(updates);
+
+            // Then
+            assertThat(cachedService.findById(1L).orElseThrow().getName()).isEqualTo("New");
+            then(repository).should(times(2)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("should read the new value after softDeleteAll")
+        void shouldReadNewValueAfterSoftDeleteAll() {
+            // Given - the row is cached as active
+            TestEntity active = TestEntityBuilder.aTestEntity().withId(1L).build();
+            TestEntity deleted = TestEntityBuilder.aTestEntity().withId(1L).build();
+            deleted.setEstado(false);
+            given(repository.findById(1L)).willReturn(Optional.of(active), Optional.of(deleted));
+            assertThat(cachedService.findById(1L).orElseThrow().getEstado()).isTrue();
+
+            given(repository.softDeleteAllByIds(anyList(), any(LocalDateTime.class), anyString()))
+                    .willReturn(1);
+
+            // When
+            cachedService.softDeleteAll(List.of(1L), TEST_USER);
+
+            // Then
+            assertThat(cachedService.findById(1L).orElseThrow().getEstado()).isFalse();
+            then(repository).should(times(2)).findById(1L);
+        }
+    }
+
     // ==================== existsById Tests ====================
 
     @Nested
@@ -872,4 +1060,128 @@ class BaseServiceImplTest {
             assertThat(result.orElseThrow()).isEmpty();
         }
     }
+
+    // ==================== Cursor Pagination Tests ====================
+
+    @Nested
+    @DisplayName("findAllWithCursor()")
+    class FindAllWithCursorTests {
+
+        private List<TestEntity> entities(long... ids) {
+            List<TestEntity> list = new ArrayList<>();
+            for (long id : ids) {
+                list.add(TestEntityBuilder.aTestEntity().withId(id).withName("n" + id).build());
+            }
+            return list;
+        }
+
+        @Test
+        @DisplayName("should fetch size + 1 rows and emit a typed next cursor")
+        void shouldEmitNextCursor() {
+            // Given
+            given(repository.findBy(any(Specification.class), any()))
+                    .willReturn(entities(1, 2, 3));
+            CursorPageRequest request =
+                    CursorPageRequest.firstPage(2, "name", CursorPageRequest.SortDirection.ASC);
+
+            // When
+            CursorPageResponse<TestEntity> page =
+                    service.findAllWithCursor(request).orElseThrow();
+
+            // Then
+            assertThat(page.content()).extracting(TestEntity::getId).containsExactly(1L, 2L);
+            assertThat(page.pageInfo().hasNext()).isTrue();
+            assertThat(page.pageInfo().hasPrevious()).isFalse();
+            CursorPageRequest.DecodedCursor next =
+                    CursorPageRequest.fromCursor(page.pageInfo().nextCursor(), 2)
+                            .getDecodedCursor();
+            assertThat(next.lastId()).isEqualTo(2L);
+            assertThat(next.sortValue()).isEqualTo("n2");
+            assertThat(next.backward()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should return a backward page in display order")
+        void shouldReverseBackwardPage() {
+            // Given - backward scans return rows in reverse order
+            given(repository.findBy(any(Specification.class), any()))
+                    .willReturn(entities(4, 3, 2));
+            String prevCursor =
+                    CursorPageRequest.encodeCursor(
+                            5L, "name", "n5", CursorPageRequest.SortDirection.ASC, true);
+
+            // When
+            CursorPageResponse<TestEntity> page =
+                    service.findAllWithCursor(CursorPageRequest.fromCursor(prevCursor, 2))
+                            .orElseThrow();
+
+            // Then
+            assertThat(page.content()).extracting(TestEntity::getId).containsExactly(3L, 4L);
+            assertThat(page.pageInfo().hasNext()).isTrue();
+            assertThat(page.pageInfo().hasPrevious()).isTrue();
+            assertThat(
+                            CursorPageRequest.fromCursor(page.pageInfo().prevCursor(), 2)
+                                    .getDecodedCursor()
+                                    .lastId())
+                    .isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("should query rows without a sort value only once the others run out")
+        void shouldContinueIntoNullRows() {
+            // Given - one valued row left after the cursor, then the null tail
+            given(repository.findBy(any(Specification.class), any()))
+                    .willReturn(entities(6), entities(7, 8));
+            String cursor =
+                    CursorPageRequest.encodeCursor(
+                            5L, "name", "n5", CursorPageRequest.SortDirection.ASC);
+
+            // When
+            CursorPageResponse<TestEntity> page =
+                    service.findAllWithCursor(CursorPageRequest.fromCursor(cursor, 2))
+                            .orElseThrow();
+
+            // Then
+            assertThat(page.content()).extracting(TestEntity::getId).containsExactly(6L, 7L);
+            assertThat(page.pageInfo().hasNext()).isTrue();
+            then(repository).should(times(2)).findBy(any(Specification.class), any());
+        }
+
+        @Test
+        @DisplayName("should not query the null rows when the valued rows fill the page")
+        void shouldStopAtFullPage() {
+            // Given
+            given(repository.findBy(any(Specification.class), any()))
+                    .willReturn(entities(6, 7, 8));
+            String cursor =
+                    CursorPageRequest.encodeCursor(
+                            5L, "name", "n5", CursorPageRequest.SortDirection.ASC);
+
+            // When
+            service.findAllWithCursor(CursorPageRequest.fromCursor(cursor, 2)).orElseThrow();
+
+            // Then
+            then(repository).should(times(1)).findBy(any(Specification.class), any());
+        }
+
+        @Test
+        @DisplayName("should fail when the cursor was built for another sort field")
+        void shouldRejectCursorForAnotherSortField() {
+            // Given
+            String cursor =
+                    CursorPageRequest.encodeCursor(
+                            5L, "name", "n5", CursorPageRequest.SortDirection.ASC);
+            CursorPageRequest request =
+                    new CursorPageRequest(
+                            cursor, 2, "value", CursorPageRequest.SortDirection.ASC);
+
+            // When
+            Result<CursorPageResponse<TestEntity>, Exception> result =
+                    service.findAllWithCursor(request);
+
+            // Then
+            assertThatThrownBy(result::orElseThrow).isInstanceOf(IllegalArgumentException.class);
+            then(repository).should(never()).findBy(any(Specification.class), any());
+        }
+    }
 }
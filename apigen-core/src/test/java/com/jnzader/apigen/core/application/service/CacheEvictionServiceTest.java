@@ -5,6 +5,9 @@ import static org.mockito.Mockito.*;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jnzader.apigen.core.infrastructure.config.cache.EntityIndexedCache;
+import com.jnzader.apigen.core.infrastructure.config.cache.LocalEntityKeyIndex;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -122,6 +125,66 @@ class CacheEvictionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Indexed Caches")
+    class IndexedCacheTests {
+
+        @Test
+        @DisplayName("should evict lists through the entity index")
+        void shouldEvictListsThroughEntityIndex() {
+            EntityIndexedCache indexedLists =
+                    new EntityIndexedCache(listsCaffeineCache, new LocalEntityKeyIndex());
+            indexedLists.put("User:all:0:20:id:ASC", "user-list-1");
+            indexedLists.put("Product:all:0:20:id:ASC", "product-list-1");
+
+            when(cacheManager.getCache("lists")).thenReturn(indexedLists);
+
+            // Act
+            cacheEvictionService.evictListsByEntityName("User");
+
+            // Assert
+            assertThat(listsNativeCache.getIfPresent("User:all:0:20:id:ASC")).isNull();
+            assertThat(listsNativeCache.getIfPresent("Product:all:0:20:id:ASC"))
+                    .isEqualTo("product-list-1");
+        }
+
+        @Test
+        @DisplayName("should evict counts through the entity index")
+        void shouldEvictCountsThroughEntityIndex() {
+            EntityIndexedCache indexedCounts =
+                    new EntityIndexedCache(countsCaffeineCache, new LocalEntityKeyIndex());
+            indexedCounts.put("User:count", 100L);
+            indexedCounts.put("Product:count", 50L);
+
+            when(cacheManager.getCache("counts")).thenReturn(indexedCounts);
+
+            // Act
+            cacheEvictionService.evictCounts("User");
+
+            // Assert
+            assertThat(countsNativeCache.getIfPresent("User:count")).isNull();
+            assertThat(countsNativeCache.getIfPresent("Product:count")).isEqualTo(50L);
+        }
+
+        @Test
+        @DisplayName("should evict selectively over non-Caffeine caches when indexed")
+        void shouldEvictSelectivelyOverNonCaffeineCaches() {
+            ConcurrentMapCache mapCache = new ConcurrentMapCache("lists");
+            EntityIndexedCache indexedLists =
+                    new EntityIndexedCache(mapCache, new LocalEntityKeyIndex());
+            indexedLists.put("User:all", "value1");
+            indexedLists.put("Product:all", "value2");
+
+            when(cacheManager.getCache("lists")).thenReturn(indexedLists);
+
+            // Act
+            cacheEvictionService.evictListsByEntityName("User");
+
+            // Assert - no full clear
+            assertThat(mapCache.getNativeCache()).containsOnlyKeys("Product:all");
+        }
+    }
+
     @Nested
     @DisplayName("Evict Entity")
     class EvictEntityTests {
@@ -231,6 +294,30 @@ class CacheEvictionServiceTest {
     @DisplayName("Evict All")
     class EvictAllTests {
 
+        @Test
+        @DisplayName("should evict every affected id of a batch operation")
+        void shouldEvictEveryAffectedId() {
+            entitiesNativeCache.put("User:1", "user-1");
+            entitiesNativeCache.put("User:2", "user-2");
+            entitiesNativeCache.put("User:3", "user-3");
+            listsNativeCache.put("User:all:0:20", "list-1");
+            countsNativeCache.put("User:count", 100L);
+
+            when(cacheManager.getCache("entities")).thenReturn(entitiesCaffeineCache);
+            when(cacheManager.getCache("lists")).thenReturn(listsCaffeineCache);
+            when(cacheManager.getCache("counts")).thenReturn(countsCaffeineCache);
+
+            // Act
+            cacheEvictionService.evictAllByIds("User", List.of(1, 2));
+
+            // Assert - affected rows evicted, untouched row kept
+            assertThat(entitiesNativeCache.getIfPresent("User:1")).isNull();
+            assertThat(entitiesNativeCache.getIfPresent("User:2")).isNull();
+            assertThat(entitiesNativeCache.getIfPresent("User:3")).isEqualTo("user-3");
+            assertThat(listsNativeCache.getIfPresent("User:all:0:20")).isNull();
+            assertThat(countsNativeCache.getIfPresent("User:count")).isNull();
+        }
+
         @Test
         @DisplayName("should evict entity, lists, and counts")
         void shouldEvictEntityListsAndCounts() {
@@ -1,20 +1,32 @@
 package com.jnzader.apigen.core.infrastructure.batch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jnzader.apigen.core.application.util.Result;
+import com.jnzader.apigen.core.domain.exception.DuplicateResourceException;
 import com.jnzader.apigen.core.infrastructure.batch.BatchRequest.BatchOperation;
 import com.jnzader.apigen.core.infrastructure.batch.BatchResponse.OperationResult;
+import com.jnzader.apigen.core.infrastructure.batch.BatchWriteTarget.Written;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.PrintWriter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -23,6 +35,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.servlet.DispatcherServlet;
 
 @ExtendWith(MockitoExtension.class)
@@ -356,14 +372,16 @@ class BatchServiceTest {
         }
 
         @Test
-        @DisplayName("should ignore stopOnError flag in parallel mode")
-        void shouldIgnoreStopOnErrorInParallelMode() throws Exception {
+        @DisplayName("should not start operations after a failure when stopOnError is true")
+        void shouldStopOnErrorInParallelMode() throws Exception {
             // Given
             List<BatchOperation> operations =
                     List.of(
                             new BatchOperation("op1", "GET", "/api/users/1", null, null),
-                            new BatchOperation("op2", "GET", "/api/error", null, null),
-                            new BatchOperation("op3", "GET", "/api/users/3", null, null));
+                            new BatchOperation(
+                                    "op2", "GET", "/api/error", null, null, List.of("op1")),
+                            new BatchOperation(
+                                    "op3", "GET", "/api/users/3", null, null, List.of("op2")));
             BatchRequest request = new BatchRequest(operations, true); // stopOnError = true
 
             doAnswer(
@@ -389,10 +407,205 @@ class BatchServiceTest {
             BatchResponse response =
                     batchService.processBatchParallel(request, createMockRequest());
 
-            // Then - all operations should be processed despite stopOnError=true
-            assertThat(response.results()).hasSize(3);
-            assertThat(response.summary().successful()).isEqualTo(2);
-            assertThat(response.summary().failed()).isEqualTo(1);
+            // Then - op3 never started
+            assertThat(response.results())
+                    .extracting(OperationResult::id, OperationResult::status)
+                    .containsExactly(tuple("op1", 200), tuple("op2", 500));
+            verify(dispatcherServlet, times(2)).service(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Dependencies between operations")
+    class DependencyTests {
+
+        private final List<String> dispatchedUris = new CopyOnWriteArrayList<>();
+
+        private void respondWithCreatedId(long id) throws Exception {
+            doAnswer(
+                            invocation -> {
+                                HttpServletRequest req = invocation.getArgument(0);
+                                HttpServletResponse response = invocation.getArgument(1);
+                                dispatchedUris.add(req.getRequestURI());
+                                if (req.getRequestURI().contains("/error")) {
+                                    response.setStatus(500);
+                                    return null;
+                                }
+                                response.setStatus(200);
+                                response.setContentType("application/json");
+                                response.getWriter().write("{\"id\":" + id + "}");
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+        }
+
+        @Test
+        @DisplayName("should replace references with results of earlier operations in parallel")
+        void shouldResolveReferencesInParallel() throws Exception {
+            // Given
+            respondWithCreatedId(42);
+            List<BatchOperation> operations =
+                    List.of(
+                            new BatchOperation(
+                                    "item", "GET", "/api/orders/${order.body.id}", null, null),
+                            new BatchOperation("order", "POST", "/api/orders", null, null));
+
+            // When
+            BatchResponse response =
+                    batchService.processBatchParallel(
+                            new BatchRequest(operations, false), createMockRequest());
+
+            // Then - results keep request order, execution follows dependencies
+            assertThat(response.results())
+                    .extracting(OperationResult::id)
+                    .containsExactly("item", "order");
+            assertThat(dispatchedUris).containsExactly("/api/orders", "/api/orders/42");
+        }
+
+        @Test
+        @DisplayName("should keep the type of a referenced body value")
+        void shouldKeepTypeOfReferencedValue() throws Exception {
+            // Given
+            ObjectNode body = objectMapper.createObjectNode().put("orderId", "${order.body.id}");
+            List<BatchOperation> operations =
+                    List.of(
+                            new BatchOperation("order", "POST", "/api/orders", null, null),
+                            new BatchOperation("item", "POST", "/api/items", null, body));
+            List<String> bodies = new CopyOnWriteArrayList<>();
+            doAnswer(
+                            invocation -> {
+                                HttpServletRequest req = invocation.getArgument(0);
+                                bodies.add(new String(req.getInputStream().readAllBytes()));
+                                HttpServletResponse response = invocation.getArgument(1);
+                                response.setStatus(201);
+                                response.setContentType("application/json");
+                                response.getWriter().write("{\"id\":7}");
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+
+            // When
+            batchService.processBatch(new BatchRequest(operations, false), createMockRequest());
+
+            // Then
+            assertThat(bodies).last().isEqualTo("{\"orderId\":7}");
+        }
+
+        @Test
+        @DisplayName("should report dependents of a failed operation as 424 without running them")
+        void shouldFailDependentsOnly() throws Exception {
+            // Given
+            respondWithCreatedId(1);
+            List<BatchOperation> operations =
+                    List.of(
+                            new BatchOperation("op1", "POST", "/api/error", null, null),
+                            new BatchOperation(
+                                    "op2", "GET", "/api/users/${op1.body.id}", null, null),
+                            new BatchOperation("op3", "GET", "/api/users/3", null, null));
+
+            // When
+            BatchResponse response =
+                    batchService.processBatchParallel(
+                            new BatchRequest(operations, false), createMockRequest());
+
+            // Then
+            assertThat(response.results())
+                    .extracting(OperationResult::id, OperationResult::status)
+                    .containsExactly(tuple("op1", 500), tuple("op2", 424), tuple("op3", 200));
+            assertThat(dispatchedUris).doesNotContain("/api/users/${op1.body.id}");
+        }
+
+        @Test
+        @DisplayName("should reject unknown and circular dependencies without running them")
+        void shouldRejectInvalidDependencies() {
+            // Given
+            List<BatchOperation> operations =
+                    List.of(
+                            new BatchOperation(
+                                    "a", "GET", "/api/a", null, null, List.of("missing")),
+                            new BatchOperation("b", "GET", "/api/b", null, null, List.of("c")),
+                            new BatchOperation("c", "GET", "/api/c/${b.body.id}", null, null));
+
+            // When
+            BatchResponse response =
+                    batchService.processBatchParallel(
+                            new BatchRequest(operations, false), createMockRequest());
+
+            // Then
+            assertThat(response.results())
+                    .extracting(OperationResult::status)
+                    .containsOnly(400);
+            verifyNoInteractions(dispatcherServlet);
+        }
+
+        @Test
+        @DisplayName("should bound the number of operations running at the same time")
+        void shouldBoundConcurrency() throws Exception {
+            // Given
+            batchService =
+                    new BatchService(
+                            dispatcherServlet,
+                            objectMapper,
+                            BatchWriteRouter.disabled(),
+                            TransactionOperations.withoutTransaction(),
+                            2);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            doAnswer(
+                            invocation -> {
+                                maxRunning.accumulateAndGet(
+                                        running.incrementAndGet(), Math::max);
+                                Thread.sleep(20);
+                                running.decrementAndGet();
+                                HttpServletResponse response = invocation.getArgument(1);
+                                response.setStatus(204);
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+            List<BatchOperation> operations =
+                    IntStream.range(0, 8)
+                            .mapToObj(
+                                    i ->
+                                            new BatchOperation(
+                                                    "op" + i, "GET", "/api/users/" + i, null, null))
+                            .toList();
+
+            // When
+            BatchResponse response =
+                    batchService.processBatchParallel(
+                            new BatchRequest(operations, false), createMockRequest());
+
+            // Then
+            assertThat(response.summary().successful()).isEqualTo(8);
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should only allow dependencies on earlier operations in sequential mode")
+        void shouldRejectForwardDependencyInSequentialMode() throws Exception {
+            // Given
+            respondWithCreatedId(5);
+            List<BatchOperation> operations =
+                    List.of(
+                            new BatchOperation(
+                                    "op1", "GET", "/api/users/${op2.body.id}", null, null),
+                            new BatchOperation("op2", "POST", "/api/users", null, null),
+                            new BatchOperation(
+                                    "op3", "GET", "/api/users/${op2.body.id}", null, null));
+
+            // When
+            BatchResponse response =
+                    batchService.processBatch(
+                            new BatchRequest(operations, false), createMockRequest());
+
+            // Then
+            assertThat(response.results())
+                    .extracting(OperationResult::status)
+                    .containsExactly(400, 200, 200);
+            assertThat(dispatchedUris).containsExactly("/api/users", "/api/users/5");
         }
     }
 
@@ -625,4 +838,190 @@ class BatchServiceTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("processBatch - native grouped writes")
+    class NativeWriteTests {
+
+        record UserDto(String name) {}
+
+        @Mock private BatchWriteTarget<UserDto, Long> target;
+
+        private RecordingTransactions transactions;
+
+        @BeforeEach
+        void setUpNativeWrites() {
+            lenient().when(target.dtoType()).thenReturn(UserDto.class);
+            transactions = new RecordingTransactions();
+            BatchWriteRouter router =
+                    new BatchWriteRouter(
+                            () -> Map.of("/api/users", target),
+                            objectMapper,
+                            null,
+                            (method, path) -> true);
+            batchService =
+                    new BatchService(dispatcherServlet, objectMapper, router, transactions);
+        }
+
+        private BatchOperation create(String id, String name) {
+            ObjectNode body = objectMapper.createObjectNode().put("name", name);
+            return new BatchOperation(id, "POST", "/api/users", null, body);
+        }
+
+        @Test
+        @DisplayName("should create consecutive POSTs with a single createAll")
+        void shouldGroupConsecutiveCreates() throws Exception {
+            // Given
+            given(target.createAll(anyList()))
+                    .willReturn(
+                            Result.success(
+                                    List.of(
+                                            new Written(1L, new UserDto("a"), "\"1\""),
+                                            new Written(2L, new UserDto("b"), "\"2\""))));
+            BatchRequest request =
+                    new BatchRequest(List.of(create("op1", "a"), create("op2", "b")), false);
+
+            // When
+            BatchResponse response = batchService.processBatch(request, createMockRequest());
+
+            // Then
+            verify(target).createAll(List.of(new UserDto("a"), new UserDto("b")));
+            verify(dispatcherServlet, never()).service(any(), any());
+            assertThat(response.results()).extracting(OperationResult::status).containsOnly(201);
+            OperationResult second = response.results().get(1);
+            assertThat(second.headers())
+                    .containsEntry("Location", "http://localhost:8080/api/users/2")
+                    .containsEntry("ETag", "\"2\"");
+            assertThat(second.body().get("name").asText()).isEqualTo("b");
+            assertThat(transactions.last.isRollbackOnly()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should roll back a failed group and dispatch its operations one by one")
+        void shouldDispatchFailedGroupOneByOne() throws Exception {
+            // Given
+            given(target.createAll(anyList()))
+                    .willReturn(Result.failure(new DuplicateResourceException("duplicate")));
+            doAnswer(
+                            invocation -> {
+                                HttpServletResponse response = invocation.getArgument(1);
+                                response.setStatus(201);
+                                response.setContentType("application/json");
+                                response.getWriter().write("{\"id\":1}");
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+            BatchRequest request =
+                    new BatchRequest(List.of(create("op1", "a"), create("op2", "b")), false);
+
+            // When
+            BatchResponse response = batchService.processBatch(request, createMockRequest());
+
+            // Then
+            assertThat(transactions.last.isRollbackOnly()).isTrue();
+            verify(dispatcherServlet, times(2)).service(any(), any());
+            assertThat(response.results()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should dispatch operations carrying their own headers")
+        void shouldDispatchOperationsWithHeaders() throws Exception {
+            // Given
+            ObjectNode body = objectMapper.createObjectNode().put("name", "a");
+            BatchOperation conditional =
+                    new BatchOperation(
+                            "op1", "PUT", "/api/users/1", Map.of("If-Match", "\"1\""), body);
+            doAnswer(
+                            invocation -> {
+                                HttpServletResponse response = invocation.getArgument(1);
+                                response.setStatus(412);
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+
+            // When
+            BatchResponse response =
+                    batchService.processBatch(
+                            new BatchRequest(List.of(conditional), false), createMockRequest());
+
+            // Then
+            assertThat(response.results().getFirst().status()).isEqualTo(412);
+            verify(target, never()).updateAll(any());
+        }
+
+        @Test
+        @DisplayName("should roll back an atomic batch and report succeeded operations as 424")
+        void shouldRollBackAtomicBatch() throws Exception {
+            // Given
+            given(target.createAll(anyList()))
+                    .willReturn(
+                            Result.success(List.of(new Written(1L, new UserDto("a"), null))));
+            doAnswer(
+                            invocation -> {
+                                HttpServletResponse response = invocation.getArgument(1);
+                                response.setStatus(404);
+                                response.setContentType("application/json");
+                                response.getWriter().write("{\"message\":\"Not found\"}");
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+            BatchOperation missing = new BatchOperation("op2", "GET", "/api/orders/9", null, null);
+            BatchOperation notRun = create("op3", "c");
+            BatchRequest request =
+                    new BatchRequest(List.of(create("op1", "a"), missing, notRun), false, true);
+
+            // When
+            BatchResponse response = batchService.processBatch(request, createMockRequest());
+
+            // Then
+            assertThat(transactions.last.isRollbackOnly()).isTrue();
+            assertThat(response.results())
+                    .extracting(OperationResult::id, OperationResult::status)
+                    .containsExactly(tuple("op1", 424), tuple("op2", 404));
+            verify(target, times(1)).createAll(anyList());
+        }
+
+        @Test
+        @DisplayName("should not route anything with the disabled router")
+        void shouldNotRouteWithDisabledRouter() throws Exception {
+            // Given
+            batchService =
+                    new BatchService(
+                            dispatcherServlet,
+                            objectMapper,
+                            BatchWriteRouter.disabled(),
+                            transactions);
+            doAnswer(
+                            invocation -> {
+                                HttpServletResponse response = invocation.getArgument(1);
+                                response.setStatus(201);
+                                return null;
+                            })
+                    .when(dispatcherServlet)
+                    .service(any(HttpServletRequest.class), any(HttpServletResponse.class));
+
+            // When
+            batchService.processBatch(
+                    new BatchRequest(List.of(create("op1", "a")), false), createMockRequest());
+
+            // Then
+            verify(dispatcherServlet).service(any(), any());
+            verifyNoInteractions(target);
+        }
+    }
+
+    /** Runs callbacks without a real transaction, keeping the last status for assertions. */
+    private static final class RecordingTransactions implements TransactionOperations {
+
+        private TransactionStatus last;
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            last = new SimpleTransactionStatus();
+            return action.doInTransaction(last);
+        }
+    }
 }
@@ -1,19 +1,33 @@
 package com.jnzader.apigen.core.infrastructure.bulk;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.opencsv.bean.CsvBindByName;
+import jakarta.persistence.EntityManager;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 @DisplayName("BulkOperationsService Tests")
 class BulkOperationsServiceTest {
@@ -450,6 +464,435 @@ class BulkOperationsServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Streaming Import")
+    class StreamingImportTests {
+
+        private static final String CSV_DATA =
+                """
+                id,name,price,quantity
+                1,Product A,19.99,100
+                2,Product B,29.99,50
+                3,Product C,39.99,25
+                4,Product D,49.99,10
+                5,Product E,59.99,5
+                """;
+
+        @Test
+        @DisplayName("should process CSV in chunks and report progress after each one")
+        void shouldProcessCsvInChunks() {
+            List<ProductDTO> imported = new ArrayList<>();
+            List<BulkImportService.ImportProgress> progress = new ArrayList<>();
+            BulkImportService.ImportConfig config =
+                    BulkImportService.ImportConfig.builder().batchSize(2).queueCapacity(1).build();
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            csv(CSV_DATA),
+                            BulkFormat.CSV,
+                            ProductDTO.class,
+                            dto -> {
+                                imported.add(dto);
+                                return dto;
+                            },
+                            config,
+                            progress::add);
+
+            assertThat(result.totalRecords()).isEqualTo(5);
+            assertThat(result.successCount()).isEqualTo(5);
+            assertThat(result.isFullySuccessful()).isTrue();
+            assertThat(imported)
+                    .extracting(ProductDTO::getId)
+                    .containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(progress)
+                    .extracting(BulkImportService.ImportProgress::processedRecords)
+                    .containsExactly(2, 4, 5);
+            assertThat(progress.getLast().chunks()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should record unparseable rows and continue")
+        void shouldRecordParseErrorsAndContinue() {
+            String csvData =
+                    """
+                    id,name,price,quantity
+                    1,Product A,19.99,100
+                    2,Product B,not-a-number,50
+                    3,Product C,39.99,25
+                    """;
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            csv(csvData),
+                            BulkFormat.CSV,
+                            ProductDTO.class,
+                            dto -> dto,
+                            BulkImportService.ImportConfig.defaults());
+
+            assertThat(result.successCount()).isEqualTo(2);
+            assertThat(result.failureCount()).isEqualTo(1);
+            assertThat(result.errors())
+                    .singleElement()
+                    .satisfies(e -> assertThat(e.rowNumber()).isEqualTo(3));
+        }
+
+        @Test
+        @DisplayName("should stop at the first failure when stopOnError is set")
+        void shouldStopOnError() {
+            List<ProductDTO> imported = new ArrayList<>();
+            BulkImportService.ImportConfig config =
+                    BulkImportService.ImportConfig.builder()
+                            .batchSize(2)
+                            .queueCapacity(1)
+                            .stopOnError(true)
+                            .build();
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            csv(CSV_DATA),
+                            BulkFormat.CSV,
+                            ProductDTO.class,
+                            dto -> {
+                                if (dto.getId() == 3L) {
+                                    throw new IllegalArgumentException("Duplicate product");
+                                }
+                                imported.add(dto);
+                                return dto;
+                            },
+                            config);
+
+            assertThat(result.successCount()).isEqualTo(2);
+            assertThat(result.failureCount()).isEqualTo(1);
+            assertThat(result.errors().getFirst().errorMessage()).isEqualTo("Duplicate product");
+            assertThat(imported).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should roll back the rows of the chunk before the failing one when stopping")
+        void shouldRollBackChunkWhenStopping() {
+            BulkImportService.ImportConfig config =
+                    BulkImportService.ImportConfig.builder().batchSize(3).stopOnError(true).build();
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            csv(CSV_DATA),
+                            BulkFormat.CSV,
+                            ProductDTO.class,
+                            dto -> {
+                                if (dto.getId() == 3L) {
+                                    throw new IllegalArgumentException("Duplicate product");
+                                }
+                                return dto;
+                            },
+                            config);
+
+            // Records 1 and 2 shared the chunk with the failing record 3
+            assertThat(result.successCount()).isZero();
+            assertThat(result.failureCount()).isEqualTo(3);
+            assertThat(result.errors())
+                    .extracting(BulkOperationResult.RecordError::errorMessage)
+                    .containsExactly(
+                            "Duplicate product", "Chunk rolled back: import stopped at row 4");
+        }
+
+        @Test
+        @DisplayName("should number rows like importData when the header is not skipped")
+        void shouldNumberRowsWithoutSkippedHeader() {
+            BulkImportService.ImportConfig config =
+                    BulkImportService.ImportConfig.builder().skipHeader(false).build();
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            csv(CSV_DATA),
+                            BulkFormat.CSV,
+                            ProductDTO.class,
+                            dto -> {
+                                if (dto.getId() == 2L) {
+                                    throw new IllegalArgumentException("Duplicate product");
+                                }
+                                return dto;
+                            },
+                            config);
+
+            assertThat(result.errors())
+                    .singleElement()
+                    .satisfies(e -> assertThat(e.rowNumber()).isEqualTo(2));
+        }
+
+        @Test
+        @DisplayName("should cap error details at maxErrors but count every failure")
+        void shouldCapErrorDetails() {
+            BulkImportService.ImportConfig config =
+                    BulkImportService.ImportConfig.builder().maxErrors(2).build();
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            csv(CSV_DATA),
+                            BulkFormat.CSV,
+                            ProductDTO.class,
+                            dto -> {
+                                throw new IllegalStateException("rejected");
+                            },
+                            config);
+
+            assertThat(result.failureCount()).isEqualTo(5);
+            assertThat(result.errors()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should count records of a rolled back chunk as failures")
+        void shouldCountRolledBackChunkAsFailures() {
+            BulkOperationsService service = new BulkOperationsService(new FailingCommit(2));
+            BulkImportService.ImportConfig config =
+                    BulkImportService.ImportConfig.builder().batchSize(2).build();
+
+            BulkOperationResult result =
+                    service.importStreaming(
+                            csv(CSV_DATA), BulkFormat.CSV, ProductDTO.class, dto -> dto, config);
+
+            // The second chunk (records 3 and 4) fails to commit
+            assertThat(result.successCount()).isEqualTo(3);
+            assertThat(result.failureCount()).isEqualTo(2);
+            assertThat(result.errors())
+                    .singleElement()
+                    .satisfies(e -> assertThat(e.errorMessage()).startsWith("Chunk rolled back"));
+        }
+
+        @Test
+        @DisplayName("should stream XLSX rows into records")
+        void shouldStreamExcelRows() throws IOException {
+            List<SimpleRecord> imported = new ArrayList<>();
+
+            BulkOperationResult result =
+                    bulkOperationsService.importStreaming(
+                            new ByteArrayInputStream(workbook()),
+                            BulkFormat.EXCEL,
+                            SimpleRecord.class,
+                            item -> {
+                                imported.add(item);
+                                return item;
+                            },
+                            BulkImportService.ImportConfig.builder().batchSize(2).build());
+
+            assertThat(result.successCount()).isEqualTo(3);
+            assertThat(imported)
+                    .containsExactly(
+                            new SimpleRecord(1L, "Alpha", 1.5),
+                            new SimpleRecord(2L, "Beta", null),
+                            new SimpleRecord(3L, "Gamma", 3.25));
+        }
+
+        private ByteArrayInputStream csv(String data) {
+            return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private byte[] workbook() throws IOException {
+            try (XSSFWorkbook workbook = new XSSFWorkbook();
+                    ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                Sheet sheet = workbook.createSheet("Data");
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("id");
+                header.createCell(1).setCellValue("name");
+                header.createCell(2).setCellValue("value");
+                addRow(sheet, 1, "Alpha", 1.5);
+                addRow(sheet, 2, "Beta", null);
+                addRow(sheet, 3, "Gamma", 3.25);
+                workbook.write(out);
+                return out.toByteArray();
+            }
+        }
+
+        private void addRow(Sheet sheet, long id, String name, Double value) {
+            Row row = sheet.createRow(sheet.getLastRowNum() + 1);
+            row.createCell(0).setCellValue(id);
+            row.createCell(1).setCellValue(name);
+            if (value != null) {
+                row.createCell(2).setCellValue(value);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Export")
+    class CursorExportTests {
+
+        private static final BulkExportService.ExportConfig SMALL_CHUNKS =
+                BulkExportService.ExportConfig.builder().chunkSize(100).parallelism(4).build();
+
+        @Test
+        @DisplayName("should write CSV chunks in cursor order")
+        void shouldWriteCsvChunksInOrder() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            BulkOperationResult result =
+                    bulkOperationsService.exportCursor(
+                            () -> LongStream.rangeClosed(1, 2_500).boxed(),
+                            id -> new SimpleRecord(id, "Item " + id, id * 0.5),
+                            SimpleRecord.class,
+                            BulkFormat.CSV,
+                            out,
+                            SMALL_CHUNKS);
+
+            assertThat(result.successCount()).isEqualTo(2_500);
+            assertThat(result.isFullySuccessful()).isTrue();
+            List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(2_501);
+            assertThat(lines.getFirst()).isEqualTo("\"id\",\"name\",\"value\"");
+            assertThat(lines.subList(1, lines.size()))
+                    .extracting(line -> Long.parseLong(line.substring(0, line.indexOf(','))))
+                    .isSorted()
+                    .doesNotHaveDuplicates();
+            assertThat(lines.get(1)).isEqualTo("1,Item 1,0.5");
+        }
+
+        @Test
+        @DisplayName("should clear the persistence context after each full chunk")
+        void shouldClearPersistenceContextPerChunk() {
+            EntityManager entityManager = mock(EntityManager.class);
+            BulkOperationsService service =
+                    new BulkOperationsService(
+                            TransactionOperations.withoutTransaction(),
+                            TransactionOperations.withoutTransaction(),
+                            entityManager);
+
+            service.exportCursor(
+                    () -> LongStream.rangeClosed(1, 250).boxed(),
+                    id -> new SimpleRecord(id, "Item", 1.0),
+                    SimpleRecord.class,
+                    BulkFormat.CSV,
+                    new ByteArrayOutputStream(),
+                    SMALL_CHUNKS);
+
+            verify(entityManager, times(2)).clear();
+        }
+
+        @Test
+        @DisplayName("should read the cursor in the export transaction, not the import one")
+        void shouldReadInExportTransaction() {
+            AtomicInteger importTransactions = new AtomicInteger();
+            AtomicInteger exportTransactions = new AtomicInteger();
+            BulkOperationsService service =
+                    new BulkOperationsService(
+                            counting(importTransactions),
+                            counting(exportTransactions),
+                            mock(EntityManager.class));
+
+            service.exportCursor(
+                    () -> LongStream.rangeClosed(1, 250).boxed(),
+                    id -> new SimpleRecord(id, "Item", 1.0),
+                    SimpleRecord.class,
+                    BulkFormat.CSV,
+                    new ByteArrayOutputStream(),
+                    SMALL_CHUNKS);
+
+            assertThat(exportTransactions).hasValue(1);
+            assertThat(importTransactions).hasValue(0);
+        }
+
+        private TransactionOperations counting(AtomicInteger transactions) {
+            return new TransactionOperations() {
+                @Override
+                public <T> T execute(TransactionCallback<T> action) {
+                    transactions.incrementAndGet();
+                    return action.doInTransaction(null);
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("should close the cursor and report failure when the client disconnects")
+        void shouldStopOnWriteFailure() {
+            AtomicBoolean cursorClosed = new AtomicBoolean();
+            AtomicInteger read = new AtomicInteger();
+
+            BulkOperationResult result =
+                    bulkOperationsService.exportCursor(
+                            () ->
+                                    LongStream.rangeClosed(1, 1_000_000)
+                                            .boxed()
+                                            .peek(id -> read.incrementAndGet())
+                                            .onClose(() -> cursorClosed.set(true)),
+                            id -> new SimpleRecord(id, "Item", 1.0),
+                            SimpleRecord.class,
+                            BulkFormat.CSV,
+                            new FailingOutputStream(10_000),
+                            SMALL_CHUNKS);
+
+            assertThat(result.isFullySuccessful()).isFalse();
+            assertThat(result.errors().getFirst().errorMessage()).isEqualTo("Broken pipe");
+            assertThat(cursorClosed).isTrue();
+            assertThat(read.get()).isLessThan(1_000_000);
+        }
+
+        @Test
+        @DisplayName("should write XLSX rows in cursor order")
+        void shouldWriteExcelRowsInOrder() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            BulkOperationResult result =
+                    bulkOperationsService.exportCursor(
+                            () -> LongStream.rangeClosed(1, 450).boxed(),
+                            id -> new SimpleRecord(id, "Item " + id, 2.0),
+                            SimpleRecord.class,
+                            BulkFormat.EXCEL,
+                            out,
+                            SMALL_CHUNKS);
+
+            assertThat(result.successCount()).isEqualTo(450);
+            try (XSSFWorkbook workbook =
+                    new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Sheet sheet = workbook.getSheet("Data");
+                assertThat(sheet.getLastRowNum()).isEqualTo(450);
+                assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("id");
+                for (int i = 1; i <= 450; i++) {
+                    assertThat(sheet.getRow(i).getCell(0).getNumericCellValue()).isEqualTo(i);
+                }
+            }
+        }
+    }
+
+    /** Output stream that fails once more than the given number of bytes was written. */
+    private static final class FailingOutputStream extends OutputStream {
+        private final int limit;
+        private int written;
+
+        private FailingOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            written += len;
+            if (written > limit) {
+                throw new IOException("Broken pipe");
+            }
+        }
+    }
+
+    /** Runs callbacks directly and fails the commit of the n-th chunk. */
+    private static final class FailingCommit implements TransactionOperations {
+        private final int failingChunk;
+        private int chunk;
+
+        private FailingCommit(int failingChunk) {
+            this.failingChunk = failingChunk;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            T result = action.doInTransaction(null);
+            if (++chunk == failingChunk) {
+                throw new IllegalStateException("commit failed");
+            }
+            return result;
+        }
+    }
+
     // Test record for record support
     public record SimpleRecord(Long id, String name, Double value) {}
 }
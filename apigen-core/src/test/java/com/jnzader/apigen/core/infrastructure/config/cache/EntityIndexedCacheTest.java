@@ -0,0 +1,192 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jnzader.apigen.core.infrastructure.config.CacheConfig;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@DisplayName("EntityIndexedCache Tests")
+class EntityIndexedCacheTest {
+
+    private Cache<Object, Object> nativeCache;
+    private LocalEntityKeyIndex index;
+    private EntityIndexedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        nativeCache = Caffeine.newBuilder().build();
+        index = new LocalEntityKeyIndex();
+        cache = new EntityIndexedCache(new CaffeineCache("lists", nativeCache), index);
+    }
+
+    @Nested
+    @DisplayName("Entity extraction")
+    class EntityOfTests {
+
+        @Test
+        @DisplayName("should extract entity prefix from key")
+        void shouldExtractEntityPrefix() {
+            assertThat(EntityIndexedCache.entityOf("User:all:0:20")).isEqualTo("User");
+            assertThat(EntityIndexedCache.entityOf("User:count")).isEqualTo("User");
+        }
+
+        @Test
+        @DisplayName("should return null for keys without entity prefix")
+        void shouldReturnNullWithoutPrefix() {
+            assertThat(EntityIndexedCache.entityOf("plainKey")).isNull();
+            assertThat(EntityIndexedCache.entityOf(":leading")).isNull();
+            assertThat(EntityIndexedCache.entityOf(null)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Indexed eviction")
+    class EvictEntityTests {
+
+        @Test
+        @DisplayName("should evict only keys of the given entity")
+        void shouldEvictOnlyEntityKeys() {
+            cache.put("User:all:0:20", "users-1");
+            cache.put("User:active:0:10", "users-2");
+            cache.put("Product:all:0:20", "products");
+
+            int evicted = cache.evictEntity("User");
+
+            assertThat(evicted).isEqualTo(2);
+            assertThat(nativeCache.getIfPresent("User:all:0:20")).isNull();
+            assertThat(nativeCache.getIfPresent("User:active:0:10")).isNull();
+            assertThat(nativeCache.getIfPresent("Product:all:0:20")).isEqualTo("products");
+            assertThat(index.size("User")).isZero();
+            assertThat(index.size("Product")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should index keys loaded through value loader")
+        void shouldIndexKeysLoadedThroughValueLoader() {
+            cache.get("User:all:0:20", () -> "loaded");
+
+            assertThat(cache.evictEntity("User")).isEqualTo(1);
+            assertThat(nativeCache.getIfPresent("User:all:0:20")).isNull();
+        }
+
+        @Test
+        @DisplayName("should index keys stored with putIfAbsent")
+        void shouldIndexPutIfAbsent() {
+            cache.putIfAbsent("User:count", 10L);
+
+            assertThat(cache.evictEntity("User")).isEqualTo(1);
+            assertThat(nativeCache.getIfPresent("User:count")).isNull();
+        }
+
+        @Test
+        @DisplayName("should return zero when entity has no keys")
+        void shouldReturnZeroWhenNoKeys() {
+            assertThat(cache.evictEntity("User")).isZero();
+        }
+
+        @Test
+        @DisplayName("should unregister keys evicted individually")
+        void shouldUnregisterOnEvict() {
+            cache.put("User:all:0:20", "users");
+
+            cache.evict("User:all:0:20");
+
+            assertThat(index.size("User")).isZero();
+        }
+
+        @Test
+        @DisplayName("should clear index together with cache")
+        void shouldClearIndexWithCache() {
+            cache.put("User:all:0:20", "users");
+            cache.put("Product:all:0:20", "products");
+
+            cache.clear();
+
+            assertThat(nativeCache.asMap()).isEmpty();
+            assertThat(index.size("User")).isZero();
+            assertThat(index.size("Product")).isZero();
+        }
+
+        @Test
+        @DisplayName("should store keys without prefix without indexing them")
+        void shouldStoreKeysWithoutPrefix() {
+            cache.put("plainKey", "value");
+
+            assertThat(cache.get("plainKey").get()).isEqualTo("value");
+            assertThat(index.drain("plainKey")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Caffeine configuration")
+    class CaffeineConfigurationTests {
+
+        private EntityIndexedCache lists;
+
+        @BeforeEach
+        void setUpLists() {
+            lists = (EntityIndexedCache) new CacheConfig(null).cacheManager().getCache("lists");
+        }
+
+        @SuppressWarnings("unchecked")
+        private Cache<Object, Object> nativeLists() {
+            return (Cache<Object, Object>) lists.getNativeCache();
+        }
+
+        @Test
+        @DisplayName("should keep the key of a value stored again after an explicit eviction")
+        void shouldKeepKeyStoredAgainAfterEvict() {
+            lists.put("User:all:0:20", "old");
+            lists.evict("User:all:0:20");
+            lists.put("User:all:0:20", "new");
+            nativeLists().cleanUp();
+
+            assertThat(lists.evictEntity("User")).isEqualTo(1);
+            assertThat(lists.get("User:all:0:20")).isNull();
+        }
+
+        @Test
+        @DisplayName("should unregister keys Caffeine evicts by size")
+        void shouldUnregisterKeysEvictedBySize() {
+            for (int i = 0; i < 500; i++) {
+                lists.put("User:page:" + i, i);
+            }
+            nativeLists().cleanUp();
+            long cached = nativeLists().estimatedSize();
+
+            assertThat(cached).isLessThan(500);
+            assertThat(lists.evictEntity("User")).isEqualTo((int) cached);
+        }
+    }
+
+    @Nested
+    @DisplayName("EntityIndexedCacheManager")
+    class CacheManagerTests {
+
+        @Test
+        @DisplayName("should decorate only configured caches")
+        void shouldDecorateOnlyConfiguredCaches() {
+            ConcurrentMapCacheManager delegate =
+                    new ConcurrentMapCacheManager("entities", "lists", "counts");
+            EntityIndexedCacheManager manager =
+                    new EntityIndexedCacheManager(
+                            delegate, Set.of("lists", "counts"), n -> new LocalEntityKeyIndex());
+
+            assertThat(manager.getCache("lists")).isInstanceOf(EntityIndexedCache.class);
+            assertThat(manager.getCache("counts")).isInstanceOf(EntityIndexedCache.class);
+            assertThat(manager.getCache("entities")).isNotInstanceOf(EntityIndexedCache.class);
+            assertThat(manager.getCache("lists")).isSameAs(manager.getCache("lists"));
+            assertThat(manager.getCacheNames())
+                    .containsExactlyInAnyOrderElementsOf(List.of("entities", "lists", "counts"));
+        }
+    }
+}
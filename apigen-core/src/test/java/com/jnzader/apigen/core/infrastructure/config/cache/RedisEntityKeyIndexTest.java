@@ -0,0 +1,58 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@DisplayName("RedisEntityKeyIndex Tests")
+class RedisEntityKeyIndexTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RedisEntityKeyIndex index =
+            new RedisEntityKeyIndex(redisTemplate, "lists", Duration.ofMinutes(5));
+
+    @Test
+    @DisplayName("should add the key and refresh the TTL in one script call")
+    @SuppressWarnings("unchecked")
+    void shouldRegisterInOneRoundTrip() {
+        index.register("User", "User:all:0:20");
+
+        verify(redisTemplate)
+                .execute(
+                        any(RedisScript.class),
+                        eq(List.of("apigen:idx:lists:User")),
+                        eq("User:all:0:20"),
+                        eq(String.valueOf(Duration.ofMinutes(6).toMillis())));
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("should find index sets with SCAN instead of KEYS")
+    @SuppressWarnings("unchecked")
+    void shouldClearWithScan() {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("apigen:idx:lists:User", "apigen:idx:lists:Product");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        index.clear();
+
+        verify(redisTemplate).delete(List.of("apigen:idx:lists:User", "apigen:idx:lists:Product"));
+        verify(redisTemplate, never()).keys(anyString());
+        verify(cursor).close();
+    }
+}
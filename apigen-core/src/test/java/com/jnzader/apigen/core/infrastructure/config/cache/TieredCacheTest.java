@@ -0,0 +1,258 @@
+package com.jnzader.apigen.core.infrastructure.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Tests for the two-tier cache. Two managers sharing one L2 and one in-memory transport simulate
+ * two application nodes in front of the same Redis.
+ */
+@DisplayName("TieredCache Tests")
+class TieredCacheTest {
+
+    private ConcurrentMapCacheManager sharedRemote;
+    private InMemoryCacheInvalidationTransport transport;
+    private MeterRegistry registryA;
+    private TieredCacheManager nodeA;
+    private TieredCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        sharedRemote = new ConcurrentMapCacheManager();
+        sharedRemote.setAllowNullValues(false);
+        transport = new InMemoryCacheInvalidationTransport();
+        registryA = new SimpleMeterRegistry();
+        nodeA = manager("node-a", registryA);
+        nodeB = manager("node-b", new SimpleMeterRegistry());
+    }
+
+    private TieredCacheManager manager(String nodeId, MeterRegistry registry) {
+        TieredCacheManager manager =
+                new TieredCacheManager(
+                        sharedRemote,
+                        name -> new CaffeineCache(name, Caffeine.newBuilder().build(), false),
+                        transport,
+                        registry,
+                        nodeId);
+        manager.initializeCaches();
+        return manager;
+    }
+
+    private TieredCache tiered(TieredCacheManager manager, String name) {
+        return (TieredCache) manager.getCache(name);
+    }
+
+    @Nested
+    @DisplayName("Reads")
+    class ReadTests {
+
+        @Test
+        @DisplayName("should populate L1 from L2 on first read")
+        void shouldPopulateL1FromL2() {
+            sharedRemote.getCache("entities").put("User:1", "user-1");
+            TieredCache cache = tiered(nodeA, "entities");
+
+            assertThat(cache.get("User:1").get()).isEqualTo("user-1");
+            assertThat(cache.getLocal().get("User:1").get()).isEqualTo("user-1");
+        }
+
+        @Test
+        @DisplayName("should serve from L1 without touching L2")
+        void shouldServeFromL1() {
+            TieredCache cache = tiered(nodeA, "entities");
+            cache.put("User:1", "user-1");
+            // Remove from L2 behind the cache's back: the L1 copy must still be served
+            sharedRemote.getCache("entities").evict("User:1");
+
+            assertThat(cache.get("User:1").get()).isEqualTo("user-1");
+        }
+
+        @Test
+        @DisplayName("should load and store through value loader")
+        void shouldLoadThroughValueLoader() {
+            TieredCache cache = tiered(nodeA, "entities");
+
+            String value = cache.get("User:1", () -> "loaded");
+
+            assertThat(value).isEqualTo("loaded");
+            assertThat(sharedRemote.getCache("entities").get("User:1").get()).isEqualTo("loaded");
+            assertThat(cache.getLocal().get("User:1").get()).isEqualTo("loaded");
+        }
+
+        @Test
+        @DisplayName("should return null on miss in both tiers")
+        void shouldReturnNullOnMiss() {
+            assertThat(tiered(nodeA, "entities").get("User:404")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation across nodes")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("should evict L1 of other nodes on evict")
+        void shouldEvictOtherNodesOnEvict() {
+            TieredCache cacheA = tiered(nodeA, "entities");
+            TieredCache cacheB = tiered(nodeB, "entities");
+            cacheA.put("User:1", "user-1");
+            cacheB.get("User:1");
+            assertThat(cacheB.getLocal().get("User:1")).isNotNull();
+
+            cacheA.evict("User:1");
+
+            assertThat(cacheB.getLocal().get("User:1")).isNull();
+            assertThat(cacheB.get("User:1")).isNull();
+        }
+
+        @Test
+        @DisplayName("should evict L1 of other nodes on put")
+        void shouldEvictOtherNodesOnPut() {
+            TieredCache cacheA = tiered(nodeA, "entities");
+            TieredCache cacheB = tiered(nodeB, "entities");
+            cacheA.put("User:1", "v1");
+            cacheB.get("User:1");
+
+            cacheA.put("User:1", "v2");
+
+            assertThat(cacheB.get("User:1").get()).isEqualTo("v2");
+            assertThat(cacheA.getLocal().get("User:1").get()).isEqualTo("v2");
+        }
+
+        @Test
+        @DisplayName("should leave other nodes' L1 in place when a miss is populated")
+        void shouldNotEvictOtherNodesOnMiss() {
+            TieredCache cacheA = tiered(nodeA, "entities");
+            TieredCache cacheB = tiered(nodeB, "entities");
+            cacheB.put("User:1", "user-1");
+            cacheB.put("User:2", "user-2");
+            // L2 dropped the entries (TTL, eviction) while node B still holds them in L1
+            sharedRemote.getCache("entities").clear();
+
+            assertThat(cacheA.get("User:1", () -> "user-1")).isEqualTo("user-1");
+            assertThat(cacheA.get("User:2")).isNull();
+            cacheA.put("User:2", "user-2"); // what @Cacheable does after a miss
+
+            assertThat(cacheB.getLocal().get("User:1")).isNotNull();
+            assertThat(cacheB.getLocal().get("User:2")).isNotNull();
+        }
+
+        @Test
+        @DisplayName("should clear L1 of other nodes on clear")
+        void shouldClearOtherNodes() {
+            TieredCache cacheA = tiered(nodeA, "lists");
+            TieredCache cacheB = tiered(nodeB, "lists");
+            cacheA.put("User:all:0:20", "page");
+            cacheB.get("User:all:0:20");
+
+            cacheA.clear();
+
+            assertThat(cacheB.getLocal().get("User:all:0:20")).isNull();
+        }
+
+        @Test
+        @DisplayName("should propagate entity-indexed eviction to other nodes")
+        void shouldPropagateEntityIndexedEviction() {
+            LocalEntityKeyIndex sharedIndex = new LocalEntityKeyIndex();
+            EntityIndexedCache listsA = new EntityIndexedCache(tiered(nodeA, "lists"), sharedIndex);
+            EntityIndexedCache listsB = new EntityIndexedCache(tiered(nodeB, "lists"), sharedIndex);
+            listsA.put("User:all:0:20", "users");
+            listsB.put("Product:all:0:20", "products");
+            listsB.get("User:all:0:20");
+
+            listsA.evictEntity("User");
+
+            assertThat(tiered(nodeB, "lists").getLocal().get("User:all:0:20")).isNull();
+            assertThat(listsB.get("Product:all:0:20").get()).isEqualTo("products");
+        }
+
+        @Test
+        @DisplayName("should ignore messages published by the same node")
+        void shouldIgnoreOwnMessages() {
+            TieredCache cacheA = tiered(nodeA, "entities");
+            cacheA.put("User:1", "user-1");
+
+            cacheA.onInvalidation(
+                    CacheInvalidationMessage.evict("node-a", "entities", List.of("User:1")));
+
+            assertThat(cacheA.getLocal().get("User:1")).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("should count hits and misses per tier")
+        void shouldCountHitsAndMissesPerTier() {
+            TieredCache cache = tiered(nodeA, "entities");
+            sharedRemote.getCache("entities").put("User:1", "user-1");
+
+            cache.get("User:1"); // L1 miss, L2 hit
+            cache.get("User:1"); // L1 hit
+            cache.get("User:2"); // L1 miss, L2 miss
+
+            assertThat(count("l1", "hit")).isEqualTo(1);
+            assertThat(count("l1", "miss")).isEqualTo(2);
+            assertThat(count("l2", "hit")).isEqualTo(1);
+            assertThat(count("l2", "miss")).isEqualTo(1);
+            assertThat(
+                            registryA
+                                    .get(TieredCache.METRIC_LATENCY)
+                                    .tags("cache", "entities", "tier", "l1")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(3);
+        }
+
+        private double count(String tier, String result) {
+            return registryA
+                    .get(TieredCache.METRIC_REQUESTS)
+                    .tags("cache", "entities", "tier", tier, "result", result)
+                    .counter()
+                    .count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Message encoding")
+    class MessageEncodingTests {
+
+        @Test
+        @DisplayName("should round-trip eviction messages")
+        void shouldRoundTripEvictMessages() {
+            CacheInvalidationMessage message =
+                    CacheInvalidationMessage.evict("n1", "lists", List.of("User:a", "User:b"));
+
+            assertThat(CacheInvalidationMessage.decode(message.encode())).isEqualTo(message);
+        }
+
+        @Test
+        @DisplayName("should round-trip clear messages")
+        void shouldRoundTripClearMessages() {
+            CacheInvalidationMessage message = CacheInvalidationMessage.clear("n1", "lists");
+
+            assertThat(CacheInvalidationMessage.decode(message.encode())).isEqualTo(message);
+        }
+    }
+
+    @Test
+    @DisplayName("should create tiers for caches unknown at startup")
+    void shouldCreateMissingCaches() {
+        Cache cache = nodeA.getCache("counts");
+
+        assertThat(cache).isInstanceOf(TieredCache.class);
+    }
+}
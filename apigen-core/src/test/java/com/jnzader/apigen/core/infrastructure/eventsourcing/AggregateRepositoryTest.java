@@ -1,11 +1,14 @@
 package com.jnzader.apigen.core.infrastructure.eventsourcing;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -123,7 +126,7 @@ class AggregateRepositoryTest {
 
             repoWithSnapshots.save(aggregate);
 
-            verify(eventStore).saveSnapshot(any(Snapshot.class));
+            verify(eventStore, timeout(1000)).saveSnapshot(any(Snapshot.class));
         }
 
         @Test
@@ -258,6 +261,7 @@ class AggregateRepositoryTest {
 
             assertThat(result).isPresent();
             assertThat(result.get().getName()).isEqualTo("Updated");
+            assertThat(result.get().getVersion()).isEqualTo(6);
         }
 
         @Test
@@ -292,6 +296,196 @@ class AggregateRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Adaptive Snapshot Tests")
+    class AdaptiveSnapshotTests {
+
+        private final List<Runnable> snapshotTasks = new ArrayList<>();
+
+        private AggregateRepository<TestAggregate> repositoryWith(
+                AggregateRepository.RepositoryConfig config) {
+            return new AggregateRepository<>(
+                    eventStore,
+                    serializer,
+                    "TestAggregate",
+                    TestAggregate::new,
+                    config,
+                    snapshotTasks::add);
+        }
+
+        private void stubHistory(int renames) {
+            List<StoredEvent> history = new ArrayList<>();
+            history.add(storedEvent(0, "TestCreated", "created"));
+            for (int i = 1; i <= renames; i++) {
+                history.add(storedEvent(i, "TestRenamed", "renamed-" + i));
+            }
+            when(eventStore.getEvents("agg-1")).thenReturn(history);
+            when(serializer.deserialize(any(), eq("TestCreated")))
+                    .thenReturn(new TestCreatedEvent("agg-1", "Test", Instant.now()));
+            lenient()
+                    .when(serializer.deserialize(any(), eq("TestRenamed")))
+                    .thenReturn(new TestRenamedEvent("agg-1", "Renamed", Instant.now()));
+        }
+
+        @Test
+        @DisplayName("should store the snapshot off the calling thread")
+        void shouldStoreSnapshotAsynchronously() {
+            AggregateRepository<TestAggregate> repo =
+                    repositoryWith(new AggregateRepository.RepositoryConfig(2, null, 0));
+            TestAggregate aggregate = new TestAggregate();
+            aggregate.create("agg-1", "Test");
+            aggregate.rename("Name 1");
+            aggregate.rename("Name 2");
+            when(serializer.serializeState(any())).thenReturn("{}");
+
+            repo.save(aggregate);
+
+            verify(eventStore, never()).saveSnapshot(any());
+            assertThat(snapshotTasks).hasSize(1);
+
+            snapshotTasks.getFirst().run();
+            verify(eventStore).saveSnapshot(snapshotCaptor.capture());
+            assertThat(snapshotCaptor.getValue().getVersion()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should snapshot when the measured replay cost exceeds the limit")
+        void shouldSnapshotOnReplayCost() {
+            AggregateRepository<TestAggregate> repo =
+                    repositoryWith(
+                            new AggregateRepository.RepositoryConfig(0, Duration.ofNanos(1), 0));
+            when(eventStore.exists("agg-1")).thenReturn(true);
+            when(eventStore.getLatestSnapshot("agg-1")).thenReturn(Optional.empty());
+            stubHistory(3);
+
+            TestAggregate aggregate = repo.findById("agg-1").orElseThrow();
+
+            assertThat(repo.getReplayNanosPerEvent()).isPositive();
+            assertThat(snapshotTasks).hasSize(1);
+            assertThat(aggregate.getSnapshotVersion()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should not snapshot while the replay cost is below the limit")
+        void shouldNotSnapshotBelowReplayCost() {
+            AggregateRepository<TestAggregate> repo =
+                    repositoryWith(
+                            new AggregateRepository.RepositoryConfig(0, Duration.ofHours(1), 0));
+            when(eventStore.exists("agg-1")).thenReturn(true);
+            when(eventStore.getLatestSnapshot("agg-1")).thenReturn(Optional.empty());
+            stubHistory(3);
+
+            repo.findById("agg-1");
+
+            assertThat(snapshotTasks).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should not queue a second snapshot while one is pending")
+        void shouldNotDuplicatePendingSnapshot() {
+            AggregateRepository<TestAggregate> repo =
+                    repositoryWith(new AggregateRepository.RepositoryConfig(1, null, 0));
+            when(eventStore.exists("agg-1")).thenReturn(true);
+            when(eventStore.getLatestSnapshot("agg-1")).thenReturn(Optional.empty());
+            stubHistory(2);
+
+            repo.findById("agg-1");
+            repo.findById("agg-1");
+
+            assertThat(snapshotTasks).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should reject invalid settings")
+        void shouldRejectInvalidConfig() {
+            Duration zero = Duration.ZERO;
+
+            assertThatThrownBy(() -> new AggregateRepository.RepositoryConfig(-1, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new AggregateRepository.RepositoryConfig(0, zero, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new AggregateRepository.RepositoryConfig(0, null, -1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Aggregate Cache Tests")
+    class AggregateCacheTests {
+
+        private AggregateRepository<TestAggregate> cachingRepository;
+
+        @BeforeEach
+        void setUp() {
+            cachingRepository =
+                    new AggregateRepository<>(
+                            eventStore,
+                            serializer,
+                            "TestAggregate",
+                            TestAggregate::new,
+                            new AggregateRepository.RepositoryConfig(0, null, 10),
+                            Runnable::run);
+        }
+
+        @Test
+        @DisplayName("should load a saved aggregate without replaying events")
+        void shouldLoadFromCacheWithoutReplay() {
+            TestAggregate aggregate = new TestAggregate();
+            aggregate.create("agg-1", "Test");
+            aggregate.rename("Cached");
+            cachingRepository.save(aggregate);
+            when(eventStore.getCurrentVersion("agg-1")).thenReturn(1L);
+
+            TestAggregate loaded = cachingRepository.findById("agg-1").orElseThrow();
+
+            assertThat(loaded).isNotSameAs(aggregate);
+            assertThat(loaded.getName()).isEqualTo("Cached");
+            assertThat(loaded.getVersion()).isEqualTo(1);
+            verify(eventStore, never()).getEvents(any());
+            verify(eventStore, never()).getEventsFrom(any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("should replay only the events newer than the cached version")
+        void shouldReplayEventsAfterCachedVersion() {
+            TestAggregate aggregate = new TestAggregate();
+            aggregate.create("agg-1", "Test");
+            cachingRepository.save(aggregate);
+            when(eventStore.getCurrentVersion("agg-1")).thenReturn(1L);
+            when(eventStore.getEventsFrom("agg-1", 0))
+                    .thenReturn(List.of(storedEvent(1, "TestRenamed", "newer")));
+            when(serializer.deserialize("newer", "TestRenamed"))
+                    .thenReturn(new TestRenamedEvent("agg-1", "Newer", Instant.now()));
+
+            TestAggregate loaded = cachingRepository.findById("agg-1").orElseThrow();
+
+            assertThat(loaded.getName()).isEqualTo("Newer");
+            assertThat(loaded.getVersion()).isEqualTo(1);
+            verify(eventStore, never()).getEvents(any());
+        }
+
+        @Test
+        @DisplayName("should return empty and skip the cache when the aggregate has no events")
+        void shouldReturnEmptyForUnknownAggregate() {
+            when(eventStore.getCurrentVersion("agg-1")).thenReturn(-1L);
+
+            assertThat(cachingRepository.findById("agg-1")).isEmpty();
+            verify(eventStore, never()).exists(any());
+        }
+    }
+
+    private static StoredEvent storedEvent(long version, String eventType, String payload) {
+        return StoredEvent.builder()
+                .eventId("evt-" + version)
+                .aggregateId("agg-1")
+                .aggregateType("TestAggregate")
+                .eventType(eventType)
+                .version(version)
+                .payload(payload)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
     @Nested
     @DisplayName("Exists Tests")
     class ExistsTests {
@@ -195,6 +195,118 @@ class EventSerializerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Binary Payloads")
+    class BinaryPayloadTests {
+
+        private final TestEvent event =
+                new TestEvent("agg-1", "TestCreated", Instant.parse("2024-01-15T10:30:00Z"), "v1");
+
+        @BeforeEach
+        void registerType() {
+            serializer.registerEventType("TestCreated", TestEvent.class);
+        }
+
+        @Test
+        @DisplayName("should write Smile payloads with a format header")
+        void shouldWriteSmileWithHeader() {
+            serializer.writeWith(SmileEventPayloadCodec.NAME, -1);
+
+            String payload = serializer.serialize(event);
+            DomainEvent deserialized = serializer.deserialize(payload, "TestCreated");
+
+            assertThat(payload).startsWith("~smile:");
+            assertThat(deserialized.getAggregateId()).isEqualTo("agg-1");
+            assertThat(deserialized.getOccurredAt()).isEqualTo(event.getOccurredAt());
+            assertThat(((TestEvent) deserialized).getData()).isEqualTo("v1");
+        }
+
+        @Test
+        @DisplayName("should deflate payloads above the compression threshold")
+        void shouldCompressLargePayloads() {
+            serializer.writeWith(SmileEventPayloadCodec.NAME, 64);
+            TestEvent large =
+                    new TestEvent("agg-1", "TestCreated", Instant.now(), "x".repeat(2000));
+
+            String payload = serializer.serialize(large);
+            TestEvent deserialized = serializer.deserialize(payload, TestEvent.class);
+
+            assertThat(payload).startsWith("~smile+deflate:").hasSizeLessThan(500);
+            assertThat(deserialized.getData()).hasSize(2000);
+        }
+
+        @Test
+        @DisplayName("should read JSON and binary events from the same stream")
+        void shouldReadMixedFormats() {
+            String json = serializer.serialize(event);
+            serializer.writeWith(SmileEventPayloadCodec.NAME, 0);
+            String binary = serializer.serialize(event);
+
+            assertThat(json).startsWith("{");
+            assertThat(serializer.deserialize(json, "TestCreated").getAggregateId())
+                    .isEqualTo("agg-1");
+            assertThat(serializer.deserialize(binary, "TestCreated").getAggregateId())
+                    .isEqualTo("agg-1");
+        }
+
+        @Test
+        @DisplayName("should go back to JSON")
+        void shouldSwitchBackToJson() {
+            serializer.writeWith(SmileEventPayloadCodec.NAME, -1);
+            serializer.writeWith("json", -1);
+
+            assertThat(serializer.serialize(event)).startsWith("{");
+        }
+
+        @Test
+        @DisplayName("should use a registered custom codec")
+        void shouldUseCustomCodec() {
+            EventPayloadCodec smile = new SmileEventPayloadCodec();
+            EventPayloadCodec custom =
+                    new EventPayloadCodec() {
+                        @Override
+                        public String name() {
+                            return "custom-v1";
+                        }
+
+                        @Override
+                        public byte[] encode(Object value) {
+                            return smile.encode(value);
+                        }
+
+                        @Override
+                        public <T> T decode(byte[] bytes, Class<T> type) {
+                            return smile.decode(bytes, type);
+                        }
+                    };
+            serializer.writeWith(custom, -1);
+
+            String payload = serializer.serialize(event);
+
+            assertThat(payload).startsWith("~custom-v1:");
+            assertThat(serializer.deserialize(payload, TestEvent.class).getData()).isEqualTo("v1");
+        }
+
+        @Test
+        @DisplayName("should reject unknown codecs")
+        void shouldRejectUnknownCodec() {
+            assertThatThrownBy(() -> serializer.deserialize("~avro:AAAA", "TestCreated"))
+                    .isInstanceOf(EventSerializationException.class)
+                    .hasMessageContaining("avro");
+            assertThatThrownBy(() -> serializer.writeWith("avro", -1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should reject malformed binary payloads")
+        void shouldRejectMalformedPayloads() {
+            assertThatThrownBy(() -> serializer.deserialize("~smile", "TestCreated"))
+                    .isInstanceOf(EventSerializationException.class);
+            assertThatThrownBy(() -> serializer.deserialize("~smile+deflate:AAAA", "TestCreated"))
+                    .isInstanceOf(EventSerializationException.class);
+        }
+    }
+
     @Nested
     @DisplayName("ObjectMapper Access")
     class ObjectMapperAccessTests {
@@ -243,6 +355,30 @@ class EventSerializerTest {
             assertThat(deserialized.getAggregateId()).isEqualTo("agg-1");
             assertThat(deserialized.getData()).isEqualTo("data");
         }
+
+        @Test
+        @DisplayName("should build the Smile codec as a copy of the custom ObjectMapper")
+        void shouldCopyCustomObjectMapperForSmile() throws Exception {
+            com.fasterxml.jackson.databind.ObjectMapper customMapper =
+                    new com.fasterxml.jackson.databind.ObjectMapper();
+            customMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+            customMapper.setPropertyNamingStrategy(
+                    com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE);
+            TestEvent event =
+                    new TestEvent(
+                            "agg-1", "TestEvent", Instant.parse("2024-01-15T10:30:00Z"), "data");
+
+            byte[] smile = SmileEventPayloadCodec.from(customMapper).encode(event);
+            Map<?, ?> fields =
+                    new com.fasterxml.jackson.databind.ObjectMapper(
+                                    new com.fasterxml.jackson.dataformat.smile.SmileFactory())
+                            .readValue(smile, Map.class);
+
+            assertThat(fields).containsKey("aggregate_id");
+            assertThat(fields.get("occurred_at")).isInstanceOf(Number.class);
+            assertThat(customMapper.getFactory())
+                    .isNotInstanceOf(com.fasterxml.jackson.dataformat.smile.SmileFactory.class);
+        }
     }
 
     // Test helpers
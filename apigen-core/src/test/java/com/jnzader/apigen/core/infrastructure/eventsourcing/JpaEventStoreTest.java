@@ -3,16 +3,26 @@ package com.jnzader.apigen.core.infrastructure.eventsourcing;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 @DisplayName("JpaEventStore Tests")
 class JpaEventStoreTest {
@@ -31,6 +41,31 @@ class JpaEventStoreTest {
         eventPublisher = mock(ApplicationEventPublisher.class);
         eventStore =
                 new JpaEventStore(eventRepository, snapshotRepository, serializer, eventPublisher);
+        // By default every stream is exactly at the expected version
+        when(eventRepository.findAggregateVersions(anyCollection(), anyCollection()))
+                .thenAnswer(
+                        invocation -> {
+                            Collection<String> ids = invocation.getArgument(0);
+                            Collection<Long> versions = invocation.getArgument(1);
+                            return ids.stream()
+                                    .flatMap(id -> versions.stream().map(v -> version(id, v)))
+                                    .toList();
+                        });
+    }
+
+    private static StoredEventRepository.AggregateVersion version(
+            String aggregateId, long version) {
+        return new StoredEventRepository.AggregateVersion() {
+            @Override
+            public String getAggregateId() {
+                return aggregateId;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
     }
 
     @Nested
@@ -40,52 +75,137 @@ class JpaEventStoreTest {
         @Test
         @DisplayName("should append events to new aggregate")
         void shouldAppendEventsToNewAggregate() {
-            when(eventRepository.findMaxVersionByAggregateId("agg-1")).thenReturn(Optional.empty());
-
             TestEvent event = new TestEvent("agg-1", "TestCreated", Instant.now(), "data");
 
             eventStore.append("agg-1", "TestAggregate", List.of(event), -1);
 
-            verify(eventRepository).save(any(StoredEvent.class));
+            assertThat(savedBatches()).singleElement().satisfies(batch -> assertVersions(batch, 0));
+            verify(eventRepository).flush();
             verify(eventPublisher).publishEvent(any(JpaEventStore.StoredEventWrapper.class));
         }
 
         @Test
-        @DisplayName("should append multiple events with sequential versions")
+        @DisplayName("should append multiple events with sequential versions in one batch")
         void shouldAppendMultipleEventsWithSequentialVersions() {
-            when(eventRepository.findMaxVersionByAggregateId("agg-1")).thenReturn(Optional.of(2L));
-
             TestEvent event1 = new TestEvent("agg-1", "Event1", Instant.now(), "data1");
             TestEvent event2 = new TestEvent("agg-1", "Event2", Instant.now(), "data2");
 
             eventStore.append("agg-1", "TestAggregate", List.of(event1, event2), 2);
 
-            verify(eventRepository, times(2)).save(any(StoredEvent.class));
+            assertThat(savedBatches())
+                    .singleElement()
+                    .satisfies(batch -> assertVersions(batch, 3, 4));
+            verify(eventRepository, never()).save(any());
         }
 
         @Test
-        @DisplayName("should throw ConcurrencyException on version mismatch")
+        @DisplayName("should check the expected version with one indexed lookup, not MAX")
+        void shouldNotReadCurrentVersion() {
+            TestEvent event = new TestEvent("agg-1", "TestCreated", Instant.now(), "data");
+
+            eventStore.append("agg-1", "TestAggregate", List.of(event), 3);
+
+            verify(eventRepository).findAggregateVersions(Set.of("agg-1"), Set.of(3L));
+            verify(eventRepository, never()).findMaxVersionByAggregateId(any());
+        }
+
+        @Test
+        @DisplayName("should not look up versions for new aggregates")
+        void shouldSkipLookupForNewAggregates() {
+            TestEvent event = new TestEvent("agg-1", "TestCreated", Instant.now(), "data");
+
+            eventStore.append("agg-1", "TestAggregate", List.of(event), -1);
+
+            verify(eventRepository, never()).findAggregateVersions(any(), any());
+        }
+
+        @Test
+        @DisplayName("should reject an expected version ahead of the stream instead of a gap")
+        void shouldRejectExpectedVersionAheadOfStream() {
+            when(eventRepository.findAggregateVersions(anyCollection(), anyCollection()))
+                    .thenReturn(List.of());
+            when(eventRepository.findMaxVersionByAggregateId("agg-1")).thenReturn(Optional.of(3L));
+            List<DomainEvent> events =
+                    List.of(new TestEvent("agg-1", "TestCreated", Instant.now(), "data"));
+
+            assertThatThrownBy(() -> eventStore.append("agg-1", "TestAggregate", events, 7))
+                    .isInstanceOfSatisfying(
+                            ConcurrencyException.class,
+                            e -> {
+                                assertThat(e.getExpectedVersion()).isEqualTo(7);
+                                assertThat(e.getActualVersion()).isEqualTo(3);
+                            });
+            verify(eventRepository, never()).saveAll(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("should throw ConcurrencyException when the version is already taken")
         void shouldThrowConcurrencyExceptionOnVersionMismatch() {
-            when(eventRepository.findMaxVersionByAggregateId("agg-1")).thenReturn(Optional.of(5L));
+            doThrow(versionConflict())
+                    .when(eventRepository)
+                    .flush();
 
             TestEvent event = new TestEvent("agg-1", "TestCreated", Instant.now(), "data");
             List<DomainEvent> events = List.of(event);
 
             assertThatThrownBy(() -> eventStore.append("agg-1", "TestAggregate", events, 3))
                     .isInstanceOf(ConcurrencyException.class)
-                    .hasMessageContaining("expected version 3 but found 5");
+                    .hasMessageContaining("expected version 3")
+                    .hasCauseInstanceOf(DataIntegrityViolationException.class);
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
-        @DisplayName("should not throw for new aggregate with expected version -1")
-        void shouldNotThrowForNewAggregateWithExpectedVersionMinusOne() {
-            when(eventRepository.findMaxVersionByAggregateId("agg-1")).thenReturn(Optional.empty());
+        @DisplayName("should recognize the index from the SQL state when no constraint is named")
+        void shouldThrowConcurrencyExceptionOnUniqueSqlState() {
+            SQLException sql =
+                    new SQLException(
+                            "duplicate key value violates unique constraint"
+                                    + " \"idx_event_aggregate\"",
+                            "23505");
+            doThrow(new DataIntegrityViolationException("could not execute batch", sql))
+                    .when(eventRepository)
+                    .flush();
+            List<DomainEvent> events =
+                    List.of(new TestEvent("agg-1", "TestCreated", Instant.now(), "data"));
 
-            TestEvent event = new TestEvent("agg-1", "TestCreated", Instant.now(), "data");
+            assertThatThrownBy(() -> eventStore.append("agg-1", "TestAggregate", events, 3))
+                    .isInstanceOf(ConcurrencyException.class);
+        }
 
-            eventStore.append("agg-1", "TestAggregate", List.of(event), -1);
+        @Test
+        @DisplayName("should rethrow violations of other constraints")
+        void shouldRethrowOtherViolations() {
+            DataIntegrityViolationException duplicateId =
+                    new DataIntegrityViolationException(
+                            "could not execute batch",
+                            new ConstraintViolationException(
+                                    "duplicate key",
+                                    new SQLException("duplicate key", "23505"),
+                                    "event_store_pkey"));
+            doThrow(duplicateId).when(eventRepository).flush();
+            List<DomainEvent> events =
+                    List.of(new TestEvent("agg-1", "TestCreated", Instant.now(), "data"));
+
+            assertThatThrownBy(() -> eventStore.append("agg-1", "TestAggregate", events, 3))
+                    .isSameAs(duplicateId);
+            verify(eventPublisher, never()).publishEvent(any());
+        }
 
-            verify(eventRepository).save(any(StoredEvent.class));
+        @Test
+        @DisplayName("should rethrow violations without a unique SQL state")
+        void shouldRethrowNotNullViolations() {
+            DataIntegrityViolationException notNull =
+                    new DataIntegrityViolationException(
+                            "idx_event_aggregate",
+                            new SQLException("NULL not allowed for column EVENT_TYPE", "23502"));
+            doThrow(notNull).when(eventRepository).flush();
+            List<DomainEvent> events =
+                    List.of(new TestEvent("agg-1", "TestCreated", Instant.now(), "data"));
+
+            assertThatThrownBy(() -> eventStore.append("agg-1", "TestAggregate", events, 3))
+                    .isSameAs(notNull);
         }
 
         @Test
@@ -93,10 +213,102 @@ class JpaEventStoreTest {
         void shouldSkipEmptyEventList() {
             eventStore.append("agg-1", "TestAggregate", List.of(), 0);
 
-            verify(eventRepository, never()).save(any());
+            verify(eventRepository, never()).saveAll(any());
         }
     }
 
+    @Nested
+    @DisplayName("Append To Several Aggregates")
+    class AppendAllTests {
+
+        @Test
+        @DisplayName("should append each aggregate's events as a batch")
+        void shouldAppendEachAggregate() {
+            TestEvent order = new TestEvent("order-1", "OrderPlaced", Instant.now(), "data");
+            TestEvent stock1 = new TestEvent("stock-1", "StockReserved", Instant.now(), "data");
+            TestEvent stock2 = new TestEvent("stock-1", "StockReserved", Instant.now(), "data");
+
+            eventStore.appendAll(
+                    List.of(
+                            new EventStore.AppendRequest("order-1", "Order", List.of(order), -1),
+                            new EventStore.AppendRequest(
+                                    "stock-1", "Stock", List.of(stock1, stock2), 7)));
+
+            List<List<StoredEvent>> batches = savedBatches();
+            assertThat(batches).hasSize(2);
+            assertVersions(batches.get(0), 0);
+            assertVersions(batches.get(1), 8, 9);
+            assertThat(batches.get(1)).allMatch(e -> e.getAggregateId().equals("stock-1"));
+            verify(eventPublisher, times(3))
+                    .publishEvent(any(JpaEventStore.StoredEventWrapper.class));
+        }
+
+        @Test
+        @DisplayName("should name the conflicting aggregate and publish nothing")
+        void shouldReportConflictingAggregate() {
+            doNothing()
+                    .doThrow(versionConflict())
+                    .when(eventRepository)
+                    .flush();
+            List<EventStore.AppendRequest> requests =
+                    List.of(
+                            new EventStore.AppendRequest(
+                                    "order-1",
+                                    "Order",
+                                    List.of(new TestEvent("order-1", "A", Instant.now(), "d")),
+                                    -1),
+                            new EventStore.AppendRequest(
+                                    "stock-1",
+                                    "Stock",
+                                    List.of(new TestEvent("stock-1", "B", Instant.now(), "d")),
+                                    4));
+
+            assertThatThrownBy(() -> eventStore.appendAll(requests))
+                    .isInstanceOfSatisfying(
+                            ConcurrencyException.class,
+                            e -> {
+                                assertThat(e.getAggregateId()).isEqualTo("stock-1");
+                                assertThat(e.getExpectedVersion()).isEqualTo(4);
+                                assertThat(e.getActualVersion()).isEqualTo(-1);
+                            });
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("should reject an expected version below -1")
+        void shouldRejectInvalidExpectedVersion() {
+            List<DomainEvent> events = List.of();
+
+            assertThatThrownBy(() -> new EventStore.AppendRequest("agg-1", "Test", events, -2))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<StoredEvent>> savedBatches() {
+        ArgumentCaptor<Iterable<StoredEvent>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(eventRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream()
+                .map(batch -> (List<StoredEvent>) batch)
+                .toList();
+    }
+
+    private static DataIntegrityViolationException versionConflict() {
+        return new DataIntegrityViolationException(
+                "could not execute batch",
+                new ConstraintViolationException(
+                        "duplicate key",
+                        new SQLException("duplicate key", "23505"),
+                        JpaEventStore.VERSION_CONSTRAINT));
+    }
+
+    private static void assertVersions(List<StoredEvent> batch, long... versions) {
+        assertThat(batch)
+                .extracting(StoredEvent::getVersion)
+                .containsExactly(Arrays.stream(versions).boxed().toArray(Long[]::new));
+        assertThat(batch).allMatch(StoredEvent::isNew);
+    }
+
     @Nested
     @DisplayName("Get Events")
     class GetEventsTests {
@@ -217,7 +429,8 @@ class JpaEventStoreTest {
                             .payload("{}")
                             .occurredAt(Instant.now())
                             .build();
-            when(eventRepository.findByEventTypeOrderByStoredAtDesc("UserCreated"))
+            when(eventRepository.findByEventTypeOrderByGlobalPositionDesc(
+                            "UserCreated", PageRequest.of(0, 10)))
                     .thenReturn(List.of(stored1, stored2));
 
             List<StoredEvent> events = eventStore.getEventsByType("UserCreated", 10);
@@ -258,14 +471,16 @@ class JpaEventStoreTest {
                             .payload("{}")
                             .occurredAt(Instant.now())
                             .build();
-            when(eventRepository.findByEventTypeOrderByStoredAtDesc("UserCreated"))
-                    .thenReturn(List.of(stored1, stored2, stored3));
+            when(eventRepository.findByEventTypeOrderByGlobalPositionDesc(
+                            "UserCreated", PageRequest.of(0, 2)))
+                    .thenReturn(List.of(stored3, stored2));
 
             List<StoredEvent> events = eventStore.getEventsByType("UserCreated", 2);
 
             assertThat(events).hasSize(2);
-            assertThat(events.get(0).getEventId()).isEqualTo("evt-1");
+            assertThat(events.get(0).getEventId()).isEqualTo("evt-3");
             assertThat(events.get(1).getEventId()).isEqualTo("evt-2");
+            verify(eventRepository, never()).findByEventTypeOrderByStoredAtDesc(any());
         }
 
         @Test
@@ -301,13 +516,16 @@ class JpaEventStoreTest {
                             .payload("{}")
                             .occurredAt(Instant.now())
                             .build();
-            when(eventRepository.findAll()).thenReturn(List.of(stored1, stored2, stored3));
+            when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                            1, PageRequest.of(0, 2)))
+                    .thenReturn(List.of(stored2, stored3));
 
             List<StoredEvent> events = eventStore.getAllEvents(1, 2);
 
             assertThat(events).hasSize(2);
             assertThat(events.get(0).getEventId()).isEqualTo("evt-2");
             assertThat(events.get(1).getEventId()).isEqualTo("evt-3");
+            verify(eventRepository, never()).findAll();
         }
 
         @Test
@@ -323,12 +541,67 @@ class JpaEventStoreTest {
                             .payload("{}")
                             .occurredAt(Instant.now())
                             .build();
-            when(eventRepository.findAll()).thenReturn(List.of(stored));
+            when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                            10, PageRequest.of(0, 5)))
+                    .thenReturn(List.of());
 
             List<StoredEvent> events = eventStore.getAllEvents(10, 5);
 
             assertThat(events).isEmpty();
         }
+
+        @Test
+        @DisplayName("should stream the log page by page from a position")
+        void shouldStreamLogPageByPage() {
+            int pageSize = EventStore.READ_ALL_PAGE_SIZE;
+            List<StoredEvent> firstPage = positions(11, pageSize);
+            List<StoredEvent> secondPage = positions(11 + pageSize, 3);
+            when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                            10, PageRequest.of(0, pageSize)))
+                    .thenReturn(firstPage);
+            when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                            10 + pageSize, PageRequest.of(0, pageSize)))
+                    .thenReturn(secondPage);
+
+            List<Long> read = eventStore.readAll(10).map(StoredEvent::getGlobalPosition).toList();
+
+            assertThat(read).hasSize(pageSize + 3).startsWith(11L).endsWith(13L + pageSize);
+            // The short second page ends the stream without another query
+            verify(eventRepository, times(2))
+                    .findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("should only read the pages consumed")
+        void shouldReadPagesLazily() {
+            int pageSize = EventStore.READ_ALL_PAGE_SIZE;
+            when(eventRepository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                            0, PageRequest.of(0, pageSize)))
+                    .thenReturn(positions(1, pageSize));
+
+            List<StoredEvent> read = eventStore.readAll(0).limit(5).toList();
+
+            assertThat(read).hasSize(5);
+            verify(eventRepository, times(1))
+                    .findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(anyLong(), any());
+        }
+
+        private List<StoredEvent> positions(long from, int count) {
+            return java.util.stream.LongStream.range(from, from + count)
+                    .mapToObj(
+                            position ->
+                                    StoredEvent.builder()
+                                            .eventId("evt-" + position)
+                                            .globalPosition(position)
+                                            .aggregateId("agg-1")
+                                            .aggregateType("Test")
+                                            .eventType("Created")
+                                            .version(position)
+                                            .payload("{}")
+                                            .occurredAt(Instant.now())
+                                            .build())
+                    .toList();
+        }
     }
 
     @Nested
@@ -0,0 +1,364 @@
+package com.jnzader.apigen.core.infrastructure.eventsourcing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+@DisplayName("ProjectionEngine Tests")
+class ProjectionEngineTest {
+
+    private final List<StoredEvent> storedEvents = new CopyOnWriteArrayList<>();
+    private final Map<String, ProjectionCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventStore eventStore;
+    private ProjectionCheckpointRepository checkpointRepository;
+    private RecordingProjection projection;
+    private ProjectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        eventStore = mock(EventStore.class);
+        when(eventStore.getAllEvents(anyLong(), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            long from = invocation.getArgument(0);
+                            int limit = invocation.getArgument(1);
+                            return storedEvents.stream()
+                                    .filter(event -> event.getGlobalPosition() > from)
+                                    .limit(limit)
+                                    .toList();
+                        });
+        when(eventStore.getLastPosition())
+                .thenAnswer(
+                        invocation ->
+                                storedEvents.isEmpty()
+                                        ? 0L
+                                        : storedEvents.getLast().getGlobalPosition());
+        doCallRealMethod().when(eventStore).readAll(anyLong());
+
+        checkpointRepository = mock(ProjectionCheckpointRepository.class);
+        when(checkpointRepository.findById(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                Optional.ofNullable(checkpoints.get(invocation.getArgument(0))));
+        when(checkpointRepository.save(any(ProjectionCheckpoint.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ProjectionCheckpoint checkpoint = invocation.getArgument(0);
+                            checkpoints.put(checkpoint.getProjectionName(), checkpoint);
+                            return checkpoint;
+                        });
+
+        projection = new RecordingProjection("orders");
+        engine =
+                engineWith(
+                        new ProjectionEngine.ProjectionConfig(
+                                Duration.ofMillis(50), 3, 2, Duration.ofSeconds(10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    private ProjectionEngine engineWith(ProjectionEngine.ProjectionConfig config) {
+        return new ProjectionEngine(
+                eventStore,
+                checkpointRepository,
+                TransactionOperations.withoutTransaction(),
+                List.of(projection),
+                config,
+                meterRegistry);
+    }
+
+    private void store(long position, String aggregateId, Instant storedAt) {
+        StoredEvent event =
+                StoredEvent.builder()
+                        .eventId("evt-" + position)
+                        .globalPosition(position)
+                        .aggregateId(aggregateId)
+                        .aggregateType("Order")
+                        .eventType("OrderChanged")
+                        .version(position)
+                        .payload("{}")
+                        .occurredAt(storedAt)
+                        .storedAt(storedAt)
+                        .build();
+        storedEvents.add(event);
+    }
+
+    private void store(long from, long to) {
+        for (long position = from; position <= to; position++) {
+            store(position, "order-" + (position % 5), Instant.now().minusSeconds(60));
+        }
+    }
+
+    @Nested
+    @DisplayName("Polling")
+    class PollingTests {
+
+        @Test
+        @DisplayName("should apply events in order and move the checkpoint")
+        void shouldApplyInOrder() {
+            store(1, 5);
+
+            assertThat(engine.pollOnce("orders")).isEqualTo(3);
+            assertThat(engine.pollOnce("orders")).isEqualTo(2);
+            assertThat(engine.pollOnce("orders")).isZero();
+
+            assertThat(projection.positions()).containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(checkpoints.get("orders").getPosition()).isEqualTo(5);
+            assertThat(engine.getPosition("orders")).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("should resume from the persisted checkpoint")
+        void shouldResumeFromCheckpoint() {
+            store(1, 5);
+            ProjectionCheckpoint checkpoint = new ProjectionCheckpoint("orders");
+            checkpoint.advance(3);
+            checkpoints.put("orders", checkpoint);
+
+            engine.pollOnce("orders");
+
+            assertThat(projection.positions()).containsExactly(4L, 5L);
+        }
+
+        @Test
+        @DisplayName("should keep the checkpoint when a projection fails")
+        void shouldKeepCheckpointOnFailure() {
+            store(1, 3);
+            projection.failAt = 2;
+
+            assertThatThrownBy(() -> engine.pollOnce("orders"))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(engine.getPosition("orders")).isZero();
+
+            projection.failAt = -1;
+            projection.applied.clear();
+            engine.pollOnce("orders");
+            assertThat(projection.positions()).containsExactly(1L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("should wait before a recent gap in positions")
+        void shouldWaitForRecentGap() {
+            store(1, "order-1", Instant.now());
+            store(3, "order-1", Instant.now());
+
+            engine.pollOnce("orders");
+
+            assertThat(projection.positions()).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("should skip a gap older than the gap timeout")
+        void shouldSkipOldGap() {
+            store(1, "order-1", Instant.now().minusSeconds(60));
+            store(3, "order-1", Instant.now().minusSeconds(60));
+
+            engine.pollOnce("orders");
+
+            assertThat(projection.positions()).containsExactly(1L, 3L);
+        }
+
+        @Test
+        @DisplayName("should report lag behind the end of the log")
+        void shouldReportLag() {
+            store(1, 5);
+
+            engine.pollOnce("orders");
+
+            assertThat(engine.getLag("orders")).isEqualTo(2);
+            assertThat(
+                            meterRegistry
+                                    .get(ProjectionEngine.METRIC_LAG)
+                                    .tag("projection", "orders")
+                                    .gauge()
+                                    .value())
+                    .isEqualTo(2.0);
+            assertThat(
+                            meterRegistry
+                                    .get(ProjectionEngine.METRIC_APPLIED)
+                                    .tag("projection", "orders")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(3.0);
+        }
+
+        @Test
+        @DisplayName("should catch up in the background once started")
+        void shouldCatchUpInBackground() throws InterruptedException {
+            store(1, 7);
+
+            engine.start();
+            awaitPosition(7);
+            store(8, 9);
+            engine.wakeUp();
+
+            awaitPosition(9);
+            assertThat(projection.positions()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        }
+
+        @Test
+        @DisplayName("should reject duplicate projection names")
+        void shouldRejectDuplicateNames() {
+            List<Projection> projections = List.of(projection, new RecordingProjection("orders"));
+            ProjectionEngine.ProjectionConfig config = ProjectionEngine.ProjectionConfig.defaults();
+
+            assertThatThrownBy(
+                            () ->
+                                    new ProjectionEngine(
+                                            eventStore,
+                                            checkpointRepository,
+                                            TransactionOperations.withoutTransaction(),
+                                            projections,
+                                            config,
+                                            meterRegistry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("orders");
+        }
+
+        @Test
+        @DisplayName("should refuse to start without the end of the global log")
+        void shouldRefuseToStartWithoutLastPosition() {
+            when(eventStore.getLastPosition()).thenThrow(UnsupportedOperationException.class);
+
+            assertThatThrownBy(engine::start)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(UnsupportedOperationException.class);
+            assertThat(engine.isRunning()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebuild")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("should reset and replay the log keeping each aggregate in order")
+        void shouldRebuildFromZero() throws Exception {
+            store(1, 20);
+            engine.pollOnce("orders");
+
+            long position = engine.rebuild("orders", 3).get(5, TimeUnit.SECONDS);
+
+            assertThat(position).isEqualTo(20);
+            assertThat(projection.resets).isEqualTo(1);
+            assertThat(projection.positions())
+                    .hasSize(20)
+                    .containsExactlyInAnyOrderElementsOf(
+                            java.util.stream.LongStream.rangeClosed(1, 20).boxed().toList());
+            for (int aggregate = 0; aggregate < 5; aggregate++) {
+                String aggregateId = "order-" + aggregate;
+                assertThat(
+                                projection.applied.stream()
+                                        .filter(event -> event.getAggregateId().equals(aggregateId))
+                                        .map(StoredEvent::getGlobalPosition)
+                                        .toList())
+                        .isSorted();
+            }
+            assertThat(checkpoints.get("orders").getPosition()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("should stay paused at position zero when the rebuild fails")
+        void shouldStayPausedWhenRebuildFails() {
+            store(1, 10);
+            projection.failAt = 4;
+
+            assertThatThrownBy(() -> engine.rebuild("orders", 2).get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+
+            assertThat(checkpoints.get("orders").getPosition()).isZero();
+            assertThat(checkpoints.get("orders").isRebuilding()).isTrue();
+            assertThat(engine.pollOnce("orders")).isZero();
+        }
+
+        @Test
+        @DisplayName("should reset a projection whose rebuild was interrupted before replaying")
+        void shouldResetInterruptedRebuildOnRestart() {
+            store(1, 3);
+            ProjectionCheckpoint checkpoint = new ProjectionCheckpoint("orders");
+            checkpoint.startRebuild();
+            checkpoints.put("orders", checkpoint);
+            // Events applied by the partitions before the node stopped
+            projection.apply(storedEvents.get(1));
+
+            engine.pollOnce("orders");
+
+            assertThat(projection.resets).isEqualTo(1);
+            assertThat(projection.positions()).containsExactly(1L, 2L, 3L);
+            assertThat(checkpoints.get("orders").getPosition()).isEqualTo(3);
+            assertThat(checkpoints.get("orders").isRebuilding()).isFalse();
+        }
+    }
+
+    private void awaitPosition(long position) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (engine.getPosition("orders") < position
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(engine.getPosition("orders")).isEqualTo(position);
+    }
+
+    /** Projection that records the events it applies. */
+    static class RecordingProjection implements Projection {
+
+        private final String name;
+        final List<StoredEvent> applied = new CopyOnWriteArrayList<>();
+        volatile long failAt = -1;
+        volatile int resets;
+
+        RecordingProjection(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void apply(StoredEvent event) {
+            if (event.getGlobalPosition() == failAt) {
+                throw new IllegalStateException("Projection failed at " + failAt);
+            }
+            applied.add(event);
+        }
+
+        @Override
+        public void reset() {
+            resets++;
+            applied.clear();
+        }
+
+        List<Long> positions() {
+            return new ArrayList<>(applied.stream().map(StoredEvent::getGlobalPosition).toList());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jnzader.apigen.core.infrastructure.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Tests para RequestAuthContext. */
+@DisplayName("RequestAuthContext Tests")
+class RequestAuthContextTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("should resolve the client IP only once per request")
+    void shouldResolveClientIpOnce() {
+        AtomicInteger resolutions = new AtomicInteger();
+        ClientAddressResolver resolver =
+                r -> {
+                    resolutions.incrementAndGet();
+                    return "192.168.1.10";
+                };
+
+        RequestAuthContext first = RequestAuthContext.of(request, resolver);
+        RequestAuthContext second = RequestAuthContext.of(request, resolver);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getClientIp()).isEqualTo("192.168.1.10");
+        assertThat(resolutions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should be empty until a filter creates it")
+    void shouldBeEmptyUntilCreated() {
+        assertThat(RequestAuthContext.find(request)).isEmpty();
+        assertThat(RequestAuthContext.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should expose what later filters populate")
+    void shouldExposePopulatedFields() {
+        RequestAuthContext context = RequestAuthContext.of(request, r -> "10.0.0.1");
+        assertThat(context.isAuthenticated()).isFalse();
+
+        context.setPrincipal("alice");
+        context.setTier("pro");
+        context.setTenantId("acme");
+
+        RequestAuthContext found = RequestAuthContext.find(request).orElseThrow();
+        assertThat(found.isAuthenticated()).isTrue();
+        assertThat(found.getPrincipal()).isEqualTo("alice");
+        assertThat(found.getTier()).isEqualTo("pro");
+        assertThat(found.getTenantId()).isEqualTo("acme");
+    }
+
+    @Test
+    @DisplayName("should be reachable from the current request attributes")
+    void shouldBeReachableFromCurrentRequest() {
+        RequestAuthContext context = RequestAuthContext.of(request, r -> "10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(RequestAuthContext.current()).containsSame(context);
+    }
+}
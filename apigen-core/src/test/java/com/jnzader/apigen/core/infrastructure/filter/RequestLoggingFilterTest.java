@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
@@ -300,6 +301,70 @@ class RequestLoggingFilterTest {
             // Then
             verify(filterChain).doFilter(any(), any());
         }
+
+        @Test
+        @DisplayName("should share the resolved IP through the request auth context")
+        void shouldShareResolvedIpThroughContext() throws Exception {
+            // Given
+            request.setMethod("GET");
+            request.setRequestURI("/api/test");
+            request.addHeader("X-Forwarded-For", "192.168.1.100, 10.0.0.1");
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertThat(RequestAuthContext.find(request))
+                    .map(RequestAuthContext::getClientIp)
+                    .contains("192.168.1.100");
+        }
+
+        @Test
+        @DisplayName("should use the registered client address resolver")
+        void shouldUseRegisteredResolver() throws Exception {
+            // Given
+            @SuppressWarnings("unchecked")
+            ObjectProvider<ClientAddressResolver> provider = mock(ObjectProvider.class);
+            when(provider.getIfAvailable(any())).thenReturn(r -> "203.0.113.7");
+            filter = new RequestLoggingFilter(provider);
+            request.setMethod("GET");
+            request.setRequestURI("/api/test");
+            request.addHeader("X-Forwarded-For", "192.168.1.100");
+            String[] mdcIp = new String[1];
+            doAnswer(
+                            invocation -> {
+                                mdcIp[0] = MDC.get("clientIp");
+                                return null;
+                            })
+                    .when(filterChain)
+                    .doFilter(any(), any());
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertThat(mdcIp[0]).isEqualTo("203.0.113.7");
+            assertThat(RequestAuthContext.find(request))
+                    .map(RequestAuthContext::getClientIp)
+                    .contains("203.0.113.7");
+        }
+
+        @Test
+        @DisplayName("should reuse a context created earlier in the chain")
+        void shouldReuseExistingContext() throws Exception {
+            // Given
+            request.setMethod("GET");
+            request.setRequestURI("/api/test");
+            request.addHeader("X-Forwarded-For", "192.168.1.100");
+            RequestAuthContext existing = RequestAuthContext.of(request, r -> "10.9.9.9");
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertThat(RequestAuthContext.find(request)).containsSame(existing);
+            assertThat(existing.getClientIp()).isEqualTo("10.9.9.9");
+        }
     }
 
     @Nested
@@ -0,0 +1,386 @@
+package com.jnzader.apigen.core.infrastructure.jwks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JwksTokenVerifier Tests")
+class JwksTokenVerifierTest {
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<Map<String, Object>> publishedKeys = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private KeyPair ecKeys;
+    private KeyPair edKeys;
+    private JwksKeySource keySource;
+    private JwksTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeys = ec.generateKeyPair();
+        edKeys = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        publishedKeys.add(ecJwk("ec-1", ecKeys));
+        publishedKeys.add(edJwk("ed-1", edKeys));
+
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext(
+                "/.well-known/jwks.json",
+                exchange -> {
+                    requests.incrementAndGet();
+                    byte[] body =
+                            objectMapper.writeValueAsBytes(
+                                    Map.of("keys", List.copyOf(publishedKeys)));
+                    exchange.getResponseHeaders().add("Cache-Control", "public, max-age=300");
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                    exchange.close();
+                });
+        server.start();
+
+        keySource =
+                new JwksKeySource(
+                        URI.create(
+                                "http://localhost:"
+                                        + server.getAddress().getPort()
+                                        + "/.well-known/jwks.json"),
+                        objectMapper,
+                        HttpClient.newHttpClient(),
+                        JwksKeySource.DEFAULT_TTL,
+                        Duration.ofMinutes(1));
+        verifier = new JwksTokenVerifier(keySource, "apigen", objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Nested
+    @DisplayName("Verify")
+    class VerifyTests {
+
+        @Test
+        @DisplayName("should verify ES256 tokens and expose the APiGen claims")
+        void shouldVerifyEs256() throws Exception {
+            String token =
+                    sign(
+                            "ES256",
+                            "ec-1",
+                            ecKeys.getPrivate(),
+                            claims(Instant.now().plusSeconds(60)));
+
+            JwtClaims claims = verifier.verify(token);
+
+            assertThat(claims.subject()).isEqualTo("testuser");
+            assertThat(claims.userId()).isEqualTo("42");
+            assertThat(claims.roles()).containsExactly("ADMIN");
+        }
+
+        @Test
+        @DisplayName("should verify EdDSA tokens and prefer the authorities claim")
+        void shouldVerifyEdDsa() throws Exception {
+            Map<String, Object> payload = claims(Instant.now().plusSeconds(60));
+            payload.put("authorities", List.of("ROLE_ADMIN", "USER_READ"));
+
+            JwtClaims claims = verifier.verify(sign("EdDSA", "ed-1", edKeys.getPrivate(), payload));
+
+            assertThat(claims.roles()).containsExactly("ROLE_ADMIN", "USER_READ");
+        }
+
+        @Test
+        @DisplayName("should reject a tampered payload")
+        void shouldRejectTamperedPayload() throws Exception {
+            String token =
+                    sign(
+                            "ES256",
+                            "ec-1",
+                            ecKeys.getPrivate(),
+                            claims(Instant.now().plusSeconds(60)));
+            String[] parts = token.split("\\.");
+            Map<String, Object> forged = claims(Instant.now().plusSeconds(60));
+            forged.put("role", "SUPERUSER");
+            String tampered =
+                    parts[0]
+                            + "."
+                            + BASE64.encodeToString(objectMapper.writeValueAsBytes(forged))
+                            + "."
+                            + parts[2];
+
+            assertThatThrownBy(() -> verifier.verify(tampered))
+                    .isInstanceOf(JwksVerificationException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(JwksVerificationException.INVALID_TOKEN);
+        }
+
+        @Test
+        @DisplayName("should reject a key used with the wrong algorithm")
+        void shouldRejectAlgorithmMismatch() throws Exception {
+            String token =
+                    sign(
+                            "EdDSA",
+                            "ec-1",
+                            edKeys.getPrivate(),
+                            claims(Instant.now().plusSeconds(60)));
+
+            assertThatThrownBy(() -> verifier.verify(token))
+                    .isInstanceOf(JwksVerificationException.class);
+        }
+
+        @Test
+        @DisplayName("should reject HMAC tokens")
+        void shouldRejectHmac() {
+            byte[] json = "{\"alg\":\"HS256\",\"kid\":\"ec-1\"}".getBytes(StandardCharsets.UTF_8);
+            String header = BASE64.encodeToString(json);
+
+            assertThatThrownBy(() -> verifier.verify(header + ".e30.c2ln"))
+                    .isInstanceOf(JwksVerificationException.class)
+                    .hasMessageContaining("Unsupported algorithm");
+        }
+
+        @Test
+        @DisplayName("should reject expired tokens")
+        void shouldRejectExpired() throws Exception {
+            String token =
+                    sign(
+                            "ES256",
+                            "ec-1",
+                            ecKeys.getPrivate(),
+                            claims(Instant.now().minusSeconds(120)));
+
+            assertThatThrownBy(() -> verifier.verify(token))
+                    .isInstanceOf(JwksVerificationException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(JwksVerificationException.TOKEN_EXPIRED);
+        }
+
+        @Test
+        @DisplayName("should reject refresh tokens signed with the same key")
+        void shouldRejectRefreshTokens() throws Exception {
+            Map<String, Object> payload = claims(Instant.now().plusSeconds(60));
+            payload.put("type", "refresh");
+
+            String token = sign("ES256", "ec-1", ecKeys.getPrivate(), payload);
+
+            assertThatThrownBy(() -> verifier.verify(token))
+                    .isInstanceOf(JwksVerificationException.class)
+                    .hasMessageContaining("access token")
+                    .extracting("errorCode")
+                    .isEqualTo(JwksVerificationException.INVALID_TOKEN);
+        }
+
+        @Test
+        @DisplayName("should reject tokens without a type claim")
+        void shouldRejectUntypedTokens() throws Exception {
+            Map<String, Object> payload = claims(Instant.now().plusSeconds(60));
+            payload.remove("type");
+
+            String token = sign("ES256", "ec-1", ecKeys.getPrivate(), payload);
+
+            assertThatThrownBy(() -> verifier.verify(token))
+                    .isInstanceOf(JwksVerificationException.class)
+                    .hasMessageContaining("access token");
+        }
+
+        @Test
+        @DisplayName("should reject tokens from another issuer")
+        void shouldRejectOtherIssuer() throws Exception {
+            Map<String, Object> payload = claims(Instant.now().plusSeconds(60));
+            payload.put("iss", "someone-else");
+
+            String token = sign("ES256", "ec-1", ecKeys.getPrivate(), payload);
+
+            assertThatThrownBy(() -> verifier.verify(token))
+                    .isInstanceOf(JwksVerificationException.class)
+                    .hasMessageContaining("issuer");
+        }
+    }
+
+    @Nested
+    @DisplayName("Key Source")
+    class KeySourceTests {
+
+        @Test
+        @DisplayName("should fetch the JWKS once and serve keys from the cache")
+        void shouldCacheKeys() throws Exception {
+            for (int i = 0; i < 10; i++) {
+                verifier.verify(
+                        sign(
+                                "ES256",
+                                "ec-1",
+                                ecKeys.getPrivate(),
+                                claims(Instant.now().plusSeconds(60))));
+            }
+
+            assertThat(requests.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should refetch for a rotated key")
+        void shouldRefetchForRotatedKey() throws Exception {
+            KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+            ec.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair rotated = ec.generateKeyPair();
+            JwksKeySource eager =
+                    new JwksKeySource(
+                            URI.create(
+                                    "http://localhost:"
+                                            + server.getAddress().getPort()
+                                            + "/.well-known/jwks.json"),
+                            objectMapper,
+                            HttpClient.newHttpClient(),
+                            JwksKeySource.DEFAULT_TTL,
+                            Duration.ZERO);
+            eager.getKey("ec-1");
+            publishedKeys.add(ecJwk("ec-2", rotated));
+
+            assertThat(eager.getKey("ec-2")).isEqualTo(rotated.getPublic());
+        }
+
+        @Test
+        @DisplayName("should rate-limit refetches for unknown key IDs")
+        void shouldRateLimitUnknownKeys() {
+            for (int i = 0; i < 10; i++) {
+                assertThat(keySource.getKey("unknown-" + i)).isNull();
+            }
+
+            assertThat(requests.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should serve prefetched keys without fetching on the first lookup")
+        void shouldServePrefetchedKeys() {
+            keySource.prefetch();
+
+            assertThat(keySource.getKeyAsync("ec-1")).isCompletedWithValue(ecKeys.getPublic());
+            assertThat(requests.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should share one asynchronous fetch between concurrent lookups")
+        void shouldShareAsyncFetch() {
+            CompletableFuture<PublicKey> first = keySource.getKeyAsync("ec-1");
+            CompletableFuture<PublicKey> second = keySource.getKeyAsync("ed-1");
+
+            assertThat(first.join()).isEqualTo(ecKeys.getPublic());
+            assertThat(second.join()).isEqualTo(edKeys.getPublic());
+            assertThat(requests.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should verify asynchronously with a key fetched on demand")
+        void shouldVerifyAsync() throws Exception {
+            String token =
+                    sign(
+                            "EdDSA",
+                            "ed-1",
+                            edKeys.getPrivate(),
+                            claims(Instant.now().plusSeconds(60)));
+
+            assertThat(verifier.verifyAsync(token).join().subject()).isEqualTo("testuser");
+        }
+
+        @Test
+        @DisplayName("should fail the future for an unknown key")
+        void shouldFailAsyncForUnknownKey() throws Exception {
+            String token =
+                    sign(
+                            "ES256",
+                            "nope",
+                            ecKeys.getPrivate(),
+                            claims(Instant.now().plusSeconds(60)));
+
+            assertThat(verifier.verifyAsync(token))
+                    .failsWithin(Duration.ofSeconds(5))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(JwksVerificationException.class);
+        }
+    }
+
+    private Map<String, Object> claims(Instant expiration) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", "testuser");
+        claims.put("userId", 42);
+        claims.put("role", "ADMIN");
+        claims.put("iss", "apigen");
+        claims.put("type", "access");
+        claims.put("exp", expiration.getEpochSecond());
+        return claims;
+    }
+
+    private String sign(String alg, String kid, PrivateKey key, Map<String, Object> claims)
+            throws Exception {
+        String header =
+                BASE64.encodeToString(
+                        objectMapper.writeValueAsBytes(Map.of("alg", alg, "kid", kid)));
+        String payload = BASE64.encodeToString(objectMapper.writeValueAsBytes(claims));
+        Signature signature =
+                Signature.getInstance(
+                        "ES256".equals(alg) ? "SHA256withECDSAinP1363Format" : "Ed25519");
+        signature.initSign(key);
+        signature.update((header + "." + payload).getBytes(StandardCharsets.US_ASCII));
+        return header + "." + payload + "." + BASE64.encodeToString(signature.sign());
+    }
+
+    private static Map<String, Object> ecJwk(String kid, KeyPair keyPair) {
+        ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+        return Map.of(
+                "kty", "EC",
+                "crv", "P-256",
+                "kid", kid,
+                "x", BASE64.encodeToString(coordinate(key.getW().getAffineX())),
+                "y", BASE64.encodeToString(coordinate(key.getW().getAffineY())));
+    }
+
+    private static Map<String, Object> edJwk(String kid, KeyPair keyPair) {
+        byte[] encoded = keyPair.getPublic().getEncoded();
+        return Map.of(
+                "kty", "OKP",
+                "crv", "Ed25519",
+                "kid", kid,
+                "x", BASE64.encodeToString(Arrays.copyOfRange(encoded, 12, encoded.length)));
+    }
+
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return fixed;
+    }
+}
@@ -3,6 +3,7 @@ package com.jnzader.apigen.core.infrastructure.multitenancy;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -65,6 +66,21 @@ class TenantFilterTest {
             // Context should be cleared after filter completes
             assertThat(TenantContext.getTenantId()).isNull();
         }
+
+        @Test
+        @DisplayName("should record the tenant in the request auth context")
+        void shouldRecordTenantInRequestAuthContext() throws Exception {
+            RequestAuthContext context = RequestAuthContext.of(request, r -> "10.0.0.1");
+            when(request.getAttribute(RequestAuthContext.ATTRIBUTE)).thenReturn(context);
+            when(request.getHeader("X-Tenant-ID")).thenReturn("acme-corp");
+            when(request.getRequestURI()).thenReturn("/api/products");
+
+            TenantFilter filter = new TenantFilter(resolver, false, Set.of());
+
+            filter.doFilter(request, response, chain);
+
+            assertThat(context.getTenantId()).isEqualTo("acme-corp");
+        }
     }
 
     @Nested
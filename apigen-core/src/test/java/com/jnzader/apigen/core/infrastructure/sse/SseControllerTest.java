@@ -35,24 +35,36 @@ class SseControllerTest {
         @DisplayName("should subscribe to topic")
         void shouldSubscribeToTopic() {
             SseEmitter mockEmitter = new SseEmitter();
-            when(sseEmitterService.subscribe("orders", null)).thenReturn(mockEmitter);
+            when(sseEmitterService.subscribe("orders", null, null)).thenReturn(mockEmitter);
 
-            SseEmitter result = sseController.subscribe("orders", null);
+            SseEmitter result = sseController.subscribe("orders", null, null);
 
             assertThat(result).isSameAs(mockEmitter);
-            verify(sseEmitterService).subscribe("orders", null);
+            verify(sseEmitterService).subscribe("orders", null, null);
         }
 
         @Test
         @DisplayName("should subscribe with client ID")
         void shouldSubscribeWithClientId() {
             SseEmitter mockEmitter = new SseEmitter();
-            when(sseEmitterService.subscribe("orders", "client-123")).thenReturn(mockEmitter);
+            when(sseEmitterService.subscribe("orders", "client-123", null)).thenReturn(mockEmitter);
 
-            SseEmitter result = sseController.subscribe("orders", "client-123");
+            SseEmitter result = sseController.subscribe("orders", "client-123", null);
 
             assertThat(result).isSameAs(mockEmitter);
-            verify(sseEmitterService).subscribe("orders", "client-123");
+            verify(sseEmitterService).subscribe("orders", "client-123", null);
+        }
+
+        @Test
+        @DisplayName("should pass Last-Event-ID to resume")
+        void shouldPassLastEventId() {
+            SseEmitter mockEmitter = new SseEmitter();
+            when(sseEmitterService.subscribe("orders", null, "evt-42")).thenReturn(mockEmitter);
+
+            SseEmitter result = sseController.subscribe("orders", null, "evt-42");
+
+            assertThat(result).isSameAs(mockEmitter);
+            verify(sseEmitterService).subscribe("orders", null, "evt-42");
         }
     }
 
@@ -2,11 +2,26 @@ package com.jnzader.apigen.core.infrastructure.sse;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @DisplayName("SseEmitterService Tests")
@@ -246,4 +261,549 @@ class SseEmitterServiceTest {
             assertThat(sseEmitterService.getSubscriberCount("non-existent")).isZero();
         }
     }
+
+    @Nested
+    @DisplayName("Fan-out Tests")
+    class FanoutTests {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final ConcurrentLinkedQueue<RecordingEmitter> emitters =
+                new ConcurrentLinkedQueue<>();
+
+        private SseEmitterService serviceWith(SseEmitterService.FanoutConfig config) {
+            return new SseEmitterService(new ObjectMapper(), meterRegistry, config) {
+                @Override
+                SseEmitter newEmitter(long timeout) {
+                    RecordingEmitter emitter = emitters.poll();
+                    return emitter != null ? emitter : new RecordingEmitter(null);
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("should serialize each event once for all subscribers")
+        void shouldSerializeOnce() throws InterruptedException {
+            SseEmitterService service = serviceWith(SseEmitterService.FanoutConfig.defaults());
+            RecordingEmitter first = new RecordingEmitter(null);
+            RecordingEmitter second = new RecordingEmitter(null);
+            emitters.add(first);
+            emitters.add(second);
+            service.subscribe("orders", "client-1");
+            service.subscribe("orders", "client-2");
+            AtomicInteger serializations = new AtomicInteger();
+
+            service.broadcast("orders", "order.created", new CountingEvent(serializations));
+
+            first.awaitFrames(2);
+            second.awaitFrames(2);
+            assertThat(serializations.get()).isEqualTo(1);
+            assertThat(first.payloads.get(1)).isSameAs(second.payloads.get(1));
+            assertThat(first.frames.get(1))
+                    .startsWith("id:")
+                    .contains("event:order.created\ndata:{\"value\":\"x\"}\n\n");
+        }
+
+        @Test
+        @DisplayName("should not block other subscribers on a slow client")
+        void shouldNotBlockOnSlowClient() throws InterruptedException {
+            SseEmitterService service = serviceWith(SseEmitterService.FanoutConfig.defaults());
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingEmitter slow = new RecordingEmitter(release);
+            RecordingEmitter fast = new RecordingEmitter(null);
+            emitters.add(slow);
+            emitters.add(fast);
+            service.subscribe("orders", "slow");
+            service.subscribe("orders", "fast");
+
+            service.broadcast("orders", Map.of("orderId", 1));
+
+            fast.awaitFrames(2);
+            assertThat(slow.frames).isEmpty();
+            release.countDown();
+            slow.awaitFrames(2);
+        }
+
+        @Test
+        @DisplayName("should drop the oldest frames for a slow client")
+        void shouldDropOldestFrames() throws InterruptedException {
+            SseEmitterService service =
+                    serviceWith(
+                            new SseEmitterService.FanoutConfig(
+                                    2, SseEmitterService.SlowConsumerPolicy.DROP_OLDEST));
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingEmitter slow = new RecordingEmitter(release);
+            emitters.add(slow);
+            service.subscribe("orders", "slow");
+            // The writer is blocked on the connection event
+            assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+            service.broadcast("orders", "e", "first");
+            service.broadcast("orders", "e", "second");
+            service.broadcast("orders", "e", "third");
+            release.countDown();
+
+            slow.awaitFrames(3);
+            assertThat(slow.frames.get(1)).contains("data:second");
+            assertThat(slow.frames.get(2)).contains("data:third");
+            assertThat(meterRegistry.get(SseEmitterService.METRIC_DROPPED).counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should disconnect a slow client when configured to")
+        void shouldDisconnectSlowClient() throws InterruptedException {
+            SseEmitterService service =
+                    serviceWith(
+                            new SseEmitterService.FanoutConfig(
+                                    1, SseEmitterService.SlowConsumerPolicy.DISCONNECT));
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingEmitter slow = new RecordingEmitter(release);
+            emitters.add(slow);
+            service.subscribe("orders", "slow");
+            service.subscribe("orders", "other");
+            assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+            service.broadcast("orders", "e", "first");
+            service.broadcast("orders", "e", "second");
+
+            assertThat(service.getSubscriberCount("orders")).isEqualTo(1);
+            assertThat(service.sendToClient("slow", "e", "data")).isFalse();
+            release.countDown();
+        }
+
+        @Test
+        @DisplayName("should record fan-out latency per topic")
+        void shouldRecordFanoutLatency() throws InterruptedException {
+            SseEmitterService service = serviceWith(SseEmitterService.FanoutConfig.defaults());
+            RecordingEmitter emitter = new RecordingEmitter(null);
+            emitters.add(emitter);
+            service.subscribe("orders", "client-1");
+
+            service.broadcast("orders", Map.of("orderId", 1));
+            emitter.awaitFrames(2);
+
+            assertThat(
+                            meterRegistry
+                                    .get(SseEmitterService.METRIC_FANOUT_LATENCY)
+                                    .tag("topic", "orders")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay Tests")
+    class ReplayTests {
+
+        private static final SseEmitterService.ReplayConfig REPLAY =
+                new SseEmitterService.ReplayConfig(100, null, 10);
+
+        private final ConcurrentLinkedQueue<RecordingEmitter> emitters =
+                new ConcurrentLinkedQueue<>();
+
+        private SseEmitterService serviceWith(SseEmitterService.ReplayConfig replay) {
+            return new SseEmitterService(
+                    new ObjectMapper(),
+                    new SimpleMeterRegistry(),
+                    SseEmitterService.FanoutConfig.defaults(),
+                    replay) {
+                @Override
+                SseEmitter newEmitter(long timeout) {
+                    RecordingEmitter emitter = emitters.poll();
+                    return emitter != null ? emitter : new RecordingEmitter(null);
+                }
+            };
+        }
+
+        /** Broadcasts {@code count} events and returns their IDs, recorded by a subscriber. */
+        private List<String> broadcast(SseEmitterService service, int count)
+                throws InterruptedException {
+            RecordingEmitter recorder = new RecordingEmitter(null);
+            emitters.add(recorder);
+            service.subscribe("orders", "recorder");
+            for (int i = 1; i <= count; i++) {
+                service.broadcast("orders", "e", "event-" + i);
+            }
+            recorder.awaitFrames(count + 1);
+            return recorder.frames.stream().skip(1).map(ReplayTests::idOf).toList();
+        }
+
+        private static String idOf(String frame) {
+            return frame.substring("id:".length(), frame.indexOf('\n'));
+        }
+
+        @Test
+        @DisplayName("should replay the events after Last-Event-ID before live events")
+        void shouldReplayMissedEvents() throws InterruptedException {
+            SseEmitterService service = serviceWith(REPLAY);
+            List<String> ids = broadcast(service, 3);
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", ids.get(0));
+            service.broadcast("orders", "e", "event-4");
+
+            resumed.awaitFrames(4);
+            assertThat(resumed.frames.get(0)).startsWith("event:connected\n");
+            assertThat(resumed.frames.get(1)).startsWith("id:" + ids.get(1)).contains("event-2");
+            assertThat(resumed.frames.get(2)).startsWith("id:" + ids.get(2)).contains("event-3");
+            assertThat(resumed.frames.get(3)).contains("data:event-4");
+        }
+
+        @Test
+        @DisplayName("should replay nothing when the client is up to date")
+        void shouldReplayNothingWhenUpToDate() throws InterruptedException {
+            SseEmitterService service = serviceWith(REPLAY);
+            List<String> ids = broadcast(service, 2);
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", ids.get(1));
+            service.broadcast("orders", "e", "event-3");
+
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1)).contains("data:event-3");
+        }
+
+        @Test
+        @DisplayName("should send resync for an unknown Last-Event-ID")
+        void shouldResyncUnknownId() throws InterruptedException {
+            SseEmitterService service = serviceWith(REPLAY);
+            broadcast(service, 1);
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", "unknown");
+
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1))
+                    .startsWith("event:resync\n")
+                    .contains("\"lastEventId\":\"unknown\"");
+        }
+
+        @Test
+        @DisplayName("should send resync when the missed events were evicted")
+        void shouldResyncEvictedEvents() throws InterruptedException {
+            SseEmitterService service =
+                    serviceWith(new SseEmitterService.ReplayConfig(2, null, 1));
+            List<String> ids = broadcast(service, 4);
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", ids.get(0));
+
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1)).startsWith("event:resync\n");
+        }
+
+        @Test
+        @DisplayName("should replay events spilled to segment files")
+        void shouldReplaySpilledEvents(@TempDir Path spillDirectory)
+                throws InterruptedException {
+            SseEmitterService service =
+                    serviceWith(new SseEmitterService.ReplayConfig(2, spillDirectory, 10));
+            List<String> ids = broadcast(service, 7);
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", ids.get(0));
+
+            resumed.awaitFrames(7);
+            for (int i = 1; i < 7; i++) {
+                assertThat(resumed.frames.get(i))
+                        .startsWith("id:" + ids.get(i))
+                        .contains("data:event-" + (i + 1));
+            }
+            assertThat(spillDirectory.resolve("orders")).isDirectoryContaining("glob:**.log");
+        }
+
+        @Test
+        @DisplayName("should not give direct messages an event ID")
+        void shouldNotGiveDirectMessagesAnId() throws InterruptedException {
+            SseEmitterService service = serviceWith(REPLAY);
+            RecordingEmitter emitter = new RecordingEmitter(null);
+            emitters.add(emitter);
+            service.subscribe("orders", "client-1");
+
+            service.sendToClient("client-1", "direct", "hello");
+
+            emitter.awaitFrames(2);
+            assertThat(emitter.frames.get(1)).startsWith("event:direct\n");
+        }
+
+        @Test
+        @DisplayName("should be disabled by default")
+        void shouldBeDisabledByDefault() throws InterruptedException {
+            SseEmitterService service = serviceWith(SseEmitterService.ReplayConfig.defaults());
+            List<String> ids = broadcast(service, 2);
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", ids.get(0));
+
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1)).startsWith("event:resync\n");
+        }
+
+        @Test
+        @DisplayName("should not record broadcasts to topics without subscribers")
+        void shouldNotRecordUnsubscribedTopics(@TempDir Path spillDirectory) {
+            SseEmitterService service =
+                    serviceWith(new SseEmitterService.ReplayConfig(2, spillDirectory, 10));
+
+            for (int i = 1; i <= 5; i++) {
+                service.broadcast("orders", "e", "event-" + i);
+            }
+
+            assertThat(spillDirectory).isEmptyDirectory();
+        }
+
+        @Test
+        @DisplayName("should drop the replay log of a topic idle past its retention")
+        void shouldExpireIdleReplayLog(@TempDir Path spillDirectory)
+                throws InterruptedException {
+            SseEmitterService service =
+                    serviceWith(
+                            new SseEmitterService.ReplayConfig(
+                                    2, spillDirectory, 10, Duration.ZERO));
+            List<String> ids = broadcast(service, 5);
+            assertThat(spillDirectory.resolve("orders")).isDirectory();
+
+            service.disconnectClient("recorder");
+            Thread.sleep(5);
+            service.expireIdleReplayLogs();
+
+            assertThat(spillDirectory.resolve("orders")).doesNotExist();
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+            service.subscribe("orders", "client-1", ids.get(3));
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1)).startsWith("event:resync\n");
+        }
+
+        @Test
+        @DisplayName("should keep the replay log of a topic within its retention")
+        void shouldKeepReplayLogWithinRetention() throws InterruptedException {
+            SseEmitterService service = serviceWith(REPLAY);
+            List<String> ids = broadcast(service, 1);
+            service.disconnectClient("recorder");
+            service.broadcast("orders", "e", "event-2");
+            service.expireIdleReplayLogs();
+
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+            service.subscribe("orders", "client-1", ids.get(0));
+
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1)).contains("data:event-2");
+        }
+
+        @Test
+        @DisplayName("should resume without gaps or duplicates during concurrent broadcasts")
+        void shouldResumeDuringConcurrentBroadcasts() throws InterruptedException {
+            SseEmitterService service = serviceWith(REPLAY);
+            List<String> ids = broadcast(service, 1);
+            Thread broadcaster =
+                    Thread.ofVirtual()
+                            .start(
+                                    () -> {
+                                        for (int i = 2; i <= 80; i++) {
+                                            service.broadcast("orders", "e", "event-" + i);
+                                        }
+                                    });
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+
+            service.subscribe("orders", "client-1", ids.get(0));
+            broadcaster.join();
+
+            resumed.awaitFrames(80);
+            assertThat(resumed.frames.stream().skip(1).map(ReplayTests::dataOf))
+                    .containsExactlyElementsOf(
+                            IntStream.rangeClosed(2, 80).mapToObj(i -> "event-" + i).toList());
+        }
+
+        private static String dataOf(String frame) {
+            int start = frame.indexOf("data:") + "data:".length();
+            return frame.substring(start, frame.indexOf('\n', start));
+        }
+    }
+
+    @Nested
+    @DisplayName("Backplane Tests")
+    class BackplaneTests {
+
+        private final ConcurrentLinkedQueue<RecordingEmitter> emitters =
+                new ConcurrentLinkedQueue<>();
+
+        private SseEmitterService serviceWith(SseBackplane backplane, int batchSize) {
+            return new SseEmitterService(
+                    new ObjectMapper(),
+                    new SimpleMeterRegistry(),
+                    SseEmitterService.FanoutConfig.defaults(),
+                    new SseEmitterService.ReplayConfig(100, null, 10),
+                    backplane,
+                    batchSize) {
+                @Override
+                SseEmitter newEmitter(long timeout) {
+                    RecordingEmitter emitter = emitters.poll();
+                    return emitter != null ? emitter : new RecordingEmitter(null);
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("should deliver broadcasts to subscribers on every node")
+        void shouldDeliverAcrossNodes() throws InterruptedException {
+            InMemorySseBackplane backplane = new InMemorySseBackplane();
+            SseEmitterService nodeA = serviceWith(backplane, 100);
+            SseEmitterService nodeB = serviceWith(backplane, 100);
+            RecordingEmitter onA = new RecordingEmitter(null);
+            RecordingEmitter onB = new RecordingEmitter(null);
+            emitters.add(onA);
+            nodeA.subscribe("orders", "client-a");
+            emitters.add(onB);
+            nodeB.subscribe("orders", "client-b");
+
+            nodeA.broadcast("orders", "order.created", Map.of("orderId", 1));
+
+            onA.awaitFrames(2);
+            onB.awaitFrames(2);
+            assertThat(onB.frames.get(1)).isEqualTo(onA.frames.get(1));
+            assertThat(onA.frames).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should resume on another node with the same event ID")
+        void shouldResumeOnAnotherNode() throws InterruptedException {
+            InMemorySseBackplane backplane = new InMemorySseBackplane();
+            SseEmitterService nodeA = serviceWith(backplane, 100);
+            SseEmitterService nodeB = serviceWith(backplane, 100);
+            RecordingEmitter onA = new RecordingEmitter(null);
+            emitters.add(onA);
+            nodeA.subscribe("orders", "client-a");
+            // Node B keeps a replay log for the topic while it has subscribers
+            nodeB.subscribe("orders", "client-b");
+            nodeA.broadcast("orders", "e", "first");
+            nodeA.broadcast("orders", "e", "second");
+            onA.awaitFrames(3);
+            String firstId = onA.frames.get(1).substring(3, onA.frames.get(1).indexOf('\n'));
+
+            RecordingEmitter resumed = new RecordingEmitter(null);
+            emitters.add(resumed);
+            nodeB.subscribe("orders", "client-a", firstId);
+
+            resumed.awaitFrames(2);
+            assertThat(resumed.frames.get(1)).isEqualTo(onA.frames.get(2));
+        }
+
+        @Test
+        @DisplayName("should batch events queued while a message is in flight")
+        void shouldBatchBackplaneMessages() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch publishing = new CountDownLatch(1);
+            List<SseBackplaneMessage> published = new CopyOnWriteArrayList<>();
+            SseBackplane backplane =
+                    new SseBackplane() {
+                        @Override
+                        public void publish(SseBackplaneMessage message) {
+                            publishing.countDown();
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            published.add(message);
+                        }
+
+                        @Override
+                        public void subscribe(
+                                java.util.function.Consumer<SseBackplaneMessage> listener) {}
+                    };
+            SseEmitterService service = serviceWith(backplane, 3);
+
+            service.broadcast("orders", "e", "event-1");
+            assertThat(publishing.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 2; i <= 6; i++) {
+                service.broadcast("orders", "e", "event-" + i);
+            }
+            release.countDown();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (published.size() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(published)
+                    .extracting(message -> message.events().size())
+                    .containsExactly(1, 3, 2);
+            assertThat(published.get(1).events().getFirst().data()).isEqualTo("event-2");
+        }
+
+        @Test
+        @DisplayName("should encode and decode multi-line event data")
+        void shouldRoundTripMessage() {
+            SseBackplaneMessage message =
+                    new SseBackplaneMessage(
+                            "node-1",
+                            List.of(
+                                    new SseBackplaneMessage.Event(
+                                            "orders", "id-1", "e", "line 1\nline 2"),
+                                    new SseBackplaneMessage.Event("users", "id-2", "e", "")));
+
+            assertThat(SseBackplaneMessage.decode(message.encode())).isEqualTo(message);
+        }
+    }
+
+    /** Event whose serialization can be counted. */
+    static final class CountingEvent {
+
+        private final AtomicInteger serializations;
+
+        CountingEvent(AtomicInteger serializations) {
+            this.serializations = serializations;
+        }
+
+        public String getValue() {
+            serializations.incrementAndGet();
+            return "x";
+        }
+    }
+
+    /** Emitter that records written frames and can block its writer. */
+    static class RecordingEmitter extends SseEmitter {
+
+        final List<Set<DataWithMediaType>> payloads = new CopyOnWriteArrayList<>();
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            payloads.add(items);
+            for (DataWithMediaType item : items) {
+                frames.add(new String((byte[]) item.getData(), StandardCharsets.UTF_8));
+            }
+        }
+
+        void awaitFrames(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (frames.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(frames).hasSizeGreaterThanOrEqualTo(count);
+        }
+    }
 }
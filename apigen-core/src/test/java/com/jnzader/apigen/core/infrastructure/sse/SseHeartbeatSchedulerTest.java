@@ -57,5 +57,15 @@ class SseHeartbeatSchedulerTest {
             verify(sseEmitterService).getTotalClientCount();
             verify(sseEmitterService).sendHeartbeatToAll();
         }
+
+        @Test
+        @DisplayName("should expire idle replay logs even when no clients are connected")
+        void shouldExpireIdleReplayLogs() {
+            when(sseEmitterService.getTotalClientCount()).thenReturn(0);
+
+            heartbeatScheduler.sendHeartbeat();
+
+            verify(sseEmitterService).expireIdleReplayLogs();
+        }
     }
 }
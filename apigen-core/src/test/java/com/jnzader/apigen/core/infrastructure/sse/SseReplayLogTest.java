@@ -0,0 +1,58 @@
+package com.jnzader.apigen.core.infrastructure.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("SseReplayLog Tests")
+class SseReplayLogTest {
+
+    private static SseFrame frame(String id) {
+        return SseFrame.encode("orders", id, "order", "{}");
+    }
+
+    private static List<String> ids(Optional<List<SseFrame>> frames) {
+        return frames.orElseThrow().stream().map(SseFrame::id).toList();
+    }
+
+    @Test
+    @DisplayName("should replay spilled and in-memory frames in order")
+    void shouldReplayAcrossSpillAndMemory(@TempDir Path directory) {
+        SseReplayLog log = new SseReplayLog(2, new SseReplaySpill("orders", directory, 2, 10));
+        for (int i = 1; i <= 5; i++) {
+            log.append(frame("e" + i));
+        }
+
+        assertThat(ids(log.after("e1", log.lastSeq()))).containsExactly("e2", "e3", "e4", "e5");
+    }
+
+    @Test
+    @DisplayName("should replay a frame evicted while the resume was waiting for the log")
+    void shouldReplayFrameEvictedDuringResume(@TempDir Path directory) throws Exception {
+        SseReplayLog log = new SseReplayLog(2, new SseReplaySpill("orders", directory, 2, 10));
+        log.append(frame("e1"));
+        log.append(frame("e2"));
+        log.append(frame("e3")); // e1 goes to the spill
+
+        CompletableFuture<Optional<List<SseFrame>>> resumed = new CompletableFuture<>();
+        Thread resumer;
+        synchronized (log) {
+            // The resume drains the spill, then blocks on the log's monitor held here
+            resumer = Thread.ofPlatform().start(() -> resumed.complete(log.after("e1", 100)));
+            while (resumer.getState() != Thread.State.BLOCKED) {
+                Thread.onSpinWait();
+            }
+            // e2 is evicted while the resume holds the spill lock, so it stays queued
+            log.append(frame("e4"));
+        }
+        resumer.join();
+
+        assertThat(ids(resumed.get())).containsExactly("e2", "e3", "e4");
+    }
+}
@@ -0,0 +1,106 @@
+package com.jnzader.apigen.core.infrastructure.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jnzader.apigen.core.domain.entity.Base;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StandardETagStrategy Tests")
+class StandardETagStrategyTest {
+
+    @Nested
+    @DisplayName("VERSION")
+    class VersionTests {
+
+        @Test
+        @DisplayName("should use id and version without touching the representation")
+        void shouldUseIdAndVersionOnly() {
+            AtomicBoolean mapped = new AtomicBoolean();
+            Supplier<Object> representation =
+                    () -> {
+                        mapped.set(true);
+                        return "dto";
+                    };
+
+            String etag = StandardETagStrategy.VERSION.generate(entity(7L, 3L), representation);
+
+            assertThat(etag).isEqualTo("\"7:3\"");
+            assertThat(mapped).isFalse();
+            assertThat(StandardETagStrategy.VERSION.isVersionBased()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should match the ETag built from a version projection")
+        void shouldMatchProjectionEtag() {
+            String fromEntity = StandardETagStrategy.VERSION.generate(entity(7L, 3L), () -> null);
+
+            assertThat(fromEntity).isEqualTo(ETagGenerator.generateFromVersion(7L, 3L));
+        }
+    }
+
+    @Nested
+    @DisplayName("CONTENT_HASH")
+    class ContentHashTests {
+
+        @Test
+        @DisplayName("should hash the representation like ETagGenerator.generate")
+        void shouldHashRepresentation() {
+            var dto = new TestObject("test", 123);
+
+            String etag = StandardETagStrategy.CONTENT_HASH.generate(entity(1L, 0L), () -> dto);
+
+            assertThat(etag).isEqualTo(ETagGenerator.generate(dto));
+            assertThat(StandardETagStrategy.CONTENT_HASH.isVersionBased()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("NONE")
+    class NoneTests {
+
+        @Test
+        @DisplayName("should not generate ETags")
+        void shouldReturnNull() {
+            assertThat(StandardETagStrategy.NONE.generate(entity(1L, 0L), () -> "dto")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("fromProperty")
+    class FromPropertyTests {
+
+        @Test
+        @DisplayName("should resolve property values")
+        void shouldResolvePropertyValues() {
+            assertThat(StandardETagStrategy.fromProperty("version"))
+                    .isEqualTo(StandardETagStrategy.VERSION);
+            assertThat(StandardETagStrategy.fromProperty(" content-hash "))
+                    .isEqualTo(StandardETagStrategy.CONTENT_HASH);
+            assertThat(StandardETagStrategy.fromProperty("NONE"))
+                    .isEqualTo(StandardETagStrategy.NONE);
+        }
+
+        @Test
+        @DisplayName("should reject unknown values")
+        void shouldRejectUnknownValues() {
+            assertThatThrownBy(() -> StandardETagStrategy.fromProperty("sha1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static TestEntity entity(Long id, Long version) {
+        TestEntity entity = new TestEntity();
+        entity.setId(id);
+        entity.setVersion(version);
+        return entity;
+    }
+
+    record TestObject(String name, int value) {}
+
+    static class TestEntity extends Base {}
+}
@@ -0,0 +1,392 @@
+package com.jnzader.apigen.core.infrastructure.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+@DisplayName("WebhookOutbox Tests")
+class WebhookOutboxTest {
+
+    private final Map<String, WebhookOutboxEntry> rows = new ConcurrentHashMap<>();
+    private InMemoryWebhookSubscriptionRepository subscriptions;
+    private WebhookOutbox outbox;
+    private HttpServer mockServer;
+    private int serverPort;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        subscriptions = new InMemoryWebhookSubscriptionRepository();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        WebhookService webhookService =
+                new WebhookService(
+                        subscriptions,
+                        objectMapper,
+                        WebhookService.WebhookConfig.builder()
+                                .connectTimeout(Duration.ofSeconds(2))
+                                .requestTimeout(Duration.ofSeconds(10))
+                                .maxRetries(2)
+                                .retryBaseDelay(Duration.ofMillis(50))
+                                .retryMaxDelay(Duration.ofMillis(500))
+                                .build());
+
+        outbox =
+                new WebhookOutbox(
+                        outboxRepository(),
+                        subscriptions,
+                        webhookService,
+                        objectMapper,
+                        TransactionOperations.withoutTransaction(),
+                        new WebhookOutbox.OutboxConfig(
+                                Duration.ofMillis(100), 10, Duration.ofMinutes(1)));
+
+        mockServer = HttpServer.create(new InetSocketAddress(0), 0);
+        serverPort = mockServer.getAddress().getPort();
+        mockServer.setExecutor(Executors.newFixedThreadPool(4));
+        mockServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.stop();
+        if (mockServer != null) {
+            mockServer.stop(0);
+        }
+        subscriptions.clear();
+    }
+
+    /** Repository backed by {@link #rows}, with the claim query evaluated in memory. */
+    private WebhookOutboxRepository outboxRepository() {
+        WebhookOutboxRepository repository = mock(WebhookOutboxRepository.class);
+        when(repository.saveAll(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<WebhookOutboxEntry> entries = invocation.getArgument(0);
+                            entries.forEach(entry -> rows.put(entry.getEntryId(), entry));
+                            return entries;
+                        });
+        when(repository.deleteLeased(anyString(), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            WebhookOutboxEntry entry =
+                                    leased(invocation.getArgument(0), invocation.getArgument(1));
+                            return entry != null && rows.remove(entry.getEntryId(), entry) ? 1 : 0;
+                        });
+        when(repository.scheduleRetryLeased(anyString(), anyString(), any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            WebhookOutboxEntry entry =
+                                    leased(invocation.getArgument(0), invocation.getArgument(1));
+                            if (entry == null) {
+                                return 0;
+                            }
+                            entry.scheduleRetry(
+                                    invocation.getArgument(2), invocation.getArgument(3));
+                            return 1;
+                        });
+        when(repository.markFailedLeased(anyString(), anyString(), any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            WebhookOutboxEntry entry =
+                                    leased(invocation.getArgument(0), invocation.getArgument(1));
+                            if (entry == null) {
+                                return 0;
+                            }
+                            entry.markFailed(invocation.getArgument(3));
+                            return 1;
+                        });
+        when(repository.findDueForUpdate(any(), any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            WebhookOutboxEntry.Status status = invocation.getArgument(0);
+                            Instant now = invocation.getArgument(1);
+                            Pageable page = invocation.getArgument(2);
+                            return rows.values().stream()
+                                    .filter(entry -> entry.getStatus() == status)
+                                    .filter(entry -> !entry.getNextAttemptAt().isAfter(now))
+                                    .filter(
+                                            entry ->
+                                                    entry.getLeaseUntil() == null
+                                                            || entry.getLeaseUntil().isBefore(now))
+                                    .limit(page.getPageSize())
+                                    .toList();
+                        });
+        return repository;
+    }
+
+    /** The row, if it is still leased to the given node. */
+    private WebhookOutboxEntry leased(String entryId, String leaseOwner) {
+        WebhookOutboxEntry entry = rows.get(entryId);
+        return entry != null && leaseOwner.equals(entry.getLeaseOwner()) ? entry : null;
+    }
+
+    private WebhookSubscription subscribe(String path) {
+        WebhookSubscription subscription =
+                WebhookSubscription.builder()
+                        .name("Outbox Subscription " + path)
+                        .url("http://localhost:" + serverPort + path)
+                        .secret("test-secret")
+                        .events(Set.of(WebhookEvent.ENTITY_CREATED))
+                        .build();
+        return subscriptions.save(subscription);
+    }
+
+    private void respondWith(String path, int status, AtomicInteger counter) {
+        mockServer.createContext(
+                path,
+                exchange -> {
+                    counter.incrementAndGet();
+                    exchange.sendResponseHeaders(status, -1);
+                    exchange.close();
+                });
+    }
+
+    private static WebhookPayload payload() {
+        return WebhookPayload.builder()
+                .event(WebhookEvent.ENTITY_CREATED)
+                .resourceType("User")
+                .resourceId(1L)
+                .data("{\"name\":\"test\"}")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Enqueue")
+    class EnqueueTests {
+
+        @Test
+        @DisplayName("should write one pending row per subscriber")
+        void shouldWriteOneRowPerSubscriber() {
+            subscribe("/a");
+            subscribe("/b");
+
+            List<String> ids = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload());
+
+            assertThat(ids).hasSize(2);
+            assertThat(rows.values())
+                    .allSatisfy(
+                            entry -> {
+                                assertThat(entry.getStatus())
+                                        .isEqualTo(WebhookOutboxEntry.Status.PENDING);
+                                assertThat(entry.getAttempts()).isZero();
+                                assertThat(entry.getPayload()).contains("entity.created");
+                            });
+        }
+
+        @Test
+        @DisplayName("should not write rows without subscribers")
+        void shouldNotWriteRowsWithoutSubscribers() {
+            List<String> ids = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload());
+
+            assertThat(ids).isEmpty();
+            assertThat(rows).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Relay")
+    class RelayTests {
+
+        @Test
+        @DisplayName("should delete rows once delivered")
+        void shouldDeleteDeliveredRows() {
+            AtomicInteger requests = new AtomicInteger();
+            respondWith("/ok", 200, requests);
+            subscribe("/ok");
+            outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload());
+
+            int claimed = outbox.relayOnce();
+
+            assertThat(claimed).isEqualTo(1);
+            assertThat(requests.get()).isEqualTo(1);
+            assertThat(rows).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should reschedule retryable failures instead of waiting for them")
+        void shouldRescheduleRetryableFailures() {
+            AtomicInteger requests = new AtomicInteger();
+            respondWith("/down", 503, requests);
+            subscribe("/down");
+            String id = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload()).get(0);
+
+            outbox.relayOnce();
+
+            WebhookOutboxEntry entry = rows.get(id);
+            assertThat(entry.getStatus()).isEqualTo(WebhookOutboxEntry.Status.PENDING);
+            assertThat(entry.getAttempts()).isEqualTo(1);
+            assertThat(entry.getNextAttemptAt()).isAfter(entry.getCreatedAt());
+            assertThat(entry.getLeaseOwner()).isNull();
+            assertThat(entry.getLastError()).contains("503");
+
+            // Not due yet: the next poll does not claim it
+            assertThat(outbox.relayOnce()).isZero();
+            assertThat(requests.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should mark rows failed on non-retryable errors")
+        void shouldMarkNonRetryableFailures() {
+            AtomicInteger requests = new AtomicInteger();
+            respondWith("/bad", 400, requests);
+            subscribe("/bad");
+            String id = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload()).get(0);
+
+            outbox.relayOnce();
+
+            assertThat(rows.get(id).getStatus()).isEqualTo(WebhookOutboxEntry.Status.FAILED);
+            assertThat(rows.get(id).getAttempts()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should mark rows failed when the subscription was deactivated")
+        void shouldMarkRowsOfInactiveSubscriptionsFailed() {
+            WebhookSubscription subscription = subscribe("/gone");
+            String id = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload()).get(0);
+            subscriptions.save(
+                    WebhookSubscription.builder()
+                            .id(subscription.id())
+                            .name(subscription.name())
+                            .url(subscription.url())
+                            .secret(subscription.secret())
+                            .events(subscription.events())
+                            .active(false)
+                            .build());
+
+            outbox.relayOnce();
+
+            assertThat(rows.get(id).getStatus()).isEqualTo(WebhookOutboxEntry.Status.FAILED);
+        }
+
+        @Test
+        @DisplayName("should not claim rows leased by another node")
+        void shouldSkipLeasedRows() {
+            subscribe("/ok");
+            String id = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload()).get(0);
+            rows.get(id).lease("other-node", Instant.now().plusSeconds(60));
+
+            assertThat(outbox.relayOnce()).isZero();
+        }
+
+        @Test
+        @DisplayName("should not bring back a row taken over by another node mid-delivery")
+        void shouldNotOverwriteRowsOfAnotherNode() {
+            String[] id = new String[1];
+            mockServer.createContext(
+                    "/slow",
+                    exchange -> {
+                        // The lease expired: another node claimed the row and delivered it
+                        rows.get(id[0]).lease("other-node", Instant.now().plusSeconds(60));
+                        rows.remove(id[0]);
+                        exchange.sendResponseHeaders(503, -1);
+                        exchange.close();
+                    });
+            subscribe("/slow");
+            id[0] = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload()).get(0);
+
+            outbox.relayOnce();
+
+            assertThat(rows).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should not record an outcome once the lease moved to another node")
+        void shouldKeepOtherNodesLease() {
+            AtomicInteger requests = new AtomicInteger();
+            String[] id = new String[1];
+            mockServer.createContext(
+                    "/bad",
+                    exchange -> {
+                        requests.incrementAndGet();
+                        rows.get(id[0]).lease("other-node", Instant.now().plusSeconds(60));
+                        exchange.sendResponseHeaders(400, -1);
+                        exchange.close();
+                    });
+            subscribe("/bad");
+            id[0] = outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload()).get(0);
+
+            outbox.relayOnce();
+
+            WebhookOutboxEntry entry = rows.get(id[0]);
+            assertThat(requests.get()).isEqualTo(1);
+            assertThat(entry.getStatus()).isEqualTo(WebhookOutboxEntry.Status.PENDING);
+            assertThat(entry.getLeaseOwner()).isEqualTo("other-node");
+        }
+
+        @Test
+        @DisplayName("should wait for in-flight deliveries when stopped")
+        void shouldAwaitInFlightDeliveriesOnStop() throws InterruptedException {
+            CountDownLatch received = new CountDownLatch(1);
+            mockServer.createContext(
+                    "/slow",
+                    exchange -> {
+                        received.countDown();
+                        try {
+                            Thread.sleep(300);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            subscribe("/slow");
+
+            outbox.start();
+            outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload());
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+            outbox.stop();
+
+            assertThat(outbox.isRunning()).isFalse();
+            assertThat(rows).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should relay enqueued rows in the background once started")
+        void shouldRelayInBackground() throws InterruptedException {
+            AtomicInteger requests = new AtomicInteger();
+            respondWith("/ok", 200, requests);
+            subscribe("/ok");
+
+            outbox.start();
+            outbox.enqueue(WebhookEvent.ENTITY_CREATED, payload());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!rows.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(outbox.isRunning()).isTrue();
+            assertThat(rows).isEmpty();
+            assertThat(requests.get()).isEqualTo(1);
+        }
+    }
+}
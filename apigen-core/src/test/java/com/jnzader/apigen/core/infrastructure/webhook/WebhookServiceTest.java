@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -14,9 +15,13 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -443,4 +448,348 @@ class WebhookServiceTest {
             assertThat(delivery.errorMessage()).contains("not found");
         }
     }
+
+    @Nested
+    @DisplayName("Delivery Lanes")
+    class DeliveryLaneTests {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private WebhookService serviceWith(WebhookService.WebhookConfig.Builder config) {
+            ObjectMapper objectMapper = new ObjectMapper();
+            objectMapper.registerModule(new JavaTimeModule());
+            objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            return new WebhookService(
+                    repository,
+                    objectMapper,
+                    config.retryBaseDelay(Duration.ofMillis(10))
+                            .retryMaxDelay(Duration.ofMillis(50))
+                            .build(),
+                    meterRegistry);
+        }
+
+        private WebhookSubscription subscribe() {
+            return repository.save(
+                    WebhookSubscription.builder()
+                            .name("Lane")
+                            .url("http://localhost:" + serverPort + "/webhook")
+                            .secret("secret")
+                            .events(Set.of(WebhookEvent.ENTITY_CREATED))
+                            .build());
+        }
+
+        private CompletableFuture<WebhookDelivery> dispatchOne(WebhookService service) {
+            WebhookPayload payload =
+                    WebhookPayload.builder().event(WebhookEvent.ENTITY_CREATED).build();
+            return service.dispatch(WebhookEvent.ENTITY_CREATED, payload).get(0);
+        }
+
+        @Test
+        @DisplayName("should batch events queued behind a request in flight")
+        void shouldBatchQueuedEvents() throws Exception {
+            CountDownLatch firstReceived = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> bodies = new CopyOnWriteArrayList<>();
+            List<String> batchSizes = new CopyOnWriteArrayList<>();
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        bodies.add(new String(exchange.getRequestBody().readAllBytes()));
+                        batchSizes.add(
+                                exchange.getRequestHeaders().getFirst("X-Webhook-Batch-Size"));
+                        firstReceived.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            subscribe();
+            WebhookService service =
+                    serviceWith(
+                            WebhookService.WebhookConfig.builder()
+                                    .maxConcurrency(1)
+                                    .maxBatchSize(10));
+
+            CompletableFuture<WebhookDelivery> first = dispatchOne(service);
+            assertThat(firstReceived.await(5, TimeUnit.SECONDS)).isTrue();
+            List<CompletableFuture<WebhookDelivery>> queued =
+                    List.of(dispatchOne(service), dispatchOne(service), dispatchOne(service));
+            release.countDown();
+
+            assertThat(first.join().status()).isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS);
+            assertThat(queued)
+                    .allSatisfy(
+                            future ->
+                                    assertThat(future.join().status())
+                                            .isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS));
+            assertThat(bodies).hasSize(2);
+            assertThat(batchSizes).containsExactly("1", "3");
+            assertThat(new ObjectMapper().readTree(bodies.get(1)).size()).isEqualTo(3);
+            assertThat(queued.stream().map(future -> future.join().payloadId()).distinct())
+                    .hasSize(3);
+        }
+
+        @Test
+        @DisplayName("should reject events when the subscription queue is full")
+        void shouldRejectWhenQueueIsFull() {
+            CountDownLatch release = new CountDownLatch(1);
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            subscribe();
+            WebhookService service =
+                    serviceWith(
+                            WebhookService.WebhookConfig.builder()
+                                    .maxConcurrency(1)
+                                    .queueCapacity(1));
+
+            CompletableFuture<WebhookDelivery> inFlight = dispatchOne(service);
+            CompletableFuture<WebhookDelivery> queued = dispatchOne(service);
+            CompletableFuture<WebhookDelivery> rejected = dispatchOne(service);
+
+            assertThat(rejected).isCompleted();
+            assertThat(rejected.join().status())
+                    .isEqualTo(WebhookDelivery.DeliveryStatus.FAILED_PERMANENT);
+            assertThat(rejected.join().errorMessage()).isEqualTo("Delivery queue full");
+            assertThat(meterRegistry.get(WebhookDeliveryLane.METRIC_REJECTED).counter().count())
+                    .isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(inFlight.join().status()).isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS);
+            assertThat(queued.join().status()).isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("should limit concurrent requests per subscription")
+        void shouldLimitConcurrentRequests() {
+            AtomicInteger active = new AtomicInteger();
+            AtomicInteger maxActive = new AtomicInteger();
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        active.decrementAndGet();
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            subscribe();
+            WebhookService service =
+                    serviceWith(WebhookService.WebhookConfig.builder().maxConcurrency(2));
+
+            List<CompletableFuture<WebhookDelivery>> futures =
+                    IntStream.range(0, 6).mapToObj(i -> dispatchOne(service)).toList();
+
+            assertThat(futures)
+                    .allSatisfy(
+                            future ->
+                                    assertThat(future.join().status())
+                                            .isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS));
+            assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should stop calling an endpoint once its circuit opens")
+        void shouldOpenCircuitForFailingEndpoint() {
+            AtomicInteger requests = new AtomicInteger();
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        requests.incrementAndGet();
+                        exchange.sendResponseHeaders(503, -1);
+                        exchange.close();
+                    });
+            subscribe();
+            WebhookService service =
+                    serviceWith(
+                            WebhookService.WebhookConfig.builder()
+                                    .maxRetries(1)
+                                    .circuitBreakerOpenDuration(Duration.ofMinutes(1)));
+
+            // Minimum number of calls before the failure rate is evaluated
+            for (int i = 0; i < 10; i++) {
+                dispatchOne(service).join();
+            }
+            WebhookDelivery delivery = dispatchOne(service).join();
+
+            assertThat(requests.get()).isEqualTo(10);
+            assertThat(delivery.status())
+                    .isEqualTo(WebhookDelivery.DeliveryStatus.FAILED_PERMANENT);
+            assertThat(delivery.errorMessage()).isEqualTo("Circuit open");
+        }
+
+        @Test
+        @DisplayName("should record delivery latency and queue depth")
+        void shouldRecordMetrics() {
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            subscribe();
+            WebhookService service = serviceWith(WebhookService.WebhookConfig.builder());
+
+            dispatchOne(service).join();
+
+            assertThat(
+                            meterRegistry
+                                    .get(WebhookService.METRIC_DELIVERY_LATENCY)
+                                    .tag("outcome", "success")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get(WebhookDeliveryLane.METRIC_QUEUE_DEPTH).gauge().value())
+                    .isZero();
+        }
+
+        @Test
+        @DisplayName("should fail queued events and release meters on unsubscribe")
+        void shouldReleaseLaneOnUnsubscribe() {
+            CountDownLatch release = new CountDownLatch(1);
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            WebhookSubscription subscription = subscribe();
+            WebhookService service =
+                    serviceWith(WebhookService.WebhookConfig.builder().maxConcurrency(1));
+            CompletableFuture<WebhookDelivery> inFlight = dispatchOne(service);
+            CompletableFuture<WebhookDelivery> queued = dispatchOne(service);
+
+            service.unsubscribe(subscription.id());
+
+            assertThat(queued).isCompleted();
+            assertThat(queued.join().errorMessage()).isEqualTo("Subscription removed");
+            assertThat(repository.findById(subscription.id())).isEmpty();
+            assertThat(meterRegistry.find(WebhookDeliveryLane.METRIC_QUEUE_DEPTH).gauges())
+                    .isEmpty();
+            assertThat(meterRegistry.find(WebhookDeliveryLane.METRIC_REJECTED).meters())
+                    .isEmpty();
+            release.countDown();
+            assertThat(inFlight.join().status()).isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("should fail queued events without recursing when the executor rejects them")
+        void shouldFailRejectedEventsIteratively() {
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        exchange.sendResponseHeaders(200, -1);
+                        exchange.close();
+                    });
+            WebhookSubscription subscription = subscribe();
+            WebhookService.WebhookConfig config =
+                    WebhookService.WebhookConfig.builder()
+                            .maxConcurrency(1)
+                            .queueCapacity(50_000)
+                            .build();
+            WebhookService service =
+                    new WebhookService(repository, new ObjectMapper(), config, meterRegistry);
+            // Accepts the first request, then rejects every task as if saturated
+            AtomicReference<Runnable> accepted = new AtomicReference<>();
+            WebhookDeliveryLane lane =
+                    new WebhookDeliveryLane(
+                            subscription,
+                            service,
+                            task -> {
+                                if (!accepted.compareAndSet(null, task)) {
+                                    throw new RejectedExecutionException("saturated");
+                                }
+                            },
+                            null,
+                            config,
+                            meterRegistry);
+            WebhookPayload payload =
+                    WebhookPayload.builder().event(WebhookEvent.ENTITY_CREATED).build();
+            CompletableFuture<WebhookDelivery> first = lane.submit(subscription, payload, "{}");
+            List<CompletableFuture<WebhookDelivery>> queued =
+                    IntStream.range(0, 50_000)
+                            .mapToObj(i -> lane.submit(subscription, payload, "{}"))
+                            .toList();
+
+            accepted.get().run();
+
+            assertThat(first.join().status()).isEqualTo(WebhookDelivery.DeliveryStatus.SUCCESS);
+            assertThat(queued)
+                    .allSatisfy(
+                            future ->
+                                    assertThat(future.join().errorMessage())
+                                            .startsWith("Delivery rejected"));
+            assertThat(lane.depth()).isZero();
+        }
+
+        @Test
+        @DisplayName("should fail the batch and free its slot when the executor rejects a retry")
+        void shouldReleaseSlotWhenRetryIsRejected() {
+            mockServer.createContext(
+                    "/webhook",
+                    exchange -> {
+                        exchange.sendResponseHeaders(500, -1);
+                        exchange.close();
+                    });
+            WebhookSubscription subscription = subscribe();
+            WebhookService.WebhookConfig config =
+                    WebhookService.WebhookConfig.builder()
+                            .maxConcurrency(1)
+                            .retryBaseDelay(Duration.ofMillis(10))
+                            .retryMaxDelay(Duration.ofMillis(50))
+                            .build();
+            WebhookService service =
+                    new WebhookService(repository, new ObjectMapper(), config, meterRegistry);
+            ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+            // Accepts the first attempt, then rejects every task, including the retry
+            AtomicReference<Runnable> accepted = new AtomicReference<>();
+            WebhookDeliveryLane lane =
+                    new WebhookDeliveryLane(
+                            subscription,
+                            service,
+                            task -> {
+                                if (!accepted.compareAndSet(null, task)) {
+                                    throw new RejectedExecutionException("saturated");
+                                }
+                            },
+                            retryScheduler,
+                            config,
+                            meterRegistry);
+            WebhookPayload payload =
+                    WebhookPayload.builder().event(WebhookEvent.ENTITY_CREATED).build();
+            try {
+                CompletableFuture<WebhookDelivery> first = lane.submit(subscription, payload, "{}");
+                accepted.get().run();
+
+                assertThat(first.orTimeout(5, TimeUnit.SECONDS).join().errorMessage())
+                        .startsWith("Retry rejected");
+                // The slot is free again: the next event is handed to the executor right away
+                CompletableFuture<WebhookDelivery> next = lane.submit(subscription, payload, "{}");
+                assertThat(next.join().errorMessage()).startsWith("Delivery rejected");
+                assertThat(lane.depth()).isZero();
+            } finally {
+                retryScheduler.shutdownNow();
+            }
+        }
+    }
 }
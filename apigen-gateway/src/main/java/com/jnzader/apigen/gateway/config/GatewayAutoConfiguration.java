@@ -1,12 +1,16 @@
 package com.jnzader.apigen.gateway.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksKeySource;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksTokenVerifier;
 import com.jnzader.apigen.gateway.filter.AuthenticationGatewayFilter;
+import com.jnzader.apigen.gateway.filter.JwksTokenValidator;
 import com.jnzader.apigen.gateway.filter.LoggingGatewayFilter;
 import com.jnzader.apigen.gateway.filter.RateLimitKeyResolver;
 import com.jnzader.apigen.gateway.filter.RequestTimingGatewayFilter;
 import com.jnzader.apigen.gateway.route.DynamicRouteLocator;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
 import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -98,7 +102,10 @@ public class GatewayAutoConfiguration {
         return new CorsWebFilter(source);
     }
 
-    /** Creates an authentication filter bean when a token validator is provided. */
+    /**
+     * Creates an authentication filter bean. Tokens are checked by the provided token validator or,
+     * when {@code apigen.gateway.auth.jwks-uri} is set, verified locally against that JWKS.
+     */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(
@@ -112,11 +119,22 @@ public class GatewayAutoConfiguration {
             @org.springframework.beans.factory.annotation.Autowired(required = false)
                     Function<String, AuthenticationGatewayFilter.AuthResult> tokenValidator) {
 
+        String jwksUri = properties.getAuth().getJwksUri();
+        if (tokenValidator == null && jwksUri != null && !jwksUri.isBlank()) {
+            log.info("Verifying tokens against JWKS at {}", jwksUri);
+            JwksKeySource keySource = new JwksKeySource(URI.create(jwksUri), objectMapper);
+            keySource.prefetch();
+            tokenValidator =
+                    new JwksTokenValidator(
+                            new JwksTokenVerifier(
+                                    keySource, properties.getAuth().getIssuer(), objectMapper));
+        }
+
         if (tokenValidator == null) {
             log.warn(
                     "No token validator provided, authentication filter will reject all requests."
-                            + " Provide a Function<String, AuthResult> bean to enable"
-                            + " authentication.");
+                            + " Provide a Function<String, AuthResult> bean or set"
+                            + " apigen.gateway.auth.jwks-uri to enable authentication.");
             tokenValidator =
                     token ->
                             AuthenticationGatewayFilter.AuthResult.failure(
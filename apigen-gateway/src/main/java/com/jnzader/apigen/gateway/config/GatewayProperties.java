@@ -215,6 +215,8 @@ public class GatewayProperties {
         private List<String> excludedPaths = new ArrayList<>();
         private String headerName = "Authorization";
         private String tokenPrefix = "Bearer ";
+        private String jwksUri;
+        private String issuer;
 
         public boolean isEnabled() {
             return enabled;
@@ -247,6 +249,22 @@ public class GatewayProperties {
         public void setTokenPrefix(String tokenPrefix) {
             this.tokenPrefix = tokenPrefix;
         }
+
+        public String getJwksUri() {
+            return jwksUri;
+        }
+
+        public void setJwksUri(String jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public void setIssuer(String issuer) {
+            this.issuer = issuer;
+        }
     }
 
     public static class LoggingProperties {
@@ -20,6 +20,10 @@ import reactor.core.publisher.Mono;
  * before forwarding to downstream services.
  *
  * <p>Returns RFC 7807 compliant error responses for authentication failures.
+ *
+ * <p>A token validator that may have to wait for I/O should also implement {@link
+ * ReactiveTokenValidator}; the filter then subscribes to its result instead of calling it on the
+ * event loop.
  */
 public class AuthenticationGatewayFilter implements GlobalFilter, Ordered {
 
@@ -28,7 +32,7 @@ public class AuthenticationGatewayFilter implements GlobalFilter, Ordered {
     public static final String USER_ID_HEADER = "X-User-ID";
     public static final String USER_ROLES_HEADER = "X-User-Roles";
 
-    private final Function<String, AuthResult> tokenValidator;
+    private final ReactiveTokenValidator tokenValidator;
     private final List<String> excludedPaths;
     private final String headerName;
     private final String tokenPrefix;
@@ -48,7 +52,10 @@ public class AuthenticationGatewayFilter implements GlobalFilter, Ordered {
             String headerName,
             String tokenPrefix,
             ObjectMapper objectMapper) {
-        this.tokenValidator = tokenValidator;
+        this.tokenValidator =
+                tokenValidator instanceof ReactiveTokenValidator reactive
+                        ? reactive
+                        : token -> Mono.fromSupplier(() -> tokenValidator.apply(token));
         this.excludedPaths = excludedPaths;
         this.headerName = headerName;
         this.tokenPrefix = tokenPrefix;
@@ -77,7 +84,13 @@ public class AuthenticationGatewayFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(tokenPrefix.length());
 
         // Validate token
-        AuthResult result = tokenValidator.apply(token);
+        return tokenValidator
+                .validate(token)
+                .flatMap(result -> onValidated(exchange, chain, path, result));
+    }
+
+    private Mono<Void> onValidated(
+            ServerWebExchange exchange, GatewayFilterChain chain, String path, AuthResult result) {
         if (!result.isAuthenticated()) {
             String errorMessage = result.getErrorMessage().orElse("Authentication failed");
             if (log.isWarnEnabled()) {
@@ -88,7 +101,8 @@ public class AuthenticationGatewayFilter implements GlobalFilter, Ordered {
 
         // Add user info to headers for downstream services
         ServerHttpRequest mutatedRequest =
-                request.mutate()
+                exchange.getRequest()
+                        .mutate()
                         .header(USER_ID_HEADER, result.getUserId().orElse(""))
                         .header(USER_ROLES_HEADER, String.join(",", result.roles()))
                         .build();
@@ -126,6 +140,19 @@ public class AuthenticationGatewayFilter implements GlobalFilter, Ordered {
         return Ordered.HIGHEST_PRECEDENCE + 100;
     }
 
+    /** Token validator that completes asynchronously instead of blocking the calling thread. */
+    @FunctionalInterface
+    public interface ReactiveTokenValidator {
+
+        /**
+         * Validates a token.
+         *
+         * @param token the token, without the prefix
+         * @return the authentication result
+         */
+        Mono<AuthResult> validate(String token);
+    }
+
     /** Result of token authentication. */
     public record AuthResult(
             boolean authenticated,
@@ -0,0 +1,63 @@
+package com.jnzader.apigen.gateway.filter;
+
+import com.jnzader.apigen.core.infrastructure.jwks.JwksTokenVerifier;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksVerificationException;
+import com.jnzader.apigen.core.infrastructure.jwks.JwtClaims;
+import com.jnzader.apigen.gateway.filter.AuthenticationGatewayFilter.AuthResult;
+import com.jnzader.apigen.gateway.filter.AuthenticationGatewayFilter.ReactiveTokenValidator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token validator for {@link AuthenticationGatewayFilter} that verifies ES256/EdDSA tokens locally
+ * against the issuer's JWKS.
+ *
+ * <p>Keys are cached and refreshed ahead of expiry by the underlying {@link JwksTokenVerifier}, so
+ * requests are authenticated without calling the issuer. The filter uses {@link #validate(String)},
+ * which never blocks the event loop: a token signed with a key that is not cached yet completes
+ * once the key set has been fetched asynchronously.
+ */
+public class JwksTokenValidator implements Function<String, AuthResult>, ReactiveTokenValidator {
+
+    private final JwksTokenVerifier verifier;
+
+    public JwksTokenValidator(JwksTokenVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public AuthResult apply(String token) {
+        try {
+            return toSuccess(verifier.verify(token));
+        } catch (JwksVerificationException e) {
+            return toFailure(e);
+        }
+    }
+
+    @Override
+    public Mono<AuthResult> validate(String token) {
+        return Mono.fromFuture(() -> verifier.verifyAsync(token))
+                .map(JwksTokenValidator::toSuccess)
+                .onErrorResume(
+                        e ->
+                                rootCause(e) instanceof JwksVerificationException failure
+                                        ? Mono.just(toFailure(failure))
+                                        : Mono.error(e));
+    }
+
+    private static AuthResult toSuccess(JwtClaims claims) {
+        return AuthResult.success(claims.userId(), List.copyOf(claims.roles()));
+    }
+
+    private static AuthResult toFailure(JwksVerificationException e) {
+        return AuthResult.failure(e.getMessage(), e.getErrorCode());
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+    }
+}
@@ -166,6 +166,30 @@ class AuthenticationGatewayFilterTest {
                                                 && "ROLE_USER".equals(roles);
                                     }));
         }
+
+        @Test
+        @DisplayName("should subscribe to a reactive validator instead of calling it directly")
+        void shouldSubscribeToReactiveValidator() {
+            JwksTokenValidator validator = mock(JwksTokenValidator.class);
+            when(validator.validate("valid-token"))
+                    .thenReturn(
+                            Mono.just(
+                                    AuthenticationGatewayFilter.AuthResult.success(
+                                            "user123", List.of("ROLE_USER"))));
+            AuthenticationGatewayFilter reactiveFilter =
+                    new AuthenticationGatewayFilter(validator, List.of(), objectMapper);
+            MockServerWebExchange exchange =
+                    MockServerWebExchange.from(
+                            MockServerHttpRequest.get("/api/protected")
+                                    .header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+                                    .build());
+            when(chain.filter(any())).thenReturn(Mono.empty());
+
+            StepVerifier.create(reactiveFilter.filter(exchange, chain)).verifyComplete();
+
+            verify(validator, never()).apply(any());
+            verify(chain).filter(any());
+        }
     }
 
     @Nested
@@ -0,0 +1,85 @@
+package com.jnzader.apigen.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jnzader.apigen.core.infrastructure.jwks.JwksTokenVerifier;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksVerificationException;
+import com.jnzader.apigen.core.infrastructure.jwks.JwtClaims;
+import com.jnzader.apigen.gateway.filter.AuthenticationGatewayFilter.AuthResult;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+@DisplayName("JwksTokenValidator Tests")
+class JwksTokenValidatorTest {
+
+    private final JwksTokenVerifier verifier = mock(JwksTokenVerifier.class);
+    private final JwksTokenValidator validator = new JwksTokenValidator(verifier);
+
+    @Test
+    @DisplayName("should map verified claims to an authenticated result")
+    void shouldMapClaims() {
+        JwtClaims claims = new JwtClaims(Map.of("sub", "testuser", "userId", 42, "role", "ADMIN"));
+        when(verifier.verify("token")).thenReturn(claims);
+
+        AuthResult result = validator.apply("token");
+
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getUserId()).contains("42");
+        assertThat(result.roles()).containsExactly("ADMIN");
+    }
+
+    @Test
+    @DisplayName("should map verification errors to a failure with its code")
+    void shouldMapFailure() {
+        when(verifier.verify("token"))
+                .thenThrow(
+                        new JwksVerificationException(
+                                "Token has expired", JwksVerificationException.TOKEN_EXPIRED));
+
+        AuthResult result = validator.apply("token");
+
+        assertThat(result.isAuthenticated()).isFalse();
+        assertThat(result.getErrorCode()).contains(JwksVerificationException.TOKEN_EXPIRED);
+    }
+
+    @Test
+    @DisplayName("should validate asynchronously without calling the blocking verifier")
+    void shouldValidateAsync() {
+        JwtClaims claims = new JwtClaims(Map.of("sub", "testuser", "userId", 42, "role", "ADMIN"));
+        when(verifier.verifyAsync("token")).thenReturn(CompletableFuture.completedFuture(claims));
+
+        StepVerifier.create(validator.validate("token"))
+                .assertNext(result -> assertThat(result.getUserId()).contains("42"))
+                .verifyComplete();
+        verify(verifier, never()).verify("token");
+    }
+
+    @Test
+    @DisplayName("should map asynchronous verification errors to a failure")
+    void shouldMapAsyncFailure() {
+        when(verifier.verifyAsync("token"))
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                new CompletionException(
+                                        new JwksVerificationException(
+                                                "Unknown signing key: k",
+                                                JwksVerificationException.UNKNOWN_KEY))));
+
+        StepVerifier.create(validator.validate("token"))
+                .assertNext(
+                        result -> {
+                            assertThat(result.isAuthenticated()).isFalse();
+                            assertThat(result.getErrorCode())
+                                    .contains(JwksVerificationException.UNKNOWN_KEY);
+                        })
+                .verifyComplete();
+    }
+}
@@ -1,13 +1,20 @@
 package com.jnzader.apigen.grpc.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksKeySource;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksTokenVerifier;
 import com.jnzader.apigen.grpc.client.GrpcChannelFactory;
 import com.jnzader.apigen.grpc.health.HealthServiceManager;
+import com.jnzader.apigen.grpc.interceptor.AuthenticationServerInterceptor;
 import com.jnzader.apigen.grpc.interceptor.ExceptionHandlingInterceptor;
+import com.jnzader.apigen.grpc.interceptor.JwksTokenValidator;
 import com.jnzader.apigen.grpc.interceptor.LoggingClientInterceptor;
 import com.jnzader.apigen.grpc.interceptor.LoggingServerInterceptor;
 import io.grpc.ClientInterceptor;
 import io.grpc.ServerInterceptor;
+import java.net.URI;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -35,6 +42,23 @@ public class GrpcAutoConfiguration {
         return new LoggingServerInterceptor();
     }
 
+    /**
+     * Authenticates calls with tokens verified locally against the issuer's JWKS. Set {@code
+     * apigen.grpc.server.auth.jwks-uri} to enable it.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "apigen.grpc.server.auth", name = "jwks-uri")
+    public AuthenticationServerInterceptor authenticationServerInterceptor(
+            GrpcProperties properties, ObjectProvider<ObjectMapper> objectMapper) {
+        GrpcProperties.Auth auth = properties.getServer().getAuth();
+        ObjectMapper mapper = objectMapper.getIfAvailable(ObjectMapper::new);
+        JwksKeySource keySource = new JwksKeySource(URI.create(auth.getJwksUri()), mapper);
+        keySource.prefetch();
+        return new AuthenticationServerInterceptor(
+                new JwksTokenValidator(new JwksTokenVerifier(keySource, auth.getIssuer(), mapper)));
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ExceptionHandlingInterceptor exceptionHandlingInterceptor() {
@@ -52,6 +52,9 @@ public class GrpcProperties {
         /** Maximum metadata size in bytes. */
         private int maxInboundMetadataSize = 8192;
 
+        /** Token authentication against the issuer's JWKS. */
+        private Auth auth = new Auth();
+
         public int getPort() {
             return port;
         }
@@ -83,6 +86,14 @@ public class GrpcProperties {
         public void setMaxInboundMetadataSize(int maxInboundMetadataSize) {
             this.maxInboundMetadataSize = maxInboundMetadataSize;
         }
+
+        public Auth getAuth() {
+            return auth;
+        }
+
+        public void setAuth(Auth auth) {
+            this.auth = auth;
+        }
     }
 
     public static class Client {
@@ -132,4 +143,28 @@ public class GrpcProperties {
             this.enabled = enabled;
         }
     }
+
+    public static class Auth {
+        /** JWKS endpoint of the token issuer; enables JWKS token verification when set. */
+        private String jwksUri;
+
+        /** Expected token issuer ({@code iss}); any issuer is accepted when unset. */
+        private String issuer;
+
+        public String getJwksUri() {
+            return jwksUri;
+        }
+
+        public void setJwksUri(String jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public void setIssuer(String issuer) {
+            this.issuer = issuer;
+        }
+    }
 }
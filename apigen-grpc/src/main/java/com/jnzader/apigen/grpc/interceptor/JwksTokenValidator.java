@@ -0,0 +1,33 @@
+package com.jnzader.apigen.grpc.interceptor;
+
+import com.jnzader.apigen.core.infrastructure.jwks.JwksTokenVerifier;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksVerificationException;
+import com.jnzader.apigen.core.infrastructure.jwks.JwtClaims;
+import com.jnzader.apigen.grpc.interceptor.AuthenticationServerInterceptor.AuthResult;
+import java.util.function.Function;
+
+/**
+ * Token validator for {@link AuthenticationServerInterceptor} that verifies ES256/EdDSA tokens
+ * locally against the issuer's JWKS.
+ *
+ * <p>Keys are cached and refreshed ahead of expiry by the underlying {@link JwksTokenVerifier}, so
+ * calls are authenticated without contacting the issuer.
+ */
+public class JwksTokenValidator implements Function<String, AuthResult> {
+
+    private final JwksTokenVerifier verifier;
+
+    public JwksTokenValidator(JwksTokenVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public AuthResult apply(String token) {
+        try {
+            JwtClaims claims = verifier.verify(token);
+            return AuthResult.success(claims.userId(), claims.roles());
+        } catch (JwksVerificationException e) {
+            return AuthResult.failure(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jnzader.apigen.grpc.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jnzader.apigen.core.infrastructure.jwks.JwksTokenVerifier;
+import com.jnzader.apigen.core.infrastructure.jwks.JwksVerificationException;
+import com.jnzader.apigen.core.infrastructure.jwks.JwtClaims;
+import com.jnzader.apigen.grpc.interceptor.AuthenticationServerInterceptor.AuthResult;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JwksTokenValidator Tests")
+class JwksTokenValidatorTest {
+
+    private final JwksTokenVerifier verifier = mock(JwksTokenVerifier.class);
+    private final JwksTokenValidator validator = new JwksTokenValidator(verifier);
+
+    @Test
+    @DisplayName("should map verified claims to a valid result")
+    void shouldMapClaims() {
+        when(verifier.verify("token"))
+                .thenReturn(
+                        new JwtClaims(
+                                Map.of(
+                                        "sub",
+                                        "testuser",
+                                        "userId",
+                                        42,
+                                        "authorities",
+                                        List.of("ROLE_ADMIN", "USER_READ"))));
+
+        AuthResult result = validator.apply("token");
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.userId()).isEqualTo("42");
+        assertThat(result.roles()).containsExactlyInAnyOrder("ROLE_ADMIN", "USER_READ");
+    }
+
+    @Test
+    @DisplayName("should map verification errors to a failure")
+    void shouldMapFailure() {
+        when(verifier.verify("token"))
+                .thenThrow(
+                        new JwksVerificationException(
+                                "Unknown signing key: k1", JwksVerificationException.UNKNOWN_KEY));
+
+        AuthResult result = validator.apply("token");
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.errorMessage()).isEqualTo("Unknown signing key: k1");
+    }
+}
@@ -0,0 +1,95 @@
+package com.jnzader.apigen.security.benchmark;
+
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import com.jnzader.apigen.security.infrastructure.ratelimit.RateLimitService;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * JMH benchmarks for in-memory rate limiting: {@code RateLimitService.tryConsumeAndReturnRemaining}
+ * against the Bucket4j path it replaced (a {@code ConcurrentHashMap} of local Bucket4j buckets).
+ *
+ * <p>{@code keys=1} makes every thread hit the same bucket (a hot client); {@code keys=100000}
+ * spreads the load over many clients, as an IP spray does. Limits are set high enough that
+ * requests are rarely rejected, so the numbers measure the consumption path itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final int RATE = 1_000_000_000;
+
+    @Param({"local", "bucket4j"})
+    private String store;
+
+    @Param({"1", "100000"})
+    private int keys;
+
+    private RateLimitService service;
+    private Map<String, Bucket> bucket4jBuckets;
+    private String[] clientKeys;
+
+    @Setup
+    public void setup() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getRateLimit().setRequestsPerSecond(RATE);
+        properties.getRateLimit().setBurstCapacity(RATE);
+        properties.getRateLimit().setLocalMaxBuckets(keys * 2);
+        service = new RateLimitService(properties, null);
+        bucket4jBuckets = new ConcurrentHashMap<>();
+
+        clientKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clientKeys[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ConsumptionProbe threads01() {
+        return consume();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ConsumptionProbe threads08() {
+        return consume();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ConsumptionProbe threads64() {
+        return consume();
+    }
+
+    private ConsumptionProbe consume() {
+        String key = clientKeys[ThreadLocalRandom.current().nextInt(keys)];
+        if ("local".equals(store)) {
+            return service.tryConsumeAndReturnRemaining(key, false);
+        }
+        return bucket4jBuckets
+                .computeIfAbsent("rate-limit:api:" + key, k -> bucket4j())
+                .tryConsumeAndReturnRemaining(1);
+    }
+
+    private static Bucket bucket4j() {
+        return Bucket.builder()
+                .addLimit(
+                        Bandwidth.builder()
+                                .capacity(RATE)
+                                .refillGreedy(RATE, Duration.ofSeconds(1))
+                                .build())
+                .build();
+    }
+}
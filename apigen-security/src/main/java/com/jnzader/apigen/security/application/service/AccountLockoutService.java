@@ -36,11 +36,15 @@ public class AccountLockoutService {
 
     private final UserRepository userRepository;
     private final AccountLockoutProperties lockoutProperties;
+    private final UserDetailsCache userDetailsCache;
 
     public AccountLockoutService(
-            UserRepository userRepository, SecurityProperties securityProperties) {
+            UserRepository userRepository,
+            SecurityProperties securityProperties,
+            UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.lockoutProperties = securityProperties.getAccountLockout();
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
@@ -87,6 +91,7 @@ public class AccountLockoutService {
         // Check if account should be locked
         if (newCount >= lockoutProperties.getMaxFailedAttempts()) {
             lockAccount(user);
+            userDetailsCache.evict(username);
         }
 
         userRepository.save(user);
@@ -122,6 +127,7 @@ public class AccountLockoutService {
             user.setLastFailedAttemptAt(null);
 
             userRepository.save(user);
+            userDetailsCache.evict(username);
         }
     }
 
@@ -196,6 +202,7 @@ public class AccountLockoutService {
         user.setLockoutCount(0);
 
         userRepository.save(user);
+        userDetailsCache.evict(username);
 
         log.info("SECURITY: Account '{}' manually unlocked by admin", username);
         return true;
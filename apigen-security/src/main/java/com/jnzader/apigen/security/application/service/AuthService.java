@@ -42,6 +42,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final TokenBlacklistService tokenBlacklistService;
+    private final UserDetailsCache userDetailsCache;
 
     public AuthService(
             UserRepository userRepository,
@@ -49,13 +50,15 @@ public class AuthService {
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
             AuthenticationManager authenticationManager,
-            TokenBlacklistService tokenBlacklistService) {
+            TokenBlacklistService tokenBlacklistService,
+            UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /** Authenticates a user and returns JWT tokens. */
@@ -130,14 +133,14 @@ public class AuthService {
             throw new ValidationException("Invalid or expired refresh token");
         }
 
-        // Verify token is not blacklisted
+        // Verify token is not blacklisted, nor issued before a revocation of all user tokens
         String tokenId = jwtService.extractTokenId(refreshToken);
-        if (tokenBlacklistService.isBlacklisted(tokenId)) {
+        String username = jwtService.extractUsername(refreshToken);
+        if (tokenBlacklistService.isRevoked(
+                tokenId, username, jwtService.extractIssuedAt(refreshToken))) {
             throw new ValidationException("Refresh token already used or revoked");
         }
 
-        // Extract username from token
-        String username = jwtService.extractUsername(refreshToken);
         User user =
                 userRepository
                         .findActiveByUsername(username)
@@ -190,12 +193,14 @@ public class AuthService {
     }
 
     /**
-     * Invalidates all tokens for a user. Useful when the user changes their password.
+     * Invalidates all tokens for a user and evicts the cached user. Useful when the user changes
+     * their password or role.
      *
      * @param username Username
      */
     @Transactional
     public void revokeAllUserTokens(String username) {
         tokenBlacklistService.revokeAllUserTokens(username);
+        userDetailsCache.evict(username);
     }
 }
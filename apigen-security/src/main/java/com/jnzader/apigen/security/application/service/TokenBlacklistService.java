@@ -3,18 +3,39 @@ package com.jnzader.apigen.security.application.service;
 import com.jnzader.apigen.security.domain.entity.TokenBlacklist;
 import com.jnzader.apigen.security.domain.entity.TokenBlacklist.BlacklistReason;
 import com.jnzader.apigen.security.domain.repository.TokenBlacklistRepository;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.JwtProperties;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service for managing the JWT token blacklist.
  *
  * <p>Allows invalidating tokens before their natural expiration.
+ *
+ * <p>Checks are answered from a node-local revocation index instead of querying the database on
+ * every request: a Bloom filter over every revoked token ID, an exact set of the revocations seen
+ * since the filter was last built, and the per-user "tokens issued before T are invalid" rules
+ * created by {@link #revokeAllUserTokens(String)}. The database is only consulted when the Bloom
+ * filter reports a possible match that the exact set cannot confirm.
+ *
+ * <p>The index is loaded on the first sync, kept current by reading rows blacklisted after a
+ * watermark every {@code apigen.security.jwt.revocation-sync-interval-ms}, and rebuilt when expired
+ * rows are cleaned up. Revocations made on this node are applied as soon as they commit; those made
+ * on other nodes are seen after the next sync. Until the index is loaded, checks go to the
+ * database.
  */
 @Service
 @ConditionalOnProperty(name = "apigen.security.enabled", havingValue = "true")
@@ -22,10 +43,29 @@ public class TokenBlacklistService {
 
     private static final Logger log = LoggerFactory.getLogger(TokenBlacklistService.class);
 
+    /** Token ID prefix of the rows that hold per-user revocation rules. */
+    static final String USER_RULE_PREFIX = "user:";
+
+    /** Rows are re-read this far behind the watermark, to catch late commits and clock skew. */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
     private final TokenBlacklistRepository repository;
+    private final int expectedTokens;
+    private final Duration maxTokenLifetime;
+
+    private volatile RevocationIndex index;
+    private volatile Instant watermark;
 
-    public TokenBlacklistService(TokenBlacklistRepository repository) {
+    public TokenBlacklistService(
+            TokenBlacklistRepository repository, SecurityProperties securityProperties) {
         this.repository = repository;
+        JwtProperties jwt = securityProperties.getJwt();
+        this.expectedTokens = jwt.getRevocationExpectedTokens();
+        this.maxTokenLifetime =
+                Duration.ofMinutes(
+                        Math.max(jwt.getExpirationMinutes(), jwt.getRefreshExpirationMinutes()));
     }
 
     /**
@@ -47,6 +87,7 @@ public class TokenBlacklistService {
 
         TokenBlacklist entry = new TokenBlacklist(tokenId, username, expiration, reason);
         repository.save(entry);
+        afterCommit(() -> apply(entry));
         log.info("Token {} from user {} added to blacklist. Reason: {}", tokenId, username, reason);
     }
 
@@ -56,20 +97,76 @@ public class TokenBlacklistService {
      * @param tokenId Token identifier
      * @return true if the token is invalidated
      */
-    @Transactional(readOnly = true)
     public boolean isBlacklisted(String tokenId) {
+        RevocationIndex current = index;
+        if (current == null) {
+            return repository.existsByTokenId(tokenId);
+        }
+        if (!current.bloom.mightContain(tokenId)) {
+            return false;
+        }
+        if (current.recent.containsKey(tokenId)) {
+            return true;
+        }
+        // Possible false positive, or a revocation loaded with the filter: confirm it
         return repository.existsByTokenId(tokenId);
     }
 
     /**
-     * Invalidates all tokens for a user. Useful when the user changes their password.
+     * Checks if a token is revoked, either individually or by a rule that invalidates every token
+     * issued to the user before a given instant.
+     *
+     * @param tokenId Token identifier
+     * @param username Token owner username
+     * @param issuedAt Token issue instant (iat claim), or {@code null} if unknown
+     * @return true if the token is invalidated
+     */
+    public boolean isRevoked(String tokenId, String username, Instant issuedAt) {
+        RevocationIndex current = index;
+        Instant revokedBefore =
+                current != null
+                        ? Optional.ofNullable(current.userRules.get(username))
+                                .map(UserRule::revokedBefore)
+                                .orElse(null)
+                        : repository
+                                .findByTokenId(USER_RULE_PREFIX + username)
+                                .map(TokenBlacklist::getBlacklistedAt)
+                                .orElse(null);
+        // iat has second precision: a token issued in the same second as the rule is invalid
+        if (revokedBefore != null && issuedAt != null && !issuedAt.isAfter(revokedBefore)) {
+            return true;
+        }
+        return isBlacklisted(tokenId);
+    }
+
+    /**
+     * Invalidates all tokens issued to a user until now. Useful when the user changes their
+     * password.
+     *
+     * <p>Stored as a single per-user rule rather than one row per token; tokens issued afterwards
+     * are not affected.
      *
      * @param username Username
      */
     @Transactional
     public void revokeAllUserTokens(String username) {
-        int deleted = repository.deleteByUsername(username);
-        log.info("Revoked {} tokens for user {}", deleted, username);
+        Instant now = Instant.now();
+        String ruleId = USER_RULE_PREFIX + username;
+        TokenBlacklist rule =
+                repository
+                        .findByTokenId(ruleId)
+                        .orElseGet(
+                                () ->
+                                        new TokenBlacklist(
+                                                ruleId,
+                                                username,
+                                                now,
+                                                BlacklistReason.PASSWORD_CHANGE));
+        rule.setBlacklistedAt(now);
+        rule.setExpiration(now.plus(maxTokenLifetime));
+        repository.save(rule);
+        afterCommit(() -> apply(rule));
+        log.info("Revoked all tokens issued to user {} before {}", username, now);
     }
 
     /** Cleans up expired tokens from the blacklist. Runs automatically every hour. */
@@ -80,5 +177,127 @@ public class TokenBlacklistService {
         if (deleted > 0) {
             log.info("Cleaned up {} expired tokens from blacklist", deleted);
         }
+        // Entries cannot be removed from a Bloom filter: rebuild it without the expired ones
+        rebuildIndex();
+    }
+
+    /**
+     * Brings the revocation index up to date: loads it on the first run, then reads the rows
+     * blacklisted since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${apigen.security.jwt.revocation-sync-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public void syncRevocations() {
+        if (index == null) {
+            rebuildIndex();
+            return;
+        }
+
+        Instant now = Instant.now();
+        repository.findByBlacklistedAtAfter(watermark.minus(SYNC_OVERLAP)).forEach(this::apply);
+        watermark = now;
+        prune(now);
+    }
+
+    /** Loads every unexpired revocation into a new index and swaps it in. */
+    void rebuildIndex() {
+        Instant now = Instant.now();
+        List<TokenBlacklist> rows = repository.findByExpirationAfter(now);
+
+        RevocationIndex rebuilt =
+                new RevocationIndex(
+                        new RevocationBloomFilter(
+                                Math.max(expectedTokens, rows.size() * 2),
+                                BLOOM_FALSE_POSITIVE_RATE));
+        for (TokenBlacklist row : rows) {
+            if (row.getTokenId().startsWith(USER_RULE_PREFIX)) {
+                rebuilt.userRules.merge(
+                        row.getUsername(),
+                        new UserRule(row.getBlacklistedAt(), row.getExpiration()),
+                        UserRule::newest);
+            } else {
+                rebuilt.bloom.put(row.getTokenId());
+            }
+        }
+
+        synchronized (this) {
+            // Keep what was applied while loading; the exact set never holds expired entries
+            RevocationIndex previous = index;
+            if (previous != null) {
+                previous.recent.forEach(
+                        (tokenId, expiration) -> {
+                            if (expiration.isAfter(now)) {
+                                rebuilt.bloom.put(tokenId);
+                                rebuilt.recent.put(tokenId, expiration);
+                            }
+                        });
+                previous.userRules.forEach(
+                        (username, rule) ->
+                                rebuilt.userRules.merge(username, rule, UserRule::newest));
+            }
+            index = rebuilt;
+            watermark = now;
+        }
+        log.debug(
+                "Loaded revocation index: {} tokens, {} user rules",
+                rows.size() - rebuilt.userRules.size(),
+                rebuilt.userRules.size());
+    }
+
+    /** Adds a revocation to the index, if it is loaded. */
+    private synchronized void apply(TokenBlacklist row) {
+        RevocationIndex current = index;
+        if (current == null) {
+            return;
+        }
+        if (row.getTokenId().startsWith(USER_RULE_PREFIX)) {
+            current.userRules.merge(
+                    row.getUsername(),
+                    new UserRule(row.getBlacklistedAt(), row.getExpiration()),
+                    UserRule::newest);
+        } else {
+            current.bloom.put(row.getTokenId());
+            current.recent.put(row.getTokenId(), row.getExpiration());
+        }
+    }
+
+    private void prune(Instant now) {
+        RevocationIndex current = index;
+        current.recent.values().removeIf(expiration -> !expiration.isAfter(now));
+        current.userRules.values().removeIf(rule -> !rule.expiration().isAfter(now));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    });
+        } else {
+            action.run();
+        }
+    }
+
+    /** Tokens issued to a user up to {@code revokedBefore} are invalid until {@code expiration}. */
+    private record UserRule(Instant revokedBefore, Instant expiration) {
+
+        private UserRule newest(UserRule other) {
+            return other.revokedBefore.isAfter(revokedBefore) ? other : this;
+        }
+    }
+
+    /** Node-local view of the blacklist. */
+    private static final class RevocationIndex {
+
+        private final RevocationBloomFilter bloom;
+        private final Map<String, Instant> recent = new ConcurrentHashMap<>();
+        private final Map<String, UserRule> userRules = new ConcurrentHashMap<>();
+
+        private RevocationIndex(RevocationBloomFilter bloom) {
+            this.bloom = bloom;
+        }
     }
 }
@@ -0,0 +1,103 @@
+package com.jnzader.apigen.security.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.JwtProperties;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, time-limited cache of the users loaded by the JWT filter.
+ *
+ * <p>Without it, every authenticated request loads the user with its role and permissions from the
+ * database. Entries expire after {@code apigen.security.jwt.user-cache-ttl-seconds} and are evicted
+ * as soon as the user's credentials, roles or lock status change (see {@link
+ * AccountLockoutService} and {@link AuthService}); code that changes users elsewhere must call
+ * {@link #evict(String)}. With {@code apigen.security.jwt.user-cache-size} set to 0 (the default)
+ * every lookup goes to the {@link UserDetailsService}.
+ *
+ * <p>Only the JWT filter reads from the cache. Login keeps loading the user through the {@code
+ * AuthenticationManager}, so password checks always see the current credentials.
+ */
+@Service
+@ConditionalOnProperty(name = "apigen.security.enabled", havingValue = "true")
+public class UserDetailsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(
+            UserDetailsService userDetailsService, SecurityProperties securityProperties) {
+        this.userDetailsService = userDetailsService;
+        JwtProperties jwt = securityProperties.getJwt();
+        this.cache =
+                jwt.getUserCacheSize() > 0 && !jwt.isStateless()
+                        ? Caffeine.newBuilder()
+                                .maximumSize(jwt.getUserCacheSize())
+                                .expireAfterWrite(Duration.ofSeconds(jwt.getUserCacheTtlSeconds()))
+                                .build()
+                        : null;
+    }
+
+    /**
+     * Returns the user, loading it on a cache miss.
+     *
+     * @param username the username
+     * @return the user
+     * @throws UsernameNotFoundException if the user does not exist or is inactive
+     */
+    public UserDetails load(String username) {
+        if (cache == null) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Evicts a user after its credentials, roles or lock status change.
+     *
+     * <p>Inside a transaction the user is evicted again after commit, so a request that reloaded
+     * it before the change was committed does not keep the old state cached.
+     *
+     * @param username the username
+     */
+    public void evict(String username) {
+        if (cache == null || username == null) {
+            return;
+        }
+        cache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            cache.invalidate(username);
+                        }
+                    });
+        }
+        log.debug("Evicted cached user '{}'", username);
+    }
+
+    /** Evicts every cached user. */
+    public void evictAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /** Whether users are cached. */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+}
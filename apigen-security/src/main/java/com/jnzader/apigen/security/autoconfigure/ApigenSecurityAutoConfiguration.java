@@ -4,13 +4,18 @@ import com.jnzader.apigen.core.autoconfigure.ApigenCoreAutoConfiguration;
 import com.jnzader.apigen.security.infrastructure.config.OAuth2SecurityConfig;
 import com.jnzader.apigen.security.infrastructure.config.SecurityConfig;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import com.jnzader.apigen.security.infrastructure.ratelimit.ApiRateLimitFilter;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
+import org.springframework.web.filter.CompositeFilter;
 
 /**
  * Auto-configuration for APiGen Security module.
@@ -77,6 +82,22 @@ public class ApigenSecurityAutoConfiguration {
         return new ApigenSecurityMarker();
     }
 
+    /**
+     * Keeps the servlet container from running {@link ApiRateLimitFilter} on its own: the security
+     * filter chain runs its per-IP step before authentication and its tier step right after, so
+     * tier-based limits see the authenticated user. The filter is looked up instead of using a bean
+     * condition (see above); when rate limiting is off an empty filter stands in, so the disabled
+     * registration always has something to describe.
+     */
+    @Bean
+    public FilterRegistrationBean<Filter> apiRateLimitFilterRegistration(
+            ObjectProvider<ApiRateLimitFilter> filter) {
+        FilterRegistrationBean<Filter> registration =
+                new FilterRegistrationBean<>(filter.getIfAvailable(CompositeFilter::new));
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Marker class for APiGen Security auto-configuration. Used by @ConditionalOnBean to detect if
      * security module is auto-configured.
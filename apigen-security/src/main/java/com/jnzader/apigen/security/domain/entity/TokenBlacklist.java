@@ -23,7 +23,8 @@ import java.time.Instant;
         indexes = {
             @Index(name = "idx_token_blacklist_token_id", columnList = "token_id"),
             @Index(name = "idx_token_blacklist_expiration", columnList = "expiration"),
-            @Index(name = "idx_token_blacklist_username", columnList = "username")
+            @Index(name = "idx_token_blacklist_username", columnList = "username"),
+            @Index(name = "idx_token_blacklist_blacklisted_at", columnList = "blacklisted_at")
         })
 public class TokenBlacklist {
 
@@ -32,7 +33,10 @@ public class TokenBlacklist {
     @SequenceGenerator(name = "base_seq_gen", sequenceName = "base_sequence", allocationSize = 50)
     private Long id;
 
-    /** Identificador único del token (claim jti). */
+    /**
+     * Identificador único del token (claim jti). Las reglas por usuario ("tokens emitidos antes de
+     * {@code blacklistedAt} son inválidos") usan {@code user:<username>}.
+     */
     @Column(name = "token_id", nullable = false, unique = true)
     private String tokenId;
 
@@ -44,7 +48,7 @@ public class TokenBlacklist {
     @Column(nullable = false)
     private Instant expiration;
 
-    /** Fecha en que se añadió a la blacklist. */
+    /** Fecha en que se añadió a la blacklist. Marca de agua para sincronizar los nodos. */
     @Column(name = "blacklisted_at", nullable = false)
     private Instant blacklistedAt;
 
@@ -2,6 +2,8 @@ package com.jnzader.apigen.security.domain.repository;
 
 import com.jnzader.apigen.security.domain.entity.TokenBlacklist;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -23,7 +25,16 @@ public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist,
     @Query("DELETE FROM TokenBlacklist t WHERE t.expiration < :now")
     int deleteExpiredTokens(Instant now);
 
-    /** Invalida todos los tokens de un usuario. Útil cuando cambia la contraseña. */
+    /** Busca una entrada por identificador de token. */
+    Optional<TokenBlacklist> findByTokenId(String tokenId);
+
+    /** Entradas aún vigentes, para cargar el índice de revocaciones en memoria. */
+    List<TokenBlacklist> findByExpirationAfter(Instant now);
+
+    /** Entradas añadidas o actualizadas después de una marca de tiempo, para la sincronización. */
+    List<TokenBlacklist> findByBlacklistedAtAfter(Instant since);
+
+    /** Elimina todas las entradas de un usuario. */
     @Modifying
     @Query("DELETE FROM TokenBlacklist t WHERE t.username = :username")
     int deleteByUsername(String username);
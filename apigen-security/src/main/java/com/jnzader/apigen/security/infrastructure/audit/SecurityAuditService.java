@@ -1,5 +1,6 @@
 package com.jnzader.apigen.security.infrastructure.audit;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import com.jnzader.apigen.security.infrastructure.audit.SecurityAuditEvent.SecurityEventType;
 import com.jnzader.apigen.security.infrastructure.audit.SecurityAuditEvent.SecurityOutcome;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +20,9 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  *
  * <p>Provides methods for logging security events such as authentication, authorization, access
  * denied, etc.
+ *
+ * <p>The client IP and the username are taken from the request's {@link RequestAuthContext} when
+ * the filter chain has populated it, instead of being resolved again for every event.
  */
 @Service
 public class SecurityAuditService {
@@ -180,6 +184,11 @@ public class SecurityAuditService {
 
     /** Gets the client IP from the current request. */
     private String getClientIp() {
+        Optional<String> resolved =
+                RequestAuthContext.current().map(RequestAuthContext::getClientIp);
+        if (resolved.isPresent()) {
+            return resolved.get();
+        }
         return getRequest()
                 .map(
                         request -> {
@@ -199,6 +208,11 @@ public class SecurityAuditService {
 
     /** Gets the username from the current security context. */
     private Optional<String> getCurrentUsername() {
+        Optional<String> principal =
+                RequestAuthContext.current().map(RequestAuthContext::getPrincipal);
+        if (principal.isPresent()) {
+            return principal;
+        }
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null
                 && auth.isAuthenticated()
@@ -1,10 +1,12 @@
 package com.jnzader.apigen.security.infrastructure.config;
 
 import com.jnzader.apigen.core.infrastructure.config.properties.AppProperties;
+import com.jnzader.apigen.security.infrastructure.ratelimit.ApiRateLimitFilter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -25,6 +27,7 @@ import org.springframework.security.oauth2.jwt.JwtDecoders;
 import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.header.writers.StaticHeadersWriter;
@@ -66,7 +69,9 @@ public class OAuth2SecurityConfig {
     //   - /actuator/health,info : health checks para load balancers/k8s probes
     //   - /swagger-ui/** : documentacion API (puede restringirse en prod)
     //   - OPTIONS : CORS preflight (requerido por navegadores)
-    public SecurityFilterChain oauth2SecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain oauth2SecurityFilterChain(
+            HttpSecurity http, ObjectProvider<ApiRateLimitFilter> apiRateLimitFilter)
+            throws Exception {
         http
                 // Configuracion CORS
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -93,6 +98,15 @@ public class OAuth2SecurityConfig {
                                                         .jwtAuthenticationConverter(
                                                                 jwtAuthenticationConverter())));
 
+        // Rate limiting de la API: por IP antes de validar el token, por tier una vez conocido el
+        // usuario
+        apiRateLimitFilter.ifAvailable(
+                filter ->
+                        http.addFilterBefore(
+                                        filter.preAuthentication(),
+                                        BearerTokenAuthenticationFilter.class)
+                                .addFilterAfter(filter, BearerTokenAuthenticationFilter.class));
+
         return http.build();
     }
 
@@ -1,8 +1,11 @@
 package com.jnzader.apigen.security.infrastructure.config;
 
 import com.jnzader.apigen.core.infrastructure.config.properties.AppProperties;
+import com.jnzader.apigen.security.infrastructure.controller.JwksController;
 import com.jnzader.apigen.security.infrastructure.jwt.JwtAuthenticationFilter;
+import com.jnzader.apigen.security.infrastructure.ratelimit.ApiRateLimitFilter;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -69,10 +72,13 @@ public class SecurityConfig {
     //   - Session configured as STATELESS (no server-side state)
     // S4834: permitAll() is SAFE for specific endpoints:
     //   - /api/auth/** : required for login/registration without token
+    //   - /.well-known/jwks.json : public keys only, needed to verify tokens
     //   - /actuator/health,info : health checks for load balancers
     //   - /swagger-ui/** : API documentation (can be restricted in prod)
     //   - OPTIONS : CORS preflight (required by browsers)
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http, ObjectProvider<ApiRateLimitFilter> apiRateLimitFilter)
+            throws Exception {
         http
                 // CORS configuration
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -96,6 +102,13 @@ public class SecurityConfig {
                 // JWT filter before authentication filter
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // API rate limiting: per IP before the token is verified, per tier once the user is known
+        apiRateLimitFilter.ifAvailable(
+                filter ->
+                        http.addFilterBefore(
+                                        filter.preAuthentication(), JwtAuthenticationFilter.class)
+                                .addFilterAfter(filter, JwtAuthenticationFilter.class));
+
         return http.build();
     }
 
@@ -116,6 +129,9 @@ public class SecurityConfig {
         // Authentication endpoints always public
         auth.requestMatchers("/api/auth/**").permitAll();
 
+        // Public signing keys (JWKS) for downstream token verification
+        auth.requestMatchers(JwksController.JWKS_PATH).permitAll();
+
         // Actuator health/info public for health checks
         auth.requestMatchers("/actuator/health", "/actuator/info").permitAll();
 
@@ -91,7 +91,9 @@ public class SecurityProperties {
     public void validate() {
         if (enabled) {
             if (mode == AuthMode.JWT) {
-                validateJwtSecret();
+                if (jwt.isSymmetric()) {
+                    validateJwtSecret();
+                }
                 log.info("Seguridad JWT (propio) habilitada");
                 log.info("  - Token expiration: {} minutos", jwt.getExpirationMinutes());
                 log.info(
@@ -260,9 +262,63 @@ public class SecurityProperties {
         /** Issuer del token JWT. */
         private String issuer = "apigen";
 
+        /**
+         * Algoritmo de firma: HS256 (secret compartido), ES256 (P-256) o EdDSA (Ed25519). Con
+         * los algoritmos asimétricos las claves públicas se publican en
+         * {@code /.well-known/jwks.json} y otros servicios verifican los tokens sin el secret.
+         * Default: HS256.
+         */
+        private String algorithm = "HS256";
+
+        /**
+         * Clave privada en PEM (PKCS#8) para ES256/EdDSA. Si no se configura se genera un par de
+         * claves efímero al arrancar, solo válido para desarrollo.
+         */
+        private String privateKey;
+
+        /** Clave pública en PEM (X.509) correspondiente a {@code private-key}. */
+        private String publicKey;
+
+        /** Segundos que clientes y proxies pueden cachear el JWKS publicado. Default: 300. */
+        private int jwksMaxAgeSeconds = 300;
+
         /** Configuración de rotación de claves. */
         private KeyRotationProperties keyRotation = new KeyRotationProperties();
 
+        /**
+         * Máximo de tokens cuyos claims verificados se cachean hasta su expiración, para no
+         * verificar la firma en cada request. 0 desactiva la caché.
+         */
+        private int claimsCacheSize = 10_000;
+
+        /**
+         * Autenticación sin estado: los access tokens incluyen las authorities del usuario y el
+         * filtro construye la autenticación solo a partir del token, sin consultar la base de
+         * datos. Los cambios de rol se aplican al emitir el siguiente token. Default: false.
+         */
+        private boolean stateless = false;
+
+        /**
+         * Máximo de usuarios cacheados por el filtro JWT cuando no se usa el modo sin estado. 0
+         * desactiva la caché y el usuario se carga en cada request. Default: 0.
+         */
+        private int userCacheSize = 0;
+
+        /** Tiempo en segundos que un usuario permanece en la caché del filtro. Default: 60. */
+        private int userCacheTtlSeconds = 60;
+
+        /**
+         * Intervalo en milisegundos para sincronizar el índice local de revocaciones con la
+         * blacklist en base de datos. Default: 5000.
+         */
+        private long revocationSyncIntervalMs = 5000;
+
+        /**
+         * Tokens revocados para los que se dimensiona el filtro Bloom del índice de revocaciones.
+         * Default: 100000.
+         */
+        private int revocationExpectedTokens = 100_000;
+
         public String getSecret() {
             return secret;
         }
@@ -302,6 +358,91 @@ public class SecurityProperties {
         public void setKeyRotation(KeyRotationProperties keyRotation) {
             this.keyRotation = keyRotation;
         }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        /** Indica si los tokens se firman con el secret compartido (HS256). */
+        public boolean isSymmetric() {
+            return algorithm == null || algorithm.isBlank() || "HS256".equalsIgnoreCase(algorithm);
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public int getJwksMaxAgeSeconds() {
+            return jwksMaxAgeSeconds;
+        }
+
+        public void setJwksMaxAgeSeconds(int jwksMaxAgeSeconds) {
+            this.jwksMaxAgeSeconds = jwksMaxAgeSeconds;
+        }
+
+        public int getClaimsCacheSize() {
+            return claimsCacheSize;
+        }
+
+        public void setClaimsCacheSize(int claimsCacheSize) {
+            this.claimsCacheSize = claimsCacheSize;
+        }
+
+        public boolean isStateless() {
+            return stateless;
+        }
+
+        public void setStateless(boolean stateless) {
+            this.stateless = stateless;
+        }
+
+        public int getUserCacheSize() {
+            return userCacheSize;
+        }
+
+        public void setUserCacheSize(int userCacheSize) {
+            this.userCacheSize = userCacheSize;
+        }
+
+        public int getUserCacheTtlSeconds() {
+            return userCacheTtlSeconds;
+        }
+
+        public void setUserCacheTtlSeconds(int userCacheTtlSeconds) {
+            this.userCacheTtlSeconds = userCacheTtlSeconds;
+        }
+
+        public long getRevocationSyncIntervalMs() {
+            return revocationSyncIntervalMs;
+        }
+
+        public void setRevocationSyncIntervalMs(long revocationSyncIntervalMs) {
+            this.revocationSyncIntervalMs = revocationSyncIntervalMs;
+        }
+
+        public int getRevocationExpectedTokens() {
+            return revocationExpectedTokens;
+        }
+
+        public void setRevocationExpectedTokens(int revocationExpectedTokens) {
+            this.revocationExpectedTokens = revocationExpectedTokens;
+        }
     }
 
     /**
@@ -377,6 +518,9 @@ public class SecurityProperties {
         /** El secret de la clave anterior (mínimo 256 bits). */
         private String secret;
 
+        /** Clave pública en PEM (X.509) de la clave anterior, para ES256/EdDSA. */
+        private String publicKey;
+
         public String getId() {
             return id;
         }
@@ -392,6 +536,14 @@ public class SecurityProperties {
         public void setSecret(String secret) {
             this.secret = secret;
         }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
     }
 
     /** Propiedades de configuración OAuth2 Resource Server. */
@@ -644,6 +796,22 @@ public class SecurityProperties {
         /** TTL en segundos para las claves de Redis. Default: 3600 (1 hora). */
         private int redisTtlSeconds = 3600;
 
+        /**
+         * Máximo de buckets en memoria (modo in-memory). Al superarse se descartan los menos
+         * usados; los inactivos expiran al llenarse de nuevo. Default: 100000.
+         */
+        private int localMaxBuckets = 100_000;
+
+        /**
+         * Modo redis: tokens que cada nodo reserva por clave en un solo viaje a Redis y consume
+         * localmente. 0 desactiva las reservas (un viaje por request). Valores mayores reducen la
+         * carga en Redis a cambio de repartir peor el límite entre nodos. Default: 0.
+         */
+        private int leaseSize = 0;
+
+        /** Tiempo en ms tras el que se devuelven a Redis los tokens reservados sin usar. */
+        private int leaseTtlMillis = 1000;
+
         /** Configuración de tiers para rate limiting basado en usuario. */
         private TiersConfig tiers = new TiersConfig();
 
@@ -726,6 +894,30 @@ public class SecurityProperties {
             this.redisTtlSeconds = redisTtlSeconds;
         }
 
+        public int getLocalMaxBuckets() {
+            return localMaxBuckets;
+        }
+
+        public void setLocalMaxBuckets(int localMaxBuckets) {
+            this.localMaxBuckets = localMaxBuckets;
+        }
+
+        public int getLeaseSize() {
+            return leaseSize;
+        }
+
+        public void setLeaseSize(int leaseSize) {
+            this.leaseSize = leaseSize;
+        }
+
+        public int getLeaseTtlMillis() {
+            return leaseTtlMillis;
+        }
+
+        public void setLeaseTtlMillis(int leaseTtlMillis) {
+            this.leaseTtlMillis = leaseTtlMillis;
+        }
+
         /** Determina si está configurado para usar Redis. */
         public boolean isRedisMode() {
             return storageMode == StorageMode.REDIS;
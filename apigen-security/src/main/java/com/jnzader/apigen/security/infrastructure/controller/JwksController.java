@@ -0,0 +1,68 @@
+package com.jnzader.apigen.security.infrastructure.controller;
+
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import com.jnzader.apigen.security.infrastructure.jwt.JwtService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Publica las claves públicas de firma como JWK Set (RFC 7517).
+ *
+ * <p>Con ES256/EdDSA el gateway y los servicios gRPC verifican los tokens localmente con estas
+ * claves, sin el secret compartido. La respuesta es cacheable ({@code Cache-Control: public}) y
+ * lleva un ETag estable entre nodos; con HS256 el conjunto está vacío.
+ */
+@RestController
+@Tag(name = "Authentication", description = "Endpoints de autenticación (modo JWT)")
+@ConditionalOnProperty(name = "apigen.security.enabled", havingValue = "true")
+@ConditionalOnExpression("'${apigen.security.mode:jwt}'.equalsIgnoreCase('jwt')")
+public class JwksController {
+
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final Map<String, Object> jwks;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtService jwtService, SecurityProperties securityProperties) {
+        this.jwks = jwtService.getJwks();
+        // Map.hashCode is defined by its string contents, so every node computes the same ETag
+        this.etag = "\"" + Integer.toHexString(jwks.hashCode()) + "\"";
+        int maxAge = securityProperties.getJwt().getJwksMaxAgeSeconds();
+        this.cacheControl =
+                CacheControl.maxAge(Duration.ofSeconds(maxAge))
+                        .cachePublic()
+                        .staleWhileRevalidate(Duration.ofSeconds(maxAge));
+    }
+
+    @Operation(
+            summary = "Claves públicas (JWKS)",
+            description = "Claves públicas para verificar tokens firmados con ES256/EdDSA")
+    @GetMapping(JWKS_PATH)
+    public ResponseEntity<Map<String, Object>> jwks(WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(JWK_SET)
+                .body(jwks);
+    }
+}
@@ -2,6 +2,7 @@ package com.jnzader.apigen.security.infrastructure.filter;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import com.jnzader.apigen.security.infrastructure.network.ClientIpResolver;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -120,8 +121,9 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
                 && (uri.endsWith("/auth/login") || uri.endsWith("/auth/register"));
     }
 
+    /** IP del {@link RequestAuthContext}, resuelta una sola vez para toda la cadena de filtros. */
     private String getClientIp(HttpServletRequest request) {
-        return clientIpResolver.resolveClientIp(request);
+        return RequestAuthContext.of(request, clientIpResolver).getClientIp();
     }
 
     private void sendRateLimitResponse(HttpServletResponse response) throws IOException {
@@ -1,5 +1,11 @@
 package com.jnzader.apigen.security.infrastructure.jwt;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
+import com.jnzader.apigen.security.application.service.UserDetailsCache;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import com.jnzader.apigen.security.infrastructure.controller.JwksController;
+import com.jnzader.apigen.security.infrastructure.ratelimit.JwtRateLimitTierResolver;
+import com.jnzader.apigen.security.infrastructure.ratelimit.RateLimitTier;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -10,14 +16,15 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,7 +33,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * JWT authentication filter that processes each request.
  *
  * <p>Extracts the token from the Authorization header, validates it, and sets the security context
- * if valid.
+ * if valid. The token is verified once per request through {@link JwtService#verify(String)}.
+ *
+ * <p>With {@code apigen.security.jwt.stateless} enabled, access tokens carry the user's
+ * authorities and the authentication is built from the token alone, with a {@link JwtPrincipal}
+ * as principal; tokens issued without authorities fall back to loading the user. Otherwise the
+ * user is loaded through the {@link UserDetailsCache} on every request.
+ *
+ * <p>Once authenticated, the principal and the rate limit tier claim are recorded in the request's
+ * {@link RequestAuthContext}, so later filters and the audit service read them from there.
  */
 @Component
 @ConditionalOnProperty(name = "apigen.security.enabled", havingValue = "true")
@@ -38,11 +53,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsCache userDetailsCache,
+            SecurityProperties securityProperties) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.userDetailsCache = userDetailsCache;
+        this.stateless = securityProperties.getJwt().isStateless();
     }
 
     @Override
@@ -62,21 +82,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(BEARER_PREFIX.length());
-            final String username = jwtService.extractUsername(jwt);
+            // Verify the signature once; every check below reads the verified claims
+            final VerifiedToken token = jwtService.verify(jwt);
+            final String username = token.subject();
 
             // If username exists and no prior authentication
             if (username != null
                     && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Verify it's an access token and that it's valid
-                if (jwtService.isAccessToken(jwt) && jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authToken = authenticate(token, username);
+                if (authToken != null) {
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    recordInContext(request, token, username);
                     log.debug("User authenticated: {}", username);
                 }
             }
@@ -109,10 +127,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the authentication for a verified token.
+     *
+     * @return the authentication, or {@code null} if the token is not a valid access token
+     */
+    private UsernamePasswordAuthenticationToken authenticate(VerifiedToken token, String username) {
+        if (!token.isAccessToken()) {
+            return null;
+        }
+
+        List<String> authorities = stateless ? token.authorities() : null;
+        if (authorities != null) {
+            // Stateless: the signed claims are the source of truth, no user lookup
+            if (!jwtService.isTokenValid(token)) {
+                return null;
+            }
+            return new UsernamePasswordAuthenticationToken(
+                    JwtPrincipal.of(token),
+                    null,
+                    authorities.stream().map(SimpleGrantedAuthority::new).toList());
+        }
+
+        UserDetails userDetails = userDetailsCache.load(username);
+        if (!jwtService.isTokenValid(token, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+    }
+
+    /** Records the principal and tier while the verified claims are at hand. */
+    private static void recordInContext(
+            HttpServletRequest request, VerifiedToken token, String username) {
+        RequestAuthContext.find(request)
+                .ifPresent(
+                        context -> {
+                            context.setPrincipal(username);
+                            String tier = JwtRateLimitTierResolver.tierClaim(token::stringClaim);
+                            if (tier != null) {
+                                context.setTier(RateLimitTier.fromString(tier).getName());
+                            }
+                        });
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
-        // Don't filter authentication endpoints
-        return path.startsWith("/api/auth/");
+        // Don't filter authentication endpoints nor the public JWKS
+        return path.startsWith("/api/auth/") || path.equals(JwksController.JWKS_PATH);
     }
 }
@@ -0,0 +1,26 @@
+package com.jnzader.apigen.security.infrastructure.jwt;
+
+import java.security.Principal;
+
+/**
+ * Principal of a request authenticated from a stateless access token.
+ *
+ * <p>Built from the verified claims alone, without loading the user, when {@code
+ * apigen.security.jwt.stateless} is enabled. Code that needs the full user entity must load it
+ * through {@link #userId()} or {@link #username()}.
+ *
+ * @param userId the user ID
+ * @param username the username
+ * @param role the user role
+ */
+public record JwtPrincipal(Long userId, String username, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    static JwtPrincipal of(VerifiedToken token) {
+        return new JwtPrincipal(token.userId(), token.subject(), token.role());
+    }
+}
@@ -1,30 +1,36 @@
 package com.jnzader.apigen.security.infrastructure.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.jnzader.apigen.security.application.service.TokenBlacklistService;
 import com.jnzader.apigen.security.domain.entity.User;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
-import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.KeyRotationProperties;
-import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.PreviousKey;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import javax.crypto.SecretKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import tools.jackson.core.type.TypeReference;
@@ -41,10 +47,17 @@ import tools.jackson.databind.json.JsonMapper;
  *   <li>Integration with blacklist for revocation
  *   <li>Unique Token ID (jti) for each token
  *   <li>Support for key rotation with 'kid' header
+ *   <li>HS256 with a shared secret, or ES256/EdDSA with the public keys published as a JWKS
  * </ul>
  *
  * <p>Key rotation: When enabled, tokens include a 'kid' (Key ID) header that identifies which key
  * was used to sign them. This allows previous keys to remain valid during the transition.
+ *
+ * <p>Verification: {@link #verify(String)} checks the signature once and returns the decoded
+ * claims. Verified claims are cached by token hash until the token expires ({@code
+ * apigen.security.jwt.claims-cache-size}), and a parser is built once per key, so a token's
+ * signature is checked once per node rather than on every request. Revocation is not cached:
+ * {@link #isTokenValid(VerifiedToken, UserDetails)} checks the blacklist every time.
  */
 @Service
 @ConditionalOnProperty(name = "apigen.security.enabled", havingValue = "true")
@@ -52,18 +65,25 @@ import tools.jackson.databind.json.JsonMapper;
 public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
-    private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_USER_ID = VerifiedToken.CLAIM_USER_ID;
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
     private final SecurityProperties securityProperties;
     private final TokenBlacklistService blacklistService;
     private final JsonMapper jsonMapper;
-    private final SecretKey currentKey;
+    private final JwtSigningKeys signingKeys;
     private final String currentKeyId;
     private final boolean rotationEnabled;
 
-    // Map of keyId -> SecretKey for validating tokens with previous keys
-    private final Map<String, SecretKey> keyRegistry = new ConcurrentHashMap<>();
+    // Map of keyId -> key (secret or public key) for validating tokens with previous keys
+    private final Map<String, Key> keyRegistry = new ConcurrentHashMap<>();
+
+    // Map of keyId -> parser verifying with that key, built once
+    private final Map<String, JwtParser> parsers = new ConcurrentHashMap<>();
+    private final JwtParser currentParser;
+
+    // Token hash -> verified claims, until the token expires (null when disabled)
+    private final Cache<String, VerifiedToken> claimsCache;
 
     public JwtService(
             SecurityProperties securityProperties,
@@ -73,33 +93,43 @@ public class JwtService {
         this.blacklistService = blacklistService;
         this.jsonMapper = jsonMapper;
 
-        // Initialize current key
-        this.currentKey =
-                Keys.hmacShaKeyFor(
-                        securityProperties.getJwt().getSecret().getBytes(StandardCharsets.UTF_8));
-
-        KeyRotationProperties rotation = securityProperties.getJwt().getKeyRotation();
-        this.rotationEnabled = rotation.isEnabled();
-        this.currentKeyId = rotation.getCurrentKeyId();
+        // Initialize signing and verification keys
+        this.signingKeys = JwtSigningKeys.from(securityProperties.getJwt());
+        this.rotationEnabled = securityProperties.getJwt().getKeyRotation().isEnabled();
+        this.currentKeyId = signingKeys.currentKeyId();
+        this.currentParser =
+                JwtSigningKeys.parser(signingKeys.verificationKeys().get(currentKeyId));
+
+        int cacheSize = securityProperties.getJwt().getClaimsCacheSize();
+        this.claimsCache =
+                cacheSize > 0
+                        ? Caffeine.newBuilder()
+                                .maximumSize(cacheSize)
+                                .expireAfter(new UntilTokenExpires())
+                                .build()
+                        : null;
     }
 
     @PostConstruct
     public void init() {
         // Register current key
-        keyRegistry.put(currentKeyId, currentKey);
-
+        keyRegistry.put(currentKeyId, signingKeys.verificationKeys().get(currentKeyId));
+        parsers.put(currentKeyId, currentParser);
+
+        // Register previous keys for validation (only loaded when rotation is enabled)
+        signingKeys
+                .verificationKeys()
+                .forEach(
+                        (keyId, key) -> {
+                            if (!keyId.equals(currentKeyId)) {
+                                keyRegistry.put(keyId, key);
+                                parsers.put(keyId, JwtSigningKeys.parser(key));
+                                log.info("Registered previous key for rotation: {}", keyId);
+                            }
+                        });
+
+        log.info("JWT tokens signed with {}", signingKeys.algorithm());
         if (rotationEnabled) {
-            // Register previous keys for validation
-            KeyRotationProperties rotation = securityProperties.getJwt().getKeyRotation();
-            for (PreviousKey prevKey : rotation.getPreviousSecrets()) {
-                if (prevKey.getId() != null && prevKey.getSecret() != null) {
-                    SecretKey key =
-                            Keys.hmacShaKeyFor(
-                                    prevKey.getSecret().getBytes(StandardCharsets.UTF_8));
-                    keyRegistry.put(prevKey.getId(), key);
-                    log.info("Registered previous key for rotation: {}", prevKey.getId());
-                }
-            }
             log.info(
                     "JWT Key Rotation enabled. Current key: {}, Total keys: {}",
                     currentKeyId,
@@ -115,7 +145,12 @@ public class JwtService {
         claims.put(CLAIM_USER_ID, user.getId());
         claims.put("role", user.getRole().getName());
         claims.put("email", user.getEmail());
-        claims.put("type", "access");
+        claims.put("type", VerifiedToken.TYPE_ACCESS);
+        if (securityProperties.getJwt().isStateless()) {
+            claims.put(
+                    VerifiedToken.CLAIM_AUTHORITIES,
+                    user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        }
 
         return buildToken(
                 claims, user.getUsername(), securityProperties.getJwt().getExpirationMinutes());
@@ -125,7 +160,7 @@ public class JwtService {
     public String generateRefreshToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put(CLAIM_USER_ID, user.getId());
-        claims.put("type", "refresh");
+        claims.put("type", VerifiedToken.TYPE_REFRESH);
 
         return buildToken(
                 claims,
@@ -147,72 +182,104 @@ public class JwtService {
                         .issuedAt(Date.from(now))
                         .expiration(Date.from(expiration));
 
-        // Add 'kid' header when rotation is enabled
-        if (rotationEnabled) {
-            builder.header().keyId(currentKeyId).and();
+        // Add 'kid' header when rotation is enabled (always for asymmetric keys)
+        return signingKeys.sign(builder, rotationEnabled);
+    }
+
+    /**
+     * Verifies the token's signature and expiration and decodes its claims.
+     *
+     * <p>Verified claims are served from the cache until the token expires.
+     *
+     * @param token the compact JWT
+     * @return the verified claims
+     * @throws JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public VerifiedToken verify(String token) {
+        if (claimsCache == null) {
+            return parse(token);
+        }
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT must not be empty");
+        }
+
+        String key = hash(token);
+        VerifiedToken cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpiredAt(Instant.now())) {
+                return cached;
+            }
+            // Not evicted yet; parse again so the caller gets the usual ExpiredJwtException
+            claimsCache.invalidate(key);
         }
 
-        return builder.signWith(currentKey, Jwts.SIG.HS256).compact();
+        VerifiedToken verified = parse(token);
+        claimsCache.put(key, verified);
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        return new VerifiedToken(resolveParser(token).parseSignedClaims(token).getPayload());
     }
 
     /** Extracts the username from the token. */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /** Extracts the token ID (jti). */
     public String extractTokenId(String token) {
-        return extractClaim(token, Claims::getId);
+        return verify(token).tokenId();
     }
 
     /** Extracts the user ID from the token. */
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get(CLAIM_USER_ID, Long.class));
+        return verify(token).userId();
     }
 
     /** Extracts the user role from the token. */
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return verify(token).role();
     }
 
     /** Extracts the token type (access/refresh). */
     public String extractTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("type", String.class));
+        return verify(token).tokenType();
+    }
+
+    /** Extracts the issue date from the token. */
+    public Instant extractIssuedAt(String token) {
+        return verify(token).issuedAt();
     }
 
     /** Extracts the expiration date from the token. */
     public Instant extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration).toInstant();
+        return verify(token).expiration();
     }
 
     /** Extracts a specific claim from the token. */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    /** Extracts all claims from the token. */
-    private Claims extractAllClaims(String token) {
-        SecretKey key = resolveSigningKey(token);
-        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return claimsResolver.apply(verify(token).claims());
     }
 
     /**
-     * Resolves the correct signing key for the token.
+     * Resolves the parser for the key that signed the token.
      *
-     * <p>If rotation is enabled, looks up the 'kid' in the header and uses the corresponding key
-     * from the registry. If there is no 'kid' or rotation is disabled, uses the current key.
+     * <p>If rotation is enabled, looks up the 'kid' in the header and uses the parser of the
+     * corresponding key from the registry. If there is no 'kid' or rotation is disabled, uses the
+     * current key.
      */
-    private SecretKey resolveSigningKey(String token) {
+    private JwtParser resolveParser(String token) {
         if (!rotationEnabled) {
-            return currentKey;
+            return currentParser;
         }
 
         try {
             // Parse only the header without verifying signature to get kid
             String[] parts = token.split("\\.");
             if (parts.length < 2) {
-                return currentKey;
+                return currentParser;
             }
 
             String headerJson =
@@ -222,15 +289,16 @@ public class JwtService {
 
             // Extract kid from header JSON simply
             String kid = extractKidFromHeader(headerJson);
-            if (kid != null && keyRegistry.containsKey(kid)) {
+            JwtParser parser = kid != null ? parsers.get(kid) : null;
+            if (parser != null) {
                 log.debug("Using key '{}' for token verification", kid);
-                return keyRegistry.get(kid);
+                return parser;
             }
         } catch (Exception e) {
             log.debug("Could not extract kid from token header: {}", e.getMessage());
         }
 
-        return currentKey;
+        return currentParser;
     }
 
     /** Extracts the kid from header JSON using JsonMapper. */
@@ -248,26 +316,49 @@ public class JwtService {
     /** Validates if the token is valid for the given user. Includes blacklist verification. */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            final String tokenId = extractTokenId(token);
-
-            // Verify blacklist
-            if (blacklistService.isBlacklisted(tokenId)) {
-                log.debug("Token {} is blacklisted", tokenId);
-                return false;
-            }
-
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return isTokenValid(verify(token), userDetails);
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid token: {}", e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Validates already verified claims for the given user. Includes blacklist verification, which
+     * is never cached.
+     */
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        final String tokenId = token.tokenId();
+
+        // Verify blacklist
+        if (blacklistService.isRevoked(tokenId, token.subject(), token.issuedAt())) {
+            log.debug("Token {} is blacklisted", tokenId);
+            return false;
+        }
+
+        return token.subject().equals(userDetails.getUsername())
+                && !token.isExpiredAt(Instant.now());
+    }
+
+    /**
+     * Validates already verified claims without a user, for stateless authentication. Includes
+     * blacklist verification, which is never cached.
+     */
+    public boolean isTokenValid(VerifiedToken token) {
+        final String tokenId = token.tokenId();
+
+        if (blacklistService.isRevoked(tokenId, token.subject(), token.issuedAt())) {
+            log.debug("Token {} is blacklisted", tokenId);
+            return false;
+        }
+
+        return token.subject() != null && !token.isExpiredAt(Instant.now());
+    }
+
     /** Checks if the token is expired. */
     public boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).isBefore(Instant.now());
+            return verify(token).isExpiredAt(Instant.now());
         } catch (ExpiredJwtException _) {
             return true;
         }
@@ -275,12 +366,12 @@ public class JwtService {
 
     /** Checks if the token is an access token. */
     public boolean isAccessToken(String token) {
-        return "access".equals(extractTokenType(token));
+        return verify(token).isAccessToken();
     }
 
     /** Checks if the token is a refresh token. */
     public boolean isRefreshToken(String token) {
-        return "refresh".equals(extractTokenType(token));
+        return verify(token).isRefreshToken();
     }
 
     /**
@@ -289,8 +380,7 @@ public class JwtService {
      */
     public boolean isTokenStructureValid(String token) {
         try {
-            SecretKey key = resolveSigningKey(token);
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid token structure: {}", e.getMessage());
@@ -301,8 +391,7 @@ public class JwtService {
     /** Extracts claims from a potentially expired token. Useful for refresh tokens. */
     public Claims extractClaimsIgnoringExpiration(String token) {
         try {
-            SecretKey key = resolveSigningKey(token);
-            return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+            return verify(token).claims();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -317,6 +406,25 @@ public class JwtService {
         return currentKeyId;
     }
 
+    /**
+     * Gets the algorithm used to sign new tokens (HS256, ES256 or EdDSA).
+     *
+     * @return the JWS algorithm name
+     */
+    public String getSigningAlgorithm() {
+        return signingKeys.algorithm();
+    }
+
+    /**
+     * Gets the public verification keys as a JWK Set, for other services to verify tokens without
+     * the shared secret. Empty when tokens are signed with HS256.
+     *
+     * @return the JWK Set, ready to serialize as JSON
+     */
+    public Map<String, Object> getJwks() {
+        return signingKeys.jwks();
+    }
+
     /**
      * Checks if key rotation is enabled.
      *
@@ -334,4 +442,45 @@ public class JwtService {
     public int getRegisteredKeyCount() {
         return keyRegistry.size();
     }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of()
+                    .formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Keeps verified claims until the token's own expiration. */
+    private static final class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        private static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Instant expiration = token.expiration();
+            if (expiration == null) {
+                return NO_EXPIRATION;
+            }
+            try {
+                return Math.max(0, Duration.between(Instant.now(), expiration).toNanos());
+            } catch (ArithmeticException _) {
+                return NO_EXPIRATION;
+            }
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
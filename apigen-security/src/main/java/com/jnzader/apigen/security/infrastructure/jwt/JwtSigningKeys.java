@@ -0,0 +1,262 @@
+package com.jnzader.apigen.security.infrastructure.jwt;
+
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.JwtProperties;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.PreviousKey;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.SecretKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keys used to sign and verify JWTs.
+ *
+ * <p>With {@code HS256} tokens are signed and verified with the shared secret. With {@code ES256}
+ * (P-256) or {@code EdDSA} (Ed25519) they are signed with a private key and verified with the
+ * public keys, which are published as a JWKS so other services can verify tokens without the
+ * secret. Asymmetric tokens always carry a {@code kid} header so verifiers can pick the key.
+ *
+ * <p>Keys are read from PEM ({@code PKCS#8} private keys, {@code X.509} public keys). If no
+ * asymmetric key pair is configured, one is generated at startup; tokens then stop verifying after
+ * a restart and across nodes, so this is only suitable for development.
+ */
+final class JwtSigningKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+    static final String HS256 = "HS256";
+    static final String ES256 = "ES256";
+    static final String EDDSA = "EdDSA";
+
+    /** DER prefix of an X.509 Ed25519 public key; the raw 32-byte key follows it. */
+    private static final int ED25519_X509_PREFIX_LENGTH = 12;
+
+    private static final int P256_COORDINATE_BYTES = 32;
+
+    private final String algorithm;
+    private final String currentKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+
+    private JwtSigningKeys(
+            String algorithm,
+            String currentKeyId,
+            Key signingKey,
+            Map<String, Key> verificationKeys) {
+        this.algorithm = algorithm;
+        this.currentKeyId = currentKeyId;
+        this.signingKey = signingKey;
+        this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+    }
+
+    /**
+     * Loads the keys from the JWT properties.
+     *
+     * @param jwt the properties
+     * @return the keys
+     * @throws IllegalStateException if the algorithm is unknown or a key cannot be read
+     */
+    static JwtSigningKeys from(JwtProperties jwt) {
+        String algorithm = normalize(jwt.getAlgorithm());
+        String currentKeyId = jwt.getKeyRotation().getCurrentKeyId();
+        boolean rotation = jwt.getKeyRotation().isEnabled();
+        Map<String, Key> verificationKeys = new LinkedHashMap<>();
+
+        if (HS256.equals(algorithm)) {
+            SecretKey key = hmacKey(jwt.getSecret());
+            verificationKeys.put(currentKeyId, key);
+            if (rotation) {
+                for (PreviousKey previous : jwt.getKeyRotation().getPreviousSecrets()) {
+                    if (previous.getId() != null && previous.getSecret() != null) {
+                        verificationKeys.put(previous.getId(), hmacKey(previous.getSecret()));
+                    }
+                }
+            }
+            return new JwtSigningKeys(algorithm, currentKeyId, key, verificationKeys);
+        }
+
+        KeyPair current = loadKeyPair(algorithm, jwt.getPrivateKey(), jwt.getPublicKey());
+        verificationKeys.put(currentKeyId, current.getPublic());
+        if (rotation) {
+            for (PreviousKey previous : jwt.getKeyRotation().getPreviousSecrets()) {
+                if (previous.getId() != null && previous.getPublicKey() != null) {
+                    verificationKeys.put(
+                            previous.getId(), publicKey(algorithm, previous.getPublicKey()));
+                }
+            }
+        }
+        return new JwtSigningKeys(algorithm, currentKeyId, current.getPrivate(), verificationKeys);
+    }
+
+    String algorithm() {
+        return algorithm;
+    }
+
+    boolean isAsymmetric() {
+        return !HS256.equals(algorithm);
+    }
+
+    String currentKeyId() {
+        return currentKeyId;
+    }
+
+    /** Verification keys by key ID, the current key first. */
+    Map<String, Key> verificationKeys() {
+        return verificationKeys;
+    }
+
+    /** Signs the token with the current key. */
+    String sign(JwtBuilder builder, boolean withKeyId) {
+        if (withKeyId || isAsymmetric()) {
+            builder.header().keyId(currentKeyId).and();
+        }
+        return switch (algorithm) {
+            case ES256 -> builder.signWith((PrivateKey) signingKey, Jwts.SIG.ES256).compact();
+            case EDDSA -> builder.signWith((PrivateKey) signingKey, Jwts.SIG.EdDSA).compact();
+            default -> builder.signWith((SecretKey) signingKey, Jwts.SIG.HS256).compact();
+        };
+    }
+
+    /** Builds a parser that verifies with the given key. */
+    static JwtParser parser(Key key) {
+        return key instanceof PublicKey publicKey
+                ? Jwts.parser().verifyWith(publicKey).build()
+                : Jwts.parser().verifyWith((SecretKey) key).build();
+    }
+
+    /**
+     * Returns the public keys as a JWK Set (RFC 7517); empty for {@code HS256}, whose key must not
+     * be published.
+     */
+    Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        if (isAsymmetric()) {
+            verificationKeys.forEach((kid, key) -> keys.add(jwk(kid, (PublicKey) key)));
+        }
+        return Map.of("keys", keys);
+    }
+
+    private Map<String, Object> jwk(String kid, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        if (key instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", encoder.encodeToString(unsigned(ec.getW().getAffineX())));
+            jwk.put("y", encoder.encodeToString(unsigned(ec.getW().getAffineY())));
+        } else {
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put(
+                    "x",
+                    encoder.encodeToString(
+                            Arrays.copyOfRange(
+                                    encoded, ED25519_X509_PREFIX_LENGTH, encoded.length)));
+        }
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        return jwk;
+    }
+
+    private static byte[] unsigned(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_BYTES];
+        int length = Math.min(bytes.length, P256_COORDINATE_BYTES);
+        System.arraycopy(
+                bytes, bytes.length - length, fixed, P256_COORDINATE_BYTES - length, length);
+        return fixed;
+    }
+
+    private static String normalize(String algorithm) {
+        if (algorithm == null || algorithm.isBlank() || HS256.equalsIgnoreCase(algorithm)) {
+            return HS256;
+        }
+        if (ES256.equalsIgnoreCase(algorithm)) {
+            return ES256;
+        }
+        if (EDDSA.equalsIgnoreCase(algorithm) || "Ed25519".equalsIgnoreCase(algorithm)) {
+            return EDDSA;
+        }
+        throw new IllegalStateException(
+                "Unsupported JWT algorithm: " + algorithm + " (expected HS256, ES256 or EdDSA)");
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeyPair loadKeyPair(String algorithm, String privatePem, String publicPem) {
+        if (privatePem == null || privatePem.isBlank()) {
+            log.warn(
+                    "No {} key pair configured (apigen.security.jwt.private-key/public-key);"
+                            + " generating an ephemeral one. Tokens will not survive a restart.",
+                    algorithm);
+            return generate(algorithm);
+        }
+        try {
+            PrivateKey privateKey =
+                    keyFactory(algorithm).generatePrivate(new PKCS8EncodedKeySpec(pem(privatePem)));
+            return new KeyPair(publicKey(algorithm, publicPem), privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " private key", e);
+        }
+    }
+
+    private static PublicKey publicKey(String algorithm, String publicPem) {
+        if (publicPem == null || publicPem.isBlank()) {
+            throw new IllegalStateException(
+                    "apigen.security.jwt.public-key is required with a " + algorithm + " key");
+        }
+        try {
+            return keyFactory(algorithm).generatePublic(new X509EncodedKeySpec(pem(publicPem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " public key", e);
+        }
+    }
+
+    private static KeyPair generate(String algorithm) {
+        try {
+            if (ES256.equals(algorithm)) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                return generator.generateKeyPair();
+            }
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key pair", e);
+        }
+    }
+
+    private static KeyFactory keyFactory(String algorithm) throws GeneralSecurityException {
+        return KeyFactory.getInstance(ES256.equals(algorithm) ? "EC" : "Ed25519");
+    }
+
+    private static byte[] pem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,107 @@
+package com.jnzader.apigen.security.infrastructure.jwt;
+
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Claims of a JWT whose signature has been verified.
+ *
+ * <p>Returned by {@link JwtService#verify(String)}, which verifies and decodes a token once so
+ * callers can read every claim they need without parsing the token again. The claims are
+ * immutable, so instances are shared through the verified-claims cache.
+ *
+ * @param claims the verified claims
+ */
+public record VerifiedToken(Claims claims) {
+
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TYPE = "type";
+    static final String CLAIM_AUTHORITIES = "authorities";
+    static final String TYPE_ACCESS = "access";
+    static final String TYPE_REFRESH = "refresh";
+
+    public VerifiedToken {
+        Objects.requireNonNull(claims, "claims");
+    }
+
+    /** The subject (username). */
+    public String subject() {
+        return claims.getSubject();
+    }
+
+    /** The token ID (jti). */
+    public String tokenId() {
+        return claims.getId();
+    }
+
+    /** The user ID. */
+    public Long userId() {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
+
+    /**
+     * A claim as a string.
+     *
+     * @param name the claim name
+     * @return the value, or {@code null} if the claim is absent or not a string
+     */
+    public String stringClaim(String name) {
+        return claims.get(name) instanceof String value ? value : null;
+    }
+
+    /** The user role. */
+    public String role() {
+        return claims.get(CLAIM_ROLE, String.class);
+    }
+
+    /**
+     * The authorities carried by a stateless access token.
+     *
+     * @return the authority names, or {@code null} if the token does not carry them
+     */
+    public List<String> authorities() {
+        Object authorities = claims.get(CLAIM_AUTHORITIES);
+        if (!(authorities instanceof Collection<?> values)) {
+            return null;
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
+
+    /** The token type (access/refresh). */
+    public String tokenType() {
+        return claims.get(CLAIM_TYPE, String.class);
+    }
+
+    /** The issue instant (iat), or {@code null} if the token does not carry it. */
+    public Instant issuedAt() {
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.toInstant() : null;
+    }
+
+    /** The expiration instant, or {@code null} if the token does not expire. */
+    public Instant expiration() {
+        Date expiration = claims.getExpiration();
+        return expiration != null ? expiration.toInstant() : null;
+    }
+
+    /** Checks if the token is an access token. */
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(tokenType());
+    }
+
+    /** Checks if the token is a refresh token. */
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(tokenType());
+    }
+
+    /** Checks if the token has expired at the given instant. */
+    public boolean isExpiredAt(Instant now) {
+        Instant expiration = expiration();
+        return expiration != null && expiration.isBefore(now);
+    }
+}
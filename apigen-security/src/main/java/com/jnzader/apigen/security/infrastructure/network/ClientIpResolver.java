@@ -1,5 +1,6 @@
 package com.jnzader.apigen.security.infrastructure.network;
 
+import com.jnzader.apigen.core.infrastructure.filter.ClientAddressResolver;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.TrustedProxiesProperties;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.TrustedProxiesProperties.TrustMode;
@@ -34,7 +35,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @ConditionalOnProperty(name = "apigen.security.enabled", havingValue = "true")
-public class ClientIpResolver {
+public class ClientIpResolver implements ClientAddressResolver {
 
     private static final Logger log = LoggerFactory.getLogger(ClientIpResolver.class);
     private static final String UNKNOWN = "unknown";
@@ -70,6 +71,7 @@ public class ClientIpResolver {
      * @param request HTTP request
      * @return IP del cliente real o la IP directa si no hay proxy de confianza
      */
+    @Override
     public String resolveClientIp(HttpServletRequest request) {
         String remoteAddr = request.getRemoteAddr();
 
@@ -2,6 +2,7 @@ package com.jnzader.apigen.security.infrastructure.ratelimit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jnzader.apigen.core.infrastructure.exception.ProblemDetail;
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.RateLimitProperties.TierConfig;
 import com.jnzader.apigen.security.infrastructure.network.ClientIpResolver;
@@ -18,8 +19,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
@@ -46,9 +45,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
  *   <li>X-RateLimit-Tier: Current user tier (if tiers enabled)
  *   <li>Retry-After: Seconds to wait (only on 429)
  * </ul>
+ *
+ * <p>Runs inside the security filter chain in two steps; it is not registered as a servlet filter
+ * of its own. The per-IP limit ({@link #preAuthentication()}) runs before the authentication
+ * filter, so floods of garbage tokens are rejected before any signature check or user lookup. The
+ * tier limit runs right after the authentication filter, so the tier is resolved for the
+ * authenticated user. With tiers enabled both apply: the per-IP limit is a ceiling for everything
+ * behind one address, so it has to be sized above the highest tier expected from a single IP. The
+ * client IP and the resolved tier are read from, and stored in, the {@link RequestAuthContext}, so
+ * they are worked out once per request however many components need them.
  */
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE + 2)
 @ConditionalOnProperty(
         name = "apigen.security.rate-limit.enabled",
         havingValue = "true",
@@ -66,6 +73,7 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
     private final ClientIpResolver clientIpResolver;
     private final RateLimitTierResolver tierResolver;
     private final ObjectMapper objectMapper;
+    private final PreAuthenticationFilter preAuthenticationFilter = new PreAuthenticationFilter();
 
     public ApiRateLimitFilter(
             RateLimitService rateLimitService,
@@ -86,24 +94,52 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
                 mode);
     }
 
+    /**
+     * Returns the per-IP step of this filter, to be placed before the authentication filter.
+     *
+     * @return the filter applying the IP-based limits
+     */
+    public OncePerRequestFilter preAuthentication() {
+        return preAuthenticationFilter;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Skip rate limiting for static resources and actuator health
-        if (shouldSkipRateLimiting(request)) {
+        // The IP-based limit already ran before authentication; only tiers need the user
+        if (shouldSkipRateLimiting(request) || !isTierBased()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String clientIp = getClientIp(request);
+        RequestAuthContext context = RequestAuthContext.of(request, clientIpResolver);
+        handleTierBasedRateLimiting(request, response, filterChain, context);
+    }
 
-        // Use tier-based rate limiting if enabled
-        if (rateLimitService.isTiersEnabled() && tierResolver != null) {
-            handleTierBasedRateLimiting(request, response, filterChain, clientIp);
-        } else {
-            handleIpBasedRateLimiting(request, response, filterChain, clientIp);
+    private boolean isTierBased() {
+        return rateLimitService.isTiersEnabled() && tierResolver != null;
+    }
+
+    /** Per-IP limit, cheap enough to run before the request is authenticated. */
+    private final class PreAuthenticationFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(
+                HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain)
+                throws ServletException, IOException {
+
+            // Skip rate limiting for static resources and actuator health
+            if (shouldSkipRateLimiting(request)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            String clientIp = RequestAuthContext.of(request, clientIpResolver).getClientIp();
+            handleIpBasedRateLimiting(request, response, filterChain, clientIp, !isTierBased());
         }
     }
 
@@ -111,12 +147,13 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain,
-            String clientIp)
+            RequestAuthContext context)
             throws ServletException, IOException {
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        RateLimitTier tier = tierResolver.resolve(authentication, request);
-        String userIdentifier = tierResolver.getUserIdentifier(authentication, clientIp);
+        RateLimitTier tier = resolveTier(context, authentication, request);
+        String userIdentifier =
+                tierResolver.getUserIdentifier(authentication, context.getClientIp());
 
         ConsumptionProbe probe =
                 rateLimitService.tryConsumeForTierAndReturnRemaining(userIdentifier, tier);
@@ -142,7 +179,8 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain,
-            String clientIp)
+            String clientIp,
+            boolean reportHeaders)
             throws ServletException, IOException {
 
         boolean isAuthEndpoint = isAuthEndpoint(request);
@@ -150,8 +188,10 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
         ConsumptionProbe probe =
                 rateLimitService.tryConsumeAndReturnRemaining(clientIp, isAuthEndpoint);
 
-        // Add rate limit headers
-        addRateLimitHeaders(response, probe, isAuthEndpoint);
+        // Add rate limit headers, unless the tier limit reports its own further down the chain
+        if (reportHeaders || !probe.isConsumed()) {
+            addRateLimitHeaders(response, probe, isAuthEndpoint);
+        }
 
         if (probe.isConsumed()) {
             filterChain.doFilter(request, response);
@@ -166,6 +206,23 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Returns the tier already recorded in the context (e.g. from the verified token claims), or
+     * resolves it and records it for the rest of the request.
+     */
+    private RateLimitTier resolveTier(
+            RequestAuthContext context,
+            Authentication authentication,
+            HttpServletRequest request) {
+        String known = context.getTier();
+        if (known != null) {
+            return RateLimitTier.fromString(known);
+        }
+        RateLimitTier tier = tierResolver.resolve(authentication, request);
+        context.setTier(tier.getName());
+        return tier;
+    }
+
     private boolean shouldSkipRateLimiting(HttpServletRequest request) {
         String uri = request.getRequestURI();
         return uri.startsWith("/actuator/health")
@@ -191,10 +248,6 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
                         || uri.contains("/auth/refresh"));
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        return clientIpResolver.resolveClientIp(request);
-    }
-
     private void addRateLimitHeaders(
             HttpServletResponse response, ConsumptionProbe probe, boolean isAuthEndpoint) {
         SecurityProperties.RateLimitProperties config = securityProperties.getRateLimit();
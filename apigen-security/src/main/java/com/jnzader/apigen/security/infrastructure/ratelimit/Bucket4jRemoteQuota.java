@@ -0,0 +1,49 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link RemoteQuota} over Bucket4j proxy buckets. With Lettuce the asynchronous calls share one
+ * connection and are pipelined, so background reservations and releases do not add round trips to
+ * the request path.
+ */
+final class Bucket4jRemoteQuota implements RemoteQuota {
+
+    private final ProxyManager<String> proxyManager;
+
+    Bucket4jRemoteQuota(ProxyManager<String> proxyManager) {
+        this.proxyManager = proxyManager;
+    }
+
+    @Override
+    public long reserve(String key, Supplier<BucketConfiguration> configuration, long tokens) {
+        return proxyManager
+                .builder()
+                .build(key, configuration)
+                .tryConsumeAsMuchAsPossible(tokens);
+    }
+
+    @Override
+    public CompletableFuture<Long> reserveAsync(
+            String key, Supplier<BucketConfiguration> configuration, long tokens) {
+        return asyncBucket(key, configuration).tryConsumeAsMuchAsPossible(tokens);
+    }
+
+    @Override
+    public CompletableFuture<Void> release(
+            String key, Supplier<BucketConfiguration> configuration, long tokens) {
+        return asyncBucket(key, configuration).addTokens(tokens);
+    }
+
+    private AsyncBucketProxy asyncBucket(
+            String key, Supplier<BucketConfiguration> configuration) {
+        return proxyManager
+                .asAsync()
+                .builder()
+                .build(key, () -> CompletableFuture.completedFuture(configuration.get()));
+    }
+}
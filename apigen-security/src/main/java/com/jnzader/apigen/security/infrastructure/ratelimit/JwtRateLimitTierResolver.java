@@ -1,6 +1,8 @@
 package com.jnzader.apigen.security.infrastructure.ratelimit;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -49,9 +51,9 @@ public class JwtRateLimitTierResolver implements RateLimitTierResolver {
 
     private static final Logger log = LoggerFactory.getLogger(JwtRateLimitTierResolver.class);
 
-    private static final String TIER_CLAIM = "tier";
-    private static final String SUBSCRIPTION_CLAIM = "subscription";
-    private static final String PLAN_CLAIM = "plan";
+    /** Claims checked for the tier, in order: 'tier', 'subscription', 'plan'. */
+    private static final List<String> TIER_CLAIMS = List.of("tier", "subscription", "plan");
+
     private static final String ROLE_TIER_PREFIX = "ROLE_TIER_";
 
     @Override
@@ -85,24 +87,27 @@ public class JwtRateLimitTierResolver implements RateLimitTierResolver {
     }
 
     private RateLimitTier resolveFromJwt(Jwt jwt) {
-        // Check 'tier' claim
-        String tier = jwt.getClaimAsString(TIER_CLAIM);
-        if (tier != null && !tier.isBlank()) {
-            return RateLimitTier.fromString(tier);
-        }
-
-        // Check 'subscription' claim
-        String subscription = jwt.getClaimAsString(SUBSCRIPTION_CLAIM);
-        if (subscription != null && !subscription.isBlank()) {
-            return RateLimitTier.fromString(subscription);
-        }
+        String tier = tierClaim(jwt::getClaimAsString);
+        return tier != null ? RateLimitTier.fromString(tier) : null;
+    }
 
-        // Check 'plan' claim
-        String plan = jwt.getClaimAsString(PLAN_CLAIM);
-        if (plan != null && !plan.isBlank()) {
-            return RateLimitTier.fromString(plan);
+    /**
+     * Returns the first non-blank tier claim ('tier', 'subscription' or 'plan').
+     *
+     * <p>Also used by the JWT authentication filter to record the tier in the request's {@link
+     * com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext} while it holds the verified
+     * claims, so the rate limit filter does not have to extract them again.
+     *
+     * @param claims looks up a claim by name, returning null if absent
+     * @return the claim value, or null if the token has none
+     */
+    public static String tierClaim(Function<String, String> claims) {
+        for (String name : TIER_CLAIMS) {
+            String value = claims.apply(name);
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
         }
-
         return null;
     }
 
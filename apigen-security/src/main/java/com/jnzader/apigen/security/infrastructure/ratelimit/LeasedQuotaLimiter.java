@@ -0,0 +1,229 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rate limiter that serves requests from tokens leased in batches from shared buckets.
+ *
+ * <p>Instead of one round trip to the shared bucket per request, each node reserves up to {@code
+ * leaseSize} tokens per key and consumes them locally. When a lease runs low the next batch is
+ * reserved in the background; when it is empty the request waits for a new reservation. Tokens
+ * still unused when a lease expires ({@code leaseTtl} after its last reservation) or is evicted are
+ * given back asynchronously.
+ *
+ * <p>Because tokens are taken from the shared bucket before they are handed out, the limit is
+ * never exceeded. The cost of a lease is fairness: tokens held by one node are unavailable to the
+ * others until used or given back, so close to the limit a client may be rejected by one node
+ * while another still holds tokens for it. Larger leases mean fewer round trips and more of that
+ * skew; a shorter TTL returns idle reservations sooner. The remaining-token count reported in the
+ * probe is the node's lease, not the shared bucket.
+ */
+final class LeasedQuotaLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedQuotaLimiter.class);
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 2;
+
+    private final RemoteQuota remote;
+    private final long leaseSize;
+    private final long prefetchThreshold;
+    private final long leaseTtlNanos;
+    private final Cache<String, Lease> leases;
+
+    LeasedQuotaLimiter(RemoteQuota remote, long leaseSize, Duration leaseTtl, long maxKeys) {
+        this.remote = remote;
+        this.leaseSize = leaseSize;
+        this.prefetchThreshold = leaseSize / 4;
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.leases =
+                Caffeine.newBuilder()
+                        .maximumSize(maxKeys)
+                        .expireAfterAccess(leaseTtl)
+                        .scheduler(Scheduler.systemScheduler())
+                        // Releases are asynchronous already; run the listener inline
+                        .executor(Runnable::run)
+                        .<String, Lease>removalListener(
+                                (key, lease, cause) -> {
+                                    if (lease != null) {
+                                        lease.retire();
+                                    }
+                                })
+                        .build();
+    }
+
+    /**
+     * Consumes one token for the key, from the local lease when possible.
+     *
+     * @param key shared bucket key
+     * @param configuration configuration of the shared bucket, used if it does not exist yet
+     * @return the consumption result
+     */
+    ConsumptionProbe tryConsume(String key, Supplier<BucketConfiguration> configuration) {
+        while (true) {
+            Lease lease = leases.get(key, k -> new Lease(k, configuration));
+            ConsumptionProbe probe = lease.tryConsume();
+            if (probe != null) {
+                return probe;
+            }
+            // The lease was evicted while in use; a fresh one replaces it
+            leases.asMap().remove(key, lease);
+        }
+    }
+
+    /** Gives every unused leased token back, waiting briefly for the releases to complete. */
+    void close() {
+        List<CompletableFuture<Void>> releases = new ArrayList<>();
+        leases.asMap().values().forEach(lease -> releases.add(lease.retire()));
+        leases.invalidateAll();
+        try {
+            CompletableFuture.allOf(releases.toArray(CompletableFuture[]::new))
+                    .get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not return all leased rate-limit tokens: {}", e.getMessage());
+        }
+    }
+
+    /** Tokens currently leased for the key on this node. */
+    long leasedTokens(String key) {
+        Lease lease = leases.getIfPresent(key);
+        return lease != null ? Math.max(lease.tokens.get(), 0) : 0;
+    }
+
+    /** Tokens leased for one key. */
+    private final class Lease {
+
+        private final String key;
+        private final Supplier<BucketConfiguration> configuration;
+        private final long nanosPerToken;
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicBoolean prefetching = new AtomicBoolean();
+        private final AtomicBoolean retired = new AtomicBoolean();
+        private volatile long expiresAt;
+        private volatile long deniedUntil;
+
+        private Lease(String key, Supplier<BucketConfiguration> configuration) {
+            this.key = key;
+            this.configuration = configuration;
+            Bandwidth bandwidth = configuration.get().getBandwidths()[0];
+            this.nanosPerToken =
+                    Math.max(1, bandwidth.getRefillPeriodNanos() / bandwidth.getRefillTokens());
+            long now = System.nanoTime();
+            this.expiresAt = now;
+            this.deniedUntil = now;
+        }
+
+        /** Returns {@code null} if the lease has been retired. */
+        private ConsumptionProbe tryConsume() {
+            if (System.nanoTime() - expiresAt < 0) {
+                long left = take();
+                if (left >= 0) {
+                    prefetchIfLow(left);
+                    return ConsumptionProbe.consumed(left, 0);
+                }
+            }
+            return renew();
+        }
+
+        private synchronized ConsumptionProbe renew() {
+            if (retired.get()) {
+                return null;
+            }
+            long now = System.nanoTime();
+            if (now - expiresAt < 0) {
+                // Another thread may have renewed the lease while this one waited
+                long left = take();
+                if (left >= 0) {
+                    return ConsumptionProbe.consumed(left, 0);
+                }
+            } else {
+                releaseUnused();
+            }
+            if (now - deniedUntil < 0) {
+                // The shared bucket was empty moments ago: don't ask again for every request
+                long wait = deniedUntil - now;
+                return ConsumptionProbe.rejected(0, wait, wait);
+            }
+
+            long granted = remote.reserve(key, configuration, leaseSize);
+            if (granted == 0) {
+                deniedUntil = now + nanosPerToken;
+                return ConsumptionProbe.rejected(0, nanosPerToken, nanosPerToken);
+            }
+            expiresAt = System.nanoTime() + leaseTtlNanos;
+            return ConsumptionProbe.consumed(tokens.addAndGet(granted - 1), 0);
+        }
+
+        /** Takes one token; returns the tokens left, or -1 if there were none. */
+        private long take() {
+            while (true) {
+                long current = tokens.get();
+                if (current <= 0) {
+                    return -1;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return current - 1;
+                }
+            }
+        }
+
+        private void prefetchIfLow(long left) {
+            if (left > prefetchThreshold || !prefetching.compareAndSet(false, true)) {
+                return;
+            }
+            remote.reserveAsync(key, configuration, leaseSize)
+                    .whenComplete(
+                            (granted, error) -> {
+                                if (error != null) {
+                                    log.debug("Could not prefetch tokens for {}", key, error);
+                                } else if (granted > 0) {
+                                    if (retired.get()) {
+                                        remote.release(key, configuration, granted);
+                                    } else {
+                                        tokens.addAndGet(granted);
+                                        expiresAt = System.nanoTime() + leaseTtlNanos;
+                                    }
+                                }
+                                prefetching.set(false);
+                            });
+        }
+
+        private CompletableFuture<Void> releaseUnused() {
+            long unused = tokens.getAndSet(0);
+            if (unused <= 0) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return remote.release(key, configuration, unused)
+                    .exceptionally(
+                            error -> {
+                                log.debug("Could not return {} tokens for {}", unused, key, error);
+                                return null;
+                            });
+        }
+
+        private CompletableFuture<Void> retire() {
+            if (!retired.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            synchronized (this) {
+                return releaseUnused();
+            }
+        }
+    }
+}
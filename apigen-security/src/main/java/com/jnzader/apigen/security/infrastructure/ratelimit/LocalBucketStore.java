@@ -0,0 +1,88 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.util.function.Supplier;
+
+/**
+ * Bounded store of {@link LocalTokenBucket}s, split into shards by key hash.
+ *
+ * <p>Each shard is a size-bounded Caffeine cache, so a flood of distinct keys (an IP spray) evicts
+ * buckets instead of growing the heap, and the eviction bookkeeping of one shard does not contend
+ * with the others. A bucket expires once it has been idle for its full refill time: by then it
+ * would be full anyway, so dropping it and later creating a fresh one changes nothing for the
+ * client.
+ */
+final class LocalBucketStore {
+
+    private static final int SHARDS = 16;
+
+    private final Cache<String, LocalTokenBucket>[] shards;
+
+    @SuppressWarnings("unchecked")
+    LocalBucketStore(long maxBuckets) {
+        long perShard = Math.max(1, (maxBuckets + SHARDS - 1) / SHARDS);
+        shards = new Cache[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] =
+                    Caffeine.newBuilder()
+                            .maximumSize(perShard)
+                            .expireAfter(new IdleUntilFull())
+                            .build();
+        }
+    }
+
+    /** Returns the bucket for the key, creating it if absent. */
+    LocalTokenBucket bucket(String key, Supplier<LocalTokenBucket> factory) {
+        return shardFor(key).get(key, k -> factory.get());
+    }
+
+    /** Approximate number of buckets held. */
+    long size() {
+        long size = 0;
+        for (Cache<String, LocalTokenBucket> shard : shards) {
+            size += shard.estimatedSize();
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Cache<String, LocalTokenBucket> shard : shards) {
+            shard.invalidateAll();
+        }
+    }
+
+    void cleanUp() {
+        for (Cache<String, LocalTokenBucket> shard : shards) {
+            shard.cleanUp();
+        }
+    }
+
+    private Cache<String, LocalTokenBucket> shardFor(String key) {
+        int hash = key.hashCode();
+        // Spread the high bits, as HashMap does, before masking
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+
+    /** Expires a bucket after it has been idle for its refill time. */
+    private static final class IdleUntilFull implements Expiry<String, LocalTokenBucket> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalTokenBucket bucket, long currentTime) {
+            return bucket.getRefillNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                String key, LocalTokenBucket bucket, long currentTime, long currentDuration) {
+            return bucket.getRefillNanos();
+        }
+
+        @Override
+        public long expireAfterRead(
+                String key, LocalTokenBucket bucket, long currentTime, long currentDuration) {
+            return bucket.getRefillNanos();
+        }
+    }
+}
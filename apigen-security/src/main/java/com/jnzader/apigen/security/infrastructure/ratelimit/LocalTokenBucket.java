@@ -0,0 +1,85 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free in-memory token bucket with greedy refill, the local counterpart of a Bucket4j bucket
+ * with a single {@code refillGreedy} bandwidth.
+ *
+ * <p>The whole state is one {@code long}: the {@link System#nanoTime()} instant at which the bucket
+ * will be full again. The token count is derived from it ({@code capacity} minus the tokens still
+ * to be refilled by then), so a consumption is a single compare-and-set with no allocation and no
+ * lock, and the count and the refill timestamp can never be read inconsistently.
+ */
+final class LocalTokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long refillNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity maximum number of tokens
+     * @param refillTokens tokens added per {@code period}
+     * @param period refill period
+     */
+    LocalTokenBucket(long capacity, long refillTokens, Duration period) {
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, period.toNanos() / refillTokens);
+        this.refillNanos = capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /** Consumes one token if available. */
+    boolean tryConsume() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current - now, 0) + nanosPerToken;
+            if (next > refillNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, now + next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Consumes one token if available and reports the remaining tokens, like {@code
+     * Bucket.tryConsumeAndReturnRemaining(1)}.
+     */
+    ConsumptionProbe tryConsumeAndReturnRemaining() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long deficit = Math.max(current - now, 0);
+            long next = deficit + nanosPerToken;
+            if (next > refillNanos) {
+                return ConsumptionProbe.rejected(
+                        available(deficit), next - refillNanos, deficit);
+            }
+            if (fullAt.compareAndSet(current, now + next)) {
+                return ConsumptionProbe.consumed(available(next), next);
+            }
+        }
+    }
+
+    /** Tokens available now. */
+    long getAvailableTokens() {
+        return available(Math.max(fullAt.get() - System.nanoTime(), 0));
+    }
+
+    /** Time for an empty bucket to refill; an idle bucket is full again after this long. */
+    long getRefillNanos() {
+        return refillNanos;
+    }
+
+    private long available(long deficitNanos) {
+        return capacity - (deficitNanos + nanosPerToken - 1) / nanosPerToken;
+    }
+}
@@ -18,8 +18,6 @@ import io.lettuce.core.codec.StringCodec;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,8 +32,10 @@ import org.springframework.stereotype.Service;
  * <p>Soporta dos modos de almacenamiento:
  *
  * <ul>
- *   <li><b>in-memory</b>: Almacenamiento local con ConcurrentHashMap (single instance)
- *   <li><b>redis</b>: Almacenamiento distribuido con Redis/Lettuce (multi-instance)
+ *   <li><b>in-memory</b>: Almacenamiento local acotado, con buckets lock-free que expiran al
+ *       quedar inactivos (single instance)
+ *   <li><b>redis</b>: Almacenamiento distribuido con Redis/Lettuce (multi-instance). Con {@code
+ *       lease-size > 0} cada nodo reserva tokens en lotes y los consume localmente
  * </ul>
  *
  * <p>Uso:
@@ -59,8 +59,8 @@ public class RateLimitService {
     private final SecurityProperties securityProperties;
     private final RedisConnectionFactory redisConnectionFactory;
 
-    // In-memory storage
-    private final Map<String, Bucket> localBuckets = new ConcurrentHashMap<>();
+    // In-memory storage: bounded, sharded, idle buckets expire
+    private final LocalBucketStore localBuckets;
 
     // Redis storage - initialized once in @PostConstruct, Spring ensures visibility before use.
     // The volatile keyword provides safe publication in this write-once-read-many pattern.
@@ -73,10 +73,16 @@ public class RateLimitService {
     @SuppressWarnings("java:S3077") // Write-once pattern: set in @PostConstruct, read thereafter
     private volatile StatefulRedisConnection<String, byte[]> redisConnection;
 
+    // Leased quota over the Redis buckets; null when lease-size is 0
+    @SuppressWarnings("java:S3077") // Write-once pattern: set in @PostConstruct, read thereafter
+    private volatile LeasedQuotaLimiter leasedQuota;
+
     public RateLimitService(
             SecurityProperties securityProperties, RedisConnectionFactory redisConnectionFactory) {
         this.securityProperties = securityProperties;
         this.redisConnectionFactory = redisConnectionFactory;
+        this.localBuckets =
+                new LocalBucketStore(securityProperties.getRateLimit().getLocalMaxBuckets());
     }
 
     @PostConstruct
@@ -85,6 +91,17 @@ public class RateLimitService {
 
         if (config.isRedisMode()) {
             initRedisProxyManager();
+            if (redisProxyManager != null && config.getLeaseSize() > 0) {
+                leasedQuota =
+                        new LeasedQuotaLimiter(
+                                new Bucket4jRemoteQuota(redisProxyManager),
+                                config.getLeaseSize(),
+                                Duration.ofMillis(config.getLeaseTtlMillis()),
+                                config.getLocalMaxBuckets());
+                log.info(
+                        "Rate Limiting leases {} tokens per key from Redis",
+                        config.getLeaseSize());
+            }
             log.info(
                     "Rate Limiting initialized with Redis storage: {} req/s, burst: {}",
                     config.getRequestsPerSecond(),
@@ -99,6 +116,9 @@ public class RateLimitService {
 
     @PreDestroy
     public void cleanup() {
+        if (leasedQuota != null) {
+            leasedQuota.close();
+        }
         if (redisConnection != null) {
             redisConnection.close();
         }
@@ -170,6 +190,12 @@ public class RateLimitService {
      * @return true si se permitió el request, false si se excedió el límite
      */
     public boolean tryConsume(String key, boolean isAuthEndpoint) {
+        if (!isUsingRedis()) {
+            return resolveLocalBucket(key, isAuthEndpoint).tryConsume();
+        }
+        if (leasedQuota != null) {
+            return tryConsumeLeased(key, isAuthEndpoint).isConsumed();
+        }
         Bucket bucket = resolveBucket(key, isAuthEndpoint);
         return bucket.tryConsume(1);
     }
@@ -182,6 +208,12 @@ public class RateLimitService {
      * @return ConsumptionProbe con información de tokens restantes y tiempo de espera
      */
     public ConsumptionProbe tryConsumeAndReturnRemaining(String key, boolean isAuthEndpoint) {
+        if (!isUsingRedis()) {
+            return resolveLocalBucket(key, isAuthEndpoint).tryConsumeAndReturnRemaining();
+        }
+        if (leasedQuota != null) {
+            return tryConsumeLeased(key, isAuthEndpoint);
+        }
         Bucket bucket = resolveBucket(key, isAuthEndpoint);
         return bucket.tryConsumeAndReturnRemaining(1);
     }
@@ -194,6 +226,9 @@ public class RateLimitService {
      * @return Número de tokens disponibles
      */
     public long getAvailableTokens(String key, boolean isAuthEndpoint) {
+        if (!isUsingRedis()) {
+            return resolveLocalBucket(key, isAuthEndpoint).getAvailableTokens();
+        }
         Bucket bucket = resolveBucket(key, isAuthEndpoint);
         return bucket.getAvailableTokens();
     }
@@ -208,6 +243,12 @@ public class RateLimitService {
      * @return true si se permitió el request, false si se excedió el límite
      */
     public boolean tryConsumeForTier(String userIdentifier, RateLimitTier tier) {
+        if (!isUsingRedis()) {
+            return resolveLocalTierBucket(userIdentifier, tier).tryConsume();
+        }
+        if (leasedQuota != null) {
+            return tryConsumeLeasedForTier(userIdentifier, tier).isConsumed();
+        }
         Bucket bucket = resolveTierBucket(userIdentifier, tier);
         return bucket.tryConsume(1);
     }
@@ -221,6 +262,12 @@ public class RateLimitService {
      */
     public ConsumptionProbe tryConsumeForTierAndReturnRemaining(
             String userIdentifier, RateLimitTier tier) {
+        if (!isUsingRedis()) {
+            return resolveLocalTierBucket(userIdentifier, tier).tryConsumeAndReturnRemaining();
+        }
+        if (leasedQuota != null) {
+            return tryConsumeLeasedForTier(userIdentifier, tier);
+        }
         Bucket bucket = resolveTierBucket(userIdentifier, tier);
         return bucket.tryConsumeAndReturnRemaining(1);
     }
@@ -233,6 +280,9 @@ public class RateLimitService {
      * @return Número de tokens disponibles
      */
     public long getAvailableTokensForTier(String userIdentifier, RateLimitTier tier) {
+        if (!isUsingRedis()) {
+            return resolveLocalTierBucket(userIdentifier, tier).getAvailableTokens();
+        }
         Bucket bucket = resolveTierBucket(userIdentifier, tier);
         return bucket.getAvailableTokens();
     }
@@ -256,29 +306,36 @@ public class RateLimitService {
         return securityProperties.getRateLimit().isTiersEnabled();
     }
 
-    private Bucket resolveTierBucket(String userIdentifier, RateLimitTier tier) {
-        RateLimitProperties config = securityProperties.getRateLimit();
-        String bucketKey =
-                config.getRedisKeyPrefix() + "tier:" + tier.getName() + ":" + userIdentifier;
-
-        if (config.isRedisMode() && redisProxyManager != null) {
-            return resolveRedisTierBucket(bucketKey, tier);
-        } else {
-            return resolveLocalTierBucket(bucketKey, tier);
-        }
+    private String tierBucketKey(String userIdentifier, RateLimitTier tier) {
+        return securityProperties.getRateLimit().getRedisKeyPrefix()
+                + "tier:"
+                + tier.getName()
+                + ":"
+                + userIdentifier;
     }
 
-    private Bucket resolveLocalTierBucket(String key, RateLimitTier tier) {
-        return localBuckets.computeIfAbsent(key, k -> createTierBucket(tier));
+    private Bucket resolveTierBucket(String userIdentifier, RateLimitTier tier) {
+        Supplier<BucketConfiguration> configSupplier = () -> createTierBucketConfiguration(tier);
+        return redisProxyManager
+                .builder()
+                .build(tierBucketKey(userIdentifier, tier), configSupplier);
     }
 
-    private Bucket resolveRedisTierBucket(String key, RateLimitTier tier) {
-        Supplier<BucketConfiguration> configSupplier = () -> createTierBucketConfiguration(tier);
-        return redisProxyManager.builder().build(key, configSupplier);
+    private ConsumptionProbe tryConsumeLeasedForTier(String userIdentifier, RateLimitTier tier) {
+        return leasedQuota.tryConsume(
+                tierBucketKey(userIdentifier, tier), () -> createTierBucketConfiguration(tier));
     }
 
-    private Bucket createTierBucket(RateLimitTier tier) {
-        return Bucket.builder().addLimit(createTierBandwidth(tier)).build();
+    private LocalTokenBucket resolveLocalTierBucket(String userIdentifier, RateLimitTier tier) {
+        return localBuckets.bucket(
+                tierBucketKey(userIdentifier, tier),
+                () -> {
+                    TierConfig tierConfig = getTierConfig(tier);
+                    return new LocalTokenBucket(
+                            tierConfig.getBurstCapacity(),
+                            tierConfig.getRequestsPerSecond(),
+                            Duration.ofSeconds(1));
+                });
     }
 
     private BucketConfiguration createTierBucketConfiguration(RateLimitTier tier) {
@@ -293,29 +350,38 @@ public class RateLimitService {
                 .build();
     }
 
-    private Bucket resolveBucket(String key, boolean isAuthEndpoint) {
-        RateLimitProperties config = securityProperties.getRateLimit();
-        String bucketKey = config.getRedisKeyPrefix() + (isAuthEndpoint ? "auth:" : "api:") + key;
-
-        if (config.isRedisMode() && redisProxyManager != null) {
-            return resolveRedisBucket(bucketKey, isAuthEndpoint);
-        } else {
-            return resolveLocalBucket(bucketKey, isAuthEndpoint);
-        }
-    }
-
-    private Bucket resolveLocalBucket(String key, boolean isAuthEndpoint) {
-        return localBuckets.computeIfAbsent(key, k -> createBucket(isAuthEndpoint));
+    private String bucketKey(String key, boolean isAuthEndpoint) {
+        return securityProperties.getRateLimit().getRedisKeyPrefix()
+                + (isAuthEndpoint ? "auth:" : "api:")
+                + key;
     }
 
-    private Bucket resolveRedisBucket(String key, boolean isAuthEndpoint) {
+    private Bucket resolveBucket(String key, boolean isAuthEndpoint) {
         Supplier<BucketConfiguration> configSupplier =
                 () -> createBucketConfiguration(isAuthEndpoint);
-        return redisProxyManager.builder().build(key, configSupplier);
+        return redisProxyManager.builder().build(bucketKey(key, isAuthEndpoint), configSupplier);
+    }
+
+    private ConsumptionProbe tryConsumeLeased(String key, boolean isAuthEndpoint) {
+        return leasedQuota.tryConsume(
+                bucketKey(key, isAuthEndpoint), () -> createBucketConfiguration(isAuthEndpoint));
     }
 
-    private Bucket createBucket(boolean isAuthEndpoint) {
-        return Bucket.builder().addLimit(createBandwidth(isAuthEndpoint)).build();
+    private LocalTokenBucket resolveLocalBucket(String key, boolean isAuthEndpoint) {
+        return localBuckets.bucket(
+                bucketKey(key, isAuthEndpoint),
+                () -> {
+                    RateLimitProperties config = securityProperties.getRateLimit();
+                    return isAuthEndpoint
+                            ? new LocalTokenBucket(
+                                    config.getAuthBurstCapacity(),
+                                    config.getAuthRequestsPerMinute(),
+                                    Duration.ofMinutes(1))
+                            : new LocalTokenBucket(
+                                    config.getBurstCapacity(),
+                                    config.getRequestsPerSecond(),
+                                    Duration.ofSeconds(1));
+                });
     }
 
     private BucketConfiguration createBucketConfiguration(boolean isAuthEndpoint) {
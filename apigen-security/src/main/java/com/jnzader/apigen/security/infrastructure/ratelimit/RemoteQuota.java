@@ -0,0 +1,27 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Shared token buckets that {@link LeasedQuotaLimiter} reserves batches of tokens from, normally
+ * the Redis buckets of {@link RateLimitService}.
+ */
+interface RemoteQuota {
+
+    /**
+     * Takes up to {@code tokens} tokens from the bucket, waiting for the answer.
+     *
+     * @return the number of tokens actually taken, possibly zero
+     */
+    long reserve(String key, Supplier<BucketConfiguration> configuration, long tokens);
+
+    /** Takes up to {@code tokens} tokens from the bucket without waiting. */
+    CompletableFuture<Long> reserveAsync(
+            String key, Supplier<BucketConfiguration> configuration, long tokens);
+
+    /** Gives unused tokens back to the bucket without waiting. */
+    CompletableFuture<Void> release(
+            String key, Supplier<BucketConfiguration> configuration, long tokens);
+}
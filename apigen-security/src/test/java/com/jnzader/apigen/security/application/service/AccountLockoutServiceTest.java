@@ -28,6 +28,8 @@ class AccountLockoutServiceTest {
 
     @Mock private UserRepository userRepository;
 
+    @Mock private UserDetailsCache userDetailsCache;
+
     private SecurityProperties securityProperties;
     private AccountLockoutProperties lockoutProperties;
     private AccountLockoutService lockoutService;
@@ -42,7 +44,8 @@ class AccountLockoutServiceTest {
         lockoutProperties.setResetAfterMinutes(30);
         lockoutProperties.setPermanentLockoutEnabled(false);
 
-        lockoutService = new AccountLockoutService(userRepository, securityProperties);
+        lockoutService =
+                new AccountLockoutService(userRepository, securityProperties, userDetailsCache);
     }
 
     @Nested
@@ -84,6 +87,7 @@ class AccountLockoutServiceTest {
             assertThat(savedUser.getLockoutCount()).isEqualTo(1);
             // Counter should be reset after lockout
             assertThat(savedUser.getFailedAttemptCount()).isZero();
+            verify(userDetailsCache).evict("testuser");
         }
 
         @Test
@@ -279,6 +283,7 @@ class AccountLockoutServiceTest {
             assertThat(savedUser.getFailedAttemptCount()).isZero();
             assertThat(savedUser.getLockoutCount()).isZero();
             assertThat(savedUser.isAccountNonLocked()).isTrue();
+            verify(userDetailsCache).evict("testuser");
         }
 
         @Test
@@ -52,6 +52,8 @@ class AuthServiceTest {
 
     @Mock private TokenBlacklistService tokenBlacklistService;
 
+    @Mock private UserDetailsCache userDetailsCache;
+
     @InjectMocks private AuthService authService;
 
     @Captor private ArgumentCaptor<User> userCaptor;
@@ -251,13 +253,16 @@ class AuthServiceTest {
         @DisplayName("should refresh token successfully")
         void shouldRefreshTokenSuccessfully() {
             String oldRefreshToken = "old-refresh-token";
+            Instant issuedAt = Instant.now();
             RefreshTokenRequestDTO request = new RefreshTokenRequestDTO(oldRefreshToken);
 
             when(jwtService.isRefreshToken(oldRefreshToken)).thenReturn(true);
             when(jwtService.isTokenStructureValid(oldRefreshToken)).thenReturn(true);
             when(jwtService.extractTokenId(oldRefreshToken)).thenReturn("token-id-123");
-            when(tokenBlacklistService.isBlacklisted("token-id-123")).thenReturn(false);
             when(jwtService.extractUsername(oldRefreshToken)).thenReturn("testuser");
+            when(jwtService.extractIssuedAt(oldRefreshToken)).thenReturn(issuedAt);
+            when(tokenBlacklistService.isRevoked("token-id-123", "testuser", issuedAt))
+                    .thenReturn(false);
             when(userRepository.findActiveByUsername("testuser")).thenReturn(Optional.of(testUser));
             when(jwtService.extractExpiration(oldRefreshToken))
                     .thenReturn(Instant.now().plusSeconds(3600));
@@ -317,7 +322,9 @@ class AuthServiceTest {
             when(jwtService.isRefreshToken(blacklistedToken)).thenReturn(true);
             when(jwtService.isTokenStructureValid(blacklistedToken)).thenReturn(true);
             when(jwtService.extractTokenId(blacklistedToken)).thenReturn("token-id-123");
-            when(tokenBlacklistService.isBlacklisted("token-id-123")).thenReturn(true);
+            when(jwtService.extractUsername(blacklistedToken)).thenReturn("testuser");
+            when(tokenBlacklistService.isRevoked("token-id-123", "testuser", null))
+                    .thenReturn(true);
 
             assertThatThrownBy(() -> authService.refreshToken(request))
                     .isInstanceOf(RuntimeException.class)
@@ -333,8 +340,9 @@ class AuthServiceTest {
             when(jwtService.isRefreshToken(refreshToken)).thenReturn(true);
             when(jwtService.isTokenStructureValid(refreshToken)).thenReturn(true);
             when(jwtService.extractTokenId(refreshToken)).thenReturn("token-id-123");
-            when(tokenBlacklistService.isBlacklisted("token-id-123")).thenReturn(false);
             when(jwtService.extractUsername(refreshToken)).thenReturn("deleteduser");
+            when(tokenBlacklistService.isRevoked("token-id-123", "deleteduser", null))
+                    .thenReturn(false);
             when(userRepository.findActiveByUsername("deleteduser")).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> authService.refreshToken(request))
@@ -372,11 +380,12 @@ class AuthServiceTest {
     class RevokeAllUserTokensTests {
 
         @Test
-        @DisplayName("should revoke all user tokens")
+        @DisplayName("should revoke all user tokens and evict the cached user")
         void shouldRevokeAllUserTokens() {
             authService.revokeAllUserTokens("testuser");
 
             verify(tokenBlacklistService).revokeAllUserTokens("testuser");
+            verify(userDetailsCache).evict("testuser");
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.jnzader.apigen.security.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RevocationBloomFilter Tests")
+class RevocationBloomFilterTest {
+
+    @Test
+    @DisplayName("should never report an added token as absent")
+    void shouldHaveNoFalseNegatives() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(1_000, 0.01);
+        var tokens = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        tokens.forEach(filter::put);
+
+        assertThat(tokens).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("should keep false positives near the target rate")
+    void shouldKeepFalsePositivesLow() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.put("revoked-" + i));
+
+        long falsePositives =
+                IntStream.range(0, 10_000)
+                        .filter(i -> filter.mightContain("valid-" + i))
+                        .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -7,14 +7,17 @@ import static org.mockito.Mockito.*;
 import com.jnzader.apigen.security.domain.entity.TokenBlacklist;
 import com.jnzader.apigen.security.domain.entity.TokenBlacklist.BlacklistReason;
 import com.jnzader.apigen.security.domain.repository.TokenBlacklistRepository;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -25,7 +28,7 @@ class TokenBlacklistServiceTest {
 
     @Mock private TokenBlacklistRepository repository;
 
-    @InjectMocks private TokenBlacklistService service;
+    private TokenBlacklistService service;
 
     @Captor private ArgumentCaptor<TokenBlacklist> blacklistCaptor;
 
@@ -33,6 +36,11 @@ class TokenBlacklistServiceTest {
     private static final String USERNAME = "testuser";
     private static final Instant EXPIRATION = Instant.now().plusSeconds(3600);
 
+    @BeforeEach
+    void setUp() {
+        service = new TokenBlacklistService(repository, new SecurityProperties());
+    }
+
     @Nested
     @DisplayName("Blacklist Token")
     class BlacklistTokenTests {
@@ -109,18 +117,118 @@ class TokenBlacklistServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Revocation Index")
+    class RevocationIndexTests {
+
+        @Test
+        @DisplayName("should answer unknown tokens without querying the database")
+        void shouldAnswerNegativesLocally() {
+            when(repository.findByExpirationAfter(any(Instant.class)))
+                    .thenReturn(List.of(entry(TOKEN_ID)));
+            service.syncRevocations();
+
+            for (int i = 0; i < 100; i++) {
+                service.isBlacklisted("unknown-" + i);
+            }
+
+            verify(repository, atMost(5)).existsByTokenId(anyString());
+        }
+
+        @Test
+        @DisplayName("should confirm loaded tokens against the database")
+        void shouldConfirmLoadedTokens() {
+            when(repository.findByExpirationAfter(any(Instant.class)))
+                    .thenReturn(List.of(entry(TOKEN_ID)));
+            when(repository.existsByTokenId(TOKEN_ID)).thenReturn(true);
+            service.syncRevocations();
+
+            assertThat(service.isBlacklisted(TOKEN_ID)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should answer tokens synced incrementally from the exact set")
+        void shouldAnswerRecentTokensLocally() {
+            when(repository.findByExpirationAfter(any(Instant.class))).thenReturn(List.of());
+            when(repository.findByBlacklistedAtAfter(any(Instant.class)))
+                    .thenReturn(List.of(entry(TOKEN_ID)));
+            service.syncRevocations();
+            service.syncRevocations();
+
+            assertThat(service.isBlacklisted(TOKEN_ID)).isTrue();
+            verify(repository, never()).existsByTokenId(anyString());
+        }
+
+        @Test
+        @DisplayName("should apply tokens blacklisted on this node immediately")
+        void shouldApplyLocalRevocations() {
+            when(repository.findByExpirationAfter(any(Instant.class))).thenReturn(List.of());
+            service.syncRevocations();
+            when(repository.existsByTokenId(TOKEN_ID)).thenReturn(false);
+
+            service.blacklistToken(TOKEN_ID, USERNAME, EXPIRATION, BlacklistReason.LOGOUT);
+
+            assertThat(service.isBlacklisted(TOKEN_ID)).isTrue();
+            verify(repository, times(1)).existsByTokenId(TOKEN_ID);
+        }
+
+        @Test
+        @DisplayName("should drop expired revocations when rebuilding after cleanup")
+        void shouldRebuildAfterCleanup() {
+            when(repository.findByExpirationAfter(any(Instant.class)))
+                    .thenReturn(List.of(entry(TOKEN_ID)), List.of());
+            service.syncRevocations();
+
+            service.cleanupExpiredTokens();
+
+            assertThat(service.isBlacklisted(TOKEN_ID)).isFalse();
+            verify(repository, never()).existsByTokenId(TOKEN_ID);
+        }
+    }
+
     @Nested
     @DisplayName("Revoke User Tokens")
     class RevokeUserTokensTests {
 
         @Test
-        @DisplayName("should revoke all user tokens")
+        @DisplayName("should store a single per-user rule instead of deleting rows")
         void shouldRevokeAllUserTokens() {
-            when(repository.deleteByUsername(USERNAME)).thenReturn(5);
+            when(repository.findByTokenId("user:" + USERNAME)).thenReturn(Optional.empty());
+
+            service.revokeAllUserTokens(USERNAME);
+
+            verify(repository).save(blacklistCaptor.capture());
+            TokenBlacklist rule = blacklistCaptor.getValue();
+            assertThat(rule.getTokenId()).isEqualTo("user:" + USERNAME);
+            assertThat(rule.getUsername()).isEqualTo(USERNAME);
+            assertThat(rule.getExpiration()).isAfter(rule.getBlacklistedAt());
+            verify(repository, never()).deleteByUsername(any());
+        }
+
+        @Test
+        @DisplayName("should invalidate only tokens issued before the rule")
+        void shouldInvalidateTokensIssuedBefore() {
+            when(repository.findByExpirationAfter(any(Instant.class))).thenReturn(List.of());
+            service.syncRevocations();
+            when(repository.findByTokenId("user:" + USERNAME)).thenReturn(Optional.empty());
 
             service.revokeAllUserTokens(USERNAME);
 
-            verify(repository).deleteByUsername(USERNAME);
+            Instant before = Instant.now().minusSeconds(60);
+            Instant after = Instant.now().plusSeconds(2);
+            assertThat(service.isRevoked("old-token", USERNAME, before)).isTrue();
+            assertThat(service.isRevoked("new-token", USERNAME, after)).isFalse();
+            assertThat(service.isRevoked("other-token", "otheruser", before)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should read the rule from the database before the index is loaded")
+        void shouldReadRuleBeforeLoad() {
+            TokenBlacklist rule = entry("user:" + USERNAME);
+            when(repository.findByTokenId("user:" + USERNAME)).thenReturn(Optional.of(rule));
+
+            assertThat(service.isRevoked(TOKEN_ID, USERNAME, Instant.now().minusSeconds(60)))
+                    .isTrue();
         }
     }
 
@@ -148,4 +256,8 @@ class TokenBlacklistServiceTest {
             verify(repository).deleteExpiredTokens(any(Instant.class));
         }
     }
+
+    private static TokenBlacklist entry(String tokenId) {
+        return new TokenBlacklist(tokenId, USERNAME, EXPIRATION, BlacklistReason.LOGOUT);
+    }
 }
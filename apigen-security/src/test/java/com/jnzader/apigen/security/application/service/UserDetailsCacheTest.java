@@ -0,0 +1,90 @@
+package com.jnzader.apigen.security.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetailsCache Tests")
+class UserDetailsCacheTest {
+
+    @Mock private UserDetailsService userDetailsService;
+
+    @Mock private UserDetails userDetails;
+
+    private UserDetailsCache cacheWith(int size, boolean stateless) {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getJwt().setUserCacheSize(size);
+        properties.getJwt().setStateless(stateless);
+        return new UserDetailsCache(userDetailsService, properties);
+    }
+
+    @Nested
+    @DisplayName("Enabled")
+    class EnabledTests {
+
+        @Test
+        @DisplayName("should load a user once until it is evicted")
+        void shouldCacheUntilEvicted() {
+            UserDetailsCache cache = cacheWith(100, false);
+            when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+
+            assertThat(cache.load("testuser")).isSameAs(userDetails);
+            assertThat(cache.load("testuser")).isSameAs(userDetails);
+            verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+
+            cache.evict("testuser");
+            cache.load("testuser");
+            verify(userDetailsService, times(2)).loadUserByUsername("testuser");
+        }
+
+        @Test
+        @DisplayName("should not cache missing users")
+        void shouldNotCacheMissingUsers() {
+            UserDetailsCache cache = cacheWith(100, false);
+            when(userDetailsService.loadUserByUsername("ghost"))
+                    .thenThrow(new UsernameNotFoundException("ghost"));
+
+            assertThatThrownBy(() -> cache.load("ghost"))
+                    .isInstanceOf(UsernameNotFoundException.class);
+            assertThatThrownBy(() -> cache.load("ghost"))
+                    .isInstanceOf(UsernameNotFoundException.class);
+            verify(userDetailsService, times(2)).loadUserByUsername("ghost");
+        }
+    }
+
+    @Nested
+    @DisplayName("Disabled")
+    class DisabledTests {
+
+        @Test
+        @DisplayName("should load the user every time by default")
+        void shouldNotCacheByDefault() {
+            UserDetailsCache cache = cacheWith(0, false);
+            when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+
+            cache.load("testuser");
+            cache.load("testuser");
+
+            assertThat(cache.isEnabled()).isFalse();
+            verify(userDetailsService, times(2)).loadUserByUsername("testuser");
+        }
+
+        @Test
+        @DisplayName("should not cache in stateless mode")
+        void shouldNotCacheWhenStateless() {
+            assertThat(cacheWith(100, true).isEnabled()).isFalse();
+        }
+    }
+}
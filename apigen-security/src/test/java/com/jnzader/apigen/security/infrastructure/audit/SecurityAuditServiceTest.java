@@ -3,6 +3,7 @@ package com.jnzader.apigen.security.infrastructure.audit;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import com.jnzader.apigen.security.infrastructure.audit.SecurityAuditEvent.SecurityEventType;
 import com.jnzader.apigen.security.infrastructure.audit.SecurityAuditEvent.SecurityOutcome;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,9 +23,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -97,6 +100,18 @@ class SecurityAuditServiceTest {
             verify(eventPublisher).publishEvent(eventCaptor.capture());
             assertThat(eventCaptor.getValue().ipAddress()).isEqualTo("10.0.0.1");
         }
+
+        @Test
+        @DisplayName("should take the IP from the request auth context")
+        void shouldTakeIpFromRequestAuthContext() {
+            givenRequestAuthContext("203.0.113.9", null);
+            when(request.getHeader("X-Forwarded-For")).thenReturn("10.0.0.1");
+
+            auditService.logAuthenticationSuccess("testuser");
+
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().ipAddress()).isEqualTo("203.0.113.9");
+        }
     }
 
     @Nested
@@ -155,6 +170,18 @@ class SecurityAuditServiceTest {
             verify(eventPublisher).publishEvent(eventCaptor.capture());
             assertThat(eventCaptor.getValue().username()).isEqualTo("anonymous");
         }
+
+        @Test
+        @DisplayName("should take the username from the request auth context")
+        void shouldTakeUsernameFromRequestAuthContext() {
+            givenRequestAuthContext("192.168.1.5", "alice");
+
+            auditService.logAccessDenied("/api/secure", "ROLE_ADMIN");
+
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().username()).isEqualTo("alice");
+            assertThat(eventCaptor.getValue().ipAddress()).isEqualTo("192.168.1.5");
+        }
     }
 
     @Nested
@@ -301,6 +328,15 @@ class SecurityAuditServiceTest {
         }
     }
 
+    private void givenRequestAuthContext(String clientIp, String principal) {
+        RequestAuthContext context =
+                RequestAuthContext.of(new MockHttpServletRequest(), r -> clientIp);
+        context.setPrincipal(principal);
+        when(requestAttributes.getAttribute(
+                        RequestAuthContext.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST))
+                .thenReturn(context);
+    }
+
     private void setUpAuthenticatedUser(String username) {
         UsernamePasswordAuthenticationToken auth =
                 new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
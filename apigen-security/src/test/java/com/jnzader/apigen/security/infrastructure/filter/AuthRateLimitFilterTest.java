@@ -2,6 +2,7 @@ package com.jnzader.apigen.security.infrastructure.filter;
 
 import static org.mockito.Mockito.*;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
 import com.jnzader.apigen.security.infrastructure.network.ClientIpResolver;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +19,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 @DisplayName("AuthRateLimitFilter Tests")
 @ExtendWith(MockitoExtension.class)
@@ -128,6 +130,22 @@ class AuthRateLimitFilterTest {
             verify(response).setHeader("X-Auth-RateLimit-Limit", "3");
         }
 
+        @Test
+        @DisplayName("should reuse the client IP from the request auth context")
+        void shouldReuseClientIpFromRequestAuthContext() throws Exception {
+            RequestAuthContext context =
+                    RequestAuthContext.of(new MockHttpServletRequest(), r -> "192.168.1.6");
+            when(request.getAttribute(RequestAuthContext.ATTRIBUTE)).thenReturn(context);
+            when(request.getRequestURI()).thenReturn("/api/auth/login");
+            when(request.getMethod()).thenReturn("POST");
+            when(response.getStatus()).thenReturn(HttpStatus.OK.value());
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verify(filterChain).doFilter(request, response);
+            verify(clientIpResolver, never()).resolveClientIp(any());
+        }
+
         @Test
         @DisplayName("should increment counter on forbidden response")
         void shouldIncrementCounterOnForbiddenResponse() throws Exception {
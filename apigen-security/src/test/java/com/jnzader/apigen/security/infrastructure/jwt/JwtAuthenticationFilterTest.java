@@ -3,10 +3,15 @@ package com.jnzader.apigen.security.infrastructure.jwt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
+import com.jnzader.apigen.security.application.service.UserDetailsCache;
+import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,6 +19,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -38,10 +46,15 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
-        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        filter = filterWith(new SecurityProperties());
         SecurityContextHolder.clearContext();
     }
 
+    private JwtAuthenticationFilter filterWith(SecurityProperties properties) {
+        return new JwtAuthenticationFilter(
+                jwtService, new UserDetailsCache(userDetailsService, properties), properties);
+    }
+
     @Nested
     @DisplayName("doFilterInternal")
     class DoFilterInternalTests {
@@ -72,10 +85,10 @@ class JwtAuthenticationFilterTest {
         @DisplayName("should authenticate with valid token")
         void shouldAuthenticateWithValidToken() throws Exception {
             String token = "valid.jwt.token";
+            VerifiedToken verified = verifiedToken("testuser", "access");
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractUsername(token)).thenReturn("testuser");
-            when(jwtService.isAccessToken(token)).thenReturn(true);
-            when(jwtService.isTokenValid(token, userDetails)).thenReturn(true);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified, userDetails)).thenReturn(true);
             when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
             when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
 
@@ -83,16 +96,18 @@ class JwtAuthenticationFilterTest {
 
             verify(filterChain).doFilter(request, response);
             assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+            verify(jwtService).verify(token);
+            verifyNoMoreInteractions(jwtService);
         }
 
         @Test
         @DisplayName("should not authenticate with invalid token")
         void shouldNotAuthenticateWithInvalidToken() throws Exception {
             String token = "invalid.jwt.token";
+            VerifiedToken verified = verifiedToken("testuser", "access");
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractUsername(token)).thenReturn("testuser");
-            when(jwtService.isAccessToken(token)).thenReturn(true);
-            when(jwtService.isTokenValid(token, userDetails)).thenReturn(false);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified, userDetails)).thenReturn(false);
             when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
 
             filter.doFilterInternal(request, response, filterChain);
@@ -106,14 +121,13 @@ class JwtAuthenticationFilterTest {
         void shouldNotAuthenticateWithRefreshToken() throws Exception {
             String token = "refresh.jwt.token";
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractUsername(token)).thenReturn("testuser");
-            when(jwtService.isAccessToken(token)).thenReturn(false);
-            when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+            when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", "refresh"));
 
             filter.doFilterInternal(request, response, filterChain);
 
             verify(filterChain).doFilter(request, response);
             assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+            verifyNoInteractions(userDetailsService);
         }
 
         @Test
@@ -121,7 +135,7 @@ class JwtAuthenticationFilterTest {
         void shouldHandleExceptionGracefully() throws Exception {
             String token = "error.jwt.token";
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractUsername(token)).thenThrow(new RuntimeException("Token error"));
+            when(jwtService.verify(token)).thenThrow(new RuntimeException("Token error"));
 
             filter.doFilterInternal(request, response, filterChain);
 
@@ -130,6 +144,149 @@ class JwtAuthenticationFilterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Stateless mode")
+    class StatelessTests {
+
+        @BeforeEach
+        void setUp() {
+            SecurityProperties properties = new SecurityProperties();
+            properties.getJwt().setStateless(true);
+            filter = filterWith(properties);
+        }
+
+        @Test
+        @DisplayName("should authenticate from the token claims without loading the user")
+        void shouldAuthenticateFromClaims() throws Exception {
+            String token = "stateless.jwt.token";
+            VerifiedToken verified =
+                    new VerifiedToken(
+                            Jwts.claims()
+                                    .subject("testuser")
+                                    .id("jti-1")
+                                    .add("type", "access")
+                                    .add("userId", 7L)
+                                    .add("role", "ADMIN")
+                                    .add("authorities", List.of("ROLE_ADMIN", "USERS_READ"))
+                                    .build());
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified)).thenReturn(true);
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(authentication.getPrincipal())
+                    .isEqualTo(new JwtPrincipal(7L, "testuser", "ADMIN"));
+            assertThat(authentication.getName()).isEqualTo("testuser");
+            assertThat(authentication.getAuthorities())
+                    .extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_ADMIN", "USERS_READ");
+            verifyNoInteractions(userDetailsService);
+        }
+
+        @Test
+        @DisplayName("should not authenticate a revoked stateless token")
+        void shouldRejectRevokedToken() throws Exception {
+            String token = "revoked.jwt.token";
+            VerifiedToken verified =
+                    new VerifiedToken(
+                            Jwts.claims()
+                                    .subject("testuser")
+                                    .id("jti-1")
+                                    .add("type", "access")
+                                    .add("authorities", List.of("ROLE_USER"))
+                                    .build());
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified)).thenReturn(false);
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+            verifyNoInteractions(userDetailsService);
+        }
+
+        @Test
+        @DisplayName("should load the user for tokens issued without authorities")
+        void shouldFallBackToUserLookup() throws Exception {
+            String token = "legacy.jwt.token";
+            VerifiedToken verified = verifiedToken("testuser", "access");
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified, userDetails)).thenReturn(true);
+            when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+            when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                    .isSameAs(userDetails);
+        }
+
+        @Test
+        @DisplayName("should record the principal and tier claim in the request auth context")
+        void shouldRecordPrincipalAndTierInContext() throws Exception {
+            String token = "tiered.jwt.token";
+            VerifiedToken verified =
+                    new VerifiedToken(
+                            Jwts.claims()
+                                    .subject("testuser")
+                                    .id("jti-1")
+                                    .add("type", "access")
+                                    .add("plan", "BASIC")
+                                    .add("authorities", List.of("ROLE_USER"))
+                                    .build());
+            RequestAuthContext context =
+                    RequestAuthContext.of(new MockHttpServletRequest(), r -> "10.0.0.1");
+            when(request.getAttribute(RequestAuthContext.ATTRIBUTE)).thenReturn(context);
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified)).thenReturn(true);
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(context.getPrincipal()).isEqualTo("testuser");
+            assertThat(context.getTier()).isEqualTo("basic");
+        }
+    }
+
+    @Nested
+    @DisplayName("User cache")
+    class UserCacheTests {
+
+        @BeforeEach
+        void setUp() {
+            SecurityProperties properties = new SecurityProperties();
+            properties.getJwt().setUserCacheSize(100);
+            filter = filterWith(properties);
+        }
+
+        @Test
+        @DisplayName("should load the user once across requests")
+        void shouldLoadUserOnce() throws Exception {
+            String token = "valid.jwt.token";
+            VerifiedToken verified = verifiedToken("testuser", "access");
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+            when(jwtService.verify(token)).thenReturn(verified);
+            when(jwtService.isTokenValid(verified, userDetails)).thenReturn(true);
+            when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+            when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
+
+            filter.doFilterInternal(request, response, filterChain);
+            SecurityContextHolder.clearContext();
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+            verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+        }
+    }
+
+    private static VerifiedToken verifiedToken(String username, String type) {
+        return new VerifiedToken(
+                Jwts.claims().subject(username).id("jti-1").add("type", type).build());
+    }
+
     @Nested
     @DisplayName("shouldNotFilter")
     class ShouldNotFilterTests {
@@ -1,14 +1,27 @@
 package com.jnzader.apigen.security.infrastructure.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 import com.jnzader.apigen.security.application.service.TokenBlacklistService;
 import com.jnzader.apigen.security.domain.entity.Role;
 import com.jnzader.apigen.security.domain.entity.User;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -128,7 +141,7 @@ class JwtServiceTest {
         void shouldValidateValidToken() {
             String token = jwtService.generateAccessToken(testUser);
             when(userDetails.getUsername()).thenReturn("testuser");
-            when(blacklistService.isBlacklisted(anyString())).thenReturn(false);
+            when(blacklistService.isRevoked(anyString(), any(), any())).thenReturn(false);
 
             assertThat(jwtService.isTokenValid(token, userDetails)).isTrue();
         }
@@ -138,7 +151,7 @@ class JwtServiceTest {
         void shouldRejectTokenWithWrongUsername() {
             String token = jwtService.generateAccessToken(testUser);
             when(userDetails.getUsername()).thenReturn("otheruser");
-            when(blacklistService.isBlacklisted(anyString())).thenReturn(false);
+            when(blacklistService.isRevoked(anyString(), any(), any())).thenReturn(false);
 
             assertThat(jwtService.isTokenValid(token, userDetails)).isFalse();
         }
@@ -147,7 +160,7 @@ class JwtServiceTest {
         @DisplayName("should reject blacklisted token")
         void shouldRejectBlacklistedToken() {
             String token = jwtService.generateAccessToken(testUser);
-            when(blacklistService.isBlacklisted(anyString())).thenReturn(true);
+            when(blacklistService.isRevoked(anyString(), any(), any())).thenReturn(true);
 
             assertThat(jwtService.isTokenValid(token, userDetails)).isFalse();
         }
@@ -213,4 +226,227 @@ class JwtServiceTest {
             assertThat(claims.getSubject()).isEqualTo("testuser");
         }
     }
+
+    @Nested
+    @DisplayName("Verified Claims")
+    class VerifiedClaimsTests {
+
+        @Test
+        @DisplayName("should verify and decode the token once")
+        void shouldVerifyAndDecode() {
+            String token = jwtService.generateAccessToken(testUser);
+
+            VerifiedToken verified = jwtService.verify(token);
+
+            assertThat(verified.subject()).isEqualTo("testuser");
+            assertThat(verified.userId()).isEqualTo(1L);
+            assertThat(verified.role()).isEqualTo("USER");
+            assertThat(verified.isAccessToken()).isTrue();
+            assertThat(verified.expiration()).isAfter(Instant.now());
+        }
+
+        @Test
+        @DisplayName("should serve repeated verifications from the cache")
+        void shouldCacheVerifiedClaims() {
+            String token = jwtService.generateAccessToken(testUser);
+
+            assertThat(jwtService.verify(token)).isSameAs(jwtService.verify(token));
+        }
+
+        @Test
+        @DisplayName("should parse every time when the cache is disabled")
+        void shouldNotCacheWhenDisabled() {
+            SecurityProperties properties = createSecurityProperties();
+            properties.getJwt().setClaimsCacheSize(0);
+            JwtService uncached =
+                    new JwtService(properties, blacklistService, JsonMapper.builder().build());
+            String token = uncached.generateAccessToken(testUser);
+
+            assertThat(uncached.verify(token))
+                    .isNotSameAs(uncached.verify(token))
+                    .isEqualTo(uncached.verify(token));
+        }
+
+        @Test
+        @DisplayName("should reject a token with a tampered signature")
+        void shouldRejectTamperedToken() {
+            String token = jwtService.generateAccessToken(testUser);
+            jwtService.verify(token);
+            String tampered =
+                    token.substring(0, token.length() - 2)
+                            + (token.endsWith("A") ? "BB" : "AA");
+
+            assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        }
+
+        @Test
+        @DisplayName("should reject expired tokens without caching them")
+        void shouldRejectExpiredToken() {
+            SecurityProperties properties = createSecurityProperties();
+            properties.getJwt().setExpirationMinutes(-1);
+            JwtService expiring =
+                    new JwtService(properties, blacklistService, JsonMapper.builder().build());
+            String token = expiring.generateAccessToken(testUser);
+
+            assertThatThrownBy(() -> expiring.verify(token))
+                    .isInstanceOf(ExpiredJwtException.class);
+            assertThatThrownBy(() -> expiring.verify(token))
+                    .isInstanceOf(ExpiredJwtException.class);
+        }
+
+        @Test
+        @DisplayName("should check the blacklist on every validation")
+        void shouldCheckBlacklistEveryTime() {
+            VerifiedToken verified = jwtService.verify(jwtService.generateAccessToken(testUser));
+            when(userDetails.getUsername()).thenReturn("testuser");
+            when(blacklistService.isRevoked(verified.tokenId(), "testuser", verified.issuedAt()))
+                    .thenReturn(false, true);
+
+            assertThat(jwtService.isTokenValid(verified, userDetails)).isTrue();
+            assertThat(jwtService.isTokenValid(verified, userDetails)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Stateless Tokens")
+    class StatelessTokenTests {
+
+        @Test
+        @DisplayName("should carry authorities in access tokens when stateless")
+        void shouldCarryAuthoritiesWhenStateless() {
+            SecurityProperties properties = createSecurityProperties();
+            properties.getJwt().setStateless(true);
+            JwtService stateless =
+                    new JwtService(properties, blacklistService, JsonMapper.builder().build());
+
+            VerifiedToken verified = stateless.verify(stateless.generateAccessToken(testUser));
+
+            assertThat(verified.authorities()).containsExactly("ROLE_USER");
+        }
+
+        @Test
+        @DisplayName("should not carry authorities by default")
+        void shouldNotCarryAuthoritiesByDefault() {
+            VerifiedToken verified = jwtService.verify(jwtService.generateAccessToken(testUser));
+
+            assertThat(verified.authorities()).isNull();
+        }
+
+        @Test
+        @DisplayName("should validate without a user and check the blacklist")
+        void shouldValidateWithoutUser() {
+            VerifiedToken verified = jwtService.verify(jwtService.generateAccessToken(testUser));
+            when(blacklistService.isRevoked(verified.tokenId(), "testuser", verified.issuedAt()))
+                    .thenReturn(false, true);
+
+            assertThat(jwtService.isTokenValid(verified)).isTrue();
+            assertThat(jwtService.isTokenValid(verified)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Asymmetric Signing")
+    class AsymmetricSigningTests {
+
+        @Test
+        @DisplayName("should sign and verify ES256 tokens with a key ID")
+        void shouldSignWithEs256() {
+            JwtService es256 = asymmetricService("ES256");
+
+            String token = es256.generateAccessToken(testUser);
+
+            assertThat(header(token)).contains("\"alg\":\"ES256\"").contains("\"kid\"");
+            assertThat(es256.verify(token).subject()).isEqualTo("testuser");
+        }
+
+        @Test
+        @DisplayName("should sign and verify EdDSA tokens")
+        void shouldSignWithEdDsa() {
+            JwtService eddsa = asymmetricService("EdDSA");
+
+            String token = eddsa.generateAccessToken(testUser);
+
+            assertThat(header(token)).contains("\"alg\":\"EdDSA\"");
+            assertThat(eddsa.verify(token).subject()).isEqualTo("testuser");
+        }
+
+        @Test
+        @DisplayName("should reject tokens signed with another key")
+        void shouldRejectTokensFromAnotherKey() {
+            String token = asymmetricService("ES256").generateAccessToken(testUser);
+
+            assertThatThrownBy(() -> asymmetricService("ES256").verify(token))
+                    .isInstanceOf(JwtException.class);
+        }
+
+        @Test
+        @DisplayName("should publish the configured public key as an EC JWK")
+        void shouldPublishEcJwk() throws Exception {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            SecurityProperties properties = createSecurityProperties();
+            properties.getJwt().setAlgorithm("ES256");
+            properties.getJwt().setPrivateKey(pem("PRIVATE KEY", keyPair.getPrivate()));
+            properties.getJwt().setPublicKey(pem("PUBLIC KEY", keyPair.getPublic()));
+            JwtService es256 =
+                    new JwtService(properties, blacklistService, JsonMapper.builder().build());
+
+            Map<String, Object> jwk = singleJwk(es256.getJwks());
+
+            ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+            assertThat(jwk)
+                    .containsEntry("kty", "EC")
+                    .containsEntry("crv", "P-256")
+                    .containsEntry("alg", "ES256")
+                    .containsEntry("use", "sig")
+                    .containsEntry("kid", es256.getCurrentKeyId());
+            assertThat(new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("x"))))
+                    .isEqualTo(publicKey.getW().getAffineX());
+        }
+
+        @Test
+        @DisplayName("should publish Ed25519 keys as OKP JWKs")
+        void shouldPublishOkpJwk() {
+            Map<String, Object> jwk = singleJwk(asymmetricService("EdDSA").getJwks());
+
+            assertThat(jwk).containsEntry("kty", "OKP").containsEntry("crv", "Ed25519");
+            assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x"))).hasSize(32);
+        }
+
+        @Test
+        @DisplayName("should not publish the HS256 secret")
+        void shouldNotPublishHmacSecret() {
+            assertThat(jwtService.getJwks()).containsEntry("keys", List.of());
+        }
+
+        private JwtService asymmetricService(String algorithm) {
+            SecurityProperties properties = createSecurityProperties();
+            properties.getJwt().setAlgorithm(algorithm);
+            return new JwtService(properties, blacklistService, JsonMapper.builder().build());
+        }
+
+        private static String header(String token) {
+            return new String(
+                    Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                    StandardCharsets.UTF_8);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> singleJwk(Map<String, Object> jwks) {
+            List<Map<String, Object>> keys = (List<Map<String, Object>>) jwks.get("keys");
+            assertThat(keys).hasSize(1);
+            return keys.getFirst();
+        }
+
+        private static String pem(String type, Key key) {
+            return "-----BEGIN "
+                    + type
+                    + "-----\n"
+                    + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+                    + "\n-----END "
+                    + type
+                    + "-----";
+        }
+    }
 }
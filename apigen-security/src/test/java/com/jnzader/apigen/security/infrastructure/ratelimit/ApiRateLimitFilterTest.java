@@ -12,13 +12,21 @@ import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jnzader.apigen.core.infrastructure.filter.RequestAuthContext;
+import com.jnzader.apigen.security.application.service.UserDetailsCache;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.RateLimitProperties;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.RateLimitProperties.StorageMode;
 import com.jnzader.apigen.security.infrastructure.config.SecurityProperties.RateLimitProperties.TierConfig;
+import com.jnzader.apigen.security.infrastructure.jwt.JwtAuthenticationFilter;
+import com.jnzader.apigen.security.infrastructure.jwt.JwtService;
+import com.jnzader.apigen.security.infrastructure.jwt.VerifiedToken;
 import com.jnzader.apigen.security.infrastructure.network.ClientIpResolver;
 import io.github.bucket4j.ConsumptionProbe;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServlet;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -28,11 +36,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ApiRateLimitFilter")
@@ -117,7 +127,7 @@ class ApiRateLimitFilterTest {
             MockHttpServletResponse response = new MockHttpServletResponse();
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(filterChain).doFilter(request, response);
@@ -145,7 +155,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, false)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(filterChain).doFilter(request, response);
@@ -169,7 +179,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, false)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(filterChain, never()).doFilter(any(), any());
@@ -193,7 +203,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, true)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(rateLimitService).tryConsumeAndReturnRemaining(clientIp, true);
@@ -215,7 +225,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, true)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(rateLimitService).tryConsumeAndReturnRemaining(clientIp, true);
@@ -235,7 +245,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, true)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(rateLimitService).tryConsumeAndReturnRemaining(clientIp, true);
@@ -255,7 +265,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, false)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             verify(rateLimitService).tryConsumeAndReturnRemaining(clientIp, false);
@@ -276,12 +286,28 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, true)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             assertThat(response.getContentAsString()).contains("authentication");
             assertThat(response.getContentAsString()).contains("/auth");
         }
+
+        @Test
+        @DisplayName("should not limit again after authentication")
+        void shouldNotLimitAgainAfterAuthentication() throws Exception {
+            // Given
+            MockHttpServletRequest request = createRequest("GET", "/api/users");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            filter.doFilterInternal(request, response, filterChain);
+
+            // Then
+            verify(filterChain).doFilter(request, response);
+            verify(rateLimitService, never())
+                    .tryConsumeAndReturnRemaining(anyString(), anyBoolean());
+        }
     }
 
     @Nested
@@ -379,6 +405,135 @@ class ApiRateLimitFilterTest {
 
             SecurityContextHolder.clearContext();
         }
+
+        @Test
+        @DisplayName("should limit by the tier of the user authenticated earlier in the chain")
+        void shouldLimitByTierOfAuthenticatedUser() throws Exception {
+            // Given: the JWT filter runs first, as in the security filter chain
+            SecurityProperties statelessProperties = new SecurityProperties();
+            statelessProperties.getJwt().setStateless(true);
+            JwtService jwtService = mock(JwtService.class);
+            JwtAuthenticationFilter jwtFilter =
+                    new JwtAuthenticationFilter(
+                            jwtService,
+                            new UserDetailsCache(
+                                    mock(UserDetailsService.class), statelessProperties),
+                            statelessProperties);
+            ApiRateLimitFilter afterAuthentication =
+                    new ApiRateLimitFilter(
+                            rateLimitService,
+                            securityProperties,
+                            clientIpResolver,
+                            new JwtRateLimitTierResolver(),
+                            objectMapper);
+
+            VerifiedToken token =
+                    new VerifiedToken(
+                            Jwts.claims()
+                                    .subject("alice")
+                                    .add("type", "access")
+                                    .add("tier", "pro")
+                                    .add("authorities", List.of("ROLE_USER"))
+                                    .build());
+            when(jwtService.verify("pro-token")).thenReturn(token);
+            when(jwtService.isTokenValid(token)).thenReturn(true);
+
+            MockHttpServletRequest request = createRequest("GET", "/api/users");
+            request.addHeader("Authorization", "Bearer pro-token");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            RequestAuthContext context = RequestAuthContext.of(request, r -> "192.168.1.12");
+
+            when(rateLimitService.tryConsumeAndReturnRemaining("192.168.1.12", false))
+                    .thenReturn(createConsumedProbe(149));
+            when(rateLimitService.tryConsumeForTierAndReturnRemaining(
+                            "user:alice", RateLimitTier.PRO))
+                    .thenReturn(createConsumedProbe(1999));
+            when(rateLimitService.getTierConfig(RateLimitTier.PRO))
+                    .thenReturn(new TierConfig(1000, 2000));
+
+            // When
+            try {
+                new MockFilterChain(
+                                new HttpServlet() {},
+                                afterAuthentication.preAuthentication(),
+                                jwtFilter,
+                                afterAuthentication)
+                        .doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+
+            // Then
+            assertThat(response.getHeader("X-RateLimit-Tier")).isEqualTo("pro");
+            assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("2000");
+            assertThat(context.getPrincipal()).isEqualTo("alice");
+            assertThat(context.getTier()).isEqualTo("pro");
+            verify(clientIpResolver, never()).resolveClientIp(any());
+        }
+
+        @Test
+        @DisplayName("should reject an address over its limit before verifying the token")
+        void shouldRejectBeforeVerifyingToken() throws Exception {
+            // Given
+            SecurityProperties statelessProperties = new SecurityProperties();
+            statelessProperties.getJwt().setStateless(true);
+            JwtService jwtService = mock(JwtService.class);
+            JwtAuthenticationFilter jwtFilter =
+                    new JwtAuthenticationFilter(
+                            jwtService,
+                            new UserDetailsCache(
+                                    mock(UserDetailsService.class), statelessProperties),
+                            statelessProperties);
+
+            MockHttpServletRequest request = createRequest("GET", "/api/users");
+            request.addHeader("Authorization", "Bearer garbage");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            RequestAuthContext.of(request, r -> "192.168.1.14");
+
+            when(rateLimitService.tryConsumeAndReturnRemaining("192.168.1.14", false))
+                    .thenReturn(createRejectedProbe(2_000_000_000L));
+
+            // When
+            new MockFilterChain(
+                            new HttpServlet() {},
+                            tierFilter.preAuthentication(),
+                            jwtFilter,
+                            tierFilter)
+                    .doFilter(request, response);
+
+            // Then
+            assertThat(response.getStatus()).isEqualTo(429);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+            verify(jwtService, never()).verify(anyString());
+            verify(rateLimitService, never()).tryConsumeForTierAndReturnRemaining(any(), any());
+        }
+
+        @Test
+        @DisplayName("should record the resolved tier in the request auth context")
+        void shouldRecordResolvedTierInRequestAuthContext() throws Exception {
+            // Given
+            MockHttpServletRequest request = createRequest("GET", "/api/users");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            ConsumptionProbe probe = createConsumedProbe(19);
+
+            when(clientIpResolver.resolveClientIp(request)).thenReturn("192.168.1.13");
+            when(tierResolver.resolve(null, request)).thenReturn(RateLimitTier.ANONYMOUS);
+            when(tierResolver.getUserIdentifier(null, "192.168.1.13"))
+                    .thenReturn("ip:192.168.1.13");
+            when(rateLimitService.tryConsumeForTierAndReturnRemaining(
+                            "ip:192.168.1.13", RateLimitTier.ANONYMOUS))
+                    .thenReturn(probe);
+            when(rateLimitService.getTierConfig(RateLimitTier.ANONYMOUS))
+                    .thenReturn(new TierConfig(10, 20));
+
+            // When
+            tierFilter.doFilterInternal(request, response, filterChain);
+
+            // Then
+            assertThat(RequestAuthContext.find(request))
+                    .map(RequestAuthContext::getTier)
+                    .contains("anonymous");
+        }
     }
 
     @Nested
@@ -402,7 +557,7 @@ class ApiRateLimitFilterTest {
             when(rateLimitService.tryConsumeAndReturnRemaining(clientIp, false)).thenReturn(probe);
 
             // When
-            filter.doFilterInternal(request, response, filterChain);
+            filter.preAuthentication().doFilter(request, response, filterChain);
 
             // Then
             assertThat(response.getHeader("X-RateLimit-Limit")).isNotNull();
@@ -0,0 +1,183 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LeasedQuotaLimiter")
+class LeasedQuotaLimiterTest {
+
+    private static final String KEY = "rate-limit:api:10.0.0.1";
+
+    private InMemoryRemoteQuota remote;
+
+    @BeforeEach
+    void setUp() {
+        remote = new InMemoryRemoteQuota();
+    }
+
+    @Nested
+    @DisplayName("Leases")
+    class LeaseTests {
+
+        @Test
+        @DisplayName("should serve a whole lease with a single synchronous reservation")
+        void shouldServeLeaseLocally() {
+            LeasedQuotaLimiter limiter = limiter(10, Duration.ofMinutes(1));
+
+            for (int i = 0; i < 7; i++) {
+                assertThat(limiter.tryConsume(KEY, () -> configuration(100)).isConsumed())
+                        .isTrue();
+            }
+
+            assertThat(remote.reservations.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should reserve the next batch in the background when the lease runs low")
+        void shouldPrefetch() {
+            LeasedQuotaLimiter limiter = limiter(8, Duration.ofMinutes(1));
+
+            for (int i = 0; i < 14; i++) {
+                limiter.tryConsume(KEY, () -> configuration(100));
+            }
+
+            assertThat(remote.asyncReservations.get()).isPositive();
+            assertThat(remote.reservations.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should never exceed the shared limit across nodes")
+        void shouldNotExceedSharedLimit() {
+            LeasedQuotaLimiter nodeA = limiter(4, Duration.ofMinutes(1));
+            LeasedQuotaLimiter nodeB = limiter(4, Duration.ofMinutes(1));
+
+            int consumed = 0;
+            for (int i = 0; i < 30; i++) {
+                LeasedQuotaLimiter node = i % 2 == 0 ? nodeA : nodeB;
+                if (node.tryConsume(KEY, () -> configuration(20)).isConsumed()) {
+                    consumed++;
+                }
+            }
+
+            assertThat(consumed).isLessThanOrEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("should reject without asking again while the shared bucket is empty")
+        void shouldCacheRejection() {
+            LeasedQuotaLimiter limiter = limiter(5, Duration.ofMinutes(1));
+            for (int i = 0; i < 5; i++) {
+                limiter.tryConsume(KEY, () -> configuration(5));
+            }
+            int calls = remote.reservations.get() + remote.asyncReservations.get();
+
+            ConsumptionProbe first = limiter.tryConsume(KEY, () -> configuration(5));
+            ConsumptionProbe second = limiter.tryConsume(KEY, () -> configuration(5));
+
+            assertThat(first.isConsumed()).isFalse();
+            assertThat(second.isConsumed()).isFalse();
+            assertThat(second.getNanosToWaitForRefill()).isPositive();
+            assertThat(remote.reservations.get() + remote.asyncReservations.get())
+                    .isLessThanOrEqualTo(calls + 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconciliation")
+    class ReconciliationTests {
+
+        @Test
+        @DisplayName("should give unused tokens back when the lease expires")
+        void shouldReleaseOnExpiry() throws InterruptedException {
+            LeasedQuotaLimiter limiter = limiter(10, Duration.ofMillis(20));
+            limiter.tryConsume(KEY, () -> configuration(1000));
+
+            Thread.sleep(40);
+            limiter.tryConsume(KEY, () -> configuration(1000));
+
+            assertThat(remote.released.get()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("should give unused tokens back on close")
+        void shouldReleaseOnClose() {
+            LeasedQuotaLimiter limiter = limiter(10, Duration.ofMinutes(1));
+            limiter.tryConsume(KEY, () -> configuration(1000));
+            long leased = limiter.leasedTokens(KEY);
+
+            limiter.close();
+
+            assertThat(remote.released.get()).isEqualTo(leased);
+            assertThat(limiter.leasedTokens(KEY)).isZero();
+        }
+    }
+
+    private LeasedQuotaLimiter limiter(int leaseSize, Duration ttl) {
+        return new LeasedQuotaLimiter(remote, leaseSize, ttl, 1_000);
+    }
+
+    private static BucketConfiguration configuration(int perMinute) {
+        return BucketConfiguration.builder()
+                .addLimit(
+                        Bandwidth.builder()
+                                .capacity(perMinute)
+                                .refillGreedy(perMinute, Duration.ofMinutes(1))
+                                .build())
+                .build();
+    }
+
+    /** In-memory stand-in for the Redis buckets, with local Bucket4j buckets. */
+    private static final class InMemoryRemoteQuota implements RemoteQuota {
+
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger reservations = new AtomicInteger();
+        private final AtomicInteger asyncReservations = new AtomicInteger();
+        private final AtomicInteger released = new AtomicInteger();
+
+        @Override
+        public long reserve(
+                String key, Supplier<BucketConfiguration> configuration, long tokens) {
+            reservations.incrementAndGet();
+            return bucket(key, configuration).tryConsumeAsMuchAsPossible(tokens);
+        }
+
+        @Override
+        public CompletableFuture<Long> reserveAsync(
+                String key, Supplier<BucketConfiguration> configuration, long tokens) {
+            asyncReservations.incrementAndGet();
+            return CompletableFuture.completedFuture(
+                    bucket(key, configuration).tryConsumeAsMuchAsPossible(tokens));
+        }
+
+        @Override
+        public CompletableFuture<Void> release(
+                String key, Supplier<BucketConfiguration> configuration, long tokens) {
+            released.addAndGet((int) tokens);
+            bucket(key, configuration).addTokens(tokens);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private Bucket bucket(String key, Supplier<BucketConfiguration> configuration) {
+            return buckets.computeIfAbsent(
+                    key,
+                    k ->
+                            Bucket.builder()
+                                    .addLimit(configuration.get().getBandwidths()[0])
+                                    .build());
+        }
+    }
+}
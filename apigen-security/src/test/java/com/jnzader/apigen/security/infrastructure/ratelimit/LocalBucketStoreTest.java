@@ -0,0 +1,65 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LocalBucketStore")
+class LocalBucketStoreTest {
+
+    @Test
+    @DisplayName("should return the same bucket for the same key")
+    void shouldReuseBucket() {
+        LocalBucketStore store = new LocalBucketStore(100);
+
+        LocalTokenBucket first = store.bucket("10.0.0.1", LocalBucketStoreTest::bucket);
+        LocalTokenBucket second = store.bucket("10.0.0.1", LocalBucketStoreTest::bucket);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("should stay bounded under a flood of distinct keys")
+    void shouldStayBounded() {
+        LocalBucketStore store = new LocalBucketStore(1_000);
+
+        for (int i = 0; i < 50_000; i++) {
+            store.bucket("10.0." + (i >> 8) + "." + (i & 0xff), LocalBucketStoreTest::bucket);
+        }
+        store.cleanUp();
+
+        assertThat(store.size()).isLessThanOrEqualTo(1_000 + 16);
+    }
+
+    @Test
+    @DisplayName("should drop idle buckets once they would be full again")
+    void shouldExpireIdleBuckets() throws InterruptedException {
+        LocalBucketStore store = new LocalBucketStore(100);
+        LocalTokenBucket bucket =
+                store.bucket("10.0.0.1", () -> new LocalTokenBucket(1, 100, Duration.ofSeconds(1)));
+
+        Thread.sleep(50);
+        store.cleanUp();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.bucket("10.0.0.1", LocalBucketStoreTest::bucket)).isNotSameAs(bucket);
+    }
+
+    @Test
+    @DisplayName("should clear all buckets")
+    void shouldClear() {
+        LocalBucketStore store = new LocalBucketStore(100);
+        store.bucket("10.0.0.1", LocalBucketStoreTest::bucket);
+
+        store.clear();
+        store.cleanUp();
+
+        assertThat(store.size()).isZero();
+    }
+
+    private static LocalTokenBucket bucket() {
+        return new LocalTokenBucket(10, 10, Duration.ofSeconds(1));
+    }
+}
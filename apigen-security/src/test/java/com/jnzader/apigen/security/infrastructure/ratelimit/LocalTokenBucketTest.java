@@ -0,0 +1,105 @@
+package com.jnzader.apigen.security.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LocalTokenBucket")
+class LocalTokenBucketTest {
+
+    @Nested
+    @DisplayName("tryConsume")
+    class TryConsumeTests {
+
+        @Test
+        @DisplayName("should allow up to capacity and then reject")
+        void shouldAllowUpToCapacity() {
+            LocalTokenBucket bucket = new LocalTokenBucket(5, 1, Duration.ofMinutes(1));
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(bucket.tryConsume()).isTrue();
+            }
+            assertThat(bucket.tryConsume()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should refill greedily over time")
+        void shouldRefill() throws InterruptedException {
+            LocalTokenBucket bucket = new LocalTokenBucket(1, 100, Duration.ofSeconds(1));
+            assertThat(bucket.tryConsume()).isTrue();
+            assertThat(bucket.tryConsume()).isFalse();
+
+            Thread.sleep(20);
+
+            assertThat(bucket.tryConsume()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should never hand out more than capacity under contention")
+        void shouldNotOverConsumeConcurrently() throws InterruptedException {
+            LocalTokenBucket bucket = new LocalTokenBucket(1000, 1, Duration.ofHours(1));
+            AtomicInteger consumed = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int t = 0; t < 8; t++) {
+                executor.submit(
+                        () -> {
+                            start.await();
+                            for (int i = 0; i < 500; i++) {
+                                if (bucket.tryConsume()) {
+                                    consumed.incrementAndGet();
+                                }
+                            }
+                            return null;
+                        });
+            }
+
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(consumed.get()).isEqualTo(1000);
+        }
+    }
+
+    @Nested
+    @DisplayName("tryConsumeAndReturnRemaining")
+    class ProbeTests {
+
+        @Test
+        @DisplayName("should report remaining tokens")
+        void shouldReportRemaining() {
+            LocalTokenBucket bucket = new LocalTokenBucket(10, 1, Duration.ofMinutes(1));
+
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining();
+
+            assertThat(probe.isConsumed()).isTrue();
+            assertThat(probe.getRemainingTokens()).isEqualTo(9);
+            assertThat(bucket.getAvailableTokens()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("should report the wait for the next token when rejected")
+        void shouldReportWaitWhenRejected() {
+            LocalTokenBucket bucket = new LocalTokenBucket(1, 1, Duration.ofMinutes(1));
+            bucket.tryConsume();
+
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining();
+
+            assertThat(probe.isConsumed()).isFalse();
+            assertThat(probe.getRemainingTokens()).isZero();
+            assertThat(probe.getNanosToWaitForRefill())
+                    .isPositive()
+                    .isLessThanOrEqualTo(Duration.ofMinutes(1).toNanos());
+        }
+    }
+}